@@ -0,0 +1,56 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.
+ * <p>
+ * Accepts the same options as JMH (run with <code>-h</code> for details)
+ * but, unless specified otherwise, results are written in JSON in <code>jmh-result.json</code>,
+ * so that they can be tracked across releases.
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar                      # all benchmarks
+ * java -jar benchmarks/target/benchmarks.jar TrailingBenchmark    # a subset, by regexp
+ * java -jar benchmarks/target/benchmarks.jar -rff 4.10.8.json     # another result file
+ * </pre>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class Main {
+
+    /**
+     * Default result file
+     */
+    private static final String RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams()
+                || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue()) {
+            builder.result(RESULT_FILE);
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.constraints;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares table algorithms on random instances with negative tables,
+ * generated like the XCSP "rand" series: an instance named <i>rand-k-n-d-e-t</i> has <i>n</i> variables
+ * with domain [0,<i>d</i>-1] and <i>e</i> table constraints of arity <i>k</i>,
+ * each one forbidding <i>t</i>/1000 of the <i>d<sup>k</sup></i> tuples.
+ * A solution is searched for with the default search strategy, until one is found or the instance is proven
+ * unsatisfiable.
+ * Models are built before each invocation, which is not measured.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NegativeTableBenchmark {
+
+    /**
+     * The instance, as rand-k-n-d-e-t
+     */
+    @Param({"rand-3-20-20-60-632", "rand-4-20-10-40-700"})
+    public String instance;
+
+    /**
+     * The table algorithm
+     */
+    @Param({"CT+", "GAC3rm", "GAC2001"})
+    public String algo;
+
+    private Model model;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        String[] params = instance.split("-");
+        int k = Integer.parseInt(params[1]);
+        int n = Integer.parseInt(params[2]);
+        int d = Integer.parseInt(params[3]);
+        int e = Integer.parseInt(params[4]);
+        int t = Integer.parseInt(params[5]);
+        Random rnd = new Random(0);
+        model = new Model(instance);
+        IntVar[] vars = model.intVarArray("x", n, 0, d - 1, false);
+        int nbForbidden = (int) Math.round(Math.pow(d, k) * t / 1000.);
+        for (int c = 0; c < e; c++) {
+            IntVar[] scope = new IntVar[k];
+            Set<Integer> indices = new HashSet<>();
+            for (int i = 0; i < k; i++) {
+                int idx;
+                do {
+                    idx = rnd.nextInt(n);
+                } while (!indices.add(idx));
+                scope[i] = vars[idx];
+            }
+            Set<Long> forbidden = new HashSet<>();
+            Tuples tuples = new Tuples(false);
+            while (forbidden.size() < nbForbidden) {
+                int[] tuple = new int[k];
+                long code = 0;
+                for (int i = 0; i < k; i++) {
+                    tuple[i] = rnd.nextInt(d);
+                    code = code * d + tuple[i];
+                }
+                if (forbidden.add(code)) {
+                    tuples.add(tuple);
+                }
+            }
+            model.table(scope, tuples, algo).post();
+        }
+    }
+
+    /**
+     * Find a solution or prove the instance unsatisfiable.
+     *
+     * @return the number of nodes, to prevent dead-code elimination
+     */
+    @Benchmark
+    public long solve() {
+        Solver solver = model.getSolver();
+        solver.solve();
+        return solver.getNodeCount();
+    }
+}
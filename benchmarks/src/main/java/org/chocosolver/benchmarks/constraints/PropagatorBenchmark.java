@@ -0,0 +1,170 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.constraints;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the filtering of key propagators, each one posted alone in a model:
+ * <ul>
+ *     <li>"sum": {@link org.chocosolver.solver.constraints.nary.sum.PropSum},</li>
+ *     <li>"alldifferent": {@link org.chocosolver.solver.constraints.nary.alldifferent.PropAllDiffAC},</li>
+ *     <li>"table": {@link org.chocosolver.solver.constraints.extension.nary.PropCompactTable},</li>
+ *     <li>"cumulative": {@link org.chocosolver.solver.constraints.nary.cumulative.PropCumulative}.</li>
+ * </ul>
+ * In a new world, a few variables are restricted (in a reproducible random way), then the propagator is called
+ * and the world is popped.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropagatorBenchmark {
+
+    /**
+     * The constraint
+     */
+    @Param({"sum", "alldifferent", "table", "cumulative"})
+    public String constraint;
+
+    /**
+     * Number of variables
+     */
+    @Param({"20", "100"})
+    public int n;
+
+    /**
+     * Number of restrictions made before propagating
+     */
+    private static final int RESTRICTIONS = 3;
+
+    /**
+     * Number of precomputed scenarios
+     */
+    private static final int SCENARIOS = 1024;
+
+    private IEnvironment env;
+    private Solver solver;
+    private IntVar[] vars;
+    private int[][] scenarios;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ContradictionException {
+        Model model = new Model();
+        Random rnd = new Random(0);
+        switch (constraint) {
+            case "sum": {
+                vars = model.intVarArray("x", n, 0, 10, false);
+                model.sum(vars, "=", 5 * n, Integer.MAX_VALUE).post();
+            }
+            break;
+            case "alldifferent": {
+                vars = model.intVarArray("x", n, 0, n + n / 10, false);
+                model.allDifferent(vars, "AC").post();
+            }
+            break;
+            case "table": {
+                vars = model.intVarArray("x", n, 0, 9, false);
+                Tuples tuples = new Tuples(true);
+                for (int t = 0; t < 50 * n; t++) {
+                    int[] tuple = new int[n];
+                    for (int i = 0; i < n; i++) {
+                        tuple[i] = rnd.nextInt(10);
+                    }
+                    tuples.add(tuple);
+                }
+                model.table(vars, tuples, "CT+").post();
+            }
+            break;
+            case "cumulative": {
+                vars = model.intVarArray("s", n, 0, 10 * n, true);
+                Task[] tasks = new Task[n];
+                IntVar[] heights = new IntVar[n];
+                for (int i = 0; i < n; i++) {
+                    tasks[i] = model.taskVar(vars[i], 1 + rnd.nextInt(10));
+                    heights[i] = model.intVar(1 + rnd.nextInt(5));
+                }
+                model.cumulative(tasks, heights, model.intVar(10)).post();
+            }
+            break;
+            default:
+                throw new IllegalArgumentException("Unknown constraint " + constraint);
+        }
+        env = model.getEnvironment();
+        solver = model.getSolver();
+        // initializes the engine and reaches the root fix point
+        solver.propagate();
+        // each scenario is a list of (variable, upper bound)
+        scenarios = new int[SCENARIOS][2 * RESTRICTIONS];
+        for (int[] scenario : scenarios) {
+            for (int r = 0; r < RESTRICTIONS; r++) {
+                int idx = rnd.nextInt(n);
+                IntVar var = vars[idx];
+                scenario[2 * r] = idx;
+                scenario[2 * r + 1] = var.getLB() + rnd.nextInt(var.getUB() - var.getLB() + 1);
+            }
+        }
+        next = 0;
+    }
+
+    /**
+     * Restrict some variables and propagate.
+     *
+     * @return a value, to prevent dead-code elimination
+     */
+    @Benchmark
+    public int propagate() {
+        int[] scenario = scenarios[next];
+        next = (next + 1) % SCENARIOS;
+        env.worldPush();
+        int s = 0;
+        try {
+            for (int r = 0; r < RESTRICTIONS; r++) {
+                IntVar var = vars[scenario[2 * r]];
+                if (var.getDomainSize() > 1) {
+                    var.updateUpperBound(scenario[2 * r + 1], Cause.Null);
+                }
+            }
+            solver.propagate();
+            s = vars[0].getDomainSize();
+        } catch (ContradictionException ignored) {
+        }
+        env.worldPop();
+        return s;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.learn;
+
+import org.chocosolver.benchmarks.models.JobShop;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a resolution with signed-clause learning ({@link Solver#setLearningSignedClauses()})
+ * on the LA01 job-shop instance, with pairwise disjunctions, up to a fixed number of failures.
+ * Since each failure is explained, this is dominated by conflict analysis and by the clauses learnt.
+ * <p>
+ * Run with <code>-prof gc</code> to observe the allocation rate.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LearningBenchmark {
+
+    /**
+     * Number of failures before stopping the resolution
+     */
+    @Param({"2000"})
+    public int fails;
+
+    private Model model;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        model = JobShop.buildDisjunctive(JobShop.LA01_MACHINES, JobShop.LA01_DURATIONS);
+        model.getSolver().setLearningSignedClauses();
+        model.getSolver().limitFail(fails);
+    }
+
+    /**
+     * Solve the problem until the limit is reached.
+     *
+     * @return the number of nodes, to prevent dead-code elimination
+     */
+    @Benchmark
+    public long solve() {
+        Solver solver = model.getSolver();
+        while (solver.solve()) ;
+        return solver.getNodeCount();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.memory;
+
+import org.chocosolver.memory.EnvironmentBuilder;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateBitSet;
+import org.chocosolver.memory.structure.FlatS64BitSet;
+import org.chocosolver.memory.structure.S64BitSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link FlatS64BitSet} (words in a single array) to {@link S64BitSet} (one backtrackable long per word),
+ * as domains of enumerated variables.
+ * {@link #create()} measures the creation of the bitsets, run it with <code>-prof gc</code> to compare memory allocation.
+ * {@link #removeValues()} measures value removals in nested worlds, followed by backtracking.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitSetBenchmark {
+
+    /**
+     * Type of bitset
+     */
+    @Param({"flat", "longs"})
+    public String bitset;
+
+    /**
+     * Number of bitsets
+     */
+    @Param({"1000"})
+    public int count;
+
+    /**
+     * Number of bits per bitset
+     */
+    @Param({"1000"})
+    public int size;
+
+    /**
+     * Number of worlds pushed before backtracking to the root
+     */
+    @Param({"32"})
+    public int depth;
+
+    private IEnvironment env;
+    private IStateBitSet[] bitsets;
+    private int[] sets;
+    private int[] bits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        env = new EnvironmentBuilder().build();
+        bitsets = create();
+        Random rnd = new Random(0);
+        sets = new int[depth * count];
+        bits = new int[sets.length];
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = rnd.nextInt(count);
+            bits[i] = rnd.nextInt(size);
+        }
+    }
+
+    /**
+     * Create <i>count</i> full bitsets of <i>size</i> bits.
+     *
+     * @return the bitsets, to prevent dead-code elimination
+     */
+    @Benchmark
+    public IStateBitSet[] create() {
+        IStateBitSet[] bs = new IStateBitSet[count];
+        for (int i = 0; i < count; i++) {
+            bs[i] = bitset.equals("flat") ? env.makeBitSet(size) : new S64BitSet(env, size);
+            bs[i].set(0, size);
+        }
+        return bs;
+    }
+
+    /**
+     * Push <i>depth</i> worlds, clearing <i>count</i> random bits in each of them, then backtrack to the root.
+     *
+     * @return a value, to prevent dead-code elimination
+     */
+    @Benchmark
+    public int removeValues() {
+        int k = 0;
+        for (int d = 0; d < depth; d++) {
+            env.worldPush();
+            for (int m = 0; m < count; m++, k++) {
+                bitsets[sets[k]].clear(bits[k]);
+            }
+        }
+        int sum = 0;
+        for (int d = 0; d < depth; d++) {
+            sum += bitsets[sets[d]].nextSetBit(0);
+            env.worldPop();
+        }
+        return sum;
+    }
+}
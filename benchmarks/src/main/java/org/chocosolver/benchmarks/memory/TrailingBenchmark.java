@@ -0,0 +1,111 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.memory;
+
+import org.chocosolver.memory.EnvironmentBuilder;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link IEnvironment#worldPush()} and {@link IEnvironment#worldPop()}
+ * when a given number of backtrackable ints are modified in each world.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrailingBenchmark {
+
+    /**
+     * Type of environment
+     */
+    @Param({"trailing", "copying"})
+    public String environment;
+
+    /**
+     * Number of backtrackable ints
+     */
+    @Param({"1000"})
+    public int size;
+
+    /**
+     * Number of modifications per world
+     */
+    @Param({"10", "1000"})
+    public int modifications;
+
+    /**
+     * Number of worlds pushed before backtracking to the root
+     */
+    @Param({"32"})
+    public int depth;
+
+    private IEnvironment env;
+    private IStateInt[] ints;
+    private int[] indices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        env = environment.equals("copying") ?
+                new EnvironmentBuilder().buildCopying() :
+                new EnvironmentBuilder().build();
+        ints = new IStateInt[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = env.makeInt(i);
+        }
+        Random rnd = new Random(0);
+        indices = new int[depth * modifications];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = rnd.nextInt(size);
+        }
+    }
+
+    /**
+     * Push <i>depth</i> worlds, modifying ints in each of them, then backtrack to the root.
+     *
+     * @return a value, to prevent dead-code elimination
+     */
+    @Benchmark
+    public int pushModifyPop() {
+        int k = 0;
+        for (int d = 0; d < depth; d++) {
+            env.worldPush();
+            for (int m = 0; m < modifications; m++) {
+                ints[indices[k++]].add(1);
+            }
+        }
+        int sum = 0;
+        for (int d = 0; d < depth; d++) {
+            sum += ints[indices[d]].get();
+            env.worldPop();
+        }
+        return sum;
+    }
+}
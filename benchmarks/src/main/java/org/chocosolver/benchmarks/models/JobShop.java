@@ -0,0 +1,210 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.models;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A job-shop scheduling model, where each machine is a cumulative resource of capacity 1,
+ * a disjunctive resource or a set of pairwise disjunctions, and the makespan is minimized.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class JobShop {
+
+    /**
+     * Machines of the FT06 instance (Fisher and Thompson, 1963), one row per job, optimal makespan is 55
+     */
+    public static final int[][] FT06_MACHINES = {
+            {2, 0, 1, 3, 5, 4},
+            {1, 2, 4, 5, 0, 3},
+            {2, 3, 5, 0, 1, 4},
+            {1, 0, 2, 3, 4, 5},
+            {2, 1, 4, 5, 0, 3},
+            {1, 3, 5, 0, 4, 2}
+    };
+
+    /**
+     * Durations of the FT06 instance, one row per job
+     */
+    public static final int[][] FT06_DURATIONS = {
+            {1, 3, 6, 7, 3, 6},
+            {8, 5, 10, 10, 10, 4},
+            {5, 4, 8, 9, 1, 7},
+            {5, 5, 5, 3, 8, 9},
+            {9, 3, 5, 4, 3, 1},
+            {3, 3, 9, 10, 4, 1}
+    };
+
+    /**
+     * Machines of the LA01 instance (Lawrence, 1984), one row per job, optimal makespan is 666
+     */
+    public static final int[][] LA01_MACHINES = {
+            {1, 0, 4, 3, 2},
+            {0, 3, 4, 2, 1},
+            {3, 4, 1, 2, 0},
+            {1, 0, 4, 2, 3},
+            {0, 3, 2, 1, 4},
+            {1, 2, 4, 0, 3},
+            {3, 4, 1, 2, 0},
+            {2, 0, 1, 3, 4},
+            {3, 1, 4, 0, 2},
+            {4, 3, 2, 1, 0}
+    };
+
+    /**
+     * Durations of the LA01 instance, one row per job
+     */
+    public static final int[][] LA01_DURATIONS = {
+            {21, 53, 95, 55, 34},
+            {21, 52, 16, 26, 71},
+            {39, 98, 42, 31, 12},
+            {77, 55, 79, 66, 77},
+            {83, 34, 64, 19, 37},
+            {54, 43, 79, 92, 62},
+            {69, 77, 87, 87, 93},
+            {38, 60, 41, 24, 83},
+            {17, 49, 25, 44, 98},
+            {77, 79, 43, 75, 96}
+    };
+
+    private JobShop() {
+    }
+
+    /**
+     * Build a job-shop model, the objective (the makespan) and a search strategy are set.
+     *
+     * @param machines  machine of each operation, one row per job
+     * @param durations duration of each operation, one row per job
+     * @return a model
+     */
+    public static Model build(int[][] machines, int[][] durations) {
+        return build(machines, durations, false);
+    }
+
+    /**
+     * Build a job-shop model, the objective (the makespan) and a search strategy are set.
+     *
+     * @param machines  machine of each operation, one row per job
+     * @param durations duration of each operation, one row per job
+     * @param unary     set to <tt>true</tt> to post a disjunctive constraint per machine,
+     *                  otherwise a cumulative constraint of capacity 1 is posted
+     * @return a model
+     */
+    public static Model build(int[][] machines, int[][] durations, boolean unary) {
+        Model model = new Model("JobShop");
+        int nbJobs = machines.length;
+        int horizon = 0;
+        int nbMachines = 0;
+        for (int j = 0; j < nbJobs; j++) {
+            for (int o = 0; o < machines[j].length; o++) {
+                horizon += durations[j][o];
+                nbMachines = Math.max(nbMachines, machines[j][o] + 1);
+            }
+        }
+        IntVar makespan = model.intVar("makespan", 0, horizon, true);
+        List<List<Task>> perMachine = new ArrayList<>();
+        for (int m = 0; m < nbMachines; m++) {
+            perMachine.add(new ArrayList<>());
+        }
+        List<IntVar> starts = new ArrayList<>();
+        for (int j = 0; j < nbJobs; j++) {
+            Task previous = null;
+            for (int o = 0; o < machines[j].length; o++) {
+                IntVar start = model.intVar("S_" + j + "_" + o, 0, horizon, true);
+                Task task = model.taskVar(start, durations[j][o]);
+                starts.add(start);
+                perMachine.get(machines[j][o]).add(task);
+                if (previous != null) {
+                    model.arithm(previous.getEnd(), "<=", start).post();
+                }
+                previous = task;
+            }
+            if (previous != null) {
+                model.arithm(previous.getEnd(), "<=", makespan).post();
+            }
+        }
+        IntVar one = model.intVar(1);
+        for (List<Task> tasks : perMachine) {
+            if (unary) {
+                model.disjunctive(tasks.toArray(new Task[0])).post();
+            } else {
+                IntVar[] heights = new IntVar[tasks.size()];
+                java.util.Arrays.fill(heights, one);
+                model.cumulative(tasks.toArray(new Task[0]), heights, one).post();
+            }
+        }
+        model.setObjective(Model.MINIMIZE, makespan);
+        model.getSolver().setSearch(
+                Search.domOverWDegSearch(starts.toArray(new IntVar[0])),
+                Search.inputOrderLBSearch(makespan));
+        return model;
+    }
+
+    /**
+     * Build a job-shop model where each pair of operations on the same machine is ordered by a boolean variable,
+     * the objective (the makespan) and a search strategy are set.
+     * All the constraints of this model explain their filtering, which makes it suitable for learning.
+     *
+     * @param machines  machine of each operation, one row per job
+     * @param durations duration of each operation, one row per job
+     * @return a model
+     */
+    public static Model buildDisjunctive(int[][] machines, int[][] durations) {
+        Model model = new Model("JobShop");
+        int nbJobs = machines.length;
+        int horizon = 0;
+        for (int j = 0; j < nbJobs; j++) {
+            for (int o = 0; o < machines[j].length; o++) {
+                horizon += durations[j][o];
+            }
+        }
+        IntVar makespan = model.intVar("makespan", 0, horizon, true);
+        IntVar[][] starts = new IntVar[nbJobs][];
+        for (int j = 0; j < nbJobs; j++) {
+            int last = machines[j].length - 1;
+            starts[j] = model.intVarArray("S_" + j, machines[j].length, 0, horizon, true);
+            for (int o = 0; o < last; o++) {
+                model.arithm(starts[j][o], "-", starts[j][o + 1], "<=", -durations[j][o]).post();
+            }
+            model.arithm(starts[j][last], "-", makespan, "<=", -durations[j][last]).post();
+        }
+        List<BoolVar> orders = new ArrayList<>();
+        for (int j1 = 0; j1 < nbJobs; j1++) {
+            for (int o1 = 0; o1 < machines[j1].length; o1++) {
+                for (int j2 = j1 + 1; j2 < nbJobs; j2++) {
+                    for (int o2 = 0; o2 < machines[j2].length; o2++) {
+                        if (machines[j1][o1] == machines[j2][o2]) {
+                            BoolVar before = model.boolVar("B_" + j1 + "_" + o1 + "_" + j2 + "_" + o2);
+                            model.arithm(starts[j1][o1], "-", starts[j2][o2], "<=", -durations[j1][o1]).reifyWith(before);
+                            model.arithm(starts[j2][o2], "-", starts[j1][o1], "<=", -durations[j2][o2]).reifyWith(before.not());
+                            orders.add(before);
+                        }
+                    }
+                }
+            }
+        }
+        model.setObjective(Model.MINIMIZE, makespan);
+        model.getSolver().setSearch(
+                Search.domOverWDegSearch(orders.toArray(new BoolVar[0])),
+                Search.inputOrderLBSearch(ArrayUtils.flatten(starts)),
+                Search.inputOrderLBSearch(makespan));
+        return model;
+    }
+}
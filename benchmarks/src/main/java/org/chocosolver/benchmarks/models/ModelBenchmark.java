@@ -0,0 +1,157 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.models;
+
+import org.chocosolver.examples.AbstractProblem;
+import org.chocosolver.examples.integer.CarSequencing;
+import org.chocosolver.examples.integer.GolombRuler;
+import org.chocosolver.examples.nqueen.NQueenBinary;
+import org.chocosolver.parser.SetUpException;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.propagation.PropagationEngine;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmarks on canonical models:
+ * <ul>
+ *     <li>"nqueens": enumerate all solutions of the 10-queens problem ({@link NQueenBinary}),</li>
+ *     <li>"golomb": find and prove the optimal Golomb ruler with 9 marks ({@link GolombRuler}),</li>
+ *     <li>"jobshop": find and prove the optimal makespan of FT06 ({@link JobShop}),</li>
+ *     <li>"carsequencing": find a solution of a car sequencing instance ({@link CarSequencing}).</li>
+ * </ul>
+ * Each problem is solved with the default propagation engine and with the adaptive one
+ * (see {@link org.chocosolver.solver.Settings#setAdaptivePropagationEngine(boolean)}).
+ * Models are built before each invocation, which is not measured.
+ * Besides the solving time, the number of nodes, of fixpoints and of propagator executions
+ * are reported as secondary results (see {@link Counters}), so that the effect of the engine
+ * on the propagation itself can be compared.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ModelBenchmark {
+
+    /**
+     * The problem to solve
+     */
+    @Param({"nqueens", "golomb", "jobshop", "carsequencing"})
+    public String problem;
+
+    /**
+     * The propagation engine, "default" or "adaptive"
+     */
+    @Param({"default", "adaptive"})
+    public String engine;
+
+    private Model model;
+
+    /**
+     * Counters reported along with the solving time, summed over the invocations of an iteration
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        /**
+         * Number of nodes
+         */
+        public long nodes;
+        /**
+         * Number of fixpoints reached
+         */
+        public long fixpoints;
+        /**
+         * Number of propagator executions
+         */
+        public long propagations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+            fixpoints = 0;
+            propagations = 0;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() throws SetUpException {
+        switch (problem) {
+            case "nqueens":
+                model = build(new NQueenBinary(), "-q", "10");
+                break;
+            case "golomb":
+                model = build(new GolombRuler(), "-m", "9");
+                // as done in GolombRuler#solve()
+                model.setObjective(Model.MINIMIZE, (IntVar) model.getVars()[8]);
+                break;
+            case "jobshop":
+                model = JobShop.build(JobShop.FT06_MACHINES, JobShop.FT06_DURATIONS);
+                break;
+            case "carsequencing":
+                model = build(new CarSequencing());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown problem " + problem);
+        }
+        if (engine.equals("adaptive")) {
+            model.getSettings().setAdaptivePropagationEngine(true);
+            model.getSolver().setEngine(new PropagationEngine(model));
+        }
+    }
+
+    private static Model build(AbstractProblem problem, String... args) throws SetUpException {
+        problem.setUp(args);
+        problem.buildModel();
+        problem.configureSearch();
+        return problem.getModel();
+    }
+
+    /**
+     * Solve the problem: enumerate all solutions of a satisfaction problem (but the first one only for
+     * car sequencing), or find and prove the optimal solution of an optimization problem.
+     *
+     * @param counters where the number of nodes, fixpoints and propagations are added
+     * @return the number of nodes, to prevent dead-code elimination
+     */
+    @Benchmark
+    public long solve(Counters counters) {
+        Solver solver = model.getSolver();
+        if (problem.equals("carsequencing")) {
+            solver.solve();
+        } else {
+            while (solver.solve()) ;
+        }
+        counters.nodes += solver.getNodeCount();
+        counters.fixpoints += solver.getFixpointCount();
+        counters.propagations += solver.getEngine().getNbPropagations();
+        return solver.getNodeCount();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.models;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+
+import java.util.Random;
+
+/**
+ * A resource-constrained project scheduling (RCPSP) model, where each resource is a cumulative resource,
+ * activities are linked by precedences and the makespan is minimized.
+ * <br/>
+ * Instances are generated randomly, with the same shape as the 30-activity instances of the PSPLIB
+ * (Kolisch and Sprecher, 1997): 4 renewable resources, durations from 1 to 10,
+ * each activity requires a subset of the resources and has up to 3 successors.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class Rcpsp {
+
+    private Rcpsp() {
+    }
+
+    /**
+     * Build a random instance and its model, the objective (the makespan) and a search strategy are set.
+     *
+     * @param nbActivities number of activities
+     * @param seed         seed for the random generator
+     * @param filters      filtering algorithms of the cumulative constraints
+     * @return a model
+     */
+    public static Model build(int nbActivities, long seed, Cumulative.Filter... filters) {
+        Random rnd = new Random(seed);
+        int nbResources = 4;
+        int[] durations = new int[nbActivities];
+        int[][] demands = new int[nbResources][nbActivities];
+        int[] capacities = new int[nbResources];
+        int horizon = 0;
+        for (int a = 0; a < nbActivities; a++) {
+            durations[a] = 1 + rnd.nextInt(10);
+            horizon += durations[a];
+            for (int r = 0; r < nbResources; r++) {
+                if (rnd.nextInt(2) == 0) {
+                    demands[r][a] = 1 + rnd.nextInt(10);
+                    capacities[r] = Math.max(capacities[r], demands[r][a]);
+                }
+            }
+        }
+        for (int r = 0; r < nbResources; r++) {
+            // tight resources: a few activities at once
+            capacities[r] += 2 + rnd.nextInt(6);
+        }
+        Model model = new Model("RCPSP");
+        IntVar makespan = model.intVar("makespan", 0, horizon, true);
+        IntVar[] starts = model.intVarArray("S", nbActivities, 0, horizon, true);
+        Task[] tasks = new Task[nbActivities];
+        for (int a = 0; a < nbActivities; a++) {
+            tasks[a] = model.taskVar(starts[a], durations[a]);
+            model.arithm(tasks[a].getEnd(), "<=", makespan).post();
+            // successors are chosen among the next activities, which makes the precedence graph acyclic
+            int nbSucc = a + 1 < nbActivities ? rnd.nextInt(4) : 0;
+            for (int k = 0; k < nbSucc; k++) {
+                int b = a + 1 + rnd.nextInt(Math.min(nbActivities - a - 1, 8));
+                model.arithm(tasks[a].getEnd(), "<=", starts[b]).post();
+            }
+        }
+        for (int r = 0; r < nbResources; r++) {
+            int nb = 0;
+            for (int a = 0; a < nbActivities; a++) {
+                if (demands[r][a] > 0) nb++;
+            }
+            Task[] ts = new Task[nb];
+            IntVar[] hs = new IntVar[nb];
+            nb = 0;
+            for (int a = 0; a < nbActivities; a++) {
+                if (demands[r][a] > 0) {
+                    ts[nb] = tasks[a];
+                    hs[nb++] = model.intVar(demands[r][a]);
+                }
+            }
+            model.cumulative(ts, hs, model.intVar(capacities[r]), false, filters).post();
+        }
+        model.setObjective(Model.MINIMIZE, makespan);
+        model.getSolver().setSearch(
+                Search.minDomLBSearch(starts),
+                Search.inputOrderLBSearch(makespan));
+        return model;
+    }
+}
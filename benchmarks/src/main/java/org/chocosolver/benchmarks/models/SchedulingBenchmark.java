@@ -0,0 +1,98 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.models;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the filtering of resources on scheduling problems:
+ * <ul>
+ *     <li>"ft06": find and prove the optimal makespan of the FT06 job-shop instance ({@link JobShop}),</li>
+ *     <li>"la01": explore the first 100,000 nodes of the LA01 job-shop instance ({@link JobShop}),</li>
+ *     <li>"rcpsp": find and prove the optimal makespan of a random 30-activity RCPSP instance ({@link Rcpsp}).</li>
+ * </ul>
+ * With "cumulative", machines are cumulative constraints of capacity 1 and RCPSP resources use the default filter.
+ * With "edgefinding", machines are disjunctive constraints and RCPSP resources add timetable edge-finding.
+ * Models are built before each invocation, which is not measured.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SchedulingBenchmark {
+
+    /**
+     * The problem to solve
+     */
+    @Param({"ft06", "la01", "rcpsp"})
+    public String problem;
+
+    /**
+     * The resource filtering, "cumulative" or "edgefinding"
+     */
+    @Param({"cumulative", "edgefinding"})
+    public String filtering;
+
+    private Model model;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        boolean ef = filtering.equals("edgefinding");
+        switch (problem) {
+            case "ft06":
+                model = JobShop.build(JobShop.FT06_MACHINES, JobShop.FT06_DURATIONS, ef);
+                break;
+            case "la01":
+                model = JobShop.build(JobShop.LA01_MACHINES, JobShop.LA01_DURATIONS, ef);
+                model.getSolver().limitNode(100_000);
+                break;
+            case "rcpsp":
+                model = ef ?
+                        Rcpsp.build(30, 0, Cumulative.Filter.DEFAULT, Cumulative.Filter.TTEF) :
+                        Rcpsp.build(30, 0, Cumulative.Filter.DEFAULT);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown problem " + problem);
+        }
+    }
+
+    /**
+     * Find and prove the optimal solution, unless a limit is reached.
+     *
+     * @return the number of nodes, to prevent dead-code elimination
+     */
+    @Benchmark
+    public long solve() {
+        Solver solver = model.getSolver();
+        while (solver.solve()) ;
+        return solver.getNodeCount();
+    }
+}
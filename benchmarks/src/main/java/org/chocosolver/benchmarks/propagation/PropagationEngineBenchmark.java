@@ -0,0 +1,99 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.propagation;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link org.chocosolver.solver.propagation.PropagationEngine#propagate()}
+ * on a n-queens model with binary constraints only (that is, many cheap propagators),
+ * after instantiating a queen, in a new world which is then popped.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropagationEngineBenchmark {
+
+    /**
+     * Number of queens
+     */
+    @Param({"32", "128"})
+    public int n;
+
+    private IEnvironment env;
+    private Solver solver;
+    private IntVar[] vars;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ContradictionException {
+        Model model = new Model();
+        vars = model.intVarArray("Q", n, 1, n, false);
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int k = j - i;
+                model.arithm(vars[i], "!=", vars[j]).post();
+                model.arithm(vars[i], "!=", vars[j], "+", -k).post();
+                model.arithm(vars[i], "!=", vars[j], "+", k).post();
+            }
+        }
+        env = model.getEnvironment();
+        solver = model.getSolver();
+        // initializes the engine and reaches the root fix point
+        solver.propagate();
+        next = 0;
+    }
+
+    /**
+     * Instantiate a queen and propagate.
+     *
+     * @return a value, to prevent dead-code elimination
+     */
+    @Benchmark
+    public int propagate() {
+        int i = next;
+        next = (next + 1) % n;
+        env.worldPush();
+        int s = 0;
+        try {
+            vars[i].instantiateTo(1 + (i * 7) % n, Cause.Null);
+            solver.propagate();
+            s = vars[(i + 1) % n].getDomainSize();
+        } catch (ContradictionException ignored) {
+        }
+        env.worldPop();
+        return s;
+    }
+}
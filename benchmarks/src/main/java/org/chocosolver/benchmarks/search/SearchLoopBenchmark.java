@@ -0,0 +1,117 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.search;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch;
+import org.chocosolver.solver.search.loop.monitors.IMonitorOpenNode;
+import org.chocosolver.solver.search.loop.monitors.IMonitorUpBranch;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+
+/**
+ * Measures the throughput of the search loop, on depth-first searches where propagation is cheap:
+ * <ul>
+ *     <li>"bools": enumerate all the ways to pick at most 10 out of 20 booleans, with one sum constraint,</li>
+ *     <li>"queens": enumerate all solutions of the 11-queens problem, with binary constraints only.</li>
+ * </ul>
+ * Each search is run with no search monitor plugged, and with monitors listening to every node and branch,
+ * which do nothing, to measure the cost of dispatching events.
+ * Models are built before each invocation, which is not measured.
+ * The number of nodes per second is the number of nodes returned divided by the time.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SearchLoopBenchmark {
+
+    /**
+     * The problem to solve
+     */
+    @Param({"bools", "queens"})
+    public String problem;
+
+    /**
+     * Number of no-op search monitors plugged
+     */
+    @Param({"0", "2"})
+    public int monitors;
+
+    private Solver solver;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        Model model = new Model();
+        IntVar[] vars;
+        switch (problem) {
+            case "bools":
+                BoolVar[] b = model.boolVarArray("b", 20);
+                model.sum(b, "<=", 10).post();
+                vars = b;
+                break;
+            case "queens":
+                int n = 11;
+                vars = model.intVarArray("q", n, 1, n);
+                for (int i = 0; i < n - 1; i++) {
+                    for (int j = i + 1; j < n; j++) {
+                        int k = j - i;
+                        model.arithm(vars[i], "!=", vars[j]).post();
+                        model.arithm(vars[i], "!=", vars[j], "+", -k).post();
+                        model.arithm(vars[i], "!=", vars[j], "+", k).post();
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown problem " + problem);
+        }
+        solver = model.getSolver();
+        solver.setSearch(inputOrderLBSearch(vars));
+        for (int i = 0; i < monitors; i++) {
+            solver.plugMonitor(new NoOpMonitor());
+        }
+    }
+
+    /**
+     * Enumerate all solutions.
+     *
+     * @return the number of nodes, to prevent dead-code elimination
+     */
+    @Benchmark
+    public long solve() {
+        while (solver.solve()) ;
+        return solver.getNodeCount();
+    }
+
+    private static final class NoOpMonitor implements IMonitorOpenNode, IMonitorDownBranch, IMonitorUpBranch {
+    }
+}
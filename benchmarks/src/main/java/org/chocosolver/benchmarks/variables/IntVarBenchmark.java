@@ -0,0 +1,176 @@
+/*
+ * This file is part of benchmarks, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.benchmarks.variables;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures domain operations of integer variables:
+ * <ul>
+ *     <li>"bitset": {@link org.chocosolver.solver.variables.impl.BitsetIntVarImpl},</li>
+ *     <li>"interval": {@link org.chocosolver.solver.variables.impl.IntervalIntVarImpl},</li>
+ *     <li>"bitsetarray": {@link org.chocosolver.solver.variables.impl.BitsetArrayIntVarImpl}.</li>
+ * </ul>
+ * Each operation is done in a new world, which is then popped.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntVarBenchmark {
+
+    /**
+     * Implementation of the variable
+     */
+    @Param({"bitset", "interval", "bitsetarray"})
+    public String kind;
+
+    /**
+     * Domain size
+     */
+    @Param({"64", "1024"})
+    public int size;
+
+    private IEnvironment env;
+    private IntVar var;
+    private int[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Model model = new Model();
+        env = model.getEnvironment();
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            // sparse enough to get a BitsetArrayIntVarImpl
+            values[i] = kind.equals("bitsetarray") ? i * 10 : i;
+        }
+        switch (kind) {
+            case "interval":
+                var = model.intVar("x", 0, size - 1, true);
+                break;
+            case "bitset":
+                var = model.intVar("x", 0, size - 1, false);
+                break;
+            case "bitsetarray":
+                var = model.intVar("x", values);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown kind " + kind);
+        }
+        // shuffle values
+        Random rnd = new Random(0);
+        for (int i = size - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+    }
+
+    /**
+     * Remove all values but one, in a random order (only bounds are removed from an interval domain).
+     *
+     * @return a value, to prevent dead-code elimination
+     * @throws ContradictionException never
+     */
+    @Benchmark
+    public int removeValues() throws ContradictionException {
+        env.worldPush();
+        for (int i = 1; i < size; i++) {
+            var.removeValue(values[i], Cause.Null);
+        }
+        int s = var.getDomainSize();
+        env.worldPop();
+        return s;
+    }
+
+    /**
+     * Shrink the domain, from both bounds alternatively, to a single value.
+     *
+     * @return a value, to prevent dead-code elimination
+     * @throws ContradictionException never
+     */
+    @Benchmark
+    public int updateBounds() throws ContradictionException {
+        env.worldPush();
+        boolean low = true;
+        while (!var.isInstantiated()) {
+            if (low) {
+                var.updateLowerBound(var.nextValue(var.getLB()), Cause.Null);
+            } else {
+                var.updateUpperBound(var.previousValue(var.getUB()), Cause.Null);
+            }
+            low = !low;
+        }
+        int s = var.getValue();
+        env.worldPop();
+        return s;
+    }
+
+    /**
+     * Iterate over the values of the domain, after removing one value out of two.
+     *
+     * @return a value, to prevent dead-code elimination
+     * @throws ContradictionException never
+     */
+    @Benchmark
+    public int iterate() throws ContradictionException {
+        env.worldPush();
+        for (int i = 0; i < size; i += 2) {
+            var.removeValue(values[i], Cause.Null);
+        }
+        int s = 0;
+        int ub = var.getUB();
+        for (int v = var.getLB(); v <= ub; v = var.nextValue(v)) {
+            s += v;
+        }
+        env.worldPop();
+        return s;
+    }
+
+    /**
+     * Instantiate the variable.
+     *
+     * @return a value, to prevent dead-code elimination
+     * @throws ContradictionException never
+     */
+    @Benchmark
+    public int instantiate() throws ContradictionException {
+        env.worldPush();
+        var.instantiateTo(values[size / 2], Cause.Null);
+        int s = var.getValue();
+        env.worldPop();
+        return s;
+    }
+}
@@ -23,6 +23,9 @@ public Datas datas;
 
 // the model
 public Model mModel;
+
+// when not null, statements are recorded in it instead of being built in the model
+public FInstance instance;
 }
 
 
@@ -215,7 +218,11 @@ param_decl
 	:   pt=par_type CL IDENTIFIER EQ e=expr SC
 	{
     // Parameter(Datas datas, Declaration type, String identifier, Expression expression)
-    FParameter.make_parameter(datas, $pt.decl, $IDENTIFIER.text, $e.exp);
+    if (instance != null) {
+        instance.addParameter($pt.decl, $IDENTIFIER.text, $e.exp);
+    } else {
+        FParameter.make_parameter(datas, $pt.decl, $IDENTIFIER.text, $e.exp);
+    }
     }
 	;
 
@@ -224,7 +231,11 @@ var_decl
 	:
 	vt=var_type CL IDENTIFIER anns=annotations (eq=EQ e=expr)? SC
 	{
-	FVariable.make_variable(datas, $vt.decl, $IDENTIFIER.text, $anns.anns, $eq!=null?$e.exp:null, mModel);
+	if (instance != null) {
+	    instance.addVariable($vt.decl, $IDENTIFIER.text, $anns.anns, $eq!=null?$e.exp:null);
+	} else {
+	    FVariable.make_variable(datas, $vt.decl, $IDENTIFIER.text, $anns.anns, $eq!=null?$e.exp:null, mModel);
+	}
     }
 	;
 
@@ -237,15 +248,23 @@ constraint
 	    CONSTRAINT IDENTIFIER LP e=expr {exps.add($e.exp);} (CM e=expr{exps.add($e.exp);})* RP anns=annotations SC
     {
     String name = $IDENTIFIER.text;
-    datas.incCstrCounter(name);
-    FConstraint.valueOf(name).build(mModel, datas, name, exps, $anns.anns);
+    if (instance != null) {
+        instance.addConstraint(name, exps, $anns.anns);
+    } else {
+        datas.incCstrCounter(name);
+        FConstraint.valueOf(name).build(mModel, datas, name, exps, $anns.anns);
+    }
     }
 	;
 
 solve_goal
 	:   SOLVE anns=annotations res=resolution SC
 	{
-    FGoal.define_goal(mModel, $anns.anns,$res.rtype,$res.exp);
+    if (instance != null) {
+        instance.setGoal($anns.anns,$res.rtype,$res.exp);
+    } else {
+        FGoal.define_goal(mModel, $anns.anns,$res.rtype,$res.exp);
+    }
     }
 	;
 
@@ -0,0 +1,314 @@
+/*
+ * This file is part of choco-parsers, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.parser;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A directory of parsed instances, stored in a compact binary format and keyed by a hash of their content.
+ * <p>
+ * Parsing a large text instance dominates the start-up time of a resolution.
+ * When the same instance is solved many times, with different limits or seeds,
+ * the parsed instance is stored once in a file of this cache, then read back from a memory-mapped buffer
+ * instead of being lexed and parsed again:
+ * <pre>
+ *     {@code
+ *     ModelCache cache = new ModelCache(dir);
+ *     String key = ModelCache.key(instance, "fzn");
+ *     ModelCache.Input in = cache.load(key);
+ *     if (in == null) {
+ *         // parse the instance, then
+ *         cache.store(key, out -> ...);
+ *     }
+ *     }
+ * </pre>
+ * </p>
+ * <p>
+ * The key depends on the content of the instance, not on its path or its date,
+ * and on the options that change the parsed instance.
+ * A file written with another version of the format is ignored.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class ModelCache {
+
+    /**
+     * Version of the format, to change each time the encoding of a parsed instance changes
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x43484f43;
+
+    private static final String EXT = ".bin";
+
+    /**
+     * Writes a parsed instance.
+     */
+    @FunctionalInterface
+    public interface Writer {
+        void write(Output out) throws IOException;
+    }
+
+    private final Path directory;
+
+    /**
+     * Create a cache in <i>directory</i>, which is created if needed.
+     *
+     * @param directory path to the directory of the cache
+     */
+    public ModelCache(String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Compute the key of an instance in a cache.
+     *
+     * @param instance path to the instance
+     * @param options  the format and the options which change the parsed instance
+     * @return the key of <i>instance</i>, the SHA-256 of its content and of <i>options</i>, in hexadecimal
+     * @throws IOException if the instance cannot be read
+     */
+    public static String key(String instance, String... options) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(instance), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        for (String option : options) {
+            digest.update((byte) 0);
+            digest.update(option.getBytes(StandardCharsets.UTF_8));
+        }
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Load the parsed instance stored with <i>key</i>.
+     *
+     * @param key key of an instance, see {@link #key(String, String...)}
+     * @return the parsed instance, or <i>null</i> if this cache does not store it
+     * @throws IOException if the file of the instance cannot be read
+     */
+    public Input load(String key) throws IOException {
+        Path path = directory.resolve(key + EXT);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < 8 || channel.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            // the mapping remains valid once the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return null;
+        }
+        return new Input(buffer);
+    }
+
+    /**
+     * Store a parsed instance with <i>key</i>.
+     * The instance is written in a temporary file first, then moved, so that a concurrent run
+     * never reads a partially written file.
+     *
+     * @param key    key of an instance, see {@link #key(String, String...)}
+     * @param writer writes the parsed instance
+     * @throws IOException if the instance cannot be written
+     */
+    public void store(String key, Writer writer) throws IOException {
+        Files.createDirectories(directory);
+        Path tmp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                dos.writeInt(MAGIC);
+                dos.writeInt(VERSION);
+                writer.write(new Output(dos));
+            }
+            try {
+                Files.move(tmp, directory.resolve(key + EXT), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, directory.resolve(key + EXT), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Sink of a parsed instance.
+     * Names, that is identifiers which are repeated many times, are written once and then referred to by index.
+     */
+    public static final class Output {
+
+        private final DataOutputStream out;
+
+        private final TObjectIntHashMap<String> names = new TObjectIntHashMap<>(16, .5f, -1);
+
+        Output(DataOutputStream out) {
+            this.out = out;
+        }
+
+        public void writeBoolean(boolean v) throws IOException {
+            out.writeBoolean(v);
+        }
+
+        public void writeByte(int v) throws IOException {
+            out.writeByte(v);
+        }
+
+        public void writeInt(int v) throws IOException {
+            out.writeInt(v);
+        }
+
+        public void writeDouble(double v) throws IOException {
+            out.writeDouble(v);
+        }
+
+        /**
+         * Write an array of integers, each one on 1, 2 or 4 bytes depending on the range of the values.
+         */
+        public void writeInts(int[] vs) throws IOException {
+            int min = 0, max = 0;
+            for (int v : vs) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            out.writeInt(vs.length);
+            if (min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE) {
+                out.writeByte(Byte.BYTES);
+                for (int v : vs) {
+                    out.writeByte(v);
+                }
+            } else if (min >= Short.MIN_VALUE && max <= Short.MAX_VALUE) {
+                out.writeByte(Short.BYTES);
+                for (int v : vs) {
+                    out.writeShort(v);
+                }
+            } else {
+                out.writeByte(Integer.BYTES);
+                for (int v : vs) {
+                    out.writeInt(v);
+                }
+            }
+        }
+
+        public void writeString(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        public void writeName(String s) throws IOException {
+            int idx = names.get(s);
+            if (idx == -1) {
+                names.put(s, names.size());
+                out.writeInt(-1);
+                writeString(s);
+            } else {
+                out.writeInt(idx);
+            }
+        }
+    }
+
+    /**
+     * Source of a parsed instance, backed by a memory-mapped buffer.
+     */
+    public static final class Input {
+
+        private final ByteBuffer in;
+
+        private final List<String> names = new ArrayList<>();
+
+        Input(ByteBuffer in) {
+            this.in = in;
+        }
+
+        public boolean readBoolean() {
+            return in.get() != 0;
+        }
+
+        public byte readByte() {
+            return in.get();
+        }
+
+        public int readInt() {
+            return in.getInt();
+        }
+
+        public double readDouble() {
+            return in.getDouble();
+        }
+
+        public int[] readInts() {
+            int[] vs = new int[in.getInt()];
+            switch (in.get()) {
+                case Byte.BYTES:
+                    for (int i = 0; i < vs.length; i++) {
+                        vs[i] = in.get();
+                    }
+                    break;
+                case Short.BYTES:
+                    for (int i = 0; i < vs.length; i++) {
+                        vs[i] = in.getShort();
+                    }
+                    break;
+                default:
+                    in.asIntBuffer().get(vs);
+                    in.position(in.position() + vs.length * Integer.BYTES);
+                    break;
+            }
+            return vs;
+        }
+
+        public String readString() {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        public String readName() {
+            int idx = in.getInt();
+            if (idx == -1) {
+                String s = readString();
+                names.add(s);
+                return s;
+            }
+            return names.get(idx);
+        }
+    }
+}
@@ -124,6 +124,10 @@ public abstract class RegParser implements IParser {
     @Option(name = "-dfx", usage = "Force default explanation algorithm.")
     public boolean dftexp = false;
 
+    @Option(name = "-cache", usage = "Directory of pre-compiled instances: the instance is read from it when present, " +
+            "added to it otherwise (default: no cache).")
+    protected String cache = null;
+
     /**
      * Default settings to apply
      */
@@ -9,11 +9,11 @@
  */
 package org.chocosolver.parser.flatzinc;
 
-import org.antlr.v4.runtime.*;
-import org.antlr.v4.runtime.atn.PredictionMode;
 import org.chocosolver.parser.Level;
+import org.chocosolver.parser.ModelCache;
 import org.chocosolver.parser.RegParser;
 import org.chocosolver.parser.flatzinc.ast.Datas;
+import org.chocosolver.parser.flatzinc.ast.FInstance;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ResolutionPolicy;
 import org.chocosolver.solver.Settings;
@@ -33,6 +33,9 @@ import java.nio.file.Paths;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -116,43 +119,98 @@ public class Flatzinc extends RegParser {
     @Override
     public void buildModel() {
         List<Model> models = portfolio.getModels();
-        for (int i = 0; i < models.size(); i++) {
+        if (models.size() == 1 && cache == null) {
             try {
                 long ptime = -System.currentTimeMillis();
                 FileInputStream fileInputStream = new FileInputStream(instance);
-                parse(models.get(i), datas[i], fileInputStream);
+                parse(models.get(0), datas[0], fileInputStream);
                 fileInputStream.close();
-                models.get(i).getSolver().logWithANSI(ansi);
-                if (level.isLoggable(Level.INFO)) {
-                    models.get(i).getSolver().log().white().printf(String.format("File parsed in %d ms%n", (ptime + System.currentTimeMillis())));
-                }
-                if (level.is(Level.JSON)) {
-                    models.get(i).getSolver().log().printf("{\"name\":\"%s\",\"stats\":[", instance);
-                }
+                onParsed(models.get(0), ptime + System.currentTimeMillis());
             } catch (IOException e) {
                 throw new Error(e.getMessage());
             }
+        } else {
+            // parse once, or load from the cache, then build the models concurrently
+            long ptime = -System.currentTimeMillis();
+            FInstance fi;
+            try {
+                fi = loadInstance();
+            } catch (IOException e) {
+                throw new Error(e.getMessage());
+            }
+            ForkJoinPool forkJoinPool = new ForkJoinPool(Math.min(models.size(), Runtime.getRuntime().availableProcessors()));
+            try {
+                forkJoinPool.submit(() -> IntStream.range(0, models.size()).parallel()
+                        .forEach(i -> fi.build(models.get(i), datas[i]))).get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new Error(e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), e);
+            } finally {
+                forkJoinPool.shutdown();
+            }
+            for (Model model : models) {
+                onParsed(model, ptime + System.currentTimeMillis());
+            }
         }
     }
 
+    /**
+     * Parse the instance, or read it from the cache when one is declared.
+     * In the latter case, a parsed instance which is not in the cache yet is added to it.
+     */
+    private FInstance loadInstance() throws IOException {
+        ModelCache mc = null;
+        String key = null;
+        if (cache != null) {
+            mc = new ModelCache(cache);
+            key = ModelCache.key(instance, "fzn");
+            ModelCache.Input in = mc.load(key);
+            if (in != null) {
+                if (level.isLoggable(Level.INFO)) {
+                    System.out.printf("%% Instance read from %s%n", cache);
+                }
+                return FInstance.read(in);
+            }
+        }
+        FInstance fi;
+        try (FileInputStream fileInputStream = new FileInputStream(instance)) {
+            fi = parse(fileInputStream);
+        }
+        if (mc != null) {
+            mc.store(key, fi::write);
+        }
+        return fi;
+    }
+
+    private void onParsed(Model model, long time) {
+        model.getSolver().logWithANSI(ansi);
+        if (level.isLoggable(Level.INFO)) {
+            model.getSolver().log().white().printf(String.format("File parsed in %d ms%n", time));
+        }
+        if (level.is(Level.JSON)) {
+            model.getSolver().log().printf("{\"name\":\"%s\",\"stats\":[", instance);
+        }
+    }
+
+    /**
+     * Parse the flatzinc instance in <i>is</i> and build it into <i>target</i>, on the fly.
+     *
+     * @param target the model to feed
+     * @param data   the objects declared in <i>target</i>
+     * @param is     the flatzinc instance
+     */
     public void parse(Model target, Datas data, InputStream is) {
-        CharStream input = new UnbufferedCharStream(is);
-        Flatzinc4Lexer lexer = new Flatzinc4Lexer(input);
-        lexer.setTokenFactory(new CommonTokenFactory(true));
-        TokenStream tokens = new UnbufferedTokenStream<CommonToken>(lexer);
-        Flatzinc4Parser parser = new Flatzinc4Parser(tokens);
-        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
-        parser.setBuildParseTree(false);
-        parser.setTrimParseTree(false);
-        //parser.setProfile(true);
-        parser.flatzinc_model(target, data);
-        /*ParseInfo parseInfo = parser.getParseInfo();
-        ATN atn = parser.getATN();
-        for (DecisionInfo di : parseInfo.getDecisionInfo()) {
-            DecisionState ds = atn.decisionToState.get(di.decision);
-            String ruleName = Flatzinc4Parser.ruleNames[ds.ruleIndex];
-            System.out.println(ruleName +" -> " + di.toString());
-        }*/
+        new FlatzincReader(is).read(target, data);
+    }
+
+    /**
+     * Parse the flatzinc instance in <i>is</i> into an intermediate representation,
+     * which can then be built into many models.
+     *
+     * @param is the flatzinc instance
+     * @return the parsed instance
+     */
+    public FInstance parse(InputStream is) {
+        return new FlatzincReader(is).read();
     }
 
     /**
@@ -160,6 +218,7 @@ public class Flatzinc extends RegParser {
      *
      * @param m a Model
      */
+    @Override
     protected void makeComplementarySearch(Model m, int i) {
         if (ocs) {
             super.makeComplementarySearch(m, i);
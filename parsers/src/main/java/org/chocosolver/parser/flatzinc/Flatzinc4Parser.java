@@ -129,6 +129,9 @@ public class Flatzinc4Parser extends Parser {
 	// the model
 	public Model mModel;
 
+	// when not null, statements are recorded in it instead of being built in the model
+	public FInstance instance;
+
 	public Flatzinc4Parser(TokenStream input) {
 		super(input);
 		_interp = new ParserATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
@@ -1151,7 +1154,11 @@ public class Flatzinc4Parser extends Parser {
 			match(SC);
 
 			    // Parameter(Datas datas, Declaration type, String identifier, Expression expression)
-			    FParameter.make_parameter(datas, ((Param_declContext)_localctx).pt.decl, (((Param_declContext)_localctx).IDENTIFIER!=null?((Param_declContext)_localctx).IDENTIFIER.getText():null), ((Param_declContext)_localctx).e.exp);
+			    if (instance != null) {
+			        instance.addParameter(((Param_declContext)_localctx).pt.decl, (((Param_declContext)_localctx).IDENTIFIER!=null?((Param_declContext)_localctx).IDENTIFIER.getText():null), ((Param_declContext)_localctx).e.exp);
+			    } else {
+			        FParameter.make_parameter(datas, ((Param_declContext)_localctx).pt.decl, (((Param_declContext)_localctx).IDENTIFIER!=null?((Param_declContext)_localctx).IDENTIFIER.getText():null), ((Param_declContext)_localctx).e.exp);
+			    }
 			    
 			}
 		}
@@ -1221,7 +1228,11 @@ public class Flatzinc4Parser extends Parser {
 			setState(274);
 			match(SC);
 
-				FVariable.make_variable(datas, ((Var_declContext)_localctx).vt.decl, (((Var_declContext)_localctx).IDENTIFIER!=null?((Var_declContext)_localctx).IDENTIFIER.getText():null), ((Var_declContext)_localctx).anns.anns, ((Var_declContext)_localctx).eq!=null?((Var_declContext)_localctx).e.exp:null, mModel);
+				if (instance != null) {
+				    instance.addVariable(((Var_declContext)_localctx).vt.decl, (((Var_declContext)_localctx).IDENTIFIER!=null?((Var_declContext)_localctx).IDENTIFIER.getText():null), ((Var_declContext)_localctx).anns.anns, ((Var_declContext)_localctx).eq!=null?((Var_declContext)_localctx).e.exp:null);
+				} else {
+				    FVariable.make_variable(datas, ((Var_declContext)_localctx).vt.decl, (((Var_declContext)_localctx).IDENTIFIER!=null?((Var_declContext)_localctx).IDENTIFIER.getText():null), ((Var_declContext)_localctx).anns.anns, ((Var_declContext)_localctx).eq!=null?((Var_declContext)_localctx).e.exp:null, mModel);
+				}
 			    
 			}
 		}
@@ -1309,8 +1320,12 @@ public class Flatzinc4Parser extends Parser {
 			match(SC);
 
 			    String name = (((ConstraintContext)_localctx).IDENTIFIER!=null?((ConstraintContext)_localctx).IDENTIFIER.getText():null);
-			    datas.incCstrCounter(name);
-			    FConstraint.valueOf(name).build(mModel, datas, name, exps, ((ConstraintContext)_localctx).anns.anns);
+			    if (instance != null) {
+			        instance.addConstraint(name, exps, ((ConstraintContext)_localctx).anns.anns);
+			    } else {
+			        datas.incCstrCounter(name);
+			        FConstraint.valueOf(name).build(mModel, datas, name, exps, ((ConstraintContext)_localctx).anns.anns);
+			    }
 			    
 			}
 		}
@@ -1357,7 +1372,11 @@ public class Flatzinc4Parser extends Parser {
 			setState(300);
 			match(SC);
 
-			    FGoal.define_goal(mModel, ((Solve_goalContext)_localctx).anns.anns,((Solve_goalContext)_localctx).res.rtype,((Solve_goalContext)_localctx).res.exp);
+			    if (instance != null) {
+			        instance.setGoal(((Solve_goalContext)_localctx).anns.anns,((Solve_goalContext)_localctx).res.rtype,((Solve_goalContext)_localctx).res.exp);
+			    } else {
+			        FGoal.define_goal(mModel, ((Solve_goalContext)_localctx).anns.anns,((Solve_goalContext)_localctx).res.rtype,((Solve_goalContext)_localctx).res.exp);
+			    }
 			    
 			}
 		}
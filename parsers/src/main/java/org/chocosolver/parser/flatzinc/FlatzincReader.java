@@ -0,0 +1,709 @@
+/*
+ * This file is part of choco-parsers, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.parser.flatzinc;
+
+import org.chocosolver.parser.ParserException;
+import org.chocosolver.parser.flatzinc.ast.*;
+import org.chocosolver.parser.flatzinc.ast.declaration.*;
+import org.chocosolver.parser.flatzinc.ast.expression.*;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ResolutionPolicy;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A hand-written, streaming, flatzinc reader.
+ * <p>
+ * The input is tokenized from a NIO buffer and each item is built, or recorded in a {@link FInstance},
+ * as soon as it is read: in particular, a <code>constraint</code> item is posted before the next one is read,
+ * and no parse tree is created.
+ * Arrays and sets of integer constants are read into a reusable <code>int[]</code> and stored as such,
+ * see {@link EArray#EArray(int[])}.
+ * </p>
+ * <p>
+ * It accepts the same language as {@link Flatzinc4Parser}, and builds the same objects, but stops on the first error.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class FlatzincReader {
+
+    private static final int EOF = 0, IDENTIFIER = 1, INT_CONST = 2, STRING = 3,
+            DD = 4, LB = 5, RB = 6, CM = 7, LS = 8, RS = 9, EQ = 10, SC = 11, CL = 12, DC = 13, LP = 14, RP = 15,
+            BOOL = 16, TRUE = 17, FALSE = 18, INT = 19, FLOAT = 20, SET = 21, OF = 22, ARRAY = 23, VAR = 24,
+            PAR = 25, PREDICATE = 26, CONSTRAINT = 27, SOLVE = 28, SATISFY = 29, MINIMIZE = 30, MAXIMIZE = 31;
+
+    private static final String[] NAMES = {"end of file", "identifier", "integer", "string",
+            "'..'", "'{'", "'}'", "','", "'['", "']'", "'='", "';'", "':'", "'::'", "'('", "')'",
+            "'bool'", "'true'", "'false'", "'int'", "'float'", "'set'", "'of'", "'array'", "'var'",
+            "'par'", "'predicate'", "'constraint'", "'solve'", "'satisfy'", "'minimize'", "'maximize'"};
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    private final byte[] bytes = buffer.array();
+    private int pos, lim;
+    private int line = 1;
+
+    /**
+     * The current token, and its text or its value
+     */
+    private int token;
+    private String text;
+    private int value;
+    /**
+     * Reusable buffers, for the text of a token and for integer literals
+     */
+    private byte[] chars = new byte[64];
+    private int[] ints = new int[64];
+
+    private Model model;
+    private Datas datas;
+    private FInstance instance;
+
+    /**
+     * Create a reader of a flatzinc instance.
+     *
+     * @param channel the flatzinc instance
+     */
+    public FlatzincReader(ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Create a reader of a flatzinc instance.
+     *
+     * @param is the flatzinc instance
+     */
+    public FlatzincReader(InputStream is) {
+        this(is instanceof FileInputStream ? ((FileInputStream) is).getChannel() : Channels.newChannel(is));
+    }
+
+    /**
+     * Read the instance and build it into <i>model</i>, on the fly.
+     *
+     * @param model the model to feed
+     * @param datas the objects declared in <i>model</i>
+     */
+    public void read(Model model, Datas datas) {
+        this.model = model;
+        this.datas = datas;
+        this.instance = null;
+        flatzincModel();
+    }
+
+    /**
+     * Read the instance into an intermediate representation, which can then be built into many models.
+     *
+     * @return the instance read
+     */
+    public FInstance read() {
+        this.model = null;
+        this.datas = null;
+        this.instance = new FInstance();
+        flatzincModel();
+        return instance;
+    }
+
+    //***********************************************************************************
+    // ITEMS
+    //***********************************************************************************
+
+    private void flatzincModel() {
+        next();
+        while (token == PREDICATE) {
+            // predicate declarations are ignored
+            while (token != SC && token != EOF) {
+                next();
+            }
+            accept(SC);
+        }
+        while (token != CONSTRAINT && token != SOLVE) {
+            declaration();
+        }
+        while (token == CONSTRAINT) {
+            constraint();
+        }
+        solveGoal();
+        expect(EOF);
+    }
+
+    private void declaration() {
+        List<Declaration> indices = null;
+        if (token == ARRAY) {
+            next();
+            accept(LS);
+            indices = new ArrayList<>();
+            indices.add(indexSet());
+            while (token == CM) {
+                next();
+                indices.add(indexSet());
+            }
+            accept(RS);
+            accept(OF);
+        }
+        if (token == VAR) {
+            next();
+            Declaration decl = varTypeU();
+            if (indices != null) {
+                decl = new DArray(indices, decl);
+            }
+            accept(CL);
+            String identifier = identifier();
+            List<EAnnotation> anns = annotations();
+            Expression exp = null;
+            if (token == EQ) {
+                next();
+                exp = expr();
+            }
+            accept(SC);
+            if (instance != null) {
+                instance.addVariable(decl, identifier, anns, exp);
+            } else {
+                FVariable.make_variable(datas, decl, identifier, anns, exp, model);
+            }
+        } else {
+            Declaration decl = parTypeU();
+            if (indices != null) {
+                decl = new DArray(indices, decl);
+            }
+            accept(CL);
+            String identifier = identifier();
+            accept(EQ);
+            Expression exp = expr();
+            accept(SC);
+            if (instance != null) {
+                instance.addParameter(decl, identifier, exp);
+            } else {
+                FParameter.make_parameter(datas, decl, identifier, exp);
+            }
+        }
+    }
+
+    private void constraint() {
+        accept(CONSTRAINT);
+        String name = identifier();
+        accept(LP);
+        List<Expression> exps = exprs(RP);
+        List<EAnnotation> anns = annotations();
+        accept(SC);
+        if (instance != null) {
+            instance.addConstraint(name, exps, anns);
+        } else {
+            datas.incCstrCounter(name);
+            FConstraint.valueOf(name).build(model, datas, name, exps, anns);
+        }
+    }
+
+    private void solveGoal() {
+        accept(SOLVE);
+        List<EAnnotation> anns = annotations();
+        ResolutionPolicy policy;
+        Expression exp = null;
+        switch (token) {
+            case SATISFY:
+                next();
+                policy = ResolutionPolicy.SATISFACTION;
+                break;
+            case MINIMIZE:
+                next();
+                policy = ResolutionPolicy.MINIMIZE;
+                exp = expr();
+                break;
+            case MAXIMIZE:
+                next();
+                policy = ResolutionPolicy.MAXIMIZE;
+                exp = expr();
+                break;
+            default:
+                throw error("'satisfy', 'minimize' or 'maximize'");
+        }
+        accept(SC);
+        if (instance != null) {
+            instance.setGoal(anns, policy, exp);
+        } else {
+            FGoal.define_goal(model, anns, policy, exp);
+        }
+    }
+
+    //***********************************************************************************
+    // TYPES
+    //***********************************************************************************
+
+    private Declaration indexSet() {
+        if (token == INT) {
+            next();
+            return DInt.me;
+        }
+        int low = intConst();
+        accept(DD);
+        return new DInt2(EInt.make(low), EInt.make(intConst()));
+    }
+
+    private Declaration parTypeU() {
+        switch (token) {
+            case BOOL:
+                next();
+                return DBool.me;
+            case FLOAT:
+                next();
+                return DFloat.me;
+            case INT:
+                next();
+                return DInt.me;
+            case SET:
+                next();
+                accept(OF);
+                accept(INT);
+                return DSetOfInt.me;
+            default:
+                throw error("a type");
+        }
+    }
+
+    private Declaration varTypeU() {
+        switch (token) {
+            case BOOL:
+                next();
+                return DBool.me;
+            case FLOAT:
+                next();
+                return DFloat.me;
+            case INT:
+                next();
+                return DInt.me;
+            case INT_CONST:
+                int low = value;
+                next();
+                accept(DD);
+                return new DInt2(EInt.make(low), EInt.make(intConst()));
+            case LB:
+                return new DManyInt(intSet(false));
+            case SET:
+                next();
+                accept(OF);
+                if (token == LB) {
+                    return new DSet(new DManyInt(intSet(false)));
+                }
+                int l = intConst();
+                accept(DD);
+                return new DSet(new DInt2(EInt.make(l), EInt.make(intConst())));
+            default:
+                throw error("a variable type");
+        }
+    }
+
+    //***********************************************************************************
+    // EXPRESSIONS
+    //***********************************************************************************
+
+    private Expression expr() {
+        switch (token) {
+            case LB:
+                return new ESetList(intSet(true));
+            case TRUE:
+                next();
+                return EBool.make(true);
+            case FALSE:
+                next();
+                return EBool.make(false);
+            case INT_CONST:
+                int v = value;
+                next();
+                if (token == DD) {
+                    next();
+                    return new ESetBounds(EInt.make(v), EInt.make(intConst()));
+                }
+                return EInt.make(v);
+            case LS:
+                return array();
+            case IDENTIFIER:
+                return idExpr();
+            case STRING:
+                String st = text;
+                next();
+                return new EString(st);
+            default:
+                throw error("an expression");
+        }
+    }
+
+    /**
+     * Read an array literal. While the elements are integer constants, they are stored in {@link #ints}.
+     */
+    private EArray array() {
+        accept(LS);
+        if (token == RS) {
+            next();
+            return new EArray();
+        }
+        int n = 0;
+        List<Expression> exps = null;
+        do {
+            if (n > 0 || exps != null) {
+                accept(CM);
+            }
+            if (exps == null && token == INT_CONST) {
+                int v = value;
+                next();
+                if (token != DD) {
+                    if (n == ints.length) {
+                        ints = Arrays.copyOf(ints, n * 2);
+                    }
+                    ints[n++] = v;
+                    continue;
+                }
+                exps = toList(n);
+                next();
+                exps.add(new ESetBounds(EInt.make(v), EInt.make(intConst())));
+            } else {
+                if (exps == null) {
+                    exps = toList(n);
+                }
+                exps.add(expr());
+            }
+        } while (token == CM);
+        accept(RS);
+        return exps == null ? new EArray(Arrays.copyOf(ints, n)) : new EArray(exps);
+    }
+
+    private List<Expression> toList(int n) {
+        List<Expression> exps = new ArrayList<>(n + 8);
+        for (int i = 0; i < n; i++) {
+            exps.add(EInt.make(ints[i]));
+        }
+        return exps;
+    }
+
+    /**
+     * Read a set of integer constants, <code>{i1, i2, ...}</code>.
+     *
+     * @param empty set to <i>true</i> to accept an empty set
+     */
+    private int[] intSet(boolean empty) {
+        accept(LB);
+        int n = 0;
+        if (token != RB || !empty) {
+            do {
+                if (n > 0) {
+                    accept(CM);
+                }
+                if (n == ints.length) {
+                    ints = Arrays.copyOf(ints, n * 2);
+                }
+                ints[n++] = intConst();
+            } while (token == CM);
+        }
+        accept(RB);
+        return Arrays.copyOf(ints, n);
+    }
+
+    private Expression idExpr() {
+        String identifier = identifier();
+        if (token == LP) {
+            next();
+            return new EAnnotation(new EIdentifier(datas, identifier), exprs(RP));
+        } else if (token == LS) {
+            next();
+            int index = intConst();
+            accept(RS);
+            return new EIdArray(datas, identifier, index);
+        }
+        return new EIdentifier(datas, identifier);
+    }
+
+    // a non-empty list of expressions, separated by commas and followed by 'close'
+    private List<Expression> exprs(int close) {
+        List<Expression> exps = new ArrayList<>();
+        exps.add(expr());
+        while (token == CM) {
+            next();
+            exps.add(expr());
+        }
+        accept(close);
+        return exps;
+    }
+
+    private List<EAnnotation> annotations() {
+        List<EAnnotation> anns = new ArrayList<>();
+        while (token == DC) {
+            next();
+            String identifier = identifier();
+            List<Expression> exps;
+            if (token == LP) {
+                next();
+                exps = exprs(RP);
+            } else {
+                exps = new ArrayList<>();
+            }
+            anns.add(new EAnnotation(new EIdentifier(datas, identifier), exps));
+        }
+        return anns;
+    }
+
+    private String identifier() {
+        expect(IDENTIFIER);
+        String identifier = text;
+        next();
+        return identifier;
+    }
+
+    private int intConst() {
+        expect(INT_CONST);
+        int v = value;
+        next();
+        return v;
+    }
+
+    private void accept(int kind) {
+        expect(kind);
+        next();
+    }
+
+    private void expect(int kind) {
+        if (token != kind) {
+            throw error(NAMES[kind]);
+        }
+    }
+
+    private ParserException error(String expected) {
+        String found = token == IDENTIFIER || token == STRING ? text :
+                token == INT_CONST ? Integer.toString(value) : NAMES[token];
+        return new ParserException(String.format("line %d: %s expected, found %s", line, expected, found));
+    }
+
+    //***********************************************************************************
+    // TOKENS
+    //***********************************************************************************
+
+    // the next byte, without consuming it, or -1 at the end of the input
+    private int peek() {
+        if (pos == lim) {
+            try {
+                buffer.clear();
+                int n;
+                do {
+                    n = channel.read(buffer);
+                } while (n == 0);
+                if (n < 0) {
+                    return -1;
+                }
+                pos = 0;
+                lim = n;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return bytes[pos];
+    }
+
+    private void next() {
+        int c = skip();
+        if (c < 0) {
+            token = EOF;
+            return;
+        }
+        pos++;
+        switch (c) {
+            case '{':
+                token = LB;
+                return;
+            case '}':
+                token = RB;
+                return;
+            case ',':
+                token = CM;
+                return;
+            case '[':
+                token = LS;
+                return;
+            case ']':
+                token = RS;
+                return;
+            case '=':
+                token = EQ;
+                return;
+            case ';':
+                token = SC;
+                return;
+            case '(':
+                token = LP;
+                return;
+            case ')':
+                token = RP;
+                return;
+            case ':':
+                if (peek() == ':') {
+                    pos++;
+                    token = DC;
+                } else {
+                    token = CL;
+                }
+                return;
+            case '.':
+                if (peek() == '.') {
+                    pos++;
+                    token = DD;
+                    return;
+                }
+                break;
+            case '"':
+                string();
+                return;
+            case '+':
+            case '-':
+                if (peek() >= '0' && peek() <= '9') {
+                    integer(c == '-');
+                    return;
+                }
+                break;
+            default:
+                if (c >= '0' && c <= '9') {
+                    pos--;
+                    integer(false);
+                    return;
+                }
+                if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_') {
+                    pos--;
+                    word();
+                    return;
+                }
+        }
+        throw new ParserException(String.format("line %d: unexpected character '%c'", line, (char) c));
+    }
+
+    // skip white spaces and comments, and return the next byte
+    private int skip() {
+        int c;
+        while ((c = peek()) >= 0) {
+            if (c == '\n') {
+                line++;
+            } else if (c == '%') {
+                while ((c = peek()) >= 0 && c != '\n') {
+                    pos++;
+                }
+                continue;
+            } else if (c != ' ' && c != '\t' && c != '\r') {
+                break;
+            }
+            pos++;
+        }
+        return c;
+    }
+
+    private void integer(boolean negative) {
+        long v = 0;
+        int c;
+        while ((c = peek()) >= '0' && c <= '9') {
+            v = v * 10 + (c - '0');
+            if (v > Integer.MAX_VALUE + 1L) {
+                throw new ParserException(String.format("line %d: integer out of range", line));
+            }
+            pos++;
+        }
+        v = negative ? -v : v;
+        if (v > Integer.MAX_VALUE) {
+            throw new ParserException(String.format("line %d: integer out of range", line));
+        }
+        token = INT_CONST;
+        value = (int) v;
+    }
+
+    private void word() {
+        int n = 0;
+        int c;
+        while ((c = peek()) >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_') {
+            if (n == chars.length) {
+                chars = Arrays.copyOf(chars, n * 2);
+            }
+            chars[n++] = (byte) c;
+            pos++;
+        }
+        text = new String(chars, 0, n, StandardCharsets.ISO_8859_1);
+        token = keyword(text);
+    }
+
+    private static int keyword(String word) {
+        switch (word) {
+            case "bool":
+                return BOOL;
+            case "true":
+                return TRUE;
+            case "false":
+                return FALSE;
+            case "int":
+                return INT;
+            case "float":
+                return FLOAT;
+            case "set":
+                return SET;
+            case "of":
+                return OF;
+            case "array":
+                return ARRAY;
+            case "var":
+                return VAR;
+            case "par":
+                return PAR;
+            case "predicate":
+                return PREDICATE;
+            case "constraint":
+                return CONSTRAINT;
+            case "solve":
+                return SOLVE;
+            case "satisfy":
+                return SATISFY;
+            case "minimize":
+                return MINIMIZE;
+            case "maximize":
+                return MAXIMIZE;
+            default:
+                return IDENTIFIER;
+        }
+    }
+
+    // the text of a string includes the quotes, as in Flatzinc4Parser
+    private void string() {
+        int n = 0;
+        chars[n++] = '"';
+        int c;
+        boolean escaped = false;
+        while ((c = peek()) >= 0) {
+            pos++;
+            if (n == chars.length) {
+                chars = Arrays.copyOf(chars, n * 2);
+            }
+            chars[n++] = (byte) c;
+            if (c == '\n') {
+                line++;
+            }
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                text = new String(chars, 0, n, StandardCharsets.UTF_8);
+                token = STRING;
+                return;
+            }
+        }
+        throw new ParserException(String.format("line %d: unterminated string", line));
+    }
+}
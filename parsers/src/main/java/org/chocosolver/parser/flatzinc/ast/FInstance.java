@@ -0,0 +1,390 @@
+/*
+ * This file is part of choco-parsers, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.parser.flatzinc.ast;
+
+import org.chocosolver.parser.ModelCache;
+import org.chocosolver.parser.ParserException;
+import org.chocosolver.parser.flatzinc.ast.declaration.*;
+import org.chocosolver.parser.flatzinc.ast.expression.*;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ResolutionPolicy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An intermediate representation of a flatzinc instance: the declarations of parameters and variables,
+ * the constraints and the goal, in the order they are parsed.
+ * <p>
+ * Identifiers are left unresolved while parsing, and resolved against a {@link Datas} only when building a model.
+ * Since expressions and declarations are immutable, a parsed instance can be built into many models,
+ * concurrently, each one with its own {@link Datas}.
+ * </p>
+ * <p>
+ * An instance can also be written in a binary format, and read back instead of parsing the text again,
+ * see {@link ModelCache}.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class FInstance {
+
+    /**
+     * A statement of the instance, to replay in a model.
+     */
+    private abstract static class Statement {
+        abstract void build(Model model, Datas datas);
+
+        abstract void write(ModelCache.Output out) throws IOException;
+    }
+
+    private static final byte PARAMETER = 0, VARIABLE = 1, CONSTRAINT = 2, GOAL = 3;
+
+    // tags of expressions, in addition to the ordinals of EType
+    private static final byte NULL = -1, INTS = -2;
+
+    private final List<Statement> statements = new ArrayList<>();
+
+    private int nbConstraints;
+
+    /**
+     * Declare a parameter, see {@link FParameter#make_parameter(Datas, Declaration, String, Expression)}.
+     *
+     * @param type       type of the parameter
+     * @param identifier name of the parameter
+     * @param expression value of the parameter
+     */
+    public void addParameter(Declaration type, String identifier, Expression expression) {
+        statements.add(new Statement() {
+            @Override
+            void build(Model model, Datas datas) {
+                FParameter.make_parameter(datas, type, identifier, expression.resolve(datas));
+            }
+
+            @Override
+            void write(ModelCache.Output out) throws IOException {
+                out.writeByte(PARAMETER);
+                writeDeclaration(out, type);
+                out.writeName(identifier);
+                writeExpression(out, expression);
+            }
+        });
+    }
+
+    /**
+     * Declare a variable, see {@link FVariable#make_variable(Datas, Declaration, String, List, Expression, Model)}.
+     *
+     * @param type        type of the variable
+     * @param identifier  name of the variable
+     * @param annotations annotations of the variable
+     * @param expression  value of the variable, may be <i>null</i>
+     */
+    public void addVariable(Declaration type, String identifier, List<EAnnotation> annotations, Expression expression) {
+        statements.add(new Statement() {
+            @Override
+            void build(Model model, Datas datas) {
+                FVariable.make_variable(datas, type, identifier,
+                        Expression.resolve(annotations, datas),
+                        expression == null ? null : expression.resolve(datas), model);
+            }
+
+            @Override
+            void write(ModelCache.Output out) throws IOException {
+                out.writeByte(VARIABLE);
+                writeDeclaration(out, type);
+                out.writeName(identifier);
+                writeExpressions(out, annotations);
+                writeExpression(out, expression);
+            }
+        });
+    }
+
+    /**
+     * Declare a constraint, see {@link FConstraint}.
+     *
+     * @param name        name of the constraint
+     * @param exps        parameters of the constraint
+     * @param annotations annotations of the constraint
+     */
+    public void addConstraint(String name, List<Expression> exps, List<EAnnotation> annotations) {
+        FConstraint constraint = FConstraint.valueOf(name);
+        statements.add(new Statement() {
+            @Override
+            void build(Model model, Datas datas) {
+                datas.incCstrCounter(name);
+                constraint.build(model, datas, name, Expression.resolve(exps, datas), Expression.resolve(annotations, datas));
+            }
+
+            @Override
+            void write(ModelCache.Output out) throws IOException {
+                out.writeByte(CONSTRAINT);
+                out.writeName(name);
+                writeExpressions(out, exps);
+                writeExpressions(out, annotations);
+            }
+        });
+        nbConstraints++;
+    }
+
+    /**
+     * Declare the goal, see {@link FGoal#define_goal(Model, List, ResolutionPolicy, Expression)}.
+     *
+     * @param annotations annotations of the goal
+     * @param type        the resolution policy
+     * @param expression  the objective, <i>null</i> for satisfaction problems
+     */
+    public void setGoal(List<EAnnotation> annotations, ResolutionPolicy type, Expression expression) {
+        statements.add(new Statement() {
+            @Override
+            void build(Model model, Datas datas) {
+                FGoal.define_goal(model, Expression.resolve(annotations, datas), type,
+                        expression == null ? null : expression.resolve(datas));
+            }
+
+            @Override
+            void write(ModelCache.Output out) throws IOException {
+                out.writeByte(GOAL);
+                writeExpressions(out, annotations);
+                out.writeByte(type.ordinal());
+                writeExpression(out, expression);
+            }
+        });
+    }
+
+    /**
+     * Build this instance into <i>model</i>.
+     * This method can be called concurrently on distinct models.
+     *
+     * @param model the model to feed
+     * @param datas the objects declared in <i>model</i>, initially empty
+     */
+    public void build(Model model, Datas datas) {
+        for (Statement statement : statements) {
+            statement.build(model, datas);
+        }
+    }
+
+    /**
+     * @return the number of constraints declared in this instance
+     */
+    public int getNbConstraints() {
+        return nbConstraints;
+    }
+
+    /**
+     * Write this instance in a binary format, see {@link #read(ModelCache.Input)}.
+     *
+     * @param out the sink
+     * @throws IOException if the instance cannot be written
+     */
+    public void write(ModelCache.Output out) throws IOException {
+        out.writeInt(statements.size());
+        for (Statement statement : statements) {
+            statement.write(out);
+        }
+    }
+
+    /**
+     * Read an instance written with {@link #write(ModelCache.Output)}.
+     *
+     * @param in the source
+     * @return the instance read
+     */
+    @SuppressWarnings("unchecked")
+    public static FInstance read(ModelCache.Input in) {
+        FInstance instance = new FInstance();
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            byte kind = in.readByte();
+            switch (kind) {
+                case PARAMETER:
+                    instance.addParameter(readDeclaration(in), in.readName(), readExpression(in));
+                    break;
+                case VARIABLE:
+                    instance.addVariable(readDeclaration(in), in.readName(),
+                            (List<EAnnotation>) (List<?>) readExpressions(in), readExpression(in));
+                    break;
+                case CONSTRAINT:
+                    instance.addConstraint(in.readName(), readExpressions(in),
+                            (List<EAnnotation>) (List<?>) readExpressions(in));
+                    break;
+                case GOAL:
+                    instance.setGoal((List<EAnnotation>) (List<?>) readExpressions(in),
+                            ResolutionPolicy.values()[in.readByte()], readExpression(in));
+                    break;
+                default:
+                    throw new ParserException("Unknown statement in cached instance: " + kind);
+            }
+        }
+        return instance;
+    }
+
+    private static void writeDeclaration(ModelCache.Output out, Declaration decl) throws IOException {
+        out.writeByte(decl.typeOf.ordinal());
+        switch (decl.typeOf) {
+            case ARRAY:
+                DArray arr = (DArray) decl;
+                out.writeInt(arr.getDimension());
+                for (int i = 0; i < arr.getDimension(); i++) {
+                    writeDeclaration(out, arr.getIndex(i));
+                }
+                writeDeclaration(out, arr.getWhat());
+                break;
+            case SET:
+                writeDeclaration(out, ((DSet) decl).getWhat());
+                break;
+            case INT2:
+                out.writeInt(((DInt2) decl).getLow());
+                out.writeInt(((DInt2) decl).getUpp());
+                break;
+            case INTN:
+                out.writeInts(((DManyInt) decl).getValues());
+                break;
+            default:
+                // singletons
+                break;
+        }
+    }
+
+    private static Declaration readDeclaration(ModelCache.Input in) {
+        Declaration.DType type = Declaration.DType.values()[in.readByte()];
+        switch (type) {
+            case BOOL:
+                return DBool.me;
+            case FLOAT:
+                return DFloat.me;
+            case INT:
+                return DInt.me;
+            case SETOFINT:
+                return DSetOfInt.me;
+            case ARRAY:
+                int n = in.readInt();
+                List<Declaration> indices = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    indices.add(readDeclaration(in));
+                }
+                return new DArray(indices, readDeclaration(in));
+            case SET:
+                return new DSet(readDeclaration(in));
+            case INT2:
+                return new DInt2(EInt.make(in.readInt()), EInt.make(in.readInt()));
+            case INTN:
+                return new DManyInt(in.readInts());
+            default:
+                throw new ParserException("Unknown declaration in cached instance: " + type);
+        }
+    }
+
+    private static void writeExpressions(ModelCache.Output out, List<? extends Expression> exps) throws IOException {
+        out.writeInt(exps.size());
+        for (Expression exp : exps) {
+            writeExpression(out, exp);
+        }
+    }
+
+    private static List<Expression> readExpressions(ModelCache.Input in) {
+        int n = in.readInt();
+        List<Expression> exps = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            exps.add(readExpression(in));
+        }
+        return exps;
+    }
+
+    private static void writeExpression(ModelCache.Output out, Expression exp) throws IOException {
+        if (exp == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        switch (exp.getTypeOf()) {
+            case ANN:
+                out.writeByte(exp.getTypeOf().ordinal());
+                out.writeName(((EAnnotation) exp).id.value);
+                writeExpressions(out, ((EAnnotation) exp).exps);
+                break;
+            case ARR:
+                List<Expression> what = ((EArray) exp).what;
+                if (!what.isEmpty() && what.stream().allMatch(e -> e.getTypeOf() == Expression.EType.INT)) {
+                    // arrays of integers are the bulk of large instances
+                    out.writeByte(INTS);
+                    out.writeInts(exp.toIntArray());
+                } else {
+                    out.writeByte(exp.getTypeOf().ordinal());
+                    writeExpressions(out, what);
+                }
+                break;
+            case BOO:
+                out.writeByte(exp.getTypeOf().ordinal());
+                out.writeBoolean(((EBool) exp).value);
+                break;
+            case IDA:
+                out.writeByte(exp.getTypeOf().ordinal());
+                out.writeName(((EIdArray) exp).name);
+                out.writeInt(((EIdArray) exp).index);
+                break;
+            case IDE:
+                out.writeByte(exp.getTypeOf().ordinal());
+                out.writeName(((EIdentifier) exp).value);
+                break;
+            case INT:
+                out.writeByte(exp.getTypeOf().ordinal());
+                out.writeInt(((EInt) exp).value);
+                break;
+            case SET_B:
+                out.writeByte(exp.getTypeOf().ordinal());
+                out.writeInt(((ESetBounds) exp).getLow());
+                out.writeInt(((ESetBounds) exp).getUpp());
+                break;
+            case SET_L:
+                out.writeByte(exp.getTypeOf().ordinal());
+                out.writeInts(((ESetList) exp).enumVal());
+                break;
+            case STR:
+                out.writeByte(exp.getTypeOf().ordinal());
+                out.writeString(((EString) exp).st);
+                break;
+        }
+    }
+
+    private static Expression readExpression(ModelCache.Input in) {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case INTS:
+                return new EArray(in.readInts());
+        }
+        Expression.EType type = Expression.EType.values()[tag];
+        switch (type) {
+            case ANN:
+                return new EAnnotation(new EIdentifier(null, in.readName()), readExpressions(in));
+            case ARR:
+                return new EArray(readExpressions(in));
+            case BOO:
+                return EBool.make(in.readBoolean());
+            case IDA:
+                return new EIdArray(null, in.readName(), in.readInt());
+            case IDE:
+                return new EIdentifier(null, in.readName());
+            case INT:
+                return EInt.make(in.readInt());
+            case SET_B:
+                return new ESetBounds(EInt.make(in.readInt()), EInt.make(in.readInt()));
+            case SET_L:
+                return new ESetList(in.readInts());
+            case STR:
+                return new EString(in.readString());
+            default:
+                throw new ParserException("Unknown expression in cached instance: " + type);
+        }
+    }
+}
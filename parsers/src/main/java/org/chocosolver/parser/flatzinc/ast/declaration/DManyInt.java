@@ -33,8 +33,17 @@ public final class DManyInt extends Declaration {
         }
     }
 
+    /**
+     * @param values the values, not copied
+     */
+    public DManyInt(int[] values) {
+        super(DType.INTN);
+        this.values = values;
+    }
+
     public int[] getValues() {
-        return values;
+        // a copy, since declarations may be shared by many models
+        return values.clone();
     }
 
     @Override
@@ -9,6 +9,7 @@
  */
 package org.chocosolver.parser.flatzinc.ast.expression;
 
+import org.chocosolver.parser.flatzinc.ast.Datas;
 
 import java.util.List;
 
@@ -31,6 +32,11 @@ public final class EAnnotation extends Expression {
         this.exps = exps;
     }
 
+    @Override
+    public EAnnotation resolve(Datas datas) {
+        return new EAnnotation(id.resolve(datas), exps == null ? null : resolve(exps, datas));
+    }
+
     @Override
     public String toString() {
         StringBuilder st = new StringBuilder(id.value);
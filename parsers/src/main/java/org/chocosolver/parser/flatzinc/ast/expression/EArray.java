@@ -9,11 +9,13 @@
  */
 package org.chocosolver.parser.flatzinc.ast.expression;
 
+import org.chocosolver.parser.flatzinc.ast.Datas;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.SetVar;
 
+import java.util.AbstractList;
 import java.util.Collections;
 import java.util.List;
 
@@ -29,20 +31,57 @@ public final class EArray extends Expression {
 
     public final List<Expression> what;
 
+    /**
+     * The values of an array of integers, <i>null</i> otherwise
+     */
+    private final int[] ints;
+
     public EArray(List<Expression> what) {
         super(EType.ARR);
         this.what = what;
+        this.ints = null;
     }
 
     public EArray() {
         super(EType.ARR);
         this.what = Collections.emptyList();
+        this.ints = null;
+    }
+
+    /**
+     * Create an array of integers, stored as an <code>int[]</code> rather than as a list of {@link EInt}.
+     *
+     * @param ints the values, not copied
+     */
+    public EArray(int[] ints) {
+        super(EType.ARR);
+        this.ints = ints;
+        this.what = new AbstractList<Expression>() {
+            @Override
+            public Expression get(int index) {
+                return EInt.make(ints[index]);
+            }
+
+            @Override
+            public int size() {
+                return ints.length;
+            }
+        };
     }
 
     public Expression getWhat_i(int i) {
         return what.get(i);
     }
 
+    @Override
+    public Expression resolve(Datas datas) {
+        if (ints != null) {
+            return this;
+        }
+        List<Expression> resolved = resolve(what, datas);
+        return resolved == what ? this : new EArray(resolved);
+    }
+
     @Override
     public String toString() {
         StringBuilder st = new StringBuilder("[");
@@ -56,6 +95,10 @@ public final class EArray extends Expression {
 
     @Override
     public int[] toIntArray() {
+        if (ints != null) {
+            // a copy, since expressions may be shared by many models
+            return ints.clone();
+        }
         int[] arr = new int[what.size()];
         for (int i = 0; i < what.size(); i++) {
             arr[i] = what.get(i).intValue();
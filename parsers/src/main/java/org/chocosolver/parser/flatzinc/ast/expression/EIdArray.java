@@ -30,13 +30,21 @@ public final class EIdArray extends Expression {
     public final int index;
     final Object object;
 
+    /**
+     * @param datas the objects declared so far, <i>null</i> to leave the identifier unresolved
+     * @param id    the identifier of the array
+     * @param i     the index, starting from 1
+     * @see #resolve(Datas)
+     */
     public EIdArray(Datas datas, String id, int i) {
         super(EType.IDA);
         this.name = id;
         this.index = i;
 
-        Object array = datas.get(name);
-        if (int_arr.isInstance(array)) {
+        Object array = datas == null ? null : datas.get(name);
+        if (array == null) {
+            object = null;
+        } else if (int_arr.isInstance(array)) {
             object = ((int[]) array)[index - 1];
         } else if (bool_arr.isInstance(array)) {
             object = ((boolean[]) array)[index - 1] ? 1 : 0;
@@ -45,6 +53,11 @@ public final class EIdArray extends Expression {
         }
     }
 
+    @Override
+    public EIdArray resolve(Datas datas) {
+        return new EIdArray(datas, name, index);
+    }
+
     @Override
     public String toString() {
         return name + '[' + index + ']';
@@ -31,10 +31,20 @@ public final class EIdentifier extends Expression {
 
     public final Object object;
 
+    /**
+     * @param datas the objects declared so far, <i>null</i> to leave the identifier unresolved
+     * @param s     the identifier
+     * @see #resolve(Datas)
+     */
     public EIdentifier(Datas datas, String s) {
         super(EType.IDE);
         this.value = s;
-        object = datas.get(value);
+        object = datas == null ? null : datas.get(value);
+    }
+
+    @Override
+    public EIdentifier resolve(Datas datas) {
+        return new EIdentifier(datas, value);
     }
 
     @Override
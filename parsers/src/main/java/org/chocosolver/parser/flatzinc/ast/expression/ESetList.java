@@ -32,9 +32,18 @@ public final class ESetList extends ESet {
         }
     }
 
+    /**
+     * @param values the values of the set, not copied
+     */
+    public ESetList(int[] values) {
+        super(EType.SET_L);
+        this.values = values;
+    }
+
     @Override
     public int[] enumVal() {
-        return values;
+        // a copy, since expressions may be shared by many models
+        return values.clone();
     }
 
     @Override
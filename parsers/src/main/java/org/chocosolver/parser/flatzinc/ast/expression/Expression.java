@@ -11,12 +11,16 @@ package org.chocosolver.parser.flatzinc.ast.expression;
 
 
 import org.chocosolver.parser.Exit;
+import org.chocosolver.parser.flatzinc.ast.Datas;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.SetVar;
 import org.chocosolver.solver.variables.Variable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /*
 * User : CPRUDHOM
 * Mail : cprudhom(a)emn.fr
@@ -185,4 +189,38 @@ public abstract class Expression {
         return null;
     }
 
+    /**
+     * Resolve the identifiers of the {@link Expression} wrt <i>datas</i>.
+     * An {@link Expression} is immutable, so a new one is returned when it contains identifiers.
+     *
+     * @param datas the objects declared so far
+     * @return the resolved {@link Expression}, this one when it contains no identifier
+     */
+    public Expression resolve(Datas datas) {
+        return this;
+    }
+
+    /**
+     * Resolve the identifiers of each expression of <i>exps</i> wrt <i>datas</i>.
+     *
+     * @param exps  a list of {@link Expression}
+     * @param datas the objects declared so far
+     * @param <E>   the type of expressions
+     * @return the list of resolved {@link Expression}, <i>exps</i> when none contains identifier
+     * @see #resolve(Datas)
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Expression> List<E> resolve(List<E> exps, Datas datas) {
+        List<E> resolved = null;
+        for (int i = 0; i < exps.size(); i++) {
+            E r = (E) exps.get(i).resolve(datas);
+            if (resolved == null && r != exps.get(i)) {
+                resolved = new ArrayList<>(exps.subList(0, i));
+            }
+            if (resolved != null) {
+                resolved.add(r);
+            }
+        }
+        return resolved == null ? exps : resolved;
+    }
 }
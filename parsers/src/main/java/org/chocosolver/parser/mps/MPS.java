@@ -10,6 +10,7 @@
 package org.chocosolver.parser.mps;
 
 import org.chocosolver.parser.Level;
+import org.chocosolver.parser.ModelCache;
 import org.chocosolver.parser.RegParser;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.ResolutionPolicy;
@@ -125,7 +126,20 @@ public class MPS extends RegParser {
     }
 
     public void parse(Model target, MPSParser parser, int i) throws Exception {
-        parser.model(target, instance, maximize, ninf, pinf, ibex, noeq);
+        if (cache == null) {
+            parser.model(target, instance, maximize, ninf, pinf, ibex, noeq);
+        } else {
+            ModelCache mc = new ModelCache(cache);
+            String key = ModelCache.key(instance, "mps", Double.toString(ninf), Double.toString(pinf));
+            ModelCache.Input in = mc.load(key);
+            if (in != null) {
+                parser.read(in, ninf, pinf);
+            } else {
+                parser.read(instance, ninf, pinf);
+                mc.store(key, parser::write);
+            }
+            parser.build(target, maximize, ibex, noeq);
+        }
         if (i == 0) {
             Solver solver = target.getSolver();
             if (target.getNbRealVar() == 0) {
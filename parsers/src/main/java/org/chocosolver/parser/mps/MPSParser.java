@@ -9,6 +9,7 @@
  */
 package org.chocosolver.parser.mps;
 
+import org.chocosolver.parser.ModelCache;
 import org.chocosolver.parser.ParserException;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
@@ -25,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
 
@@ -68,6 +70,11 @@ public class MPSParser {
                       double ninf, double pinf,
                       boolean ibex,
                       boolean noeq) throws IOException {
+        read(instance, ninf, pinf);
+        build(model, maximize, ibex, noeq);
+    }
+
+    private void init(double ninf, double pinf) {
         ope4eq = new HashMap<>();
         coeffs4eq = new HashMap<>();
         vars4eq = new HashMap<>();
@@ -80,7 +87,18 @@ public class MPSParser {
 
         this.POS_INF = pinf;
         this.NEG_INF = ninf;
+    }
 
+    /**
+     * Read the MPS instance in <i>instance</i>, to be built with {@link #build(Model, boolean, boolean, boolean)}.
+     *
+     * @param instance path to the instance
+     * @param ninf     negative infinity
+     * @param pinf     positive infinity
+     * @throws IOException if the instance cannot be read
+     */
+    public void read(String instance, double ninf, double pinf) throws IOException {
+        init(ninf, pinf);
         Reader reader = null;
         GZIPInputStream gzis = null;
         if (instance.endsWith("mps.gz")) {
@@ -109,13 +127,124 @@ public class MPSParser {
                 line = br.readLine();
             }
         }
-        build(model, maximize, ibex, noeq);
         reader.close();
         if(gzis != null) {
             gzis.close();
         }
     }
 
+    /**
+     * Read an instance written with {@link #write(ModelCache.Output)},
+     * to be built with {@link #build(Model, boolean, boolean, boolean)}.
+     *
+     * @param in   the source
+     * @param ninf negative infinity, as when the instance was written
+     * @param pinf positive infinity, as when the instance was written
+     */
+    public void read(ModelCache.Input in, double ninf, double pinf) {
+        init(ninf, pinf);
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            String vnam = in.readName();
+            allvars.add(vnam);
+            decVars.put(vnam, null);
+        }
+        n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            varsIsInt.put(in.readName(), in.readBoolean());
+        }
+        n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            varsDom.put(in.readName(), new Number[]{readNumber(in), readNumber(in)});
+        }
+        n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            String cnam = in.readName();
+            String op = in.readString();
+            if (op.length() > 0) {
+                ope4eq.put(cnam, op);
+            }
+            int m = in.readInt();
+            List<Number> coeffs = new ArrayList<>(m);
+            ArrayList<String> vars = new ArrayList<>(m);
+            for (int j = 0; j < m; j++) {
+                vars.add(in.readName());
+                coeffs.add(readNumber(in));
+            }
+            coeffs4eq.put(cnam, coeffs);
+            vars4eq.put(cnam, vars);
+        }
+        n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            rhs4eq.put(in.readName(), readNumber(in));
+        }
+        n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            range4eq.put(in.readName(), readNumber(in));
+        }
+    }
+
+    /**
+     * Write the instance read last in a binary format, see {@link #read(ModelCache.Input, double, double)}.
+     *
+     * @param out the sink
+     * @throws IOException if the instance cannot be written
+     */
+    public void write(ModelCache.Output out) throws IOException {
+        out.writeInt(allvars.size());
+        for (String vnam : allvars) {
+            out.writeName(vnam);
+        }
+        out.writeInt(varsIsInt.size());
+        for (Map.Entry<String, Boolean> e : varsIsInt.entrySet()) {
+            out.writeName(e.getKey());
+            out.writeBoolean(e.getValue());
+        }
+        out.writeInt(varsDom.size());
+        for (Map.Entry<String, Number[]> e : varsDom.entrySet()) {
+            out.writeName(e.getKey());
+            writeNumber(out, e.getValue()[0]);
+            writeNumber(out, e.getValue()[1]);
+        }
+        out.writeInt(vars4eq.size());
+        for (Map.Entry<String, ArrayList<String>> e : vars4eq.entrySet()) {
+            out.writeName(e.getKey());
+            // no operator for the objective function
+            out.writeString(ope4eq.getOrDefault(e.getKey(), ""));
+            List<Number> coeffs = coeffs4eq.get(e.getKey());
+            out.writeInt(e.getValue().size());
+            for (int j = 0; j < e.getValue().size(); j++) {
+                out.writeName(e.getValue().get(j));
+                writeNumber(out, coeffs.get(j));
+            }
+        }
+        out.writeInt(rhs4eq.size());
+        for (Map.Entry<String, Number> e : rhs4eq.entrySet()) {
+            out.writeName(e.getKey());
+            writeNumber(out, e.getValue());
+        }
+        out.writeInt(range4eq.size());
+        for (Map.Entry<String, Number> e : range4eq.entrySet()) {
+            out.writeName(e.getKey());
+            writeNumber(out, e.getValue());
+        }
+    }
+
+    // integers and doubles are distinguished when building the model
+    private static void writeNumber(ModelCache.Output out, Number n) throws IOException {
+        if (n.getClass() == Integer.class) {
+            out.writeBoolean(true);
+            out.writeInt(n.intValue());
+        } else {
+            out.writeBoolean(false);
+            out.writeDouble(n.doubleValue());
+        }
+    }
+
+    private static Number readNumber(ModelCache.Input in) {
+        return in.readBoolean() ? (Number) in.readInt() : (Number) in.readDouble();
+    }
+
     private void readName(BufferedReader br) throws IOException {
         String line = br.readLine();
         // read NAME
@@ -366,7 +495,15 @@ public class MPSParser {
     }
 
 
-    private void build(Model model, boolean maximize, boolean ibex, boolean noeq) {
+    /**
+     * Build the instance read last into <i>model</i>.
+     *
+     * @param model    the model to feed
+     * @param maximize set to <i>true</i> to maximize the objective function, to minimize it otherwise
+     * @param ibex     set to <i>true</i> to use Ibex for non-full integer equations
+     * @param noeq     set to <i>true</i> to split equations into two inequalities
+     */
+    public void build(Model model, boolean maximize, boolean ibex, boolean noeq) {
         // First, create variables
         for (int i = 0; i < allvars.size(); i++) {
             String vnam = allvars.get(i);
@@ -20,6 +20,7 @@ import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.logger.Logger;
 import org.kohsuke.args4j.Option;
+import org.xcsp.parser.XParser;
 import org.xcsp.parser.callbacks.SolutionChecker;
 
 import java.io.ByteArrayInputStream;
@@ -28,6 +29,9 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
  * Created by cprudhom on 01/09/15.
@@ -88,24 +92,45 @@ public class XCSP extends RegParser {
     @Override
     public void buildModel() {
         List<Model> models = portfolio.getModels();
-        for (int i = 0; i < models.size(); i++) {
-            try {
-                long ptime = -System.currentTimeMillis();
-                parse(models.get(i), parsers[i], i);
-                models.get(i).getSolver().logWithANSI(ansi);
-                if (level.isLoggable(Level.INFO)) {
-                    models.get(i).getSolver().log().white().printf("File parsed in %d ms%n", (ptime + System.currentTimeMillis()));
-                }
-                if (level.is(Level.JSON)) {
-                    models.get(i).getSolver().log().printf("{\"name\":\"%s\",\"stats\":[", instance);
-                }
-            } catch (Exception e) {
-                if (level.isLoggable(Level.INFO)) {
-                    models.get(i).getSolver().log().red().print("s UNSUPPORTED\n");
-                    models.get(i).getSolver().log().printf("c %s\n", e.getMessage());
+        long ptime = -System.currentTimeMillis();
+        try {
+            if (models.size() == 1) {
+                parse(models.get(0), parsers[0], 0);
+            } else {
+                // parse once, then load the instance into the models concurrently
+                XParser xp = XCSPParser.parse(instance);
+                ForkJoinPool forkJoinPool = new ForkJoinPool(Math.min(models.size(), Runtime.getRuntime().availableProcessors()));
+                try {
+                    forkJoinPool.submit(() -> IntStream.range(0, models.size()).parallel()
+                            .forEach(i -> {
+                                try {
+                                    parsers[i].model(models.get(i), xp);
+                                } catch (Exception e) {
+                                    throw new RuntimeException(e.getMessage(), e);
+                                }
+                            })).get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                } finally {
+                    forkJoinPool.shutdown();
                 }
-                e.printStackTrace();
-                throw new RuntimeException("UNSUPPORTED");
+                configure(models.get(0), parsers[0]);
+            }
+        } catch (Exception e) {
+            if (level.isLoggable(Level.INFO)) {
+                models.get(0).getSolver().log().red().print("s UNSUPPORTED\n");
+                models.get(0).getSolver().log().printf("c %s\n", e.getMessage());
+            }
+            e.printStackTrace();
+            throw new RuntimeException("UNSUPPORTED");
+        }
+        for (Model model : models) {
+            model.getSolver().logWithANSI(ansi);
+            if (level.isLoggable(Level.INFO)) {
+                model.getSolver().log().white().printf("File parsed in %d ms%n", (ptime + System.currentTimeMillis()));
+            }
+            if (level.is(Level.JSON)) {
+                model.getSolver().log().printf("{\"name\":\"%s\",\"stats\":[", instance);
             }
         }
     }
@@ -113,16 +138,20 @@ public class XCSP extends RegParser {
     public void parse(Model target, XCSPParser parser, int i) throws Exception {
         parser.model(target, instance);
         if (i == 0) {
-            IntVar[] decVars = (IntVar[]) getModel().getHook("decisions");
-            if (decVars == null) {
-                decVars = parser.mvars.values().toArray(new IntVar[0]);
-            }
-            Arrays.sort(decVars, Comparator.comparingInt(IntVar::getId));
-            Solver solver = target.getSolver();
-            solver.setSearch(Search.defaultSearch(target));
-            solver.setNoGoodRecordingFromRestarts();
-            solver.setRestarts(count -> solver.getFailCount() >= count, new LubyCutoffStrategy(500), 5000);
+            configure(target, parser);
+        }
+    }
+
+    private void configure(Model target, XCSPParser parser) {
+        IntVar[] decVars = (IntVar[]) getModel().getHook("decisions");
+        if (decVars == null) {
+            decVars = parser.mvars.values().toArray(new IntVar[0]);
         }
+        Arrays.sort(decVars, Comparator.comparingInt(IntVar::getId));
+        Solver solver = target.getSolver();
+        solver.setSearch(Search.defaultSearch(target));
+        solver.setNoGoodRecordingFromRestarts();
+        solver.setRestarts(count -> solver.getFailCount() >= count, new LubyCutoffStrategy(500), 5000);
     }
 
 
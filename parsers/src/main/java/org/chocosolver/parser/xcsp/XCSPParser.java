@@ -32,9 +32,11 @@ import org.chocosolver.util.tools.ArrayUtils;
 import org.chocosolver.util.tools.VariableUtils;
 import org.xcsp.common.Condition;
 import org.xcsp.common.Types;
+import org.xcsp.common.Utilities;
 import org.xcsp.common.predicates.XNode;
 import org.xcsp.common.predicates.XNodeParent;
 import org.xcsp.common.structures.Transition;
+import org.xcsp.parser.XParser;
 import org.xcsp.parser.callbacks.XCallbacks2;
 import org.xcsp.parser.entries.XConstraints;
 import org.xcsp.parser.entries.XVariables;
@@ -80,18 +82,41 @@ public class XCSPParser implements XCallbacks2 {
     Implem implem;
 
     public void model(Model model, String instance) throws Exception {
+        model(model, parse(instance));
+    }
+
+    /**
+     * Parse an instance once, the result can then be loaded into many models,
+     * see {@link #model(Model, XParser)}.
+     *
+     * @param instance path to the instance
+     * @return the parsed instance
+     * @throws Exception if the instance cannot be parsed
+     */
+    public static XParser parse(String instance) throws Exception {
+        File file = new File(instance);
+        if (!file.exists()) {
+            throw new RuntimeException("FILE DOES NOT EXIST");
+        }
+        return new XParser(Utilities.loadDocument(instance));
+    }
+
+    /**
+     * Load a parsed instance into <i>model</i>.
+     * The parsed instance is only read, so this method can be called concurrently on distinct parsers.
+     *
+     * @param model    the model to feed
+     * @param instance the parsed instance
+     * @throws Exception if the instance cannot be loaded
+     */
+    public void model(Model model, XParser instance) throws Exception {
         this.model = model;
         this.mvars = new HashMap<>();
         this.symbolics = new HashSet<>();
         this.symbolToInt = new TObjectIntHashMap<>();
         this.intToSymbol = new TIntObjectHashMap<>();
         this.implem = new Implem(this);
-        File file = new File(instance);
-        if(file.exists()){
-            loadInstance(instance);
-        }else{
-            throw new RuntimeException("FILE DOES NOT EXIST");
-        }
+        loadInstance(instance);
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
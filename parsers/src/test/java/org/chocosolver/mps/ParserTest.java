@@ -9,8 +9,11 @@
  */
 package org.chocosolver.mps;
 
+import org.chocosolver.parser.ModelCache;
 import org.chocosolver.parser.SetUpException;
 import org.chocosolver.parser.mps.MPS;
+import org.chocosolver.parser.mps.MPSParser;
+import org.chocosolver.solver.Model;
 import org.chocosolver.solver.search.SearchState;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -19,9 +22,11 @@ import org.testng.annotations.Test;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * <p> Project: choco-parsers.
@@ -96,4 +101,37 @@ public class ParserTest {
         }
     }
 
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCache() throws IOException {
+        String file = this.getClass().getResource(ROOT + "pg5_34.mps.gz").getFile();
+        Path dir = Files.createTempDirectory("cache");
+        try {
+            ModelCache cache = new ModelCache(dir.toString());
+            String key = ModelCache.key(file, "mps");
+            MPSParser parser = new MPSParser();
+            parser.read(file, -999., 999.);
+            cache.store(key, parser::write);
+            Model expected = new Model();
+            parser.build(expected, false, false, false);
+            MPSParser cached = new MPSParser();
+            cached.read(cache.load(key), -999., 999.);
+            Model actual = new Model();
+            cached.build(actual, false, false, false);
+            Assert.assertEquals(actual.getNbVars(), expected.getNbVars());
+            Assert.assertEquals(actual.getNbCstrs(), expected.getNbCstrs());
+            for (int i = 0; i < expected.getNbVars(); i++) {
+                Assert.assertEquals(actual.getVar(i).toString(), expected.getVar(i).toString());
+            }
+            for (int i = 0; i < expected.getNbCstrs(); i++) {
+                Assert.assertEquals(actual.getCstrs()[i].toString(), expected.getCstrs()[i].toString());
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path f : (Iterable<Path>) files::iterator) {
+                    Files.delete(f);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
 }
@@ -9,12 +9,21 @@
  */
 package org.chocosolver.parser.flatzinc;
 
+import org.chocosolver.parser.Level;
+import org.chocosolver.parser.ModelCache;
+import org.chocosolver.parser.flatzinc.ast.Datas;
+import org.chocosolver.parser.flatzinc.ast.FInstance;
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.variables.IntVar;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
 
 /*
 * User : CPRUDHOM
@@ -113,4 +122,89 @@ public class FlatzincModelTest {
         Assert.assertEquals(model.getSolver().getSolutionCount(), 1);
     }
 
+    private static final String KNAPSACK = "array [1..3] of int: w = [2, 3, 4];\n" +
+            "array [1..3] of var 0..5: x :: output_array([1..3]);\n" +
+            "var 0..30: obj :: output_var;\n" +
+            "constraint int_lin_eq([2, 3, 4, -1], [x[1], x[2], x[3], obj], 0);\n" +
+            "constraint int_lin_le(w, x, 20);\n" +
+            "constraint set_in(x[1], {1, 3, 5});\n" +
+            "solve :: int_search(x, input_order, indomain_min, complete) maximize obj;";
+
+    @Test(groups = "1s")
+    public void testParseOnceBuildMany() {
+        Flatzinc fzn = new Flatzinc(false, false, 1);
+        fzn.createSettings();
+        FInstance fi = fzn.parse(new ByteArrayInputStream(KNAPSACK.getBytes()));
+        Assert.assertEquals(fi.getNbConstraints(), 3);
+        for (int i = 0; i < 3; i++) {
+            Model model = new Model(fzn.getSettings());
+            Datas datas = new Datas(model, Level.INFO, false);
+            fi.build(model, datas);
+            Assert.assertEquals(datas.cstrCounter().get("int_lin_le").intValue(), 1);
+            Assert.assertSame(((IntVar) datas.get("obj")).getModel(), model);
+            while (model.getSolver().solve()) ;
+            Assert.assertEquals(model.getSolver().getBestSolutionValue().intValue(), 20);
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testBuildManyConcurrently() throws IOException {
+        Path file = Files.createTempFile("knapsack", ".fzn");
+        Files.write(file, KNAPSACK.getBytes());
+        try {
+            Flatzinc fzn = new Flatzinc(false, false, 4);
+            fzn.instance = file.toString();
+            fzn.createSettings();
+            fzn.createSolver();
+            fzn.buildModel();
+            Model first = ((IntVar) fzn.datas[0].get("obj")).getModel();
+            for (int i = 0; i < 4; i++) {
+                Model model = ((IntVar) fzn.datas[i].get("obj")).getModel();
+                Assert.assertEquals(model.getNbCstrs(), first.getNbCstrs());
+                Assert.assertEquals(model.getNbVars(), first.getNbVars());
+                while (model.getSolver().solve()) ;
+                Assert.assertEquals(model.getSolver().getBestSolutionValue().intValue(), 20);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(groups = "1s")
+    public void testCache() throws IOException {
+        Path file = Files.createTempFile("knapsack", ".fzn");
+        Path dir = Files.createTempDirectory("cache");
+        Files.write(file, KNAPSACK.getBytes());
+        try {
+            ModelCache cache = new ModelCache(dir.toString());
+            String key = ModelCache.key(file.toString(), "fzn");
+            Assert.assertNotEquals(ModelCache.key(file.toString(), "mps"), key);
+            Assert.assertNull(cache.load(key));
+            Flatzinc fzn = new Flatzinc(false, false, 1);
+            fzn.createSettings();
+            FInstance fi;
+            try (InputStream is = Files.newInputStream(file)) {
+                fi = fzn.parse(is);
+            }
+            cache.store(key, fi::write);
+            ModelCache.Input in = cache.load(key);
+            Assert.assertNotNull(in);
+            FInstance read = FInstance.read(in);
+            Assert.assertEquals(read.getNbConstraints(), 3);
+            Model model = new Model(fzn.getSettings());
+            Datas datas = new Datas(model, Level.INFO, false);
+            read.build(model, datas);
+            Assert.assertEquals(datas.cstrCounter().get("set_in").intValue(), 1);
+            while (model.getSolver().solve()) ;
+            Assert.assertEquals(model.getSolver().getBestSolutionValue().intValue(), 20);
+        } finally {
+            Files.delete(file);
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path f : (Iterable<Path>) files::iterator) {
+                    Files.delete(f);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
 }
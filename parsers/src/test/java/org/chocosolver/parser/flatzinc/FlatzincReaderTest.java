@@ -0,0 +1,97 @@
+/*
+ * This file is part of choco-parsers, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.parser.flatzinc;
+
+import org.chocosolver.parser.Level;
+import org.chocosolver.parser.ParserException;
+import org.chocosolver.parser.flatzinc.ast.Datas;
+import org.chocosolver.parser.flatzinc.parser.GrammarTest;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ResolutionPolicy;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class FlatzincReaderTest extends GrammarTest {
+
+    private static Datas read(Model model, String st) {
+        Datas datas = new Datas(model, Level.INFO, false);
+        new FlatzincReader(new ByteArrayInputStream(st.getBytes())).read(model, datas);
+        return datas;
+    }
+
+    @Test(groups = "1s")
+    public void testModel() {
+        Model model = new Model();
+        Datas datas = read(model, "% a comment\n" +
+                "predicate my_pred(array [int] of var int: x, var int: y);\n" +
+                "array [1..3] of int: w = [2, -3, 400];\n" +
+                "array [1..2] of set of int: s = [1..2, {}];\n" +
+                "bool: b = true;\n" +
+                "var {1, 3, 5}: y;\n" +
+                "var set of 1..3: z;\n" +
+                "array [1..3] of var -5..5: x :: output_array([1..3]);\n" +
+                "var -100..100: obj :: output_var = x[1];\n" +
+                "constraint int_lin_le(w, x, 10) :: domain;\n" +
+                "constraint set_in(y, {1, 3}); % another comment\n" +
+                "constraint int_le(x[2], y);\n" +
+                "solve :: int_search(x, input_order, indomain_min, complete) minimize obj;");
+        Assert.assertEquals(datas.cstrCounter().get("int_lin_le").intValue(), 1);
+        Assert.assertEquals(((int[]) datas.get("w"))[1], -3);
+        Assert.assertEquals(((int[]) datas.get("w"))[2], 400);
+        Assert.assertEquals(((IntVar) datas.get("y")).getDomainSize(), 3);
+        Assert.assertEquals(((IntVar) datas.get("obj")).getLB(), -5);
+        Assert.assertEquals(model.getResolutionPolicy(), ResolutionPolicy.MINIMIZE);
+        Assert.assertTrue(model.getSolver().solve());
+    }
+
+    @Test(groups = "1s")
+    public void testSameAsParser() throws IOException {
+        Flatzinc fzn = new Flatzinc();
+        fzn.createSettings();
+        String st = "array [1..3] of int: w = [2, 3, 4];\n" +
+                "array [1..3] of var 0..5: x :: output_array([1..3]);\n" +
+                "var 0..30: obj :: output_var;\n" +
+                "constraint int_lin_eq([2, 3, 4, -1], [x[1], x[2], x[3], obj], 0);\n" +
+                "constraint int_lin_le(w, x, 20);\n" +
+                "constraint set_in(x[1], {1, 3, 5});\n" +
+                "solve :: int_search(x, input_order, indomain_min, complete) maximize obj;\n";
+        Model model = new Model(fzn.getSettings());
+        read(model, st);
+        Model expected = new Model(fzn.getSettings());
+        Datas datas = new Datas(expected, Level.INFO, false);
+        parser(st, expected, datas).flatzinc_model(expected, datas);
+        Assert.assertEquals(model.getNbVars(), expected.getNbVars());
+        Assert.assertEquals(model.getNbCstrs(), expected.getNbCstrs());
+        while (model.getSolver().solve()) ;
+        while (expected.getSolver().solve()) ;
+        Assert.assertEquals(model.getSolver().getBestSolutionValue(), expected.getSolver().getBestSolutionValue());
+        Assert.assertEquals(model.getSolver().getNodeCount(), expected.getSolver().getNodeCount());
+    }
+
+    @Test(groups = "1s")
+    public void testError() {
+        try {
+            read(new Model(), "var 1..3: x;\nconstraint int_le(x 2);\nsolve satisfy;");
+            Assert.fail();
+        } catch (ParserException e) {
+            Assert.assertTrue(e.getMessage().startsWith("line 2"), e.getMessage());
+        }
+        Assert.assertThrows(ParserException.class, () -> read(new Model(), "var 1..3: x;\nsolve satisfy"));
+        Assert.assertThrows(ParserException.class, () -> read(new Model(), "int: i = 3000000000;\nsolve satisfy;"));
+    }
+}
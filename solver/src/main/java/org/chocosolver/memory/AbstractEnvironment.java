@@ -10,9 +10,10 @@
 package org.chocosolver.memory;
 
 import org.chocosolver.memory.structure.BasicIndexedBipartiteSet;
+import org.chocosolver.memory.structure.FlatS64BitSet;
 import org.chocosolver.memory.structure.OneWordS32BitSet;
 import org.chocosolver.memory.structure.OneWordS64BitSet;
-import org.chocosolver.memory.structure.S64BitSet;
+import org.chocosolver.memory.structure.WordTrail;
 
 /**
  * Super class of all environments !
@@ -45,7 +46,8 @@ public abstract class AbstractEnvironment implements IEnvironment {
     }
 
     /**
-     * Factory pattern: new IStateBitSet objects are created by the environment
+     * Factory pattern: new IStateBitSet objects are created by the environment.
+     * Bitsets of 64 bits or more store their words in a single array, trailed in {@link #getWordTrail()}.
      *
      * @param size initial size of the IStateBitSet
      * @return IStateBitSet
@@ -57,10 +59,15 @@ public abstract class AbstractEnvironment implements IEnvironment {
         } else if (size < 64) {
             return new OneWordS64BitSet(this, size);
         } else {
-            return new S64BitSet(this, size);
+            return new FlatS64BitSet(this, getWordTrail(), size);
         }
     }
 
+    /**
+     * @return the trail of the words of the bitsets created by {@link #makeBitSet(int)}
+     */
+    public abstract WordTrail getWordTrail();
+
 
     /**
      * {@inheritDoc}
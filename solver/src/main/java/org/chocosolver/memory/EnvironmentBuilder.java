@@ -9,6 +9,7 @@
  */
 package org.chocosolver.memory;
 
+import org.chocosolver.memory.copying.EnvironmentCopying;
 import org.chocosolver.memory.trailing.EnvironmentTrailing;
 import org.chocosolver.memory.trailing.trail.*;
 import org.chocosolver.memory.trailing.trail.chunck.*;
@@ -40,6 +41,11 @@ public class EnvironmentBuilder {
      */
     private double loadfactor = EnvironmentTrailing.LOADFACTOR;
 
+    /**
+     * The number of slots per page, for copying environment only.
+     */
+    private int pagesize = EnvironmentCopying.PAGESIZE;
+
     /**
      * Trail to consider to manage doubles
      */
@@ -93,6 +99,17 @@ public class EnvironmentBuilder {
         return this;
     }
 
+    /**
+     * The number of slots per page of a copying environment.
+     * Must be a power of 2.
+     * @param ps number of slots per page
+     * @return {@code this}
+     * @see #buildCopying()
+     */
+    public EnvironmentBuilder setPageSize(int ps){
+        pagesize = ps;
+        return this;
+    }
 
     /**
      * Set the int trail.
@@ -178,6 +195,17 @@ public class EnvironmentBuilder {
         return env;
     }
 
+    /**
+     * Build a copy-on-write environment, where backtrackable primitives are stored in paged arenas
+     * and dirty pages are copied once per world.
+     * Trails declared with <i>setTrail</i> are ignored.
+     * @return the resulting environment
+     * @see #setPageSize(int)
+     */
+    public EnvironmentCopying buildCopying(){
+        return new EnvironmentCopying(pagesize, EnvironmentCopying.NBCOPIES, worldsize, worldnumber, loadfactor);
+    }
+
     /**
      * Build a chunk environment
      * @return {@code this}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateBool;
+
+/**
+ * A class implementing backtrackable boolean, stored in a slot of a {@link IntPageStore}.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class CopiedBool extends IStateBool implements IPagedState {
+
+    private final IntPageStore store;
+
+    private final int slot;
+
+    /**
+     * Constructs a stored search with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public CopiedBool(final EnvironmentCopying env, final boolean i) {
+        super(env, i);
+        store = env.getIntPageStore();
+        slot = store.allocate(this, i ? 1 : 0);
+    }
+
+    /**
+     * Modifies the value and copies, if needed, the page of the slot.
+     */
+    @Override
+    public void set(final boolean y) {
+        if (y != currentValue) {
+            store.set(slot, y ? 1 : 0, environment.getWorldIndex());
+            currentValue = y;
+        }
+    }
+
+    @Override
+    public void _set(final boolean y, final int wstamp) {
+        store._set(slot, y ? 1 : 0);
+        currentValue = y;
+    }
+
+    @Override
+    public void reload() {
+        currentValue = store.get(slot) != 0;
+    }
+}
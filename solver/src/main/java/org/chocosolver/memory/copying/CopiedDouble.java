@@ -0,0 +1,58 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateDouble;
+
+/**
+ * A class implementing backtrackable double, stored in a slot of a {@link LongPageStore}.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class CopiedDouble extends IStateDouble implements IPagedState {
+
+    private final LongPageStore store;
+
+    private final int slot;
+
+    /**
+     * Constructs a stored search with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public CopiedDouble(final EnvironmentCopying env, final double i) {
+        super(env, i);
+        store = env.getLongPageStore();
+        slot = store.allocate(this, Double.doubleToRawLongBits(i));
+    }
+
+    /**
+     * Modifies the value and copies, if needed, the page of the slot.
+     */
+    @Override
+    public void set(final double y) {
+        if (y != currentValue) {
+            store.set(slot, Double.doubleToRawLongBits(y), environment.getWorldIndex());
+            currentValue = y;
+        }
+    }
+
+    @Override
+    public void _set(final double y, final int wstamp) {
+        store._set(slot, Double.doubleToRawLongBits(y));
+        currentValue = y;
+    }
+
+    @Override
+    public void reload() {
+        currentValue = Double.longBitsToDouble(store.get(slot));
+    }
+}
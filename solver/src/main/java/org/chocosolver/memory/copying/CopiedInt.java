@@ -0,0 +1,58 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateInt;
+
+/**
+ * A class implementing backtrackable int, stored in a slot of a {@link IntPageStore}.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class CopiedInt extends IStateInt implements IPagedState {
+
+    private final IntPageStore store;
+
+    private final int slot;
+
+    /**
+     * Constructs a stored search with an initial value.
+     * Note: this constructor should not be used directly: one should instead
+     * use the IEnvironment factory
+     */
+    public CopiedInt(final EnvironmentCopying env, final int i) {
+        super(env, i);
+        store = env.getIntPageStore();
+        slot = store.allocate(this, i);
+    }
+
+    /**
+     * Modifies the value and copies, if needed, the page of the slot.
+     */
+    @Override
+    public void set(final int y) {
+        if (y != currentValue) {
+            store.set(slot, y, environment.getWorldIndex());
+            currentValue = y;
+        }
+    }
+
+    @Override
+    public void _set(final int y, final int wstamp) {
+        store._set(slot, y);
+        currentValue = y;
+    }
+
+    @Override
+    public void reload() {
+        currentValue = store.get(slot);
+    }
+}
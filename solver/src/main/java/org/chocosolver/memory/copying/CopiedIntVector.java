@@ -0,0 +1,120 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStateIntVector;
+
+/**
+ * Implements a backtrackable vector for {@link EnvironmentCopying}.
+ * <p/>
+ * Each entry is stored in a slot of the {@link IntPageStore} of the environment,
+ * so that its former value is saved with the page of the slot, at most once per world.
+ * Values are also cached in an array, reloaded when a page is restored.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class CopiedIntVector extends IStateIntVector {
+
+    private final IntPageStore store;
+
+    /**
+     * Slot of each entry in {@link #store}
+     */
+    private int[] slots;
+
+    /**
+     * Number of entries with a slot, may be greater than the size of the vector after backtracking
+     */
+    private int nbSlots;
+
+    /**
+     * Constructs a stored search vector with an initial size, and initial values.
+     *
+     * @param env          The current environment.
+     * @param initialSize  The initial size.
+     * @param initialValue The initial common value.
+     */
+    public CopiedIntVector(EnvironmentCopying env, int initialSize, int initialValue) {
+        super(env, initialSize, initialValue);
+        this.store = env.getIntPageStore();
+        this.slots = new int[elementData.length];
+        for (int i = 0; i < initialSize; i++) {
+            slots[i] = allocate(i);
+        }
+        this.nbSlots = initialSize;
+    }
+
+    private int allocate(int index) {
+        return store.allocate(() -> elementData[index] = store.get(slots[index]),
+                elementData[index]);
+    }
+
+    /**
+     * Checks if the capacity is great enough, else the capacity
+     * is extended.
+     *
+     * @param minCapacity the necessary capacity.
+     */
+    public void ensureCapacity(int minCapacity) {
+        int oldCapacity = elementData.length;
+        if (minCapacity > oldCapacity) {
+            int[] oldData = elementData;
+            int[] oldSlots = slots;
+            int newCapacity = Math.max(minCapacity, (oldCapacity * 3) / 2 + 1);
+            elementData = new int[newCapacity];
+            slots = new int[newCapacity];
+            System.arraycopy(oldData, 0, elementData, 0, size.get());
+            System.arraycopy(oldSlots, 0, slots, 0, nbSlots);
+        }
+    }
+
+    /**
+     * Adds a new search at the end of the vector.
+     *
+     * @param i The search to add.
+     */
+    @Override
+    public void add(int i) {
+        int newsize = size.get() + 1;
+        ensureCapacity(newsize);
+        size.set(newsize);
+        elementData[newsize - 1] = i;
+        if (newsize <= nbSlots) {
+            // the entry was removed on backtrack, its former value is useless
+            store._set(slots[newsize - 1], i);
+        } else {
+            slots[newsize - 1] = allocate(newsize - 1);
+            nbSlots = newsize;
+        }
+    }
+
+    /**
+     * Assigns a new value <code>val</code> to the element <code>index</code>.
+     */
+    @Override
+    public int set(int index, int val) {
+        if (rangeCheck(index)) {
+            return quickSet(index, val);
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size.get());
+    }
+
+    @Override
+    public int quickSet(int index, int val) {
+        assert (rangeCheck(index));
+        final int oldValue = elementData[index];
+        if (val != oldValue) {
+            store.set(slots[index], val, environment.getWorldIndex());
+            elementData[index] = val;
+        }
+        return oldValue;
+    }
+}
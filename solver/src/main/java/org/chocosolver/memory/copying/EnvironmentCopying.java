@@ -0,0 +1,215 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.*;
+import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.memory.structure.WordTrail;
+import org.chocosolver.memory.trailing.trail.IOperationTrail;
+import org.chocosolver.memory.trailing.trail.flatten.OperationTrail;
+
+/**
+ * A copy-on-write environment.
+ * <p/>
+ * All backtrackable primitives are packed in two arenas (one for ints and booleans,
+ * one for longs and doubles) split in pages.
+ * The first modification of a page in a world copies the entire page, and backtracking
+ * copies the dirty pages back, instead of replaying former values one by one.
+ * <p/>
+ * This pays off when many primitives are modified per world and the search tree is shallow
+ * (e.g., LNS with frequent restarts).
+ * When few primitives are modified per world, {@link org.chocosolver.memory.trailing.EnvironmentTrailing}
+ * should be preferred.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class EnvironmentCopying extends AbstractEnvironment {
+
+    /**
+     * Default number of slots per page.
+     */
+    public static final int PAGESIZE = 64;
+
+    /**
+     * Default number of page copies a store can handle.
+     */
+    public static final int NBCOPIES = 64;
+
+    private final IntPageStore intPageStore;
+    private final LongPageStore longPageStore;
+    private final IOperationTrail operationTrail;
+    private final WordTrail wordTrail;
+
+    /**
+     * Create a copy-on-write environment
+     *
+     * @param pageSize   number of slots per page, must be a power of 2
+     * @param nbCopies   initial number of page copies stores can handle
+     * @param nbUpdates  initial number of operations the operation trail can handle
+     * @param nbWorlds   initial number of worlds
+     * @param loadfactor load factor of the structures
+     */
+    public EnvironmentCopying(int pageSize, int nbCopies, int nbUpdates, int nbWorlds, double loadfactor) {
+        this.intPageStore = new IntPageStore(pageSize, nbCopies, nbWorlds, loadfactor);
+        this.longPageStore = new LongPageStore(pageSize, nbCopies, nbWorlds, loadfactor);
+        this.operationTrail = new OperationTrail(nbUpdates, nbWorlds, loadfactor);
+        this.wordTrail = new WordTrail(nbUpdates, nbWorlds, loadfactor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldPush() {
+        timestamp++;
+        final int wi = currentWorld + 1;
+        intPageStore.worldPush(wi);
+        longPageStore.worldPush(wi);
+        operationTrail.worldPush(wi);
+        wordTrail.worldPush(wi);
+        currentWorld++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldPop() {
+        timestamp++;
+        final int wi = currentWorld;
+        wordTrail.worldPop(wi);
+        operationTrail.worldPop(wi);
+        longPageStore.worldPop(wi);
+        intPageStore.worldPop(wi);
+        currentWorld--;
+        assert currentWorld >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void worldCommit() {
+        if (currentWorld == 0) {
+            throw new IllegalStateException("Commit in world 0?");
+        }
+        final int wi = currentWorld;
+        wordTrail.worldCommit(wi);
+        operationTrail.worldCommit(wi);
+        longPageStore.worldCommit(wi);
+        intPageStore.worldCommit(wi);
+        currentWorld--;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateInt makeInt() {
+        return makeInt(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateInt makeInt(final int initialValue) {
+        return new CopiedInt(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateBool makeBool(final boolean initialValue) {
+        return new CopiedBool(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateIntVector makeIntVector(final int size, final int initialValue) {
+        return new CopiedIntVector(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDoubleVector makeDoubleVector(final int size, final double initialValue) {
+        return new CopiedDoubleVector(this, size, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDouble makeFloat() {
+        return makeFloat(Double.NaN);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateDouble makeFloat(final double initialValue) {
+        return new CopiedDouble(this, initialValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLong makeLong() {
+        return makeLong(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IStateLong makeLong(final long init) {
+        return new CopiedLong(this, init);
+    }
+
+    /**
+     * @return the arena storing ints and booleans
+     */
+    public IntPageStore getIntPageStore() {
+        return intPageStore;
+    }
+
+    /**
+     * @return the arena storing longs and doubles
+     */
+    public LongPageStore getLongPageStore() {
+        return longPageStore;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public WordTrail getWordTrail() {
+        return wordTrail;
+    }
+
+    @Override
+    public void save(IOperation operation) {
+        operationTrail.savePreviousState(operation);
+    }
+
+    @Override
+    public void saveAt(IOperation operation, int worldIndex) {
+        operationTrail.savePreviousStateAt(operation, worldIndex, this.getWorldIndex());
+    }
+}
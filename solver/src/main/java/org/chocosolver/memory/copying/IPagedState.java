@@ -0,0 +1,27 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+/**
+ * A backtrackable primitive whose value lives in a slot of a page store.
+ * <br/>
+ * Upon backtracking, a page store copies back entire pages of values,
+ * then asks each owner of a restored slot to reload its cached value.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public interface IPagedState {
+
+    /**
+     * Reload the cached value of this from the slot it is attached to.
+     */
+    void reload();
+}
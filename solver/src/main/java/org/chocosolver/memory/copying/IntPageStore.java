@@ -0,0 +1,276 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.copying;
+
+import org.chocosolver.memory.IStorage;
+
+/**
+ * A packed arena of backtrackable ints, split into pages of fixed size.
+ * <p/>
+ * Instead of recording each former value, the first write in a page done in a world
+ * copies the entire page onto a stack. Upon backtracking, dirty pages are copied back at once.
+ * A page is copied at most once per world, whatever the number of writes it receives.
+ * <p/>
+ * Slots are never allocated in a page that currently has a copy on the stack,
+ * so that restoring a page never overwrites the initial value of a slot created after the copy.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class IntPageStore implements IStorage {
+
+    /**
+     * Load factor
+     */
+    private final double loadfactor;
+
+    /**
+     * Log2 of the page size
+     */
+    private final int shift;
+
+    /**
+     * Number of slots in a page
+     */
+    private final int pageSize;
+
+    /**
+     * The current values, packed.
+     */
+    private int[] values;
+
+    /**
+     * Owner of each slot, to reload upon backtracking (may contain holes).
+     */
+    private IPagedState[] owners;
+
+    /**
+     * Number of slots allocated (including holes).
+     */
+    private int size;
+
+    /**
+     * For each page, the world in which it was last copied (0 when no copy is alive).
+     */
+    private int[] pageStamps;
+
+    /**
+     * Stack of page copies, {@link #pageSize} values per entry.
+     */
+    private int[] copies;
+
+    /**
+     * Stack of copied page indices.
+     */
+    private int[] pageStack;
+
+    /**
+     * Stack of page stamps, before copy.
+     */
+    private int[] stampStack;
+
+    /**
+     * Points the level of the last entry.
+     */
+    private int currentLevel;
+
+    /**
+     * A stack of pointers (for each start of a world).
+     */
+    private int[] worldStartLevels;
+
+    /**
+     * Constructs a page store with predefined size.
+     *
+     * @param pageSize   number of slots per page, must be a power of 2
+     * @param nPages     initial number of pages that can be copied
+     * @param nWorlds    maximal number of worlds that will be stored
+     * @param loadfactor load factor for structures
+     */
+    public IntPageStore(int pageSize, int nPages, int nWorlds, double loadfactor) {
+        if (pageSize <= 0 || Integer.bitCount(pageSize) != 1) {
+            throw new IllegalArgumentException("Page size must be a power of 2, found " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.shift = Integer.numberOfTrailingZeros(pageSize);
+        this.loadfactor = loadfactor;
+        this.values = new int[pageSize];
+        this.owners = new IPagedState[pageSize];
+        this.pageStamps = new int[1];
+        this.copies = new int[nPages << shift];
+        this.pageStack = new int[nPages];
+        this.stampStack = new int[nPages];
+        this.worldStartLevels = new int[nWorlds];
+        this.currentLevel = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Allocate a new slot in this store.
+     *
+     * @param owner        the object to reload when the slot is restored
+     * @param initialValue initial value of the slot
+     * @return the index of the slot
+     */
+    public int allocate(IPagedState owner, int initialValue) {
+        final int page = size >>> shift;
+        if (page < pageStamps.length && pageStamps[page] > 0) {
+            // the tail page has a live copy: start a fresh page
+            size = (page + 1) << shift;
+        }
+        if (size == values.length) {
+            resizeSlotCapacity();
+        }
+        values[size] = initialValue;
+        owners[size] = owner;
+        return size++;
+    }
+
+    /**
+     * @param slot a slot index
+     * @return the current value of the slot
+     */
+    public int get(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Write a value in a slot, after copying its page if it is the first write in the page
+     * since <i>worldIndex</i> was pushed.
+     *
+     * @param slot       a slot index
+     * @param value      the new value
+     * @param worldIndex the current world index
+     */
+    public void set(int slot, int value, int worldIndex) {
+        final int page = slot >>> shift;
+        if (pageStamps[page] < worldIndex) {
+            copyPage(page, worldIndex);
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Write a value in a slot, without copying its page.
+     *
+     * @param slot  a slot index
+     * @param value the new value
+     */
+    public void _set(int slot, int value) {
+        values[slot] = value;
+    }
+
+    private void copyPage(int page, int worldIndex) {
+        if (currentLevel == pageStack.length) {
+            resizeCopyCapacity();
+        }
+        System.arraycopy(values, page << shift, copies, currentLevel << shift, pageSize);
+        pageStack[currentLevel] = page;
+        stampStack[currentLevel] = pageStamps[page];
+        currentLevel++;
+        pageStamps[page] = worldIndex;
+    }
+
+    @Override
+    public void worldPush(int worldIndex) {
+        worldStartLevels[worldIndex] = currentLevel;
+        if (worldIndex == worldStartLevels.length - 1) {
+            resizeWorldCapacity((int) (worldStartLevels.length * loadfactor));
+        }
+    }
+
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex];
+        while (currentLevel > wsl) {
+            currentLevel--;
+            final int page = pageStack[currentLevel];
+            final int from = page << shift;
+            System.arraycopy(copies, currentLevel << shift, values, from, pageSize);
+            pageStamps[page] = stampStack[currentLevel];
+            final int to = Math.min(from + pageSize, size);
+            for (int i = from; i < to; i++) {
+                if (owners[i] != null) {
+                    owners[i].reload();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void worldCommit(int worldIndex) {
+        // copies done in the committed world now belong to the previous one,
+        // unless the previous world already holds a copy of the same page
+        final int startLevel = worldStartLevels[worldIndex];
+        final int prevWorld = worldIndex - 1;
+        int writeIdx = startLevel;
+        for (int level = startLevel; level < currentLevel; level++) {
+            final int page = pageStack[level];
+            final int stamp = stampStack[level];
+            pageStamps[page] = prevWorld;
+            if (stamp != prevWorld) {
+                if (writeIdx != level) {
+                    pageStack[writeIdx] = page;
+                    stampStack[writeIdx] = stamp;
+                    System.arraycopy(copies, level << shift, copies, writeIdx << shift, pageSize);
+                }
+                writeIdx++;
+            }
+        }
+        currentLevel = writeIdx;
+    }
+
+    /**
+     * @return the number of slots allocated, holes included
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of pages currently copied onto the stack
+     */
+    public int getNbCopies() {
+        return currentLevel;
+    }
+
+    private void resizeSlotCapacity() {
+        final int newCapacity = Math.max(values.length + pageSize, (int) (values.length * loadfactor));
+        final int nPages = (newCapacity + pageSize - 1) >>> shift;
+        final int[] tmp1 = new int[nPages << shift];
+        System.arraycopy(values, 0, tmp1, 0, values.length);
+        values = tmp1;
+        final IPagedState[] tmp2 = new IPagedState[nPages << shift];
+        System.arraycopy(owners, 0, tmp2, 0, owners.length);
+        owners = tmp2;
+        final int[] tmp3 = new int[nPages];
+        System.arraycopy(pageStamps, 0, tmp3, 0, pageStamps.length);
+        pageStamps = tmp3;
+    }
+
+    private void resizeCopyCapacity() {
+        final int newCapacity = Math.max(pageStack.length + 1, (int) (pageStack.length * loadfactor));
+        final int[] tmp1 = new int[newCapacity << shift];
+        System.arraycopy(copies, 0, tmp1, 0, copies.length);
+        copies = tmp1;
+        final int[] tmp2 = new int[newCapacity];
+        System.arraycopy(pageStack, 0, tmp2, 0, pageStack.length);
+        pageStack = tmp2;
+        final int[] tmp3 = new int[newCapacity];
+        System.arraycopy(stampStack, 0, tmp3, 0, stampStack.length);
+        stampStack = tmp3;
+    }
+
+    private void resizeWorldCapacity(int newWorldCapacity) {
+        final int[] tmp = new int[newWorldCapacity];
+        System.arraycopy(worldStartLevels, 0, tmp, 0, worldStartLevels.length);
+        worldStartLevels = tmp;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.structure;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateBitSet;
+
+import java.util.Arrays;
+
+/**
+ * A backtrackable bitset whose words are stored in a single <code>long[]</code>.
+ * <p/>
+ * Unlike {@link S64BitSet}, which creates one backtrackable long per word,
+ * words are saved in a dedicated {@link WordTrail}, at most once per world thanks to a world stamp per word.
+ * This is the default bitset for 64 bits or more (see {@link IEnvironment#makeBitSet(int)}).
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class FlatS64BitSet implements IStateBitSet {
+
+    private final static int ADDRESS_BITS_PER_WORD = 6;
+    private final static int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+
+    /* Used to shift left or right for a partial word mask */
+    private static final long WORD_MASK = 0xffffffffffffffffL;
+
+    /**
+     * The current environment.
+     */
+    private final IEnvironment environment;
+
+    /**
+     * The trail of the words.
+     */
+    private final WordTrail trail;
+
+    /**
+     * The words of this bitset.
+     */
+    private long[] words;
+
+    /**
+     * World index of the last update of each word.
+     */
+    int[] stamps;
+
+    /**
+     * Creates a bit set whose initial size is large enough to explicitly
+     * represent bits with indices in the range <code>0</code> through
+     * <code>nbits-1</code>. All bits are initially <code>false</code>.
+     *
+     * @param environment backtrackable environment
+     * @param trail       trail of the words
+     * @param nbits       the initial size of the bit set.
+     * @throws NegativeArraySizeException if the specified initial size is negative.
+     */
+    public FlatS64BitSet(IEnvironment environment, WordTrail trail, int nbits) {
+        if (nbits < 0)
+            throw new NegativeArraySizeException("nbits < 0: " + nbits);
+        this.environment = environment;
+        this.trail = trail;
+        int n = wordIndex(nbits - 1) + 1;
+        this.words = new long[n];
+        // the root world is never backtracked, so words modified in it are not trailed
+        this.stamps = new int[n];
+    }
+
+    /**
+     * Given a bit index, return word index containing it.
+     *
+     * @param bitIndex bit index
+     */
+    private static int wordIndex(int bitIndex) {
+        return bitIndex >> ADDRESS_BITS_PER_WORD;
+    }
+
+    /**
+     * Modifies a word and stores, if needed, its former value in the trail.
+     *
+     * @param i    index of the word
+     * @param word its new value
+     */
+    private void write(int i, long word) {
+        if (word != words[i]) {
+            final int wi = environment.getWorldIndex();
+            if (stamps[i] < wi) {
+                trail.savePreviousState(this, i, words[i], stamps[i]);
+                stamps[i] = wi;
+            }
+            words[i] = word;
+        }
+    }
+
+    /**
+     * Modifies a word without storing its former value.
+     *
+     * @param i      index of the word
+     * @param word   its new value
+     * @param wstamp the stamp of the world in which the update is performed
+     */
+    void _set(int i, long word, int wstamp) {
+        words[i] = word;
+        stamps[i] = wstamp;
+    }
+
+    /**
+     * Ensures that the BitSet can accommodate a given wordIndex.
+     * New words are set to 0 in any world, so they do not need to be trailed.
+     *
+     * @param wordIndex the index to be accommodated.
+     */
+    private void expandTo(int wordIndex) {
+        if (words.length <= wordIndex) {
+            int request = Math.max(2 * words.length, wordIndex + 1);
+            words = Arrays.copyOf(words, request);
+            stamps = Arrays.copyOf(stamps, request);
+        }
+    }
+
+    /**
+     * Checks that fromIndex ... toIndex is a valid range of bit indices.
+     *
+     * @param fromIndex starting index
+     * @param toIndex   ending index
+     */
+    private static void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0)
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        if (toIndex < 0)
+            throw new IndexOutOfBoundsException("toIndex < 0: " + toIndex);
+        if (fromIndex > toIndex)
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + " > toIndex: " + toIndex);
+    }
+
+    @Override
+    public void set(int bitIndex) {
+        if (bitIndex < 0)
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
+        int wordIndex = wordIndex(bitIndex);
+        expandTo(wordIndex);
+        write(wordIndex, words[wordIndex] | (1L << bitIndex));
+    }
+
+    @Override
+    public void set(int bitIndex, boolean value) {
+        if (value)
+            set(bitIndex);
+        else
+            clear(bitIndex);
+    }
+
+    @Override
+    public void set(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex)
+            return;
+        int startWordIndex = wordIndex(fromIndex);
+        int endWordIndex = wordIndex(toIndex - 1);
+        expandTo(endWordIndex);
+
+        long firstWordMask = WORD_MASK << fromIndex;
+        long lastWordMask = WORD_MASK >>> -toIndex;
+        if (startWordIndex == endWordIndex) {
+            write(startWordIndex, words[startWordIndex] | (firstWordMask & lastWordMask));
+        } else {
+            write(startWordIndex, words[startWordIndex] | firstWordMask);
+            for (int i = startWordIndex + 1; i < endWordIndex; i++)
+                write(i, WORD_MASK);
+            write(endWordIndex, words[endWordIndex] | lastWordMask);
+        }
+    }
+
+    @Override
+    public void clear(int bitIndex) {
+        if (bitIndex < 0)
+            throw new IndexOutOfBoundsException("bitIndex < 0: " + bitIndex);
+        int wordIndex = wordIndex(bitIndex);
+        if (wordIndex < words.length) {
+            write(wordIndex, words[wordIndex] & ~(1L << bitIndex));
+        }
+    }
+
+    @Override
+    public void clear(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex)
+            return;
+        int startWordIndex = wordIndex(fromIndex);
+        if (startWordIndex >= words.length)
+            return;
+        int endWordIndex = wordIndex(toIndex - 1);
+        if (endWordIndex >= words.length) {
+            toIndex = words.length * BITS_PER_WORD;
+            endWordIndex = words.length - 1;
+        }
+
+        long firstWordMask = WORD_MASK << fromIndex;
+        long lastWordMask = WORD_MASK >>> -toIndex;
+        if (startWordIndex == endWordIndex) {
+            write(startWordIndex, words[startWordIndex] & ~(firstWordMask & lastWordMask));
+        } else {
+            write(startWordIndex, words[startWordIndex] & ~firstWordMask);
+            for (int i = startWordIndex + 1; i < endWordIndex; i++)
+                write(i, 0);
+            write(endWordIndex, words[endWordIndex] & ~lastWordMask);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < words.length; i++) {
+            write(i, 0);
+        }
+    }
+
+    @Override
+    public final boolean get(final int bitIndex) {
+        int wordIndex = bitIndex >> ADDRESS_BITS_PER_WORD;
+        return (wordIndex < words.length)
+                && ((words[wordIndex] & (1L << bitIndex)) != 0);
+    }
+
+    @Override
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        int u = wordIndex(fromIndex);
+        if (u >= words.length)
+            return -1;
+        long word = words[u] & (WORD_MASK << fromIndex);
+        while (true) {
+            if (word != 0)
+                return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            if (++u == words.length)
+                return -1;
+            word = words[u];
+        }
+    }
+
+    @Override
+    public int nextClearBit(int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        int u = wordIndex(fromIndex);
+        if (u >= words.length)
+            return fromIndex;
+        long word = ~words[u] & (WORD_MASK << fromIndex);
+        while (true) {
+            if (word != 0)
+                return (u * BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+            if (++u == words.length)
+                return words.length * BITS_PER_WORD;
+            word = ~words[u];
+        }
+    }
+
+    @Override
+    public int prevSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            return -1;
+        }
+        int u = wordIndex(fromIndex);
+        if (u >= words.length)
+            return length() - 1;
+        long word = words[u] & (WORD_MASK >>> -(fromIndex + 1));
+        while (true) {
+            if (word != 0)
+                return (u + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+            if (u-- == 0)
+                return -1;
+            word = words[u];
+        }
+    }
+
+    @Override
+    public int prevClearBit(int fromIndex) {
+        if (fromIndex < 0) {
+            return -1;
+        }
+        int u = wordIndex(fromIndex);
+        if (u >= words.length)
+            return fromIndex;
+        long word = ~words[u] & (WORD_MASK >>> -(fromIndex + 1));
+        while (true) {
+            if (word != 0)
+                return (u + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+            if (u-- == 0)
+                return -1;
+            word = ~words[u];
+        }
+    }
+
+    /**
+     * Returns the "logical size" of this <code>BitSet</code>: the index of
+     * the highest set bit in the <code>BitSet</code> plus one. Returns zero
+     * if the <code>BitSet</code> contains no set bits.
+     *
+     * @return the logical size of this <code>BitSet</code>.
+     */
+    public int length() {
+        for (int i = words.length - 1; i >= 0; i--) {
+            if (words[i] != 0) {
+                return BITS_PER_WORD * i + (BITS_PER_WORD - Long.numberOfLeadingZeros(words[i]));
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int cardinality() {
+        int sum = 0;
+        for (long word : words) {
+            sum += Long.bitCount(word);
+        }
+        return sum;
+    }
+
+    @Override
+    public int size() {
+        return words.length * BITS_PER_WORD;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder();
+        b.append('{');
+        int i = nextSetBit(0);
+        if (i != -1) {
+            b.append(i);
+            for (i = nextSetBit(i + 1); i >= 0; i = nextSetBit(i + 1)) {
+                b.append(", ").append(i);
+            }
+        }
+        b.append('}');
+        return b.toString();
+    }
+}
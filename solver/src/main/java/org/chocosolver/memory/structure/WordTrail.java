@@ -0,0 +1,159 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory.structure;
+
+import org.chocosolver.memory.IStorage;
+
+/**
+ * A trail of the words modified in {@link FlatS64BitSet}s.
+ * <p/>
+ * An update is stored in primitive stacks (index and former value of the word, with its former world stamp),
+ * next to the bitset it belongs to, so no object is created per word.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class WordTrail implements IStorage {
+
+    /**
+     * Load factor
+     */
+    private final double loadfactor;
+
+    /**
+     * Stack of the bitsets modified.
+     */
+    private FlatS64BitSet[] bitsetStack;
+
+    /**
+     * Stack of the indices of the words modified.
+     */
+    private int[] indexStack;
+
+    /**
+     * Stack of values (former words that need be restored upon backtracking).
+     */
+    private long[] valueStack;
+
+    /**
+     * Stack of timestamps indicating the world where the former word had been written.
+     */
+    private int[] stampStack;
+
+    /**
+     * Points the level of the last entry.
+     */
+    private int currentLevel;
+
+    /**
+     * A stack of pointers (for each start of a world).
+     */
+    private int[] worldStartLevels;
+
+    /**
+     * Constructs a trail with predefined size.
+     *
+     * @param nUpdates   initial number of updates that will be stored
+     * @param nWorlds    initial number of worlds that will be stored
+     * @param loadfactor load factor for structures
+     */
+    public WordTrail(int nUpdates, int nWorlds, double loadfactor) {
+        this.currentLevel = 0;
+        this.bitsetStack = new FlatS64BitSet[nUpdates];
+        this.indexStack = new int[nUpdates];
+        this.valueStack = new long[nUpdates];
+        this.stampStack = new int[nUpdates];
+        this.worldStartLevels = new int[nWorlds];
+        this.loadfactor = loadfactor;
+    }
+
+    /**
+     * Reacts when a word of a bitset is modified: push the former word & timestamp on the stacks.
+     *
+     * @param bitset   the bitset modified
+     * @param index    index of the word modified
+     * @param oldValue former value of the word
+     * @param oldStamp former world stamp of the word
+     */
+    void savePreviousState(FlatS64BitSet bitset, int index, long oldValue, int oldStamp) {
+        bitsetStack[currentLevel] = bitset;
+        indexStack[currentLevel] = index;
+        valueStack[currentLevel] = oldValue;
+        stampStack[currentLevel] = oldStamp;
+        currentLevel++;
+        if (currentLevel == bitsetStack.length) {
+            resizeUpdateCapacity();
+        }
+    }
+
+    @Override
+    public void worldPush(int worldIndex) {
+        worldStartLevels[worldIndex] = currentLevel;
+        if (worldIndex == worldStartLevels.length - 1) {
+            resizeWorldCapacity((int) (worldStartLevels.length * loadfactor));
+        }
+    }
+
+    @Override
+    public void worldPop(int worldIndex) {
+        final int wsl = worldStartLevels[worldIndex];
+        while (currentLevel > wsl) {
+            currentLevel--;
+            bitsetStack[currentLevel]._set(indexStack[currentLevel], valueStack[currentLevel], stampStack[currentLevel]);
+        }
+    }
+
+    @Override
+    public void worldCommit(int worldIndex) {
+        // see StoredLongTrail#worldCommit
+        final int startLevel = worldStartLevels[worldIndex];
+        final int prevWorld = worldIndex - 1;
+        int writeIdx = startLevel;
+        for (int level = startLevel; level < currentLevel; level++) {
+            final FlatS64BitSet bitset = bitsetStack[level];
+            final int idx = indexStack[level];
+            final long val = valueStack[level];
+            final int stamp = stampStack[level];
+            bitset.stamps[idx] = prevWorld;
+            if (stamp != prevWorld) {
+                if (writeIdx != level) {
+                    bitsetStack[writeIdx] = bitset;
+                    indexStack[writeIdx] = idx;
+                    valueStack[writeIdx] = val;
+                    stampStack[writeIdx] = stamp;
+                }
+                writeIdx++;
+            }
+        }
+        currentLevel = writeIdx;
+    }
+
+    private void resizeUpdateCapacity() {
+        final int newCapacity = (int) (bitsetStack.length * loadfactor);
+        final FlatS64BitSet[] tmp1 = new FlatS64BitSet[newCapacity];
+        System.arraycopy(bitsetStack, 0, tmp1, 0, bitsetStack.length);
+        bitsetStack = tmp1;
+        final int[] tmp2 = new int[newCapacity];
+        System.arraycopy(indexStack, 0, tmp2, 0, indexStack.length);
+        indexStack = tmp2;
+        final long[] tmp3 = new long[newCapacity];
+        System.arraycopy(valueStack, 0, tmp3, 0, valueStack.length);
+        valueStack = tmp3;
+        final int[] tmp4 = new int[newCapacity];
+        System.arraycopy(stampStack, 0, tmp4, 0, stampStack.length);
+        stampStack = tmp4;
+    }
+
+    private void resizeWorldCapacity(int newWorldCapacity) {
+        final int[] tmp = new int[newWorldCapacity];
+        System.arraycopy(worldStartLevels, 0, tmp, 0, worldStartLevels.length);
+        worldStartLevels = tmp;
+    }
+}
@@ -12,6 +12,7 @@ package org.chocosolver.memory.trailing;
 
 import org.chocosolver.memory.*;
 import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.memory.structure.WordTrail;
 import org.chocosolver.memory.trailing.trail.*;
 import org.chocosolver.memory.trailing.trail.flatten.*;
 
@@ -50,6 +51,7 @@ public class EnvironmentTrailing extends AbstractEnvironment {
     private IOperationTrail operationTrail;
     private StoredIntVectorTrail intVectorTrail;
     private StoredDoubleVectorTrail doubleVectorTrail;
+    private WordTrail wordTrail;
 
     /**
      * Contains all the {@link org.chocosolver.memory.IStorage} trails for
@@ -264,6 +266,18 @@ public class EnvironmentTrailing extends AbstractEnvironment {
         return operationTrail;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public WordTrail getWordTrail() {
+        if (wordTrail == null) {
+            increaseTrail();
+            trails[trailSize++] = wordTrail = new WordTrail(NBUPATES, NBWORLDS, LOADFACTOR);
+        }
+        return wordTrail;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // SPECIFIC DATA STRUCTURES                                                                                       //
     // NOTE: this data structures should not be used...
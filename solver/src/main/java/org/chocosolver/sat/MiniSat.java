@@ -12,7 +12,6 @@ package org.chocosolver.sat;
 import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TDoubleArrayList;
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.hash.TIntObjectHashMap;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.IntHeap;
 
@@ -33,6 +32,11 @@ import java.util.*;
  * sat.solve();
  * </code>
  * </pre></p>
+ * <p>Clauses are stored one after the other in a single <code>int[]</code> arena
+ * and are referred to by their offset in it. The arena is compacted when learnt clauses are reduced.</p>
+ * <p>Learnt clauses are stored in three tiers wrt their literal block distance (LBD), computed on conflict analysis:
+ * <i>core</i> clauses are kept forever, <i>tier2</i> clauses are kept as long as they are used,
+ * <i>local</i> clauses are periodically reduced by half, wrt their activity.</p>
  *
  * @author Charles Prud'homme
  * @since 12/07/13
@@ -44,19 +48,46 @@ public class MiniSat implements SatFactory, Dimacs {
     // value of an undefined literal
     private static final int litUndef = -2;
     // undefined clause
-    static final Clause CR_Undef = new Clause(new int[0]);
-    static final VarData VD_Undef = new VarData(CR_Undef, -1);
+    static final int CR_Undef = -1;
+    // Number of words before the literals of a clause in the arena: header, activity and LBD
+    static final int HEADER = 3;
+    // Flags stored in the lowest bits of the header of a clause, the size is stored in the other bits
+    static final int LEARNT = 1;
+    static final int IMPORTED = 2;
+    static final int DELETED = 4;
+    // set when a learnt clause took part in a propagation or a conflict since the last reduction
+    static final int USED = 8;
+    private static final int FLAGS = 4;
+    // Tiers of learnt clauses, stored in the lowest bits of the LBD word of a clause
+    static final int CORE = 0;
+    static final int TIER2 = 1;
+    static final int LOCAL = 2;
 
     // If false, the constraints are already unsatisfiable. No part of
     // the solver state may be used!
     public boolean ok_;
+    // All clauses, stored one after the other: header, activity and literals.
+    // A clause is referred to by the index of its header in the arena.
+    int[] arena = new int[1024];
+    // Number of words used in the arena
+    int arena_size;
+    // Number of words used by deleted clauses
+    int arena_wasted;
+    // Ratio of wasted words beyond which the arena is compacted
+    double garbage_frac = 0.20;
     // List of problem addClauses.
-    public final ArrayList<Clause> clauses = new ArrayList<>();
-    // List of learnt addClauses.
-    private final ArrayList<Clause> learnts = new ArrayList<>();
+    public final TIntArrayList clauses = new TIntArrayList();
+    // Learnt clauses with a small LBD, never removed.
+    final TIntArrayList learnts_core = new TIntArrayList();
+    // Learnt clauses with a medium LBD, kept as long as they are used.
+    final TIntArrayList learnts_tier2 = new TIntArrayList();
+    // Other learnt clauses, half of them are removed on each reduction, wrt their activity.
+    final TIntArrayList learnts_local = new TIntArrayList();
     // 'watches_[lit]' is a list of constraints watching 'lit'(will go
-    // there if literal becomes true).
-    private final TIntObjectHashMap<ArrayList<Watcher>> watches_ = new TIntObjectHashMap<>();
+    // there if literal becomes true), stored as pairs of clause and blocker literal.
+    private int[][] watches_ = new int[0][];
+    // Number of words used in each watch list
+    private int[] watches_size_ = new int[0];
     // The current assignments.
     //TIntObjectHashMap<Boolean> assignment_ = new TIntObjectHashMap<>();
     List<Boolean> assignment_ = new ArrayList<>();
@@ -82,20 +113,29 @@ public class MiniSat implements SatFactory, Dimacs {
     boolean luby_restart = true;
     int restart_first = 100;
     int random_seed = 7;
-    double learntsize_adjust_confl = 100;
-    int learntsize_adjust_cnt = 100;
-    double learntsize_adjust_inc = 1.5;
-    double learntsize_inc = 1.1;
-    double learntsize_factor = 1 / 3d;
+    int core_lbd = 2; // Learnt clauses with an LBD not greater than this are stored in the core tier
+    int tier2_lbd = 6; // Learnt clauses with an LBD not greater than this are stored in the tier2
+    int tier2_interval = 5000; // Number of conflicts between two reductions of the tier2
+    int local_interval = 1000; // Number of conflicts between two reductions of the local tier
+    long next_tier2_reduce = tier2_interval;
+    long next_local_reduce = local_interval;
+    // Number of reductions of the learnt clause database
+    long reductions;
+    // Number of learnt clauses removed
+    long removed_learnts;
     boolean rnd_pol;
     int conflict_budget = -1;
     int propagation_budget = -1;
     int propagations;
+    // Number of clauses imported from another solver which propagated at least once.
+    long useful_imports;
     int rnd_decisions;
     boolean asynch_interrupt = false;
     ArrayList<Boolean> model = new ArrayList<>();
     TIntArrayList conflict = new TIntArrayList();
-    ArrayList<VarData> vardata = new ArrayList<>();
+    // Reason and decision level of each assigned variable
+    int[] reasons_ = new int[0];
+    int[] levels_ = new int[0];
     int conflicts;
     int decisions;
     int max_literals;
@@ -103,7 +143,9 @@ public class MiniSat implements SatFactory, Dimacs {
     int dec_vars;
     int clauses_literals;
     int learnts_literals;
-    double max_learnts;
+    // Stamps of decision levels, to compute LBDs
+    private int[] lbd_stamps_ = new int[16];
+    private int lbd_stamp_;
     BitSet seen = new BitSet();
     BitSet decision = new BitSet();
     BitSet polarity = new BitSet();
@@ -112,6 +154,7 @@ public class MiniSat implements SatFactory, Dimacs {
     IntHeap order_heap = new IntHeap((a, b) -> activity.get(a) > activity.get(b));
     Random rand;
     private final TIntArrayList temporary_add_vector_ = new TIntArrayList();
+    private long[] reduce_keys_ = new long[0];
     public TIntArrayList touched_variables_ = new TIntArrayList();
 
     /**
@@ -138,7 +181,15 @@ public class MiniSat implements SatFactory, Dimacs {
     public int newVariable() {
         int v = incrementVariableCounter();
         assignment_.add(v, Boolean.lUndef);
-        vardata.add(new VarData(CR_Undef, 0));
+        if (v >= reasons_.length) {
+            int cap = Math.max(v + 1, reasons_.length * 3 / 2 + 1);
+            reasons_ = Arrays.copyOf(reasons_, cap);
+            levels_ = Arrays.copyOf(levels_, cap);
+            watches_ = Arrays.copyOf(watches_, 2 * cap);
+            watches_size_ = Arrays.copyOf(watches_size_, 2 * cap);
+        }
+        reasons_[v] = CR_Undef;
+        levels_[v] = 0;
         //activity .push(0);
         activity.add(rnd_init_act ? rand.nextDouble() * 0.00001 : 0);
         seen.clear(v);
@@ -190,7 +241,7 @@ public class MiniSat implements SatFactory, Dimacs {
                 uncheckedEnqueue(ps.get(0));
                 return (ok_ = propagate() == CR_Undef);
             default:
-                Clause cr = new Clause(ps.toArray());
+                int cr = allocClause(ps, 0);
                 clauses.add(cr);
                 attachClause(cr);
                 break;
@@ -299,17 +350,14 @@ public class MiniSat implements SatFactory, Dimacs {
     }
 
     // Enqueue a literal. Assumes value of literal is undefined.
-    void uncheckedEnqueue(int l, Clause from) {
+    void uncheckedEnqueue(int l, int from) {
         assert valueLit(l) == Boolean.lUndef;
         if (assignment_.get(var(l)) == Boolean.lUndef) {
             touched_variables_.add(l);
         }
         assignment_.set(var(l), makeBoolean(sgn(l)));
-        //vardata.ensureCapacity(var(l));
-        while (vardata.size() < var(l)) {
-            vardata.add(VD_Undef);
-        }
-        vardata.set(var(l), new VarData(from, trailMarker()));
+        reasons_[var(l)] = from;
+        levels_[var(l)] = trailMarker();
         trail_.add(l);
     }
 
@@ -317,124 +365,277 @@ public class MiniSat implements SatFactory, Dimacs {
         uncheckedEnqueue(l, CR_Undef);
     }
 
-    // Attach a clause to watcher lists.
-    void attachClause(Clause cr) {
-        assert cr.size() > 1;
-        ArrayList<Watcher> l0 = watches_.get(neg(cr._g(0)));
-        if (l0 == null) {
-            l0 = new ArrayList<>();
-            watches_.put(neg(cr._g(0)), l0);
-        }
-        ArrayList<Watcher> l1 = watches_.get(neg(cr._g(1)));
-        if (l1 == null) {
-            l1 = new ArrayList<>();
-            watches_.put(neg(cr._g(1)), l1);
-        }
-        l0.add(new Watcher(cr, cr._g(1)));
-        l1.add(new Watcher(cr, cr._g(0)));
-        if (cr.learnt()) learnts_literals += cr.size();
-        else clauses_literals += cr.size();
-    }
-
-    void detachClause(Clause cr) {
-        ArrayList<Watcher> ws = watches_.get(neg(cr._g(0)));
-        int i = ws.size() - 1;
-        while (i >= 0 && ws.get(i).clause != cr) {
-            i--;
+    // Make room for 'n' more words in the arena
+    private void ensureArena(int n) {
+        if (arena_size + n > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena_size + n, arena.length * 3 / 2));
         }
-        assert i > -1;
-        ws.remove(i);
-        ws = watches_.get(neg(cr._g(1)));
-        i = ws.size() - 1;
-        while (i >= 0 && ws.get(i).clause != cr) {
-            i--;
+    }
+
+    // Store a new clause in the arena and return its reference.
+    int allocClause(TIntList ps, int flags) {
+        int size = ps.size();
+        ensureArena(HEADER + size);
+        int cr = arena_size;
+        arena[cr] = (size << FLAGS) | flags;
+        arena[cr + 1] = 0;
+        arena[cr + 2] = (size << 2) | LOCAL;
+        for (int i = 0; i < size; i++) {
+            arena[cr + HEADER + i] = ps.get(i);
+        }
+        arena_size += HEADER + size;
+        return cr;
+    }
+
+    // Store a new clause in the arena and return its reference.
+    int allocClause(int[] ps, int flags) {
+        ensureArena(HEADER + ps.length);
+        int cr = arena_size;
+        arena[cr] = (ps.length << FLAGS) | flags;
+        arena[cr + 1] = 0;
+        arena[cr + 2] = (ps.length << 2) | LOCAL;
+        System.arraycopy(ps, 0, arena, cr + HEADER, ps.length);
+        arena_size += HEADER + ps.length;
+        return cr;
+    }
+
+    // The number of literals of a clause.
+    int clauseSize(int cr) {
+        return arena[cr] >>> FLAGS;
+    }
+
+    // The i^th literal of a clause.
+    int clauseLit(int cr, int i) {
+        return arena[cr + HEADER + i];
+    }
+
+    boolean learnt(int cr) {
+        return (arena[cr] & LEARNT) != 0;
+    }
+
+    float activity(int cr) {
+        return Float.intBitsToFloat(arena[cr + 1]);
+    }
+
+    private void activity(int cr, float a) {
+        arena[cr + 1] = Float.floatToRawIntBits(a);
+    }
+
+    // The literal block distance of a learnt clause, when it was last computed.
+    int lbd(int cr) {
+        return arena[cr + 2] >>> 2;
+    }
+
+    int tier(int cr) {
+        return arena[cr + 2] & 3;
+    }
+
+    // Set the LBD of a learnt clause, and its tier accordingly.
+    // A clause never moves to a higher tier.
+    private void lbd(int cr, int lbd) {
+        int tier = lbd <= core_lbd ? CORE : lbd <= tier2_lbd ? TIER2 : LOCAL;
+        arena[cr + 2] = (lbd << 2) | Math.min(tier, tier(cr));
+    }
+
+    // Compute the number of distinct decision levels among the literals of a clause.
+    private int computeLBD(int cr) {
+        int size = clauseSize(cr);
+        if (++lbd_stamp_ == Integer.MAX_VALUE) {
+            Arrays.fill(lbd_stamps_, 0);
+            lbd_stamp_ = 1;
+        }
+        if (lbd_stamps_.length <= trailMarker()) {
+            lbd_stamps_ = Arrays.copyOf(lbd_stamps_, Math.max(trailMarker() + 1, lbd_stamps_.length * 2));
+        }
+        int lbd = 0;
+        for (int i = 0; i < size; i++) {
+            int l = level(var(clauseLit(cr, i)));
+            if (lbd_stamps_[l] != lbd_stamp_) {
+                lbd_stamps_[l] = lbd_stamp_;
+                lbd++;
+            }
+        }
+        return lbd;
+    }
+
+    // Store a learnt clause in the tier its LBD fits in.
+    void storeLearnt(int cr, int lbd) {
+        arena[cr + 2] = LOCAL;
+        lbd(cr, lbd);
+        switch (tier(cr)) {
+            case CORE:
+                learnts_core.add(cr);
+                break;
+            case TIER2:
+                learnts_tier2.add(cr);
+                break;
+            default:
+                learnts_local.add(cr);
+                break;
+        }
+    }
+
+    private void watch(int lit, int cr, int blocker) {
+        int[] ws = watches_[lit];
+        int n = watches_size_[lit];
+        if (ws == null) {
+            ws = watches_[lit] = new int[4];
+        } else if (n + 2 > ws.length) {
+            ws = watches_[lit] = Arrays.copyOf(ws, ws.length * 2);
+        }
+        ws[n] = cr;
+        ws[n + 1] = blocker;
+        watches_size_[lit] = n + 2;
+    }
+
+    private void unwatch(int lit, int cr) {
+        int[] ws = watches_[lit];
+        int n = watches_size_[lit];
+        int i = n - 2;
+        while (i >= 0 && ws[i] != cr) {
+            i -= 2;
         }
         assert i > -1;
-        ws.remove(i);
+        System.arraycopy(ws, i + 2, ws, i, n - i - 2);
+        watches_size_[lit] = n - 2;
+    }
+
+    // Attach a clause to watcher lists.
+    void attachClause(int cr) {
+        assert clauseSize(cr) > 1;
+        int c = cr + HEADER;
+        watch(neg(arena[c]), cr, arena[c + 1]);
+        watch(neg(arena[c + 1]), cr, arena[c]);
+        if (learnt(cr)) learnts_literals += clauseSize(cr);
+        else clauses_literals += clauseSize(cr);
+    }
+
+    void detachClause(int cr) {
+        unwatch(neg(arena[cr + HEADER]), cr);
+        unwatch(neg(arena[cr + HEADER + 1]), cr);
     }
 
     // Perform unit propagation. returns true upon success.
-    Clause propagate() {
-        Clause confl = CR_Undef;
+    int propagate() {
+        int confl = CR_Undef;
         int num_props = 0;
         while (qhead_ < trail_.size()) {
             int p = trail_.get(qhead_++);
 
             // 'p' is enqueued fact to propagate.
-            ArrayList<Watcher> ws = watches_.get(p);
+            int[] ws = watches_[p];
+            int end = watches_size_[p];
             num_props++;
             int i = 0;
             int j = 0;
-            while (ws != null && i < ws.size()) {
+            next:
+            while (i < end) {
                 // Try to avoid inspecting the clause:
-                int blocker = ws.get(i).blocker;
+                int blocker = ws[i + 1];
                 if (valueLit(blocker) == Boolean.lTrue) {
-                    ws.set(j++, ws.get(i++));
+                    ws[j++] = ws[i++];
+                    ws[j++] = ws[i++];
                     continue;
                 }
 
                 // Make sure the false literal is data[1]:
-                Clause cr = ws.get(i).clause;
+                int cr = ws[i];
+                int c = cr + HEADER;
                 final int false_lit = neg(p);
-                if (cr._g(0) == false_lit) {
-                    cr._s(0, cr._g(1));
-                    cr._s(1, false_lit);
+                if (arena[c] == false_lit) {
+                    arena[c] = arena[c + 1];
+                    arena[c + 1] = false_lit;
                 }
-                assert (cr._g(1) == false_lit);
-                i++;
+                assert (arena[c + 1] == false_lit);
+                i += 2;
 
                 // If 0th watch is true, then clause is already satisfied.
-                final int first = cr._g(0);
-                Watcher w = new Watcher(cr, first);
+                final int first = arena[c];
                 if (first != blocker && valueLit(first) == Boolean.lTrue) {
-                    ws.set(j++, w);
+                    ws[j++] = cr;
+                    ws[j++] = first;
                     continue;
                 }
 
                 // Look for new watch:
-                boolean cont = false;
-                for (int k = 2; k < cr.size(); k++) {
-                    if (valueLit(cr._g(k)) != Boolean.lFalse) {
-                        cr._s(1, cr._g(k));
-                        cr._s(k, false_lit);
-                        ArrayList<Watcher> lw = watches_.get(neg(cr._g(1)));
-                        if (lw == null) {
-                            lw = new ArrayList<>();
-                            watches_.put(neg(cr._g(1)), lw);
-                        }
-                        lw.add(w);
-                        cont = true;
-                        break;
+                for (int k = 2, size = clauseSize(cr); k < size; k++) {
+                    if (valueLit(arena[c + k]) != Boolean.lFalse) {
+                        arena[c + 1] = arena[c + k];
+                        arena[c + k] = false_lit;
+                        watch(neg(arena[c + 1]), cr, first);
+                        continue next;
                     }
                 }
 
                 // Did not find watch -- clause is unit under assignment:
-                if (!cont) {
-                    ws.set(j++, w);
-                    if (valueLit(first) == Boolean.lFalse) {
-                        confl = cr;
-                        qhead_ = trail_.size();
-                        // Copy the remaining watches_:
-                        while (i < ws.size()) {
-                            ws.set(j++, ws.get(i++));
-                        }
-                        touched_variables_.add(first);
-                    } else {
-                        uncheckedEnqueue(first, cr);
-                    }
+                ws[j++] = cr;
+                ws[j++] = first;
+                if ((arena[cr] & IMPORTED) != 0) {
+                    arena[cr] &= ~IMPORTED;
+                    useful_imports++;
                 }
-            }
-            if (ws != null) {
-                if (ws.size() > j) {
-                    ws.subList(j, ws.size()).clear();
+                arena[cr] |= USED;
+                if (valueLit(first) == Boolean.lFalse) {
+                    confl = cr;
+                    qhead_ = trail_.size();
+                    // Copy the remaining watches_:
+                    while (i < end) {
+                        ws[j++] = ws[i++];
+                    }
+                    touched_variables_.add(first);
+                } else {
+                    uncheckedEnqueue(first, cr);
                 }
             }
+            watches_size_[p] = j;
         }
         propagations += num_props;
         return confl;
     }
 
 
+    /**
+     * @return the number of clauses imported from another solver which propagated at least once
+     */
+    public long getNbUsefulImports() {
+        return useful_imports;
+    }
+
+    /**
+     * @return the number of learnt clauses with a small LBD, which are never removed
+     */
+    public int getNbCoreLearnts() {
+        return learnts_core.size();
+    }
+
+    /**
+     * @return the number of learnt clauses with a medium LBD, which are kept as long as they are used
+     */
+    public int getNbTier2Learnts() {
+        return learnts_tier2.size();
+    }
+
+    /**
+     * @return the number of other learnt clauses, which are periodically reduced
+     */
+    public int getNbLocalLearnts() {
+        return learnts_local.size();
+    }
+
+    /**
+     * @return the number of reductions of the learnt clause database
+     */
+    public long getNbReductions() {
+        return reductions;
+    }
+
+    /**
+     * @return the number of learnt clauses removed by reductions
+     */
+    public long getNbRemovedLearnts() {
+        return removed_learnts;
+    }
+
     /**
      * A call to this method will attempt to find
      * an interpretation that satisfies the Boolean formula declared in this.
@@ -447,9 +648,6 @@ public class MiniSat implements SatFactory, Dimacs {
         model.clear();
         conflict.clear();
         if (!ok_) return ESat.FALSE;
-        max_learnts = nClauses() * learntsize_factor;
-        learntsize_adjust_confl = 100;
-        learntsize_adjust_cnt = (int) learntsize_adjust_confl;
         ESat status = ESat.UNDEFINED;
 
         // Search:
@@ -465,7 +663,7 @@ public class MiniSat implements SatFactory, Dimacs {
             // Extend & copy model:
             model.ensureCapacity(nVars());
             for (int i = 0; i < nVars(); i++) {
-                model.add(valueLit(i));
+                model.add(valueVar(i));
             }
 
         } else if (status == ESat.FALSE && conflict.size() == 0)
@@ -499,7 +697,7 @@ public class MiniSat implements SatFactory, Dimacs {
         TIntList learnt_clause = new TIntArrayList();
 
         for (; ; ) {
-            Clause confl = propagate();
+            int confl = propagate();
             if (confl != CR_Undef) {
                 // CONFLICT
                 conflicts++;
@@ -508,6 +706,11 @@ public class MiniSat implements SatFactory, Dimacs {
 
                 learnt_clause.clear();
                 backtrack_level = analyze(confl, learnt_clause);
+                int cr = learnt_clause.size() > 1 ? allocClause(learnt_clause, LEARNT) : CR_Undef;
+                if (cr != CR_Undef) {
+                    // levels are still valid before backtracking
+                    storeLearnt(cr, computeLBD(cr));
+                }
                 cancelUntil(backtrack_level);
 
                 for (int v = 0; v < nVars(); v++) {
@@ -517,8 +720,6 @@ public class MiniSat implements SatFactory, Dimacs {
                 if (learnt_clause.size() == 1) {
                     uncheckedEnqueue(learnt_clause.get(0));
                 } else {
-                    Clause cr = new Clause(learnt_clause.toArray(), true);
-                    learnts.add(cr);
                     attachClause(cr);
                     claBumpActivity(cr);
                     uncheckedEnqueue(learnt_clause.get(0), cr);
@@ -527,13 +728,6 @@ public class MiniSat implements SatFactory, Dimacs {
                 varDecayActivity();
                 claDecayActivity();
 
-
-                if (--learntsize_adjust_cnt == 0) {
-                    learntsize_adjust_confl *= learntsize_adjust_inc;
-                    learntsize_adjust_cnt = (int) learntsize_adjust_confl;
-                    max_learnts *= learntsize_inc;
-                }
-
             } else {
                 // NO CONFLICT
                 if (nof_conflicts >= 0 && conflictC >= nof_conflicts || !withinBudget()) {
@@ -546,9 +740,8 @@ public class MiniSat implements SatFactory, Dimacs {
                 if (trailMarker() == 0 && !simplify())
                     return ESat.FALSE;
 
-                if (learnts.size() - trail_.size() >= max_learnts)
-                    // Reduce the set of learnt clauses:
-                    reduceDB();
+                // Reduce the set of learnt clauses:
+                reduceIfNeeded();
 
                 // New variable decision:
                 decisions++;
@@ -590,7 +783,7 @@ public class MiniSat implements SatFactory, Dimacs {
                 makeLiteral(next, rnd_pol ? rand.nextDouble() < 0.5 : polarity.get(next));
     }
 
-    int analyze(Clause confl, TIntList out_learnt) {
+    int analyze(int confl, TIntList out_learnt) {
         int pathC = 0;
         int p = litUndef;
 
@@ -601,13 +794,22 @@ public class MiniSat implements SatFactory, Dimacs {
 
         do {
             assert (confl != CR_Undef); // (otherwise should be UIP)
-            Clause c = confl;
+            int c = confl;
 
-            if (c.learnt())
+            if (learnt(c)) {
                 claBumpActivity(c);
+                arena[c] |= USED;
+                if (tier(c) != CORE) {
+                    // the clause may have become more relevant
+                    int lbd = computeLBD(c);
+                    if (lbd < lbd(c)) {
+                        lbd(c, lbd);
+                    }
+                }
+            }
 
-            for (int j = (p == litUndef) ? 0 : 1; j < c.size(); j++) {
-                int q = c._g(j);
+            for (int j = (p == litUndef) ? 0 : 1, size = clauseSize(c); j < size; j++) {
+                int q = clauseLit(c, j);
 
                 if (!seen.get(var(q)) && level(var(q)) > 0) {
                     varBumpActivity(var(q));
@@ -652,9 +854,9 @@ public class MiniSat implements SatFactory, Dimacs {
                 if (reason(x) == CR_Undef)
                     out_learnt.set(j++, out_learnt.get(i));
                 else {
-                    Clause c = reason(var(out_learnt.get(i)));
-                    for (int k = 1; k < c.size(); k++)
-                        if (!seen.get(var(c._g(k))) && level(var(c._g(k))) > 0) {
+                    int c = reason(var(out_learnt.get(i)));
+                    for (int k = 1, size = clauseSize(c); k < size; k++)
+                        if (!seen.get(var(clauseLit(c, k))) && level(var(clauseLit(c, k))) > 0) {
                             out_learnt.set(j++, out_learnt.get(i));
                             break;
                         }
@@ -721,21 +923,145 @@ public class MiniSat implements SatFactory, Dimacs {
         order_heap.build(vs);
     }
 
+    // Reduce the tiers of learnt clauses whose period is over.
+    void reduceIfNeeded() {
+        boolean reduced = false;
+        if (conflicts >= next_tier2_reduce) {
+            next_tier2_reduce = conflicts + tier2_interval;
+            reduceTier2();
+            reduced = true;
+        }
+        if (conflicts >= next_local_reduce) {
+            next_local_reduce = conflicts + local_interval;
+            reduceDB();
+            reduced = true;
+        }
+        if (reduced) {
+            reductions++;
+            checkGarbage();
+        }
+    }
+
+    // Move the clauses promoted since the last reduction from 'crs' to their new tier.
+    private void promote(TIntArrayList crs, int tier) {
+        int j = 0;
+        for (int i = 0; i < crs.size(); i++) {
+            int cr = crs.getQuick(i);
+            int t = tier(cr);
+            if (t == tier) {
+                crs.setQuick(j++, cr);
+            } else if (t == CORE) {
+                learnts_core.add(cr);
+            } else {
+                learnts_tier2.add(cr);
+            }
+        }
+        crs.remove(j, crs.size() - j);
+    }
+
+    // Move the clauses of the tier2 not used since the last reduction to the local tier.
+    void reduceTier2() {
+        promote(learnts_tier2, TIER2);
+        int j = 0;
+        for (int i = 0; i < learnts_tier2.size(); i++) {
+            int cr = learnts_tier2.getQuick(i);
+            if ((arena[cr] & USED) != 0) {
+                arena[cr] &= ~USED;
+                learnts_tier2.setQuick(j++, cr);
+            } else {
+                arena[cr + 2] = (arena[cr + 2] & ~3) | LOCAL;
+                learnts_local.add(cr);
+            }
+        }
+        learnts_tier2.remove(j, learnts_tier2.size() - j);
+    }
+
+    // Remove half of the local tier.
     void reduceDB() {
+        promote(learnts_local, LOCAL);
         int i, j;
-        double extra_lim = cla_inc / learnts.size();    // Remove any clause below this activity
+        int n = learnts_local.size();
+        double extra_lim = cla_inc / n;    // Remove any clause below this activity
 
-        learnts.sort(Comparator.comparingDouble(c -> c.activity));
+        // Sort unused clauses first, then by activity:
+        // as activities are non-negative, the order of their bits is the order of their values
+        if (reduce_keys_.length < n) {
+            reduce_keys_ = new long[n];
+        }
+        for (i = 0; i < n; i++) {
+            int cr = learnts_local.getQuick(i);
+            long used = (arena[cr] & USED) != 0 ? 1 : 0;
+            reduce_keys_[i] = (used << 62) | ((long) arena[cr + 1] << 31) | cr;
+        }
+        Arrays.sort(reduce_keys_, 0, n);
         // Don't delete binary or locked clauses. From the rest, delete clauses from the first half
-        // and clauses with activity smaller than 'extra_lim':
-        for (i = j = 0; i < learnts.size(); i++) {
-            Clause c = learnts.get(i);
-            if (c.size() > 2 && !locked(c) && (i < learnts.size() / 2 || c.activity < extra_lim))
-                removeClause(learnts.get(i));
-            else
-                learnts.set(j++, learnts.get(i));
+        // and unused clauses with activity smaller than 'extra_lim':
+        for (i = j = 0; i < n; i++) {
+            int cr = (int) (reduce_keys_[i] & Integer.MAX_VALUE);
+            boolean used = (arena[cr] & USED) != 0;
+            if (clauseSize(cr) > 2 && !locked(cr) && (i < n / 2 || !used && activity(cr) < extra_lim)) {
+                removeClause(cr);
+                removed_learnts++;
+            } else {
+                arena[cr] &= ~USED;
+                learnts_local.setQuick(j++, cr);
+            }
+        }
+        learnts_local.remove(j, n - j);
+    }
+
+    // Compact the arena when too many words are wasted by deleted clauses.
+    void checkGarbage() {
+        if (arena_wasted > arena_size * garbage_frac) {
+            garbageCollect();
+        }
+    }
+
+    // Move all live clauses to a fresh arena, in the same order, and update references to them.
+    void garbageCollect() {
+        int[] from = arena;
+        int from_size = arena_size;
+        arena = new int[Math.max(1024, (from_size - arena_wasted) * 3 / 2)];
+        arena_size = 0;
+        arena_wasted = 0;
+        for (int cr = 0; cr < from_size; cr += HEADER + (from[cr] >>> FLAGS)) {
+            if ((from[cr] & DELETED) == 0) {
+                int len = HEADER + (from[cr] >>> FLAGS);
+                System.arraycopy(from, cr, arena, arena_size, len);
+                // the activity is not needed anymore in the old arena, it stores the new reference
+                from[cr + 1] = arena_size;
+                arena_size += len;
+            }
+        }
+        relocAll(from);
+    }
+
+    // Update all references to clauses after a garbage collection,
+    // 'from' is the old arena where each live clause stores its new reference.
+    void relocAll(int[] from) {
+        for (int l = 0; l < watches_.length; l++) {
+            int[] ws = watches_[l];
+            for (int i = 0; i < watches_size_[l]; i += 2) {
+                ws[i] = from[ws[i] + 1];
+            }
+        }
+        for (int i = 0; i < trail_.size(); i++) {
+            int v = var(trail_.getQuick(i));
+            int r = reasons_[v];
+            if (r != CR_Undef) {
+                reasons_[v] = (from[r] & DELETED) == 0 ? from[r + 1] : CR_Undef;
+            }
+        }
+        reloc(from, clauses);
+        reloc(from, learnts_core);
+        reloc(from, learnts_tier2);
+        reloc(from, learnts_local);
+    }
+
+    static void reloc(int[] from, TIntArrayList crs) {
+        for (int i = 0; i < crs.size(); i++) {
+            crs.setQuick(i, from[crs.getQuick(i) + 1]);
         }
-        learnts.subList(j, learnts.size()).clear();
     }
 
 
@@ -745,39 +1071,51 @@ public class MiniSat implements SatFactory, Dimacs {
                 (propagation_budget < 0 || propagations < propagation_budget);
     }
 
-    Clause reason(int x) {
-        return vardata.get(x).cr;
+    int reason(int x) {
+        return reasons_[x];
     }
 
     int level(int x) {
-        return vardata.get(x).level;
+        return levels_[x];
     }
 
-    boolean locked(Clause c) {
-        return valueLit(c._g(0)) == Boolean.lTrue
-                && reason(var(c._g(0))) != CR_Undef
-                && reason(var(c._g(0))) == c;
+    boolean locked(int cr) {
+        int l = clauseLit(cr, 0);
+        return valueLit(l) == Boolean.lTrue
+                && reason(var(l)) != CR_Undef
+                && reason(var(l)) == cr;
     }
 
-    void removeClause(Clause cr) {
+    void removeClause(int cr) {
         detachClause(cr);
-        // Don't leave pointers to free'd memory!
+        // Don't leave references to free'd memory!
         if (locked(cr)) {
-            vardata.get(var(cr._g(0))).cr = CR_Undef;
+            reasons_[var(clauseLit(cr, 0))] = CR_Undef;
         }
+        arena[cr] |= DELETED;
+        arena_wasted += HEADER + clauseSize(cr);
     }
 
 
-    void claBumpActivity(Clause c) {
-        if ((c.activity += cla_inc) > 1e20d) {
+    void claBumpActivity(int cr) {
+        float a = (float) (activity(cr) + cla_inc);
+        activity(cr, a);
+        if (a > 1e20f) {
             // Rescale:
-            for (int i = 0; i < learnts.size(); i++) {
-                learnts.get(i).activity *= 1e-20d;
-            }
+            rescale(learnts_core);
+            rescale(learnts_tier2);
+            rescale(learnts_local);
             cla_inc *= 1e-20d;
         }
     }
 
+    private void rescale(TIntArrayList crs) {
+        for (int i = 0; i < crs.size(); i++) {
+            int c = crs.getQuick(i);
+            activity(c, activity(c) * 1e-20f);
+        }
+    }
+
     void varBumpActivity(int v) {
         varBumpActivity(v, var_inc);
     }
@@ -893,69 +1231,6 @@ public class MiniSat implements SatFactory, Dimacs {
     }
 
 
-    /**
-     * Clause -- a simple class for representing a clause
-     * <br/>
-     *
-     * @author Charles Prud'homme, Laurent Perron
-     * @since 12/07/13
-     */
-    public static class Clause {
-
-        private final int[] literals_;
-        private final boolean learnt;
-        private double activity;
-
-        Clause(int[] ps, boolean learnt) {
-            literals_ = ps.clone();
-            this.learnt = learnt;
-        }
-
-        Clause(int[] ps) {
-            this(ps, false);
-        }
-
-        public int size() {
-            return literals_.length;
-        }
-
-        public boolean learnt() {
-            return learnt;
-        }
-
-
-        public int _g(int i) {
-            return literals_[i];
-        }
-
-        void _s(int pos, int l) {
-            literals_[pos] = l;
-        }
-
-        public String toString() {
-            return Arrays.toString(literals_);
-        }
-    }
-
-    /**
-     * // A watcher represent a clause attached to a literal.
-     * <br/>
-     * (or-tools, booleans.cc, ty L. Perron).
-     *
-     * @author Charles Prud'homme
-     * @since 12/07/13
-     */
-    static class Watcher {
-
-        Clause clause;
-        int blocker;
-
-        Watcher(final Clause cr, int l) {
-            this.clause = cr;
-            this.blocker = l;
-        }
-    }
-
     /**
      * <br/>
      * (or-tools, booleans.cc, ty L. Perron).
@@ -987,14 +1262,4 @@ public class MiniSat implements SatFactory, Dimacs {
         }
 
     }
-
-    static class VarData {
-        Clause cr;
-        int level;
-
-        public VarData(Clause cr, int level) {
-            this.cr = cr;
-            this.level = level;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -32,7 +32,7 @@ import java.util.function.Consumer;
 public class SatDecorator extends MiniSat {
 
     // store clauses dynamically added from outside
-    public ArrayList<Clause> dynClauses = new ArrayList<>();
+    public TIntArrayList dynClauses = new TIntArrayList();
     private final TIntObjectHashMap<Literalizer> lits = new TIntObjectHashMap<>();
     private final HashMap<Variable, List<Literalizer>> vars = new HashMap<>();
     /**
@@ -50,8 +50,14 @@ public class SatDecorator extends MiniSat {
      */
     private final TIntList early_deductions_;
 
+    /**
+     * The model this SAT solver is attached to, to report statistics
+     */
+    private final Model model;
+
     public SatDecorator(Model model) {
         super();
+        this.model = model;
         early_deductions_ = new TIntArrayList();
         sat_trail_ = model.getEnvironment().makeInt();
     }
@@ -62,6 +68,21 @@ public class SatDecorator extends MiniSat {
      * @param ps clause to add
      */
     public void learnClause(int... ps) {
+        learnClause(false, ps);
+    }
+
+    /**
+     * Add a clause learnt by another solver during resolution.
+     * Such a clause is redundant, so it is stored in the tiers of learnt clauses, wrt to its size,
+     * and may be removed later if it does not propagate.
+     *
+     * @param ps clause to add
+     */
+    public void importClause(int... ps) {
+        learnClause(true, ps);
+    }
+
+    private void learnClause(boolean imported, int... ps) {
         Arrays.sort(ps);
         switch (ps.length) {
             case 0:
@@ -72,34 +93,52 @@ public class SatDecorator extends MiniSat {
                 ok_ = (propagate() == CR_Undef);
                 return;
             default:
-                Clause cr = new Clause(ps);
-                removeDominated(cr);
-                dynClauses.add(cr);
-                attachClause(cr);
+                if (imported) {
+                    int cr = allocClause(ps, LEARNT | IMPORTED);
+                    // decision levels of the SAT solver are not relevant here, the size is an upper bound
+                    storeLearnt(cr, ps.length);
+                    attachClause(cr);
+                    reduceIfNeeded();
+                    updateMeasures();
+                } else {
+                    int cr = allocClause(ps, 0);
+                    removeDominated(cr);
+                    dynClauses.add(cr);
+                    attachClause(cr);
+                    checkGarbage();
+                }
                 break;
         }
     }
 
+    private void updateMeasures() {
+        model.getSolver().getMeasures().setLearntClauseCounts(
+                getNbCoreLearnts(), getNbTier2Learnts(), getNbLocalLearnts(),
+                getNbReductions(), getNbRemovedLearnts());
+    }
+
     /**
      * Check wether {@code cr} dominates one or more learnt clauses.
      *
      * @param last the clause to compare the other with
      */
-    private void removeDominated(Clause last) {
+    private void removeDominated(int last) {
+        int lsize = clauseSize(last);
         for (int c = dynClauses.size() - 1; c >= 0; c--) {
-            Clause prev = dynClauses.get(c);
-            if (last.size() < prev.size()) {
+            int prev = dynClauses.get(c);
+            int psize = clauseSize(prev);
+            if (lsize < psize) {
                 int i = 0, j = 0;
-                while (i < last.size() && j < prev.size()) {
-                    int l = last._g(i);
-                    int p = prev._g(j);
+                while (i < lsize && j < psize) {
+                    int l = clauseLit(last, i);
+                    int p = clauseLit(prev, j);
                     if (l < p) break;
                     j++;
                     if (l == p) {
                         i++;
                     }
                 }
-                if (i == last.size() && j == prev.size()) {
+                if (i == lsize && j == psize) {
                     // then 'last' dominates 'prev'
                     detachLearnt(c);
                 }
@@ -108,9 +147,15 @@ public class SatDecorator extends MiniSat {
     }
 
     public void detachLearnt(int ci) {
-        Clause cr = dynClauses.get(ci);
-        detachClause(cr);
-        dynClauses.remove(ci);
+        int cr = dynClauses.get(ci);
+        removeClause(cr);
+        dynClauses.removeAt(ci);
+    }
+
+    @Override
+    void relocAll(int[] from) {
+        super.relocAll(from);
+        reloc(from, dynClauses);
     }
 
     private void dynUncheckedEnqueue(int l) {
@@ -144,6 +189,7 @@ public class SatDecorator extends MiniSat {
         assert ok_;
         touched_variables_.resetQuick();
         if (propagate() != CR_Undef) {
+            conflicts++;
             return false;
         }
         if (valueLit(lit) == Boolean.lTrue) {
@@ -158,7 +204,11 @@ public class SatDecorator extends MiniSat {
         assert valueLit(lit) == Boolean.lUndef;
         assignment_.set(var(lit), makeBoolean(sgn(lit)));
         trail_.add(lit);
-        return propagate() == CR_Undef;
+        if (propagate() != CR_Undef) {
+            conflicts++;
+            return false;
+        }
+        return true;
     }
 
     public void bound(Variable cpvar, ICause cause) throws ContradictionException {
@@ -252,12 +302,13 @@ public class SatDecorator extends MiniSat {
      * @param clauses list of clause
      * @return <tt>true</tt> if all clauses are satisfied, <tt>false</tt> otherwise
      */
-    public boolean clauseEntailed(ArrayList<Clause> clauses) {
+    public boolean clauseEntailed(TIntList clauses) {
         int lit;
         cl:
-        for (Clause c : clauses) {
-            for (int i = 0; i < c.size(); i++) {
-                lit = c._g(i);
+        for (int k = 0; k < clauses.size(); k++) {
+            int c = clauses.get(k);
+            for (int i = 0; i < clauseSize(c); i++) {
+                lit = clauseLit(c, i);
                 Literalizer ltz = lits.get(var(lit));
                 // ltz is null only for 'addClausesSumBoolArrayLessEqKVar' that needs an extra var.
                 if (ltz == null || lits.get(var(lit)).check(sgn(lit))) {
@@ -0,0 +1,200 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * The best solutions found so far by a set of workers solving the same problem in parallel,
+ * up to a given capacity, sorted from the best one to the worst one.
+ * </p>
+ * <p>
+ * Like {@link SharedIncumbent}, the pool is an immutable array held by an atomic reference:
+ * a worker offers a solution with {@link #offer(Model)}, which succeeds (by compare-and-set, without lock)
+ * only if the pool is not full or if the solution is better than the worst one, which is then evicted.
+ * To keep the pool diverse, at most one solution is kept per objective value.
+ * When dealing with a satisfaction problem, the most recent solutions are kept.
+ * </p>
+ * <p>
+ * Solutions stored in a pool are expected to be read with the variables of any worker
+ * (see {@link org.chocosolver.solver.search.loop.move.MoveLNS#setElitePool(ElitePool, int, long)}),
+ * so the models of the workers should be equivalent (ie, each variable has the same ID in each worker).
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @see ParallelPortfolio#shareElitesWithLNS(int, int)
+ * @since 16/10/2026
+ */
+public final class ElitePool {
+
+    /**
+     * An elite solution, with its objective value
+     */
+    private static final class Elite {
+
+        private final Number value;
+        private final Solution solution;
+        private final Model model;
+
+        private Elite(Number value, Solution solution, Model model) {
+            this.value = value;
+            this.solution = solution;
+            this.model = model;
+        }
+    }
+
+    private static final Elite[] EMPTY = new Elite[0];
+
+    /**
+     * Maximum number of solutions to keep
+     */
+    private final int capacity;
+
+    /**
+     * The elite solutions, from the best one to the worst one
+     */
+    private final AtomicReference<Elite[]> elites = new AtomicReference<>(EMPTY);
+
+    /**
+     * Create an empty pool.
+     *
+     * @param capacity maximum number of solutions to keep, strictly positive
+     */
+    public ElitePool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of an elite pool should be strictly positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Offer the current solution of <i>model</i>.
+     * This method is expected to be called on solution, by the thread running <i>model</i>.
+     * When the problem is an optimization one, the value considered is
+     * the best solution value of the objective manager of <i>model</i>.
+     *
+     * @param model a model which has just found a solution
+     * @return <tt>true</tt> if the solution has been added to the pool
+     */
+    public boolean offer(Model model) {
+        ResolutionPolicy policy = model.getResolutionPolicy();
+        Number value = policy == ResolutionPolicy.SATISFACTION ? null :
+                model.getSolver().getObjectiveManager().getBestSolutionValue();
+        Elite[] current = elites.get();
+        int rank = rankOf(policy, value, current);
+        if (rank < 0) {
+            return false;
+        }
+        Elite elite = new Elite(value, new Solution(model).record(), model);
+        while (!elites.compareAndSet(current, insert(current, rank, elite))) {
+            current = elites.get();
+            rank = rankOf(policy, value, current);
+            if (rank < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param policy  the resolution policy
+     * @param value   the value of a solution
+     * @param current the elite solutions
+     * @return the rank of a solution of value <i>value</i> in <i>current</i>,
+     * -1 if it should not be inserted
+     */
+    private int rankOf(ResolutionPolicy policy, Number value, Elite[] current) {
+        if (policy == ResolutionPolicy.SATISFACTION) {
+            return 0;
+        }
+        double v = value.doubleValue();
+        int rank = 0;
+        while (rank < current.length) {
+            double w = current[rank].value.doubleValue();
+            if (v == w) {
+                return -1;
+            }
+            if (policy == ResolutionPolicy.MAXIMIZE ? v > w : v < w) {
+                break;
+            }
+            rank++;
+        }
+        return rank < capacity ? rank : -1;
+    }
+
+    private Elite[] insert(Elite[] current, int rank, Elite elite) {
+        Elite[] next = new Elite[Math.min(current.length + 1, capacity)];
+        System.arraycopy(current, 0, next, 0, rank);
+        next[rank] = elite;
+        System.arraycopy(current, rank, next, rank + 1, next.length - rank - 1);
+        return next;
+    }
+
+    /**
+     * @return the number of solutions in this pool
+     */
+    public int size() {
+        return elites.get().length;
+    }
+
+    /**
+     * @return the maximum number of solutions in this pool
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param rank rank of a solution, 0 being the best one
+     * @return the solution of rank <i>rank</i>
+     * @throws IndexOutOfBoundsException if there is no such solution
+     */
+    public Solution getSolution(int rank) {
+        return elites.get()[rank].solution;
+    }
+
+    /**
+     * @param rank rank of a solution, 0 being the best one
+     * @return the objective value of the solution of rank <i>rank</i>, <tt>null</tt> for satisfaction problems
+     * @throws IndexOutOfBoundsException if there is no such solution
+     */
+    public Number getValue(int rank) {
+        return elites.get()[rank].value;
+    }
+
+    /**
+     * @param rank rank of a solution, 0 being the best one
+     * @return the model which found the solution of rank <i>rank</i>
+     * @throws IndexOutOfBoundsException if there is no such solution
+     */
+    public Model getModel(int rank) {
+        return elites.get()[rank].model;
+    }
+
+    /**
+     * Pick a solution uniformly at random in this pool.
+     *
+     * @param random a random number generator
+     * @return a solution of this pool, <tt>null</tt> if the pool is empty
+     */
+    public Solution pick(Random random) {
+        Elite[] current = elites.get();
+        return current.length == 0 ? null : current[random.nextInt(current.length)].solution;
+    }
+
+    /**
+     * Remove all solutions from this pool.
+     */
+    public void clear() {
+        elites.set(EMPTY);
+    }
+}
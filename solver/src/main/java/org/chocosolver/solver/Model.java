@@ -20,6 +20,7 @@ import org.chocosolver.solver.constraints.nary.clauses.ClauseConstraint;
 import org.chocosolver.solver.constraints.nary.cnf.PropFalse;
 import org.chocosolver.solver.constraints.nary.cnf.PropTrue;
 import org.chocosolver.solver.constraints.nary.cnf.SatConstraint;
+import org.chocosolver.solver.constraints.nary.nogood.PropNogoodTrie;
 import org.chocosolver.solver.constraints.real.IbexHandler;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
@@ -29,8 +30,11 @@ import org.chocosolver.solver.propagation.PropagationEngine;
 import org.chocosolver.solver.variables.*;
 import org.chocosolver.util.tools.VariableUtils;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -70,6 +74,14 @@ public class Model implements IModel {
 
     public static final String CLAUSESBUILDER_HOOK_NAME = "H_CLAUSESBUILDER";
 
+    public static final String NOGOODS_HOOK_NAME = "H_NOGOODS";
+
+    /**
+     * Name of internal hook dedicated to store the supports shared by compact table propagators
+     * (see {@link org.chocosolver.solver.constraints.extension.nary.CompactTableSupports}).
+     */
+    public static final String TABLE_SUPPORTS_HOOK_NAME = "H_TABLESUPPORTS";
+
     public static final String IBEX_HOOK_NAME = "H_IBEX";
 
     /**
@@ -118,6 +130,11 @@ public class Model implements IModel {
      */
     private int cIdx;
 
+    /**
+     * Constraint scopes currently opened, the last opened one on top
+     */
+    private final ArrayDeque<Scope> scopes = new ArrayDeque<>();
+
     /**
      * Environment, based of the search tree (trailing or copying)
      */
@@ -590,6 +607,21 @@ public class Model implements IModel {
         return (ClauseConstraint) getHook(CLAUSES_HOOK_NAME);
     }
 
+    /**
+     * Returns the unique store of nogoods extracted from decision paths.
+     * A call to this method will create and post the constraint if it does not exist already.
+     *
+     * @return the nogood store
+     */
+    public PropNogoodTrie getNogoodTrie() {
+        if (getHook(NOGOODS_HOOK_NAME) == null) {
+            PropNogoodTrie trie = new PropNogoodTrie(this);
+            new Constraint(ConstraintsName.NOGOODCONSTRAINT, trie).post();
+            addHook(NOGOODS_HOOK_NAME, trie);
+        }
+        return (PropNogoodTrie) getHook(NOGOODS_HOOK_NAME);
+    }
+
     /**
      * @return an instance of {@link ClauseBuilder} that helps creating clause <b>during</b> resolution.
      */
@@ -876,6 +908,9 @@ public class Model implements IModel {
             }
             c.declareAs(Constraint.Status.POSTED, cIdx);
             cstrs[cIdx++] = c;
+            if (permanent && !scopes.isEmpty()) {
+                scopes.peek().cstrs.add(c);
+            }
         }
     }
 
@@ -944,6 +979,88 @@ public class Model implements IModel {
         }
     }
 
+    /**
+     * Opens a new constraint scope.
+     * Any constraint posted with {@link #post(Constraint...)} from now on belongs to this scope
+     * and will be unposted by the matching call to {@link #popScope()}.
+     * Scopes can be nested.
+     * <p>
+     * If a resolution was run before, the solver is reset (see {@link Solver#reset()}) beforehand,
+     * learnt signed clauses and heuristics weights are kept.
+     * </p>
+     *
+     * @see #popScope()
+     */
+    public void pushScope() {
+        if (getSolver().isSolving()) {
+            getSolver().reset();
+        }
+        int stamp = getHook(CLAUSES_HOOK_NAME) == null ? 0 :
+                ((ClauseConstraint) getHook(CLAUSES_HOOK_NAME)).getClauseStore().getStamp();
+        scopes.push(new Scope(stamp));
+    }
+
+    /**
+     * Closes the last opened constraint scope: the constraints posted since the matching call
+     * to {@link #pushScope()} are unposted.
+     * The solver is reset (see {@link Solver#reset()}) and the signed clauses learnt since the
+     * matching call to {@link #pushScope()}, which may depend on the removed constraints, are forgotten.
+     * <p>
+     * Variables declared in the scope are kept, as well as the clauses added to the SAT constraint
+     * ({@link #getMinisat()}) and the nogoods it records.
+     * </p>
+     *
+     * @throws SolverException if no scope is opened
+     * @see #pushScope()
+     */
+    public void popScope() throws SolverException {
+        if (scopes.isEmpty()) {
+            throw new SolverException("No constraint scope to pop");
+        }
+        Scope scope = scopes.pop();
+        if (getSolver().isSolving()) {
+            getSolver().reset();
+        }
+        Object minisat = getHook(MINISAT_HOOK_NAME);
+        Object clauses = getHook(CLAUSES_HOOK_NAME);
+        for (int i = scope.cstrs.size() - 1; i >= 0; i--) {
+            Constraint c = scope.cstrs.get(i);
+            // the SAT and the clauses stores are shared by the whole model
+            if (c != minisat && c != clauses && c.getStatus() == Constraint.Status.POSTED) {
+                unpost(c);
+            }
+        }
+        if (clauses != null) {
+            ((ClauseConstraint) clauses).getClauseStore().forgetLearntsSince(scope.stamp);
+        }
+    }
+
+    /**
+     * @return the number of constraint scopes currently opened
+     * @see #pushScope()
+     */
+    public int getNbScopes() {
+        return scopes.size();
+    }
+
+    /**
+     * A constraint scope, opened by {@link #pushScope()}.
+     */
+    private static final class Scope {
+        /**
+         * Constraints posted in this scope
+         */
+        private final List<Constraint> cstrs = new ArrayList<>();
+        /**
+         * Stamp of the signed clauses store when this scope was opened
+         */
+        private final int stamp;
+
+        private Scope(int stamp) {
+            this.stamp = stamp;
+        }
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     //////////////////////////////////////////// RELATED TO I/O ////////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -11,12 +11,17 @@ package org.chocosolver.solver;
 
 import org.chocosolver.cutoffseq.LubyCutoffStrategy;
 import org.chocosolver.solver.constraints.Constraint;
-import org.chocosolver.solver.constraints.nary.sat.NogoodStealer;
+import org.chocosolver.solver.constraints.nary.sat.ClauseExchange;
 import org.chocosolver.solver.constraints.real.RealConstraint;
 import org.chocosolver.solver.exception.InvalidSolutionException;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.objective.ParetoFront;
+import org.chocosolver.solver.objective.ParetoMaximizer;
 import org.chocosolver.solver.search.limits.FailCounter;
 import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.search.loop.lns.neighbors.INeighbor;
+import org.chocosolver.solver.search.loop.lns.neighbors.SharedAdaptiveNeighborhood;
+import org.chocosolver.solver.search.loop.move.MoveLNS;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.loop.monitors.NogoodFromRestarts;
 import org.chocosolver.solver.search.strategy.Search;
@@ -31,6 +36,7 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -59,8 +65,8 @@ import static org.chocosolver.solver.search.strategy.Search.*;
  * <p>
  *     The resolution process is synchronized. As soon as one model ends (naturally or by hitting a limit)
  *     the other ones are eagerly stopped.
- *     Moreover, when dealing with an optimization problem, cut on the objective variable's value is propagated
- *     to all models on solution.
+ *     Moreover, when dealing with an optimization problem, the best solution is stored in a {@link SharedIncumbent}
+ *     which each model polls at each node and before each restart to tighten the cut on the objective variable's value.
  *     It is essential to eagerly declare the objective variable(s) with {@link Model#setObjective(boolean, Variable)}.
  *
  * </p>
@@ -116,9 +122,9 @@ public class ParallelPortfolio {
     private boolean searchAutoConf;
 
     /**
-     * This manager is used to synchronize nogood sharing.
+     * Shares clauses among reliable models, may be null.
      */
-    private NogoodStealer manager = NogoodStealer.NONE;
+    private ClauseExchange exchange;
 
     /**
      * Stores whether or not prepare() method has been called
@@ -135,9 +141,29 @@ public class ParallelPortfolio {
     private AtomicInteger solverRunning = new AtomicInteger(0);
 
     /**
-     * Point to (one of) the solver(s) which found a solution
+     * The best solution found so far, shared among models without lock
      */
-    private Model finder;
+    private final SharedIncumbent incumbent = new SharedIncumbent();
+
+    /**
+     * Set to <i>true</i> to load solutions found by other models into LNS neighbors
+     */
+    private boolean shareIncumbentWithLNS = false;
+
+    /**
+     * Elite solutions shared among LNS workers, may be null
+     */
+    private ElitePool elites;
+
+    /**
+     * Number of consecutive restarts without solution before a LNS worker loads an elite solution
+     */
+    private int elitePatience;
+
+    /**
+     * Scores of the neighbors of LNS workers configured by this portfolio, may be null
+     */
+    private SharedAdaptiveNeighborhood.Scores lnsScores;
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////      CONSTRUCTOR      //////////////////////////////////////////////////////
@@ -173,12 +199,82 @@ public class ParallelPortfolio {
      * Calling this method will ensure that workers equipped with a restart policy not only
      * record nogoods from themselves (based on {@link NogoodFromRestarts}) but also based on
      * other workers of the portfolio.
+     * This is a shortcut for {@code shareClauses(new ClauseExchange())}.
      *
      * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
      * the same ID in each worker).
      */
     public void stealNogoodsOnRestarts() {
-        this.manager = new NogoodStealer();
+        shareClauses(new ClauseExchange());
+    }
+
+    /**
+     * Calling this method will ensure that reliable workers share, through <i>exchange</i>,
+     * the nogoods they extract from their decision path before each restart
+     * and the signed clauses they learn on conflicts, if any.
+     * Clauses are exported and imported without lock, see {@link ClauseExchange}.
+     *
+     * @param exchange the clause exchange to use
+     * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
+     * the same ID in each worker).
+     */
+    public void shareClauses(ClauseExchange exchange) {
+        this.exchange = exchange;
+    }
+
+    /**
+     * @return the clause exchange used to share clauses among models, or <tt>null</tt> if clauses are not shared
+     */
+    public ClauseExchange getClauseExchange() {
+        return exchange;
+    }
+
+    /**
+     * Calling this method will ensure that workers running a Large Neighborhood Search
+     * (see {@link MoveLNS}) load any better solution found by another worker of the portfolio
+     * as the new basis of their neighbor, as soon as they reach a restart.
+     *
+     * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
+     * the same ID in each worker).
+     */
+    public void shareIncumbentWithLNS() {
+        this.shareIncumbentWithLNS = true;
+    }
+
+    /**
+     * Calling this method turns the workers running a Large Neighborhood Search (see {@link MoveLNS})
+     * into a parallel LNS:
+     * <ul>
+     *     <li>any better solution found by another worker is loaded as soon as they reach a restart
+     *     (see {@link #shareIncumbentWithLNS()}),</li>
+     *     <li>the best solutions found by all workers are stored in a shared {@link ElitePool}
+     *     and a worker which did not find a solution after <i>patience</i> consecutive restarts
+     *     loads one of them as the new basis of its neighbor,</li>
+     *     <li>when search heuristics are configured by this portfolio, LNS workers share
+     *     the scores of their neighbors (see {@link SharedAdaptiveNeighborhood}), so that the neighborhood types
+     *     which improve more often are allocated to more workers.</li>
+     * </ul>
+     * Workers configured manually can share scores too, with
+     * {@link INeighborFactory#sharedAdaptive(SharedAdaptiveNeighborhood.Scores, long, IntVar...)}.
+     *
+     * @param capacity maximum number of elite solutions
+     * @param patience number of consecutive restarts without solution before loading an elite solution
+     * @implSpec It is assumed that all models in this portfolio are equivalent (ie, each variable has
+     * the same ID in each worker).
+     */
+    public void shareElitesWithLNS(int capacity, int patience) {
+        this.shareIncumbentWithLNS = true;
+        this.elites = new ElitePool(capacity);
+        this.elitePatience = patience;
+        this.lnsScores = new SharedAdaptiveNeighborhood.Scores(3);
+    }
+
+    /**
+     * @return the elite solutions shared among LNS workers,
+     * <tt>null</tt> if {@link #shareElitesWithLNS(int, int)} has not been called
+     */
+    public ElitePool getElitePool() {
+        return elites;
     }
 
     /**
@@ -267,7 +363,7 @@ public class ParallelPortfolio {
             forkJoinPool.submit(() -> models.parallelStream().forEach(m -> {
                 if (!getSolverTerminated().get()) {
                     boolean so = m.getSolver().solve();
-                    if (!so || finder == m) {
+                    if (!so || getBestModel() == m) {
                         getSolverTerminated().set(so || reliableness.get(m) || getSolverRunning().decrementAndGet() <= 0);
                     }
                 }
@@ -316,7 +412,15 @@ public class ParallelPortfolio {
      * @return the first model which finds a solution (or the best one) or <tt>null</tt> if no such model exists.
      */
     public Model getBestModel() {
-        return finder;
+        return incumbent.get().getModel();
+    }
+
+    /**
+     * @return the (best) solution found so far, or <tt>null</tt> if no solution has been found.
+     * The solution is attached to the model returned by {@link #getBestModel()}.
+     */
+    public Solution getBestSolution() {
+        return incumbent.get().getSolution();
     }
 
     /**
@@ -377,6 +481,45 @@ public class ParallelPortfolio {
         return StreamSupport.stream(it, false);
     }
 
+    /**
+     * Attempts to find the Pareto front of the problem, running all models of this portfolio in parallel.
+     * The models share one {@link ParetoFront}, without lock:
+     * each model prunes the solutions dominated by the ones found by any model.
+     * <p>
+     * As for {@link org.chocosolver.solver.search.IResolutionHelper#findParetoFront(IntVar[], boolean, org.chocosolver.util.criteria.Criterion...)},
+     * the objective variables are expected to be declared in the search strategy of each model.
+     * </p>
+     *
+     * @param objectives gives the objective variables of a model of this portfolio,
+     *                   in the same order for all models
+     * @param maximize   set to <tt>true</tt> to maximize the objectives, set to <tt>false</tt> to minimize them
+     * @return the solutions of the front, each one attached to the model which found it
+     */
+    public List<Solution> findParetoFront(Function<Model, IntVar[]> objectives, boolean maximize) {
+        ParetoFront front = null;
+        ParetoMaximizer[] paretos = new ParetoMaximizer[models.size()];
+        Constraint[] cstrs = new Constraint[models.size()];
+        for (int i = 0; i < models.size(); i++) {
+            Model m = models.get(i);
+            IntVar[] objs = Stream.of(objectives.apply(m))
+                    .map(o -> maximize ? o : m.intMinusView(o))
+                    .toArray(IntVar[]::new);
+            if (front == null) {
+                front = new ParetoFront(objs.length);
+            }
+            paretos[i] = new ParetoMaximizer(objs, front);
+            cstrs[i] = new Constraint("PARETO", paretos[i]);
+            cstrs[i].post();
+            m.getSolver().plugMonitor(paretos[i]);
+        }
+        while (solve()) ;
+        for (int i = 0; i < models.size(); i++) {
+            models.get(i).getSolver().unplugMonitor(paretos[i]);
+            models.get(i).unpost(cstrs[i]);
+        }
+        return front == null ? Collections.emptyList() : front.getSolutions();
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -389,34 +532,36 @@ public class ParallelPortfolio {
             Solver s = models.get(i).getSolver();
             s.addStopCriterion(() -> getSolverTerminated().get());
             s.plugMonitor((IMonitorSolution) () -> updateFromSolution(s.getModel()));
+            incumbent.plug(s);
             if (searchAutoConf) {
                 configureModel(i);
             }
+            if (exchange != null && reliableness.get(s.getModel())) {
+                exchange.register(s.getModel());
+            }
+            if (shareIncumbentWithLNS && s.getMove() instanceof MoveLNS) {
+                ((MoveLNS) s.getMove()).setSharedIncumbent(incumbent);
+            }
+            if (elites != null && s.getMove() instanceof MoveLNS) {
+                ((MoveLNS) s.getMove()).setElitePool(elites, elitePatience, i);
+            }
         }
     }
 
-    private synchronized void updateFromSolution(Model m) {
-        if (m.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
-            finder = m;
+    private void updateFromSolution(Model m) {
+        if (incumbent.offer(m)) {
             getSolutionFound().set(true);
-        } else {
-            int solverVal = ((IntVar) m.getObjective()).getValue();
-            int bestVal = m.getSolver().getObjectiveManager().getBestSolutionValue().intValue();
-            if (m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE) {
-                assert solverVal <= bestVal : solverVal + ">" + bestVal;
-            } else
-                assert
-                        m.getResolutionPolicy() != ResolutionPolicy.MINIMIZE || solverVal >= bestVal : solverVal + "<" + bestVal;
-            if (solverVal == bestVal) {
-                getSolutionFound().set(true);
-                finder = m;
-                if (m.getResolutionPolicy() == ResolutionPolicy.MAXIMIZE) {
-                    models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestLB(bestVal));
-                } else {
-                    models.forEach(s1 -> s1.getSolver().getObjectiveManager().updateBestUB(bestVal));
-                }
-            }
         }
+        if (elites != null) {
+            elites.offer(m);
+        }
+    }
+
+    private INeighbor lnsNeighbor(IntVar[] ivars, int workerID) {
+        if (lnsScores != null) {
+            return INeighborFactory.sharedAdaptive(lnsScores, workerID, ivars);
+        }
+        return INeighborFactory.blackBox(ivars);
     }
 
     private void configureModel(int workerID) {
@@ -461,9 +606,6 @@ public class ParallelPortfolio {
                         )
                 );
                 Restarts.LUBY.declare(solver, 500, 0.d, 5000);
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
                 break;
             case 1:
                 solver.setSearch(
@@ -472,9 +614,6 @@ public class ParallelPortfolio {
                         )
                 );
                 Restarts.LUBY.declare(solver, 500, 0.d, 5000);
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
                 break;
             case 2:
                 // input order + LC
@@ -483,9 +622,6 @@ public class ParallelPortfolio {
                                 VarH.INPUT.make(solver, ivars, ValH.MIN, Integer.MAX_VALUE, opt)
                         )
                 );
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
                 break;
             case 3:
                 if (!opt) {
@@ -495,7 +631,6 @@ public class ParallelPortfolio {
                             )
                     );
                     Restarts.LUBY.declare(solver, 500, 0.d, 5000);
-                    break;
                 } else {
                     // input order + LC + LNS
                     solver.setSearch(
@@ -503,10 +638,7 @@ public class ParallelPortfolio {
                                     VarH.INPUT.make(solver, ivars, ValH.MIN, Integer.MAX_VALUE, opt)
                             )
                     );
-                    solver.setLNS(INeighborFactory.blackBox(ivars), new FailCounter(solver.getModel(), 1000));
-                }
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
+                    solver.setLNS(lnsNeighbor(ivars, workerID), new FailCounter(solver.getModel(), 1000));
                 }
                 break;
             case 4:
@@ -548,18 +680,15 @@ public class ParallelPortfolio {
                         )
                 );
                 Restarts.LUBY.declare(solver, 40, 0.d, 5000);
-                if (reliableness.containsKey(worker)) {
-                    manager.add(worker);
-                }
                 break;
             default:
                 // random search (various seeds) + LNS if optim
                 solver.setSearch(lastConflict(randomSearch(ivars, workerID)));
                 if (policy != ResolutionPolicy.SATISFACTION) {
-                    solver.setLNS(INeighborFactory.blackBox(ivars), new FailCounter(solver.getModel(), 1000));
+                    solver.setLNS(lnsNeighbor(ivars, workerID), new FailCounter(solver.getModel(), 1000));
                 }
                 if (reliableness.containsKey(worker)) {
-                    solver.plugMonitor(new NogoodFromRestarts(worker, manager));
+                    solver.plugMonitor(new NogoodFromRestarts(worker));
                 }
                 solver.setRestarts(count -> solver.getFailCount() >= count, new LubyCutoffStrategy(500), 5000);
                 break;
@@ -0,0 +1,612 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.search.strategy.decision.SetDecision;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.criteria.Criterion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * A parallel tree search helper, also known as Embarrassingly Parallel Search [1].
+ * </p>
+ * <p>
+ * Unlike {@link ParallelPortfolio}, where models race each other on the entire search space,
+ * the search tree of a single problem is split among workers:
+ *      <ol>
+ *          <li>the top of the search tree is explored by the first model, with its declared search strategy,
+ *          down to a depth that produces enough sub-problems (see {@link #setSubproblemsPerWorker(int)}),</li>
+ *          <li>each sub-problem, described by the decisions leading to it, is then solved by one
+ *          of the workers, distributed on a {@link ForkJoinPool} with work stealing.</li>
+ *      </ol>
+ * Each worker owns a model, that should be an equivalent copy of the problem: all models must be created
+ * following the very same steps, so that a variable has the same ID in every model.
+ * </p>
+ * <p>
+ *     Three modes are available:
+ *     <ul>
+ *         <li>{@link #solve()} on a satisfaction problem stops as soon as one worker finds a solution,</li>
+ *         <li>{@link #solve()} on an optimization problem explores all sub-problems
+ *         and workers share the best bound found so far, without lock,</li>
+ *         <li>{@link #findAllSolutions()} enumerates the solutions of every sub-problem.</li>
+ *     </ul>
+ * </p>
+ * <p>
+ *     Between two sub-problems, a worker's solver is reset (see {@link Solver#reset()}), which removes its
+ *     stop criteria. Limits must be declared with {@link #addStopCriterion(Criterion...)}.
+ * </p>
+ * <p>
+ *     Example of use.
+ *
+ * <pre>
+ * <code>ParallelTreeSearch pts = new ParallelTreeSearch();
+ * int n = 4; // number of workers to use
+ * for (int i = 0; i < n; i++) {
+ *      pts.addModel(modeller());
+ * }
+ * List&lt;Solution&gt; solutions = pts.findAllSolutions();
+ * </code>
+ * </pre>
+ * </p>
+ * <p>
+ * [1]: J-C. Régin, M. Rezgui, A. Malapert, Embarrassingly Parallel Search, CP-2013.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @see ParallelPortfolio
+ * @since 16/10/2026
+ */
+public class ParallelTreeSearch {
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////       VARIABLES       //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Default number of sub-problems to generate per worker.
+     */
+    public static final int SUBPROBLEMS_PER_WORKER = 30;
+
+    /**
+     * List of {@link Model}s, one per worker.
+     */
+    private final List<Model> models;
+
+    /**
+     * Workers, one per model
+     */
+    private final List<Worker> workers;
+
+    /**
+     * Workers waiting for a sub-problem.
+     * A thread takes one of them to solve a sub-problem, and waits if there is none.
+     */
+    private final BlockingQueue<Worker> idle;
+
+    /**
+     * Stop criteria, declared for each sub-problem resolution
+     */
+    private final List<Criterion> criteria;
+
+    /**
+     * Expected number of sub-problems per worker
+     */
+    private int subproblemsPerWorker = SUBPROBLEMS_PER_WORKER;
+
+    /**
+     * Maximum depth of the decomposition
+     */
+    private int maxDepth = Integer.MAX_VALUE;
+
+    /**
+     * Set to <i>true</i> to enumerate all solutions
+     */
+    private boolean enumerate;
+
+    /**
+     * Set to <i>true</i> to stop all workers
+     */
+    private final AtomicBoolean stop = new AtomicBoolean(false);
+
+    /**
+     * Set to <i>true</i> when a stop criterion has been met
+     */
+    private final AtomicBoolean interrupted = new AtomicBoolean(false);
+
+    /**
+     * The best solution found so far, with its objective value if any
+     */
+    private final SharedIncumbent incumbent = new SharedIncumbent();
+
+    /**
+     * Solutions found, when enumerating
+     */
+    private final ConcurrentLinkedQueue<Solution> solutions;
+
+    private final AtomicLong solutionCount = new AtomicLong();
+    private final LongAdder nodeCount = new LongAdder();
+    private final LongAdder failCount = new LongAdder();
+    private int nbSubproblems;
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////      CONSTRUCTOR      //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Creates a new ParallelTreeSearch.
+     * This class stores the models of the workers in a {@link ArrayList} initially empty.
+     */
+    public ParallelTreeSearch() {
+        this.models = new ArrayList<>();
+        this.workers = new ArrayList<>();
+        this.idle = new LinkedBlockingQueue<>();
+        this.criteria = new ArrayList<>();
+        this.solutions = new ConcurrentLinkedQueue<>();
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////          API          //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * <p>
+     * Adds a model to the list of workers.
+     * The first model added is also in charge of decomposing the problem, with its declared search strategy.
+     * </p>
+     * <p>
+     * <b>Important:</b>
+     *  <ul>
+     *      <li>all models must be equivalent: created following the very same steps.</li>
+     *      <li>when dealing with optimization problems, the objective variables <b>HAVE</b> to be declared eagerly with
+     *      {@link Model#setObjective(boolean, Variable)}.
+     *  </li>
+     *  </ul>
+     * </p>
+     *
+     * @param model a model to add
+     */
+    public void addModel(Model model) {
+        this.models.add(model);
+        this.workers.add(new Worker(model));
+    }
+
+    /**
+     * @return the (mutable!) list of models used in this ParallelTreeSearch
+     */
+    public List<Model> getModels() {
+        return models;
+    }
+
+    /**
+     * Set the expected number of sub-problems per worker.
+     * The decomposition goes deeper in the search tree until at least <i>n</i> times the number of workers
+     * sub-problems are generated (or the maximum depth is reached).
+     *
+     * @param n expected number of sub-problems per worker
+     */
+    public void setSubproblemsPerWorker(int n) {
+        if (n < 1) {
+            throw new SolverException("The number of sub-problems per worker should be strictly positive.");
+        }
+        this.subproblemsPerWorker = n;
+    }
+
+    /**
+     * Set the maximum depth of the decomposition, that is, the maximum number of decisions
+     * describing a sub-problem.
+     *
+     * @param depth maximum depth
+     */
+    public void setMaxDepth(int depth) {
+        if (depth < 1) {
+            throw new SolverException("The maximum depth should be strictly positive.");
+        }
+        this.maxDepth = depth;
+    }
+
+    /**
+     * Add stop criteria, checked by each worker while solving a sub-problem.
+     * As soon as one criterion is met, all workers stop.
+     *
+     * @param criterion stop criteria
+     */
+    public void addStopCriterion(Criterion... criterion) {
+        Collections.addAll(this.criteria, criterion);
+    }
+
+    /**
+     * Solve the problem in parallel.
+     * <ul>
+     *     <li>When dealing with a satisfaction problem, the first solution found stops all workers.</li>
+     *     <li>When dealing with an optimization problem, all sub-problems are explored,
+     *     and the best solution is kept.</li>
+     * </ul>
+     * The (best) solution is available with {@link #getBestSolution()}.
+     *
+     * @return <code>true</code> if and only if at least one solution has been found.
+     * @throws SolverException if no model has been added.
+     */
+    public boolean solve() {
+        enumerate = false;
+        run();
+        return incumbent.get().getSolution() != null;
+    }
+
+    /**
+     * Enumerate all solutions of the problem in parallel.
+     * If a stop criterion is met, the list may not contain all solutions.
+     *
+     * @return the list of solutions found, each of them is attached to the model of the worker that found it.
+     * @throws SolverException if no model has been added.
+     */
+    public List<Solution> findAllSolutions() {
+        enumerate = true;
+        run();
+        return new ArrayList<>(solutions);
+    }
+
+    /**
+     * @return the (best) solution found during the last resolution, <tt>null</tt> if no solution was found.
+     */
+    public Solution getBestSolution() {
+        return incumbent.get().getSolution();
+    }
+
+    /**
+     * @return the model which found the (best) solution during the last resolution,
+     * <tt>null</tt> if no solution was found.
+     */
+    public Model getBestModel() {
+        return incumbent.get().getModel();
+    }
+
+    /**
+     * @return the objective value of the best solution found during the last resolution,
+     * <tt>null</tt> if no solution was found or if the problem is a satisfaction one.
+     */
+    public Number getBestSolutionValue() {
+        return incumbent.get().getValue();
+    }
+
+    /**
+     * @return <code>true</code> if the last resolution explored all sub-problems entirely
+     * (except when stopping on the first solution of a satisfaction problem).
+     */
+    public boolean isSearchCompleted() {
+        return !interrupted.get();
+    }
+
+    /**
+     * @return number of solutions found during the last resolution, all workers included
+     */
+    public long getSolutionCount() {
+        return solutionCount.get();
+    }
+
+    /**
+     * @return number of nodes opened during the last resolution, all workers included,
+     * decomposition excluded
+     */
+    public long getNodeCount() {
+        return nodeCount.sum();
+    }
+
+    /**
+     * @return number of failures during the last resolution, all workers included,
+     * decomposition excluded
+     */
+    public long getFailCount() {
+        return failCount.sum();
+    }
+
+    /**
+     * @return number of sub-problems generated during the last resolution
+     */
+    public int getNbSubproblems() {
+        return nbSubproblems;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    ///////////////////////////////////////   INTERNAL METHODS    //////////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void run() {
+        check();
+        stop.set(false);
+        interrupted.set(false);
+        incumbent.reset();
+        solutions.clear();
+        solutionCount.set(0);
+        nodeCount.reset();
+        failCount.reset();
+        List<SubProblem> subproblems = decompose(models.get(0), models.size() * subproblemsPerWorker);
+        nbSubproblems = subproblems.size();
+        idle.clear();
+        idle.addAll(workers);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(models.size());
+        try {
+            forkJoinPool.invoke(new Chunk(subproblems, 0, subproblems.size()));
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Explore the top of the search tree of <i>master</i>, with increasing depth,
+     * until at least <i>target</i> sub-problems are found.
+     */
+    private List<SubProblem> decompose(Model master, int target) {
+        Solver solver = master.getSolver();
+        AbstractStrategy<?> strategy = solver.getSearch();
+        if (strategy == null) {
+            strategy = master.getSettings().makeDefaultSearch(master);
+            solver.setSearch(strategy);
+        }
+        IEnvironment env = master.getEnvironment();
+        int base = env.getWorldIndex();
+        List<SubProblem> frontier = new ArrayList<>();
+        int depth = 1;
+        while (true) {
+            frontier.clear();
+            boolean deeper = explore(solver, strategy, depth, frontier);
+            solver.reset();
+            env.worldPopUntil(base);
+            if (!deeper || frontier.size() >= target || depth >= maxDepth) {
+                break;
+            }
+            depth++;
+        }
+        return frontier;
+    }
+
+    /**
+     * Depth-first exploration of the search tree down to <i>depth</i>.
+     *
+     * @return <i>true</i> if at least one node at depth <i>depth</i> was found
+     */
+    private static boolean explore(Solver solver, AbstractStrategy<?> strategy, int depth, List<SubProblem> frontier) {
+        DecisionPath path = solver.getDecisionPath();
+        Decision<?> dec = null;
+        boolean deeper = false;
+        if (!solver.moveForward(null) || !strategy.init()) {
+            return false;
+        }
+        boolean search = true;
+        while (search) {
+            if (solver.moveForward(dec)) {
+                if (path.size() - 1 < depth) {
+                    dec = strategy.getDecision();
+                    if (dec != null) {
+                        continue;
+                    }
+                } else {
+                    deeper = true;
+                }
+                frontier.add(new SubProblem(path));
+            }
+            search = solver.moveBackward();
+            dec = null;
+        }
+        return deeper;
+    }
+
+    private void solveSubProblem(SubProblem sp) {
+        if (stop.get()) {
+            return;
+        }
+        // more threads than workers may solve sub-problems, e.g. the calling thread,
+        // they wait until a worker is idle
+        Worker worker;
+        try {
+            worker = idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            interrupted.set(true);
+            stop.set(true);
+            return;
+        }
+        try {
+            worker.solve(sp);
+        } finally {
+            idle.offer(worker);
+        }
+    }
+
+    private boolean isStopCriterionMet() {
+        if (stop.get()) {
+            return true;
+        }
+        for (int i = 0; i < criteria.size(); i++) {
+            if (criteria.get(i).isMet()) {
+                interrupted.set(true);
+                stop.set(true);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void check() {
+        if (models.size() == 0) {
+            throw new SolverException("No model found in the ParallelTreeSearch.");
+        }
+        if (models.get(0).getResolutionPolicy() != ResolutionPolicy.SATISFACTION) {
+            Variable objective = models.get(0).getObjective();
+            if (objective == null) {
+                throw new UnsupportedOperationException("No objective has been defined");
+            }
+            if ((objective.getTypeAndKind() & Variable.INT) == 0) {
+                throw new UnsupportedOperationException("ParallelTreeSearch only deals with integer objective");
+            }
+        }
+    }
+
+    /**
+     * A sub-problem, described by the decisions leading to it from the root node.
+     */
+    private static final class SubProblem {
+        final int[] ids;
+        final int[] values;
+        final DecisionOperator<?>[] operators;
+        final boolean[] refuted;
+
+        SubProblem(DecisionPath path) {
+            int n = path.size() - 1;
+            ids = new int[n];
+            values = new int[n];
+            operators = new DecisionOperator[n];
+            refuted = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                Decision<?> decision = path.getDecision(i + 1);
+                if (decision instanceof IntDecision) {
+                    operators[i] = ((IntDecision) decision).getDecOp();
+                } else if (decision instanceof SetDecision) {
+                    operators[i] = ((SetDecision) decision).getDecOp();
+                } else {
+                    throw new UnsupportedOperationException("Cannot deal with such decision: " + decision);
+                }
+                ids[i] = decision.getDecisionVariable().getId();
+                values[i] = (Integer) decision.getDecisionValue();
+                refuted[i] = !decision.hasNext() && decision.getArity() > 1;
+            }
+        }
+
+        /**
+         * Restrict domains of <i>vars</i> wrt the decisions of this sub-problem
+         *
+         * @param vars variables indexed by ID
+         * @throws ContradictionException if a restriction fails
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void apply(Variable[] vars) throws ContradictionException {
+            for (int i = 0; i < ids.length; i++) {
+                DecisionOperator op = operators[i];
+                if (refuted[i]) {
+                    op.unapply(vars[ids[i]], values[i], Cause.Null);
+                } else {
+                    op.apply(vars[ids[i]], values[i], Cause.Null);
+                }
+            }
+        }
+    }
+
+    /**
+     * A worker, owning a model, that solves sub-problems one after the other.
+     */
+    private final class Worker implements IMonitorSolution {
+        final Model model;
+        final Solver solver;
+        Variable[] vars;
+
+        Worker(Model model) {
+            this.model = model;
+            this.solver = model.getSolver();
+            this.solver.plugMonitor(this);
+            incumbent.plug(solver);
+        }
+
+        void solve(SubProblem sp) {
+            if (vars == null) {
+                vars = indexById(model);
+            }
+            IEnvironment env = model.getEnvironment();
+            int base = env.getWorldIndex();
+            env.worldPush();
+            try {
+                sp.apply(vars);
+                solver.addStopCriterion(ParallelTreeSearch.this::isStopCriterionMet);
+                incumbent.tighten(solver); // the objective manager has been reset
+                boolean sat = model.getResolutionPolicy() == ResolutionPolicy.SATISFACTION;
+                //noinspection StatementWithEmptyBody
+                while (solver.solve() && (enumerate || !sat)) ;
+                nodeCount.add(solver.getNodeCount());
+                failCount.add(solver.getFailCount());
+            } catch (ContradictionException cex) {
+                solver.getEngine().flush();
+            } finally {
+                solver.reset();
+                env.worldPopUntil(base);
+            }
+        }
+
+        @Override
+        public void onSolution() {
+            solutionCount.incrementAndGet();
+            if (enumerate) {
+                solutions.add(new Solution(model).record());
+            }
+            incumbent.offer(model);
+            if (!enumerate && model.getResolutionPolicy() == ResolutionPolicy.SATISFACTION) {
+                stop.set(true);
+            }
+        }
+
+        private Variable[] indexById(Model model) {
+            Variable[] all = model.getVars();
+            int max = 0;
+            for (Variable v : all) {
+                max = Math.max(max, v.getId());
+            }
+            Variable[] byId = new Variable[max + 1];
+            for (Variable v : all) {
+                byId[v.getId()] = v;
+            }
+            return byId;
+        }
+    }
+
+    /**
+     * A range of sub-problems, split in halves until one sub-problem remains,
+     * so that idle threads of the pool can steal the other half.
+     */
+    private final class Chunk extends RecursiveAction {
+
+        private final List<SubProblem> subproblems;
+        private final int from;
+        private final int to;
+
+        Chunk(List<SubProblem> subproblems, int from, int to) {
+            this.subproblems = subproblems;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                solveSubProblem(subproblems.get(from));
+            } else if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Chunk(subproblems, from, mid), new Chunk(subproblems, mid, to));
+            }
+        }
+    }
+}
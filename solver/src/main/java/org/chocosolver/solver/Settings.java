@@ -61,6 +61,8 @@ public class Settings {
 
     private IntPredicate enableIncrementalityOnBoolSum = i -> i > 10;
 
+    private IntPredicate enableIncrementalityOnSum = i -> i > 300;
+
     private boolean enableSAT = false;
 
     private boolean swapOnPassivate = false;
@@ -75,6 +77,8 @@ public class Settings {
 
     private byte hybridEngine = 0b00;
 
+    private boolean adaptiveEngine = false;
+
     private int nbMaxLearnt = 100_000;
 
     private int maxLearntCardinlity = Integer.MAX_VALUE / 100;
@@ -423,6 +427,29 @@ public class Settings {
         return this;
     }
 
+    /**
+     * @param nbvars number of variables in the constraint
+     * @return {@code true} if the incrementality is enabled on integer sum and scalar product,
+     * based on the number of variables involved.
+     */
+    public boolean enableIncrementalityOnSum(int nbvars) {
+        return enableIncrementalityOnSum.test(nbvars);
+    }
+
+    /**
+     * Define the predicate to choose incremental sum or scalar product
+     * (see {@link org.chocosolver.solver.constraints.nary.sum.PropScalarIncr}), based on number variables declared.
+     * Such a sum or scalar product is not decomposed into intermediate sub-sums
+     * (see {@link #setMinCardinalityForSumDecomposition(int)}).
+     *
+     * @param enableIncrementalityOnSum predicate to pick declare sum
+     * @return the current instance
+     */
+    public Settings setEnableIncrementalityOnSum(IntPredicate enableIncrementalityOnSum) {
+        this.enableIncrementalityOnSum = enableIncrementalityOnSum;
+        return this;
+    }
+
     /**
      * @return <i>true</i> when an underlying SAT solver is used to manage clauses declared through {@link ISatFactory},
      * <i>false</i> when clauses are managed with CSP constraints only.
@@ -579,6 +606,35 @@ public class Settings {
         return this;
     }
 
+    /**
+     * @return <i>true</i> if the propagation engine schedules propagators wrt to their cost and their yield,
+     * <i>false</i> if propagators are scheduled wrt to their priority only.
+     * @see #setAdaptivePropagationEngine(boolean)
+     */
+    public boolean enableAdaptivePropagationEngine() {
+        return adaptiveEngine;
+    }
+
+    /**
+     * Define whether the propagation engine is adaptive.
+     * An adaptive engine learns online the cost and the yield (ratio of executions that filter)
+     * of each propagator. Within a priority class, productive and cheap propagators are executed first,
+     * and propagators that repeatedly run without filtering anything are demoted to the next priority class.
+     * Statistics are reported by {@link org.chocosolver.solver.propagation.PropagationProfiler}.
+     * <p>
+     * Since costs are estimated from measured durations, the execution order of propagators,
+     * and thus the search tree explored with some strategies, may differ from one run to another.
+     * This setting is read when the propagation engine is created, that is, when the solver is created.
+     * </p>
+     *
+     * @param adaptive set to <i>true</i> to enable the adaptive scheduling of propagators
+     * @return the current instance
+     */
+    public Settings setAdaptivePropagationEngine(boolean adaptive) {
+        this.adaptiveEngine = adaptive;
+        return this;
+    }
+
 
     /**
      * @return maximum number of learnt clauses to store. When reached, a reduction is applied.
@@ -0,0 +1,211 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.objective.IObjectiveManager;
+import org.chocosolver.solver.search.loop.monitors.IMonitorOpenNode;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * The best solution found so far by a set of workers solving the same problem in parallel,
+ * together with its objective value.
+ * </p>
+ * <p>
+ * The incumbent is an immutable {@link Snapshot} held by an atomic reference:
+ * a worker offers a solution with {@link #offer(Model)}, which succeeds (by compare-and-set, without lock)
+ * only if the solution improves the current one.
+ * Each successful offer increases the version of the incumbent.
+ * </p>
+ * <p>
+ * No worker writes into the objective manager of another one.
+ * Instead, each worker polls the incumbent on its own thread (see {@link #plug(Solver)}),
+ * at each node and before each restart, and tightens its own objective manager when the version changes.
+ * </p>
+ * <p>
+ * When dealing with a satisfaction problem, any solution offered is accepted.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @see ParallelPortfolio
+ * @see ParallelTreeSearch
+ * @since 16/10/2026
+ */
+public final class SharedIncumbent {
+
+    /**
+     * An immutable state of the incumbent.
+     */
+    public static final class Snapshot {
+
+        private static final Snapshot NONE = new Snapshot(0, null, null, null);
+
+        private final long version;
+        private final Number value;
+        private final Solution solution;
+        private final Model model;
+
+        private Snapshot(long version, Number value, Solution solution, Model model) {
+            this.version = version;
+            this.value = value;
+            this.solution = solution;
+            this.model = model;
+        }
+
+        /**
+         * @return the version of the incumbent, 0 when no solution has been offered yet
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * @return the objective value of the incumbent, <tt>null</tt> for satisfaction problems
+         * or if no solution has been offered yet
+         */
+        public Number getValue() {
+            return value;
+        }
+
+        /**
+         * @return the incumbent solution, <tt>null</tt> if no solution has been offered yet
+         */
+        public Solution getSolution() {
+            return solution;
+        }
+
+        /**
+         * @return the model which found the incumbent solution, <tt>null</tt> if no solution has been offered yet
+         */
+        public Model getModel() {
+            return model;
+        }
+    }
+
+    /**
+     * The current incumbent
+     */
+    private final AtomicReference<Snapshot> best = new AtomicReference<>(Snapshot.NONE);
+
+    /**
+     * Offer the current solution of <i>model</i>.
+     * This method is expected to be called on solution, by the thread running <i>model</i>.
+     * When the problem is an optimization one, the value considered is
+     * the best solution value of the objective manager of <i>model</i>.
+     *
+     * @param model a model which has just found a solution
+     * @return <tt>true</tt> if the solution has been accepted, that is, if it improves the incumbent
+     */
+    public boolean offer(Model model) {
+        ResolutionPolicy policy = model.getResolutionPolicy();
+        Number value = policy == ResolutionPolicy.SATISFACTION ? null :
+                model.getSolver().getObjectiveManager().getBestSolutionValue();
+        Snapshot current = best.get();
+        if (!improves(policy, value, current)) {
+            return false;
+        }
+        Solution solution = new Solution(model).record();
+        while (!best.compareAndSet(current, new Snapshot(current.version + 1, value, solution, model))) {
+            current = best.get();
+            if (!improves(policy, value, current)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the current incumbent
+     */
+    public Snapshot get() {
+        return best.get();
+    }
+
+    /**
+     * Forget the incumbent, the version is not reset.
+     */
+    public void reset() {
+        Snapshot current = best.get();
+        best.set(new Snapshot(current.version + 1, null, null, null));
+    }
+
+    /**
+     * Tighten the objective manager of <i>solver</i> wrt the incumbent value.
+     * Must be called by the thread running <i>solver</i>.
+     *
+     * @param solver a solver
+     */
+    public void tighten(Solver solver) {
+        Number value = best.get().value;
+        if (value != null) {
+            IObjectiveManager<?> om = solver.getObjectiveManager();
+            if (om.getPolicy() == ResolutionPolicy.MAXIMIZE) {
+                om.updateBestLB(value);
+            } else if (om.getPolicy() == ResolutionPolicy.MINIMIZE) {
+                om.updateBestUB(value);
+            }
+        }
+    }
+
+    /**
+     * Plug a monitor into <i>solver</i> which polls this incumbent at each node and before each restart,
+     * and tightens the objective manager of <i>solver</i> when a better solution has been offered.
+     *
+     * @param solver a solver
+     */
+    public void plug(Solver solver) {
+        solver.plugMonitor(new Poller(solver));
+    }
+
+    private static boolean improves(ResolutionPolicy policy, Number value, Snapshot current) {
+        if (current.solution == null || policy == ResolutionPolicy.SATISFACTION) {
+            return true;
+        }
+        if (policy == ResolutionPolicy.MAXIMIZE) {
+            return value.doubleValue() > current.value.doubleValue();
+        }
+        return value.doubleValue() < current.value.doubleValue();
+    }
+
+    /**
+     * Polls the incumbent on behalf of a solver.
+     */
+    private final class Poller implements IMonitorOpenNode, IMonitorRestart {
+
+        private final Solver solver;
+        private long seen;
+
+        Poller(Solver solver) {
+            this.solver = solver;
+        }
+
+        private void poll() {
+            Snapshot current = best.get();
+            if (current.version != seen) {
+                seen = current.version;
+                if (current.model != solver.getModel()) {
+                    tighten(solver);
+                }
+            }
+        }
+
+        @Override
+        public void beforeOpenNode() {
+            poll();
+        }
+
+        @Override
+        public void beforeRestart() {
+            poll();
+        }
+    }
+}
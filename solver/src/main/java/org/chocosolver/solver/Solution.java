@@ -19,10 +19,16 @@ import org.chocosolver.solver.variables.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 /**
  * Class which stores the value of each variable in a solution <br/>
+ * <p>
+ * Values are stored in dense arrays indexed by the position of the variables in a fixed ordering
+ * (the variables to store), so that recording and restoring a solution does not hash.
+ * Copies of a solution share this ordering.
+ * </p>
  *
  * @author Jean-Guillaume Fages
  * @author Charles Prud'homme
@@ -34,28 +40,31 @@ public class Solution implements ICause {
     // VARIABLES
     //***********************************************************************************
 
-    /**
-     * No entry value for maps
-     */
-    private static final int NO_ENTRY = Integer.MAX_VALUE;
-
     // SOLUTION
     /**
      * Set to <tt>true</tt> when this object is empty
      */
     private boolean empty;
     /**
-     * Maps of value for integer variable (id - value)
+     * Values of integer variables, indexed by position in {@link #layout}
+     */
+    private int[] ints;
+    /**
+     * Bounds of real variables, indexed by twice the position in {@link #layout}
      */
-    private TIntIntHashMap intmap;
+    private double[] reals;
     /**
-     * Maps of value for real variable (id - value)
+     * Values of set variables, indexed by position in {@link #layout}
      */
-    private TIntObjectHashMap<double[]> realmap;
+    private int[][] sets;
     /**
-     * Maps of value for set variable (id - values)
+     * Positions, in {@link #layout}, of the variables recorded
      */
-    private TIntObjectHashMap<int[]> setmap;
+    private final BitSet recorded;
+    /**
+     * Values set by the user for variables not in {@link #layout} (id - value)
+     */
+    private TIntObjectHashMap<Object> extra;
 
     // INPUT
     /**
@@ -66,6 +75,10 @@ public class Solution implements ICause {
      * Variables to store;
      */
     private Variable[] varsToStore;
+    /**
+     * Ordering of the variables to store, <tt>null</tt> until known
+     */
+    private Layout layout;
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -81,7 +94,20 @@ public class Solution implements ICause {
      * @param varsToStore variables to store in this object
      */
     public Solution(Model model, Variable... varsToStore) {
+        this(model, varsToStore.length > 0 ? new Layout(varsToStore) : null);
         this.varsToStore = varsToStore;
+    }
+
+    /**
+     * Create an empty solution object storing the variables of <i>layout</i>.
+     *
+     * @param model  model of the solution
+     * @param layout ordering of the variables to store, may be shared
+     */
+    Solution(Model model, Layout layout) {
+        this.layout = layout;
+        this.varsToStore = layout != null ? layout.vars : new Variable[0];
+        this.recorded = new BitSet();
         empty = true;
         this.model = model;
     }
@@ -100,44 +126,33 @@ public class Solution implements ICause {
         boolean warn = false;
         if (varsToStore.length == 0) {
             varsToStore = model.getVars();
+            layout = new Layout(varsToStore);
         }
         assert varsToStore.length > 0;
-        if (intmap != null) {
-            intmap.clear();
-        }
-        if (realmap != null) {
-            realmap.clear();
+        recorded.clear();
+        if (extra != null) {
+            extra.clear();
         }
-        if (setmap != null) {
-            setmap.clear();
-        }
-        for (Variable var : varsToStore) {
+        for (int i = 0; i < varsToStore.length; i++) {
+            Variable var = varsToStore[i];
             if ((var.getTypeAndKind() & Variable.TYPE) != Variable.CSTE) {
                 int kind = var.getTypeAndKind() & Variable.KIND;
                 if (var.isInstantiated()) {
                     switch (kind) {
                         case Variable.INT:
                         case Variable.BOOL:
-                            if (intmap == null) {
-                                intmap = new TIntIntHashMap(16, .5f, Solution.NO_ENTRY,
-                                    Solution.NO_ENTRY);
-                            }
-                            IntVar v = (IntVar) var;
-                            intmap.put(v.getId(), v.getValue());
+                            ints()[i] = ((IntVar) var).getValue();
+                            recorded.set(i);
                             break;
                         case Variable.REAL:
-                            if (realmap == null) {
-                                realmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-                            }
                             RealVar r = (RealVar) var;
-                            realmap.put(r.getId(), new double[]{r.getLB(), r.getUB()});
+                            reals()[2 * i] = r.getLB();
+                            reals[2 * i + 1] = r.getUB();
+                            recorded.set(i);
                             break;
                         case Variable.SET:
-                            if (setmap == null) {
-                                setmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-                            }
-                            SetVar s = (SetVar) var;
-                            setmap.put(s.getId(), s.getValue().toArray());
+                            sets()[i] = ((SetVar) var).getValue().toArray();
+                            recorded.set(i);
                             break;
                         default:
                             // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
@@ -155,6 +170,68 @@ public class Solution implements ICause {
         return this;
     }
 
+    private int[] ints() {
+        if (ints == null) {
+            ints = new int[varsToStore.length];
+        }
+        return ints;
+    }
+
+    private double[] reals() {
+        if (reals == null) {
+            reals = new double[2 * varsToStore.length];
+        }
+        return reals;
+    }
+
+    private int[][] sets() {
+        if (sets == null) {
+            sets = new int[varsToStore.length][];
+        }
+        return sets;
+    }
+
+    /**
+     * Record the values of the integer variables of {@link #layout}, in that order,
+     * clears all previous recordings.
+     *
+     * @param values values of integer variables
+     */
+    void recordInts(int[] values) {
+        empty = false;
+        recorded.clear();
+        if (extra != null) {
+            extra.clear();
+        }
+        System.arraycopy(values, 0, ints(), 0, values.length);
+        recorded.set(0, values.length);
+    }
+
+    /**
+     * @param var a variable
+     * @return the position of <i>var</i> in {@link #layout} if it has been recorded, -1 otherwise
+     */
+    private int recorded(Variable var) {
+        int p = layout == null ? -1 : layout.indexOf(var);
+        return p > -1 && recorded.get(p) ? p : -1;
+    }
+
+    private Object extra(Variable var) {
+        return extra == null ? null : extra.get(var.getId());
+    }
+
+    private void setExtra(Variable var, Object value) {
+        empty = false;
+        int p = layout == null ? -1 : layout.indexOf(var);
+        if (p > -1) {
+            recorded.clear(p);
+        }
+        if (extra == null) {
+            extra = new TIntObjectHashMap<>();
+        }
+        extra.put(var.getId(), value);
+    }
+
     @Override
     public String toString() {
         if (empty) {
@@ -168,19 +245,19 @@ public class Solution implements ICause {
                     case Variable.INT:
                     case Variable.BOOL:
                         IntVar v = (IntVar) var;
-                        st.append(v.getName()).append("=").append(intmap.get(v.getId()))
+                        st.append(v.getName()).append("=").append(intOrNull(v))
                             .append(", ");
                         break;
                     case Variable.REAL:
                         RealVar r = (RealVar) var;
-                        double[] bounds = realmap.get(r.getId());
-                        st.append(r.getName()).append("=[").append(bounds[0]).append(",")
-                            .append(bounds[1]).append("], ");
+                        double[] bounds = boundsOrNull(r);
+                        st.append(r.getName()).append("=").append(Arrays.toString(bounds).replace(" ", ""))
+                            .append(", ");
                         break;
                     case Variable.SET:
                         SetVar s = (SetVar) var;
                         st.append(s.getName()).append("=")
-                            .append(Arrays.toString(setmap.get(s.getId()))).append(", ");
+                            .append(Arrays.toString(valuesOrNull(s))).append(", ");
                         break;
                     default:
                         // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
@@ -193,20 +270,40 @@ public class Solution implements ICause {
     }
 
     public Solution copySolution() {
-        Solution ret = new Solution(model, varsToStore);
+        Solution ret = new Solution(model, layout);
+        ret.varsToStore = varsToStore;
         ret.empty = empty;
-        if (intmap != null) {
-            ret.intmap = new TIntIntHashMap(intmap);
+        ret.recorded.or(recorded);
+        if (ints != null) {
+            ret.ints = ints.clone();
+        }
+        if (reals != null) {
+            ret.reals = reals.clone();
         }
-        if (realmap != null) {
-            ret.realmap = new TIntObjectHashMap<>(realmap);
+        if (sets != null) {
+            ret.sets = sets.clone();
         }
-        if (setmap != null) {
-            ret.setmap = new TIntObjectHashMap<>(setmap);
+        if (extra != null) {
+            ret.extra = new TIntObjectHashMap<>(extra);
         }
         return ret;
     }
 
+    private Integer intOrNull(IntVar v) {
+        int p = recorded(v);
+        return p > -1 ? Integer.valueOf(ints[p]) : (Integer) extra(v);
+    }
+
+    private double[] boundsOrNull(RealVar r) {
+        int p = recorded(r);
+        return p > -1 ? new double[]{reals[2 * p], reals[2 * p + 1]} : (double[]) extra(r);
+    }
+
+    private int[] valuesOrNull(SetVar s) {
+        int p = recorded(s);
+        return p > -1 ? sets[p] : (int[]) extra(s);
+    }
+
     /**
      * Get the value of variable v in this solution. If <i>v</i> was not instantiated during
      * solution recording, calling this method will throw an exception.
@@ -221,8 +318,9 @@ public class Solution implements ICause {
             throw new SolverException("Cannot access value of " + v
                 + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (intmap != null && intmap.containsKey(v.getId())) {
-            return intmap.get(v.getId());
+        Integer val = intOrNull(v);
+        if (val != null) {
+            return val;
         } else {
             if ((v.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
                 return v.getValue();
@@ -240,11 +338,7 @@ public class Solution implements ICause {
      * @param val its value
      */
     public void setIntVal(IntVar var, int val) {
-        empty = false;
-        if (intmap == null) {
-            intmap = new TIntIntHashMap(16, .5f, Solution.NO_ENTRY, Solution.NO_ENTRY);
-        }
-        intmap.put(var.getId(), val);
+        setExtra(var, val);
     }
 
     /**
@@ -261,8 +355,9 @@ public class Solution implements ICause {
             throw new SolverException("Cannot access value of " + s
                 + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (setmap != null && setmap.containsKey(s.getId())) {
-            return setmap.get(s.getId());
+        int[] vals = valuesOrNull(s);
+        if (vals != null) {
+            return vals;
         } else if ((s.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
             return s.getValue().toArray();
         } else {
@@ -278,11 +373,7 @@ public class Solution implements ICause {
      * @param val its value
      */
     public void setSetVal(SetVar var, int[] val) {
-        empty = false;
-        if (setmap == null) {
-            setmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-        }
-        setmap.put(var.getId(), val);
+        setExtra(var, val);
     }
 
     /**
@@ -299,8 +390,9 @@ public class Solution implements ICause {
             throw new SolverException("Cannot access value of " + r
                 + ": No solution has been recorded yet (empty solution). Make sure this.record() has been called.");
         }
-        if (realmap != null && realmap.containsKey(r.getId())) {
-            return realmap.get(r.getId());
+        double[] bounds = boundsOrNull(r);
+        if (bounds != null) {
+            return bounds;
         } else {
             if ((r.getTypeAndKind() & Variable.TYPE) == Variable.CSTE) {
                 return new double[]{r.getLB(), r.getUB()};
@@ -318,14 +410,10 @@ public class Solution implements ICause {
      * @param val its value
      */
     public void setRealBounds(RealVar var, double[] val) {
-        empty = false;
-        if (realmap == null) {
-            realmap = new TIntObjectHashMap<>(16, 05f, Solution.NO_ENTRY);
-        }
         if (val.length != 2) {
             throw new SolverException("wrong array size");
         }
-        realmap.put(var.getId(), val);
+        setExtra(var, val);
     }
 
     /**
@@ -372,23 +460,29 @@ public class Solution implements ICause {
      * @throws ContradictionException if restoring the solution leads to failure
      */
     public void restore() throws ContradictionException {
-        for (Variable var : varsToStore) {
+        for (int i = 0; i < varsToStore.length; i++) {
+            Variable var = varsToStore[i];
             if ((var.getTypeAndKind() & Variable.TYPE) != Variable.CSTE) {
                 int kind = var.getTypeAndKind() & Variable.KIND;
+                boolean dense = recorded.get(i);
                 switch (kind) {
                     case Variable.INT:
                     case Variable.BOOL:
                         IntVar v = (IntVar) var;
-                        v.instantiateTo(intmap.get(v.getId()), this);
+                        v.instantiateTo(dense ? ints[i] : getIntVal(v), this);
                         break;
                     case Variable.REAL:
                         RealVar r = (RealVar) var;
-                        double[] bounds = realmap.get(r.getId());
-                        r.updateBounds(bounds[0], bounds[1], this);
+                        if (dense) {
+                            r.updateBounds(reals[2 * i], reals[2 * i + 1], this);
+                        } else {
+                            double[] bounds = getRealBounds(r);
+                            r.updateBounds(bounds[0], bounds[1], this);
+                        }
                         break;
                     case Variable.SET:
                         SetVar s = (SetVar) var;
-                        s.instantiateTo(setmap.get(s.getId()), this);
+                        s.instantiateTo(dense ? sets[i] : getSetVal(s), this);
                         break;
                     default:
                         // do not throw exception to allow extending the solver with other variable kinds (e.g. graph)
@@ -475,4 +569,69 @@ public class Solution implements ICause {
         return rvars;
     }
 
+    /**
+     * A fixed ordering of variables, with the position of each of them.
+     * The position of a variable is found with an array indexed by variable ids
+     * when they are dense enough, with a hash map otherwise.
+     * It is built on first query and shared by the solutions of a {@link SolutionPool}
+     * and by copies of a solution.
+     */
+    static final class Layout {
+
+        final Variable[] vars;
+        private int minId;
+        // written last, publish the index to other threads
+        private volatile int[] positions;
+        private volatile TIntIntHashMap map;
+
+        Layout(Variable[] vars) {
+            this.vars = vars;
+        }
+
+        /**
+         * Variables are matched by id, so that a solution recorded on a model can be read with the
+         * variables of an equivalent model (ie, where each variable has the same id).
+         *
+         * @param var a variable
+         * @return the position of the variable with the id of <i>var</i> in this ordering, -1 if there is none
+         */
+        int indexOf(Variable var) {
+            if (positions == null && map == null) {
+                index();
+            }
+            int id = var.getId();
+            int[] pos = positions;
+            int p;
+            if (pos != null) {
+                p = id >= minId && id - minId < pos.length ? pos[id - minId] : -1;
+            } else {
+                p = map.get(id);
+            }
+            return p;
+        }
+
+        private void index() {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (Variable v : vars) {
+                min = Math.min(min, v.getId());
+                max = Math.max(max, v.getId());
+            }
+            if (vars.length > 0 && (long) max - min < 4L * vars.length + 64) {
+                int[] pos = new int[max - min + 1];
+                Arrays.fill(pos, -1);
+                for (int i = vars.length - 1; i >= 0; i--) {
+                    pos[vars[i].getId() - min] = i;
+                }
+                minId = min;
+                positions = pos;
+            } else {
+                TIntIntHashMap m = new TIntIntHashMap(vars.length, .5f, -1, -1);
+                for (int i = vars.length - 1; i >= 0; i--) {
+                    m.put(vars[i].getId(), i);
+                }
+                map = m;
+            }
+        }
+    }
 }
@@ -0,0 +1,370 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.objective.IObjectiveManager;
+import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A compact store of solutions over a fixed ordering of integer variables.
+ * Each solution is stored as a dense <code>int[]</code> indexed by the position of the variables,
+ * or, when delta-encoding is enabled, as the (position, value) pairs that differ from the previous solution.
+ * A full row is stored at least every {@link #KEYFRAME} solutions, to bound the cost of decoding a solution.
+ * </p>
+ * <p>
+ * The pool is bounded: when full, a new solution either evicts the oldest one, is rejected,
+ * or evicts the worst one wrt the objective of the model (see {@link Eviction}).
+ * </p>
+ * <p>
+ * Solutions are ranked by insertion order and retrieved either as values, with {@link #getValues(int, int[])},
+ * or as {@link Solution} objects, with {@link #getSolution(int)}, which share the ordering of the pool.
+ * Plugged into a solver, the pool records each solution found:
+ * <pre>
+ *     {@code
+ *     SolutionPool pool = new SolutionPool(model, vars, 1000, SolutionPool.Eviction.OLDEST, true);
+ *     model.getSolver().plugMonitor(pool);
+ *     while (model.getSolver().solve()) ;
+ *     }
+ * </pre>
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @see Solution
+ * @since 16/10/2026
+ */
+public class SolutionPool implements IMonitorSolution {
+
+    /**
+     * What to do when a solution is recorded in a full pool.
+     */
+    public enum Eviction {
+        /**
+         * The oldest solution is evicted
+         */
+        OLDEST,
+        /**
+         * The new solution is rejected
+         */
+        NEWEST,
+        /**
+         * The worst solution, wrt the objective of the model, is evicted,
+         * unless the new solution is not better, in which case it is rejected
+         */
+        WORST
+    }
+
+    /**
+     * Maximum number of delta-encoded solutions between two fully stored ones
+     */
+    public static final int KEYFRAME = 16;
+
+    private final Model model;
+    private final IntVar[] vars;
+    private final Solution.Layout layout;
+    private final int capacity;
+    private final Eviction eviction;
+    private final boolean delta;
+    /**
+     * By slot: the values, or the (position, value) pairs of the differences with the previous solution
+     */
+    private int[][] rows;
+    /**
+     * By slot: <i>true</i> if the row stores all the values
+     */
+    private boolean[] full;
+    /**
+     * By slot: number of delta-encoded solutions since the last full one
+     */
+    private int[] chains;
+    /**
+     * By slot: the objective value, negated when minimizing, for {@link Eviction#WORST}
+     */
+    private long[] keys;
+    /**
+     * Slots, by rank
+     */
+    private int[] order;
+    private int size;
+    /**
+     * Values of the last solution of the pool
+     */
+    private final int[] last;
+    private final int[] current;
+    private long nbStoredValues;
+
+    /**
+     * Create an unbounded pool of solutions, without delta-encoding.
+     *
+     * @param model the model
+     * @param vars  the variables to store, all integer variables of <i>model</i> when empty
+     */
+    public SolutionPool(Model model, IntVar... vars) {
+        this(model, vars, Integer.MAX_VALUE, Eviction.OLDEST, false);
+    }
+
+    /**
+     * Create a pool of solutions.
+     *
+     * @param model    the model
+     * @param vars     the variables to store, all integer variables of <i>model</i> when empty
+     * @param capacity maximum number of solutions stored
+     * @param eviction what to do when a solution is recorded in a full pool
+     * @param delta    set to <i>true</i> to store solutions as differences with the previous ones
+     */
+    public SolutionPool(Model model, IntVar[] vars, int capacity, Eviction eviction, boolean delta) {
+        if (capacity < 1) {
+            throw new SolverException("The capacity of a pool of solutions should be positive");
+        }
+        this.model = model;
+        this.vars = vars.length > 0 ? vars.clone() : model.retrieveIntVars(true);
+        this.layout = new Solution.Layout(this.vars);
+        this.capacity = capacity;
+        this.eviction = eviction;
+        this.delta = delta;
+        int n = Math.min(capacity, 16);
+        this.rows = new int[n][];
+        this.full = new boolean[n];
+        this.chains = new int[n];
+        this.keys = new long[n];
+        this.order = new int[n];
+        this.last = new int[this.vars.length];
+        this.current = new int[this.vars.length];
+    }
+
+    @Override
+    public void onSolution() {
+        record();
+    }
+
+    /**
+     * Record the current values of the variables, which must all be instantiated, as a new solution.
+     *
+     * @return <i>true</i> if the solution is stored, <i>false</i> if it is rejected
+     * @throws SolverException if a variable is not instantiated, or if the eviction policy is
+     *                         {@link Eviction#WORST} and the model does not optimize an integer variable
+     */
+    public boolean record() {
+        for (int i = 0; i < vars.length; i++) {
+            if (!vars[i].isInstantiated()) {
+                throw new SolverException("Cannot record a solution: " + vars[i] + " is not instantiated");
+            }
+            current[i] = vars[i].getValue();
+        }
+        long key = eviction == Eviction.WORST ? objectiveKey() : 0L;
+        int slot = size;
+        if (size == capacity) {
+            switch (eviction) {
+                case OLDEST:
+                    slot = evict(0);
+                    break;
+                case NEWEST:
+                    return false;
+                case WORST:
+                    int w = worst();
+                    if (key <= keys[order[w]]) {
+                        return false;
+                    }
+                    slot = evict(w);
+                    break;
+            }
+        } else if (size == rows.length) {
+            grow();
+        }
+        store(slot, key);
+        return true;
+    }
+
+    private long objectiveKey() {
+        IObjectiveManager<?> om = model.getSolver().getObjectiveManager();
+        if (!om.isOptimization() || (om.getObjective().getTypeAndKind() & Variable.KIND) == Variable.REAL) {
+            throw new SolverException("Evicting the worst solutions requires an integer objective variable");
+        }
+        long val = ((IntVar) om.getObjective()).getValue();
+        return om.getPolicy() == ResolutionPolicy.MAXIMIZE ? val : -val;
+    }
+
+    private int worst() {
+        int w = 0;
+        for (int r = 1; r < size; r++) {
+            if (keys[order[r]] < keys[order[w]]) {
+                w = r;
+            }
+        }
+        return w;
+    }
+
+    private void grow() {
+        int n = (int) Math.min(capacity, Math.max(rows.length * 3L / 2, rows.length + 1L));
+        rows = Arrays.copyOf(rows, n);
+        full = Arrays.copyOf(full, n);
+        chains = Arrays.copyOf(chains, n);
+        keys = Arrays.copyOf(keys, n);
+        order = Arrays.copyOf(order, n);
+    }
+
+    // Store 'current' in 'slot', as the last solution of the pool
+    private void store(int slot, long key) {
+        int[] row = null;
+        if (delta && size > 0 && chains[order[size - 1]] < KEYFRAME) {
+            int d = 0;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] != last[i]) {
+                    d++;
+                }
+            }
+            if (2 * d < current.length) {
+                row = new int[2 * d];
+                for (int i = 0, k = 0; i < current.length; i++) {
+                    if (current[i] != last[i]) {
+                        row[k++] = i;
+                        row[k++] = current[i];
+                    }
+                }
+                chains[slot] = chains[order[size - 1]] + 1;
+                full[slot] = false;
+            }
+        }
+        if (row == null) {
+            row = current.clone();
+            chains[slot] = 0;
+            full[slot] = true;
+        }
+        rows[slot] = row;
+        keys[slot] = key;
+        order[size++] = slot;
+        nbStoredValues += row.length;
+        System.arraycopy(current, 0, last, 0, current.length);
+    }
+
+    // Remove the solution ranked 'rank' and return its slot
+    private int evict(int rank) {
+        int slot = order[rank];
+        if (rank + 1 < size && !full[order[rank + 1]]) {
+            // the next solution is re-encoded as a full row
+            int next = order[rank + 1];
+            int[] values = new int[vars.length];
+            getValues(rank + 1, values);
+            nbStoredValues += values.length - rows[next].length;
+            rows[next] = values;
+            full[next] = true;
+            chains[next] = 0;
+        }
+        nbStoredValues -= rows[slot].length;
+        rows[slot] = null;
+        System.arraycopy(order, rank + 1, order, rank, size - rank - 1);
+        size--;
+        if (rank == size && size > 0) {
+            getValues(size - 1, last);
+        }
+        return slot;
+    }
+
+    /**
+     * Copy the values of the solution ranked <i>rank</i> into <i>values</i>,
+     * in the order of the variables of this pool.
+     *
+     * @param rank   rank of a solution, in insertion order, in [0, {@link #size()})
+     * @param values array to fill, of size at least the number of variables
+     */
+    public void getValues(int rank, int[] values) {
+        checkRank(rank);
+        int k = rank;
+        while (!full[order[k]]) {
+            k--;
+        }
+        System.arraycopy(rows[order[k]], 0, values, 0, vars.length);
+        while (++k <= rank) {
+            int[] row = rows[order[k]];
+            for (int i = 0; i < row.length; i += 2) {
+                values[row[i]] = row[i + 1];
+            }
+        }
+    }
+
+    /**
+     * @param rank rank of a solution, in insertion order, in [0, {@link #size()})
+     * @return the values of the solution ranked <i>rank</i>, in the order of the variables of this pool
+     */
+    public int[] getValues(int rank) {
+        int[] values = new int[vars.length];
+        getValues(rank, values);
+        return values;
+    }
+
+    /**
+     * @param rank rank of a solution, in insertion order, in [0, {@link #size()})
+     * @return the solution ranked <i>rank</i>, as a new {@link Solution} object
+     */
+    public Solution getSolution(int rank) {
+        Solution solution = new Solution(model, layout);
+        solution.recordInts(getValues(rank));
+        return solution;
+    }
+
+    /**
+     * Restore the solution ranked <i>rank</i> in the model, see {@link Solution#restore()}.
+     *
+     * @param rank rank of a solution, in insertion order, in [0, {@link #size()})
+     * @throws ContradictionException if restoring the solution leads to failure
+     */
+    public void restore(int rank) throws ContradictionException {
+        getSolution(rank).restore();
+    }
+
+    private void checkRank(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IndexOutOfBoundsException("Rank: " + rank + ", size: " + size);
+        }
+    }
+
+    /**
+     * Remove all solutions from this pool.
+     */
+    public void clear() {
+        Arrays.fill(rows, 0, rows.length, null);
+        size = 0;
+        nbStoredValues = 0;
+    }
+
+    /**
+     * @return the number of solutions in this pool
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the maximum number of solutions in this pool
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the variables stored, in order
+     */
+    public IntVar[] getVars() {
+        return vars.clone();
+    }
+
+    /**
+     * @return the number of integers stored to represent the solutions of this pool
+     */
+    public long getNbStoredValues() {
+        return nbStoredValues;
+    }
+}
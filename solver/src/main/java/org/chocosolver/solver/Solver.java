@@ -36,6 +36,7 @@ import org.chocosolver.solver.search.measure.MeasuresRecorder;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.search.strategy.decision.Decision;
 import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
 import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
 import org.chocosolver.solver.trace.IOutputFactory;
 import org.chocosolver.solver.variables.Task;
@@ -171,6 +172,11 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
      */
     protected List<Criterion> criteria;
 
+    /**
+     * Decisions applied, in order, at the top of any branch of the search tree.
+     */
+    private final List<IntDecision> assumptions = new ArrayList<>();
+
     /**
      * Indicates if the default search loop is in use (set to <tt>true</tt> in that case).
      */
@@ -223,6 +229,15 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
      */
     private boolean canBeRepaired = true;
 
+    /**
+     * Set to <tt>true</tt> on initialization when the search loop runs a plain depth-first search:
+     * a {@link MoveBinaryDFS}, {@link LearnNothing}, {@link PropagateBasic}, no assumption
+     * and no search monitor listening to node or branch events.
+     * The search phases are then inlined, see {@link #dfsPropagate()}, {@link #dfsExtend()} and {@link #dfsRepair()}.
+     * Set back to <tt>false</tt> as soon as one of these components is replaced or a monitor is plugged.
+     */
+    private boolean dfs;
+
     /**
      * This object is accessible lazily
      */
@@ -328,18 +343,30 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
                 case initialize:
                     throw new UnsupportedOperationException("should not initialize during search loop");
                 case propagate:
-                    propagate(left);
+                    if (dfs) {
+                        dfsPropagate();
+                    } else {
+                        propagate(left);
+                    }
                     break;
                 case fixpoint:
                     fixpoint();
                     break;
                 case extend:
                     left = true;
-                    extend();
+                    if (dfs) {
+                        dfsExtend();
+                    } else {
+                        extend();
+                    }
                     break;
                 case repair:
                     left = false;
-                    repair();
+                    if (dfs) {
+                        dfsRepair();
+                    } else {
+                        repair();
+                    }
                     break;
                 case validate:
                     stop = solution = validate();
@@ -441,6 +468,11 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
             ok = stop = true;
         }
         criteria.stream().filter(c -> c instanceof ICounter).forEach(c -> ((ICounter) c).init());
+        dfs = M.getClass() == MoveBinaryDFS.class
+                && L.getClass() == LearnNothing.class
+                && P.getClass() == PropagateBasic.class
+                && assumptions.isEmpty()
+                && !searchMonitors.listensToNodes();
         return ok;
     }
 
@@ -465,6 +497,28 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         searchMonitors.afterDownBranch(left);
     }
 
+    /**
+     * Search loop propagation phase of a plain depth-first search, see {@link #dfs}.
+     * Same as {@link #propagate(boolean)} with {@link PropagateBasic} inlined and no branch monitor.
+     */
+    private void dfsPropagate() {
+        try {
+            mMeasures.incFixpointCount();
+            dpath.buildNext();
+            objectivemanager.postDynamicCut();
+            engine.propagate();
+            dpath.apply();
+            engine.propagate();
+            action = extend;
+        } catch (ContradictionException ce) {
+            engine.flush();
+            mMeasures.incFailCount();
+            jumpTo = 1;
+            action = repair;
+            searchMonitors.onContradiction(ce);
+        }
+    }
+
     private void fixpoint() {
         try {
             mMeasures.incFixpointCount();
@@ -486,7 +540,13 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
     protected void extend() {
         searchMonitors.beforeOpenNode();
         mMeasures.incNodeCount();
-        if (!M.extend(this)) {
+        // assumptions always come first in the decision path, which starts with ROOT
+        int p = dpath.size() - 1;
+        if (p < assumptions.size()) {
+            dpath.pushDecision(assumptions.get(p).duplicate().setRefutable(false));
+            mModel.getEnvironment().worldPush();
+            action = propagate;
+        } else if (!M.extend(this)) {
             action = validate;
         } else {
             action = propagate;
@@ -494,6 +554,15 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         searchMonitors.afterOpenNode();
     }
 
+    /**
+     * Search loop extend phase of a plain depth-first search, see {@link #dfs}.
+     * Same as {@link #extend()} with no assumption and no node monitor.
+     */
+    private void dfsExtend() {
+        mMeasures.incNodeCount();
+        action = M.extend(this) ? propagate : validate;
+    }
+
     /**
      * Search loop repair phase
      */
@@ -517,6 +586,18 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         }
     }
 
+    /**
+     * Search loop repair phase of a plain depth-first search, see {@link #dfs}.
+     * Same as {@link #repair()} with no learning and no branch monitor.
+     */
+    private void dfsRepair() {
+        action = propagate;
+        canBeRepaired = M.repair(this);
+        if (!canBeRepaired) {
+            stop = true;
+        }
+    }
+
     /**
      * Search loop validate phase
      *
@@ -625,6 +706,7 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
      *     <li>replace {@link #P} by {@link PropagateBasic}</li>
      *     <li>call {@link Solver#setNoLearning()}</li>
      *     <li>clear {@link #searchMonitors}, that forget any declared one</li>
+     *     <li>clear the assumptions</li>
      *     <li>call {@link Model#removeMinisat()}</li>
      * </ul>
      * </p>
@@ -638,6 +720,7 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         setPropagate(new PropagateBasic());
         setNoLearning();
         searchMonitors.reset();
+        assumptions.clear();
         defaultSearch = false;
         completeSearch = false;
         mModel.removeMinisat();
@@ -683,6 +766,22 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         return new QuickXPlain(getModel()).findMinimumConflictingSet(conflictingSet);
     }
 
+    /**
+     * Return a minimum subset of the current assumptions that makes the problem infeasible,
+     * that is, an unsatisfiable core of the assumptions.
+     * The solver is reset before and after the computation,
+     * whereas the assumptions, the learnt clauses and the heuristics weights are kept.
+     * The returned list is empty if the problem is satisfiable under the assumptions.
+     *
+     * @return a minimum conflicting set of assumptions
+     * @see #setAssumptions(List)
+     * @see QuickXPlain#findMinimumConflictingAssumptions(List)
+     */
+    public List<IntDecision> findMinimumConflictingAssumptions() {
+        reset();
+        return new QuickXPlain(getModel()).findMinimumConflictingAssumptions(new ArrayList<>(assumptions));
+    }
+
     /**
      * Sets the following action in the search to be a restart instruction.
      * Note that the restart may not be immediate
@@ -1080,6 +1179,7 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
      */
     public void setLearner(Learn l) {
         this.L = l;
+        this.dfs = false;
     }
 
     /**
@@ -1095,6 +1195,7 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         } else {
             this.M = new MoveSeq(getModel(), m);
         }
+        this.dfs = false;
     }
 
     /**
@@ -1104,6 +1205,7 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
      */
     public void setPropagate(Propagate p) {
         this.P = p;
+        this.dfs = false;
     }
 
     /**
@@ -1116,6 +1218,36 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         mMeasures.setBoundsManager(om);
     }
 
+    /**
+     * Declare decisions to be assumed during the next resolutions.
+     * Assumptions are applied, in order, at the top of the search tree, before any decision
+     * of the search strategy, and are never refuted.
+     * So, a resolution fails when the problem has no solution satisfying all the assumptions.
+     * Assumptions are decisions, not constraints: they are changed without reposting anything and,
+     * since learnt clauses explain them, learnt clauses remain valid from one set of assumptions to another.
+     * <p>
+     * Assumptions are kept on {@link #reset()} and removed on {@link #hardReset()}.
+     * A call to this method should be preceded by a call to {@link #reset()} when a resolution was run before.
+     * </p>
+     *
+     * @param decisions unary decisions to assume, for instance built with
+     *                  {@link DecisionPath#makeIntDecision}
+     * @see #findMinimumConflictingAssumptions()
+     */
+    public void setAssumptions(List<IntDecision> decisions) {
+        assumptions.clear();
+        assumptions.addAll(decisions);
+        dfs = false;
+    }
+
+    /**
+     * @return the decisions assumed at the top of the search tree
+     * @see #setAssumptions(List)
+     */
+    public List<IntDecision> getAssumptions() {
+        return Collections.unmodifiableList(assumptions);
+    }
+
     /**
      * Override the default search strategies to use in {@code this}.
      * In case many strategies are given, they will be called in sequence:
@@ -1253,6 +1385,7 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
      */
     public void plugMonitor(ISearchMonitor sm) {
         searchMonitors.add(sm);
+        dfs = false;
     }
 
     /**
@@ -1423,6 +1556,31 @@ public class Solver implements ISolver, IMeasures, IOutputFactory {
         return getMeasures().getBoundsManager();
     }
 
+    @Override
+    public long getCoreLearntCount() {
+        return getMeasures().getCoreLearntCount();
+    }
+
+    @Override
+    public long getTier2LearntCount() {
+        return getMeasures().getTier2LearntCount();
+    }
+
+    @Override
+    public long getLocalLearntCount() {
+        return getMeasures().getLocalLearntCount();
+    }
+
+    @Override
+    public long getLearntReductionCount() {
+        return getMeasures().getLearntReductionCount();
+    }
+
+    @Override
+    public long getRemovedLearntCount() {
+        return getMeasures().getRemovedLearntCount();
+    }
+
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     ///////////////////////////////////////       OUTPUT        ////////////////////////////////////////////////////////
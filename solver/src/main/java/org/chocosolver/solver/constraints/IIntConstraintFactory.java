@@ -16,6 +16,7 @@ import org.chocosolver.solver.ISelf;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.binary.*;
 import org.chocosolver.solver.constraints.binary.element.ElementFactory;
+import org.chocosolver.solver.constraints.extension.SmartTuples;
 import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.constraints.extension.TuplesFactory;
 import org.chocosolver.solver.constraints.extension.binary.*;
@@ -45,6 +46,7 @@ import org.chocosolver.solver.constraints.nary.count.PropCountVar;
 import org.chocosolver.solver.constraints.nary.count.PropCount_AC;
 import org.chocosolver.solver.constraints.nary.cumulative.CumulFilter;
 import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.constraints.nary.disjunctive.PropDisjunctive;
 import org.chocosolver.solver.constraints.nary.element.PropElementV_fast;
 import org.chocosolver.solver.constraints.nary.globalcardinality.GlobalCardinality;
 import org.chocosolver.solver.constraints.nary.lex.PropLex;
@@ -449,7 +451,11 @@ public interface IIntConstraintFactory extends ISelf<Model> {
         } else {
             switch (algo) {
                 case "CT+":
-                    p = new PropCompactTable(new IntVar[]{var1, var2}, tuples);
+                    if (tuples.isFeasible()) {
+                        p = new PropCompactTable(new IntVar[]{var1, var2}, tuples);
+                    } else {
+                        p = new PropCompactTableNeg(new IntVar[]{var1, var2}, tuples);
+                    }
                     break;
                 case "AC2001":
                     p = new PropBinAC2001(var1, var2, tuples);
@@ -1319,6 +1325,33 @@ public interface IIntConstraintFactory extends ISelf<Model> {
         ref().cumulative(tasks, h, ref().intVar(capacity), false, Cumulative.Filter.NAIVETIME).post();
     }
 
+    /**
+     * Creates a disjunctive constraint: Enforces that tasks with a positive duration do not overlap,
+     * that is, they are processed one at a time on a unary resource.
+     * <p>
+     * Filtering is based on Theta-Lambda trees and applies overload checking, detectable precedences,
+     * not-first/not-last and edge-finding rules.
+     * It is stronger, and faster, than a cumulative constraint with unit heights and capacity.
+     * <p>
+     * Task duration should be >= 0
+     * Discards tasks whose duration is equal to zero
+     *
+     * @param tasks Task objects containing start, duration and end variables
+     * @return a disjunctive constraint
+     */
+    default Constraint disjunctive(Task[] tasks) {
+        int n = tasks.length;
+        IntVar[] s = new IntVar[n];
+        IntVar[] d = new IntVar[n];
+        IntVar[] e = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            s[i] = tasks[i].getStart();
+            d[i] = tasks[i].getDuration();
+            e[i] = tasks[i].getEnd();
+        }
+        return new Constraint(ConstraintsName.DISJUNCTIVE, new PropDisjunctive(s, d, e));
+    }
+
     /**
      * Creates a diffN constraint. Constrains each rectangle<sub>i</sub>, given by their origins X<sub>i</sub>,Y<sub>i</sub>
      * and sizes width<sub>i</sub>,height<sub>i</sub>, to be non-overlapping.
@@ -2260,7 +2293,7 @@ public interface IIntConstraintFactory extends ISelf<Model> {
     /**
      * Creates a table constraint, with the specified algorithm defined algo
      * <p>
-     * - <b>CT+</b>: Compact-Table algorithm (AC),
+     * - <b>CT+</b>: Compact-Table algorithm (AC), CT-Neg for forbidden tuples,
      * <br/>
      * - <b>GAC2001</b>: Arc Consistency version 2001 for tuples,
      * <br/>
@@ -2297,7 +2330,8 @@ public interface IIntConstraintFactory extends ISelf<Model> {
                     return table(vars[0], vars[1], tuples);
             }
         }
-        if (algo.contains("+") && !tuples.isFeasible()) {
+        if (algo.contains("+") && !tuples.isFeasible()
+                && (!algo.equals("CT+") || tuples.allowUniversalValue())) {
             throw new SolverException(algo + " table algorithm cannot be used with forbidden tuples.");
         }
         if (tuples.allowUniversalValue() && !(algo.contains("CT+") || algo.contains("STR2+"))) {
@@ -2306,7 +2340,9 @@ public interface IIntConstraintFactory extends ISelf<Model> {
         Propagator<IntVar> p;
         switch (algo) {
             case "CT+": {
-                if (tuples.allowUniversalValue()) {
+                if (!tuples.isFeasible()) {
+                    p = new PropCompactTableNeg(vars, tuples);
+                } else if (tuples.allowUniversalValue()) {
                     p = new PropCompactTableStar(vars, tuples);
                 } else {
                     p = new PropCompactTable(vars, tuples);
@@ -2343,6 +2379,18 @@ public interface IIntConstraintFactory extends ISelf<Model> {
         return new Constraint(ConstraintsName.TABLE, p);
     }
 
+    /**
+     * Creates a table constraint specifying that the sequence of variables vars must satisfy
+     * one of the smart tuples, whose entries are unary conditions (sets, ranges, comparisons, ...).
+     * Uses the Compact-Table algorithm for basic smart tables.
+     *
+     * @param vars   variables forming the tuples
+     * @param tuples the relation between the variables (list of allowed smart tuples). Should not be modified once passed to the constraint.
+     */
+    default Constraint table(IntVar[] vars, SmartTuples tuples) {
+        return new Constraint(ConstraintsName.TABLE, new PropCompactTableSmart(vars, tuples));
+    }
+
     /**
      * Creates a tree constraint.
      * Partition succs variables into nbTrees (anti) arborescences
@@ -912,6 +912,20 @@ public abstract class Propagator<V extends Variable> implements ICause, Identity
         return prio;
     }
 
+    /**
+     * Apply scheduling instruction in a given queue, chosen by the propagation engine
+     * @param queues array of queues in which this can be scheduled
+     * @param idx index of the queue in which this is scheduled
+     * @return <i>idx</i>
+     */
+    public final int doSchedule(CircularQueue<Propagator<?>>[] queues, int idx){
+        if(!scheduled) {
+            queues[idx].addLast(this);
+            schedule();
+        }
+        return idx;
+    }
+
     public void doScheduleEvent(int pindice, int mask){
         fineevt.accept(pindice, mask);
     }
@@ -0,0 +1,238 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.extension;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Compressed (or smart) allowed tuples for table constraints.
+ * Each entry of a tuple is a unary condition on the value of the corresponding variable,
+ * such as an equality, a set of values, a range or a comparison to a constant
+ * (see {@link #eq(int)}, {@link #in(int...)}, {@link #range(int, int)}, {@link #le(int)}, ...),
+ * generalizing the universal value of {@link Tuples}.
+ * A tuple is satisfied when every variable takes a value satisfying the corresponding entry.
+ * <br/>
+ * <pre>
+ * SmartTuples tuples = new SmartTuples();
+ * tuples.add(eq(1), range(2, 5), any());
+ * tuples.add(ne(1), in(1, 3, 7), ge(4));
+ * model.table(new IntVar[]{x, y, z}, tuples).post();
+ * </pre>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class SmartTuples {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final List<IntPredicate[]> tuples;
+    private int arity;
+
+    //***********************************************************************************
+    // CONSTRUCTOR
+    //***********************************************************************************
+
+    /**
+     * Create an empty list of allowed smart tuples.
+     */
+    public SmartTuples() {
+        this.tuples = new ArrayList<>();
+    }
+
+    //***********************************************************************************
+    // ENTRIES
+    //***********************************************************************************
+
+    private static IntPredicate entry(IntPredicate condition, String name) {
+        return new IntPredicate() {
+            @Override
+            public boolean test(int value) {
+                return condition.test(value);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    /**
+     * @return an entry satisfied by any value
+     */
+    public static IntPredicate any() {
+        return entry(v -> true, "*");
+    }
+
+    /**
+     * @param value a value
+     * @return an entry satisfied by <i>value</i> only
+     */
+    public static IntPredicate eq(int value) {
+        return entry(v -> v == value, Integer.toString(value));
+    }
+
+    /**
+     * @param value a value
+     * @return an entry satisfied by any value but <i>value</i>
+     */
+    public static IntPredicate ne(int value) {
+        return entry(v -> v != value, "!=" + value);
+    }
+
+    /**
+     * @param value a value
+     * @return an entry satisfied by any value strictly less than <i>value</i>
+     */
+    public static IntPredicate lt(int value) {
+        return entry(v -> v < value, "<" + value);
+    }
+
+    /**
+     * @param value a value
+     * @return an entry satisfied by any value less than or equal to <i>value</i>
+     */
+    public static IntPredicate le(int value) {
+        return entry(v -> v <= value, "<=" + value);
+    }
+
+    /**
+     * @param value a value
+     * @return an entry satisfied by any value strictly greater than <i>value</i>
+     */
+    public static IntPredicate gt(int value) {
+        return entry(v -> v > value, ">" + value);
+    }
+
+    /**
+     * @param value a value
+     * @return an entry satisfied by any value greater than or equal to <i>value</i>
+     */
+    public static IntPredicate ge(int value) {
+        return entry(v -> v >= value, ">=" + value);
+    }
+
+    /**
+     * @param lb lower bound
+     * @param ub upper bound
+     * @return an entry satisfied by any value in [<i>lb</i>, <i>ub</i>]
+     */
+    public static IntPredicate range(int lb, int ub) {
+        return entry(v -> lb <= v && v <= ub, "[" + lb + "," + ub + "]");
+    }
+
+    /**
+     * @param values a set of values
+     * @return an entry satisfied by any value in <i>values</i>
+     */
+    public static IntPredicate in(int... values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return entry(v -> Arrays.binarySearch(sorted, v) >= 0, Arrays.toString(sorted));
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    /**
+     * Add a new tuple to the set of tuples
+     *
+     * @param tuple a tuple, made of one entry per variable
+     * @throws SolverException if the size of the tuple added does not correspond to a the previous ones (if any).
+     */
+    public void add(IntPredicate... tuple) {
+        if (tuples.size() == 0) {
+            arity = tuple.length;
+        } else if (arity != tuple.length) {
+            throw new SolverException("The given tuple does not match the arity: " + arity);
+        }
+        tuples.add(tuple.clone());
+    }
+
+    /**
+     * Add a new tuple made of values only
+     *
+     * @param tuple a tuple
+     * @throws SolverException if the size of the tuple added does not correspond to a the previous ones (if any).
+     */
+    public void add(int... tuple) {
+        IntPredicate[] entries = new IntPredicate[tuple.length];
+        for (int i = 0; i < tuple.length; i++) {
+            entries[i] = eq(tuple[i]);
+        }
+        add(entries);
+    }
+
+    /**
+     * @return number of tuples stored
+     */
+    public int nbTuples() {
+        return tuples.size();
+    }
+
+    /**
+     * @param idx index of a tuple
+     * @return the idx^th tuple
+     */
+    public IntPredicate[] get(int idx) {
+        return tuples.get(idx);
+    }
+
+    /**
+     * Checks entailment of a table constraint over vars with this SmartTuples object
+     *
+     * @param vars set of integer variables to test
+     * @return an ESat object indicating the entailement of the table over vars and this
+     */
+    public ESat check(IntVar... vars) {
+        if (nbTuples() == 0) {
+            return ESat.FALSE;
+        }
+        if (vars.length != arity) {
+            throw new SolverException("The given variable array does not match the arity: " + arity);
+        }
+        for (IntVar var : vars) {
+            if (!var.isInstantiated()) {
+                return ESat.UNDEFINED;
+            }
+        }
+        for (IntPredicate[] tuple : tuples) {
+            boolean valid = true;
+            for (int i = 0; i < vars.length && valid; i++) {
+                valid = tuple[i].test(vars[i].getValue());
+            }
+            if (valid) {
+                return ESat.TRUE;
+            }
+        }
+        return ESat.FALSE;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder st = new StringBuilder("Allowed smart tuples: {");
+        for (IntPredicate[] tuple : tuples) {
+            st.append(Arrays.toString(tuple));
+        }
+        st.append("}");
+        return st.toString();
+    }
+}
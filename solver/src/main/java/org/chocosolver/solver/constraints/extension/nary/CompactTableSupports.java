@@ -0,0 +1,169 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.extension.nary;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+/**
+ * Immutable support bitsets of a relation, as computed by {@link PropCompactTable} and its subclasses.
+ * <p/>
+ * Models frequently declare many table constraints over different variables but the same relation.
+ * Since supports only depend on the tuples and on the initial domains of the variables,
+ * they are computed once and shared by all propagators of a model declared with the same tuples
+ * (same instance or same content) on variables with the same initial domains
+ * (see {@link Model#TABLE_SUPPORTS_HOOK_NAME}).
+ * Each propagator only keeps its own current table and residues.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class CompactTableSupports {
+
+    /**
+     * Offset of each variable, that is its initial lower bound.
+     */
+    final int[] offset;
+
+    /**
+     * For each variable and each value, the tuples supporting the value.
+     */
+    final long[][][] supports;
+
+    /**
+     * For each variable and each value, the tuples supporting explicitly the value (no universal value),
+     * or <i>null</i> when not needed.
+     */
+    final long[][][] incSupports;
+
+    /**
+     * Create supports of a relation.
+     *
+     * @param offset      initial lower bound of each variable
+     * @param supports    for each variable and each value, the tuples supporting the value
+     * @param incSupports for each variable and each value, the tuples supporting explicitly the value (can be null)
+     */
+    public CompactTableSupports(int[] offset, long[][][] supports, long[][][] incSupports) {
+        this.offset = offset;
+        this.supports = supports;
+        this.incSupports = incSupports;
+    }
+
+    /**
+     * Return the supports of <i>relation</i> for the propagator <i>prop</i>,
+     * computing them only if no propagator of the same type posted on the same relation
+     * and on variables with the same initial domains has computed them before.
+     * Two {@link Tuples} are the same relation when they have the same content,
+     * any other relation is only compared by identity.
+     *
+     * @param prop     a compact table propagator, not yet initialized
+     * @param relation the relation
+     * @param builder  computes the supports, if needed
+     * @return the supports of the relation wrt the initial domains of the variables of <i>prop</i>
+     */
+    static CompactTableSupports share(PropCompactTable prop, Object relation, Supplier<CompactTableSupports> builder) {
+        Model model = prop.getModel();
+        //noinspection unchecked
+        HashMap<Key, CompactTableSupports> cache =
+                (HashMap<Key, CompactTableSupports>) model.getHook(Model.TABLE_SUPPORTS_HOOK_NAME);
+        if (cache == null) {
+            cache = new HashMap<>();
+            model.addHook(Model.TABLE_SUPPORTS_HOOK_NAME, cache);
+        }
+        Key key = new Key(prop.getClass(), relation, prop.getVars());
+        CompactTableSupports supports = cache.get(key);
+        if (supports == null) {
+            supports = builder.get();
+            cache.put(key, supports);
+        }
+        return supports;
+    }
+
+    /**
+     * Identifies supports: type of propagator, relation and initial domains.
+     */
+    private static final class Key {
+        private final Class<?> type;
+        private final Object relation;
+        private final int[][] domains;
+        private final int hash;
+
+        private Key(Class<?> type, Object relation, IntVar[] vars) {
+            this.type = type;
+            this.relation = relation;
+            this.domains = new int[vars.length][];
+            for (int i = 0; i < vars.length; i++) {
+                domains[i] = new int[vars[i].getDomainSize()];
+                int ub = vars[i].getUB();
+                int k = 0;
+                for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
+                    domains[i][k++] = v;
+                }
+            }
+            int h = type.hashCode();
+            h = 31 * h + Arrays.deepHashCode(domains);
+            if (relation instanceof Tuples) {
+                Tuples tuples = (Tuples) relation;
+                h = 31 * h + (tuples.isFeasible() ? 1 : 0);
+                h = 31 * h + (tuples.allowUniversalValue() ? tuples.getStarValue() : 0);
+                for (int t = 0; t < tuples.nbTuples(); t++) {
+                    h = 31 * h + Arrays.hashCode(tuples.get(t));
+                }
+            } else {
+                h = 31 * h + System.identityHashCode(relation);
+            }
+            this.hash = h;
+        }
+
+        private static boolean sameRelation(Object r1, Object r2) {
+            if (r1 == r2) {
+                return true;
+            }
+            if (!(r1 instanceof Tuples) || !(r2 instanceof Tuples)) {
+                return false;
+            }
+            Tuples t1 = (Tuples) r1;
+            Tuples t2 = (Tuples) r2;
+            if (t1.isFeasible() != t2.isFeasible()
+                    || t1.allowUniversalValue() != t2.allowUniversalValue()
+                    || (t1.allowUniversalValue() && t1.getStarValue() != t2.getStarValue())
+                    || t1.nbTuples() != t2.nbTuples()) {
+                return false;
+            }
+            for (int t = 0; t < t1.nbTuples(); t++) {
+                if (!Arrays.equals(t1.get(t), t2.get(t))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return hash == key.hash
+                    && type == key.type
+                    && Arrays.deepEquals(domains, key.domains)
+                    && sameRelation(relation, key.relation);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
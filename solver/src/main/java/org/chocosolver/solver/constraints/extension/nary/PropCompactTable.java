@@ -55,10 +55,21 @@ public class PropCompactTable extends Propagator<IntVar> {
      * @param tuples list of feasible tuples
      */
     public PropCompactTable(IntVar[] vars, Tuples tuples) {
-        super(vars, PropagatorPriority.QUADRATIC, true);
+        this(vars, tuples.nbTuples());
         this.tuples = tuples;
-        this.currTable = new RSparseBitSet(model.getEnvironment(), this.tuples.nbTuples());
-        computeSupports(tuples);
+        setSupports(CompactTableSupports.share(this, tuples, () -> computeSupports(tuples)));
+    }
+
+    /**
+     * Create a propagator for table constraint, whose supports are set by the subclass
+     * (see {@link #setSupports(CompactTableSupports)}).
+     *
+     * @param vars     scope
+     * @param nbTuples number of tuples
+     */
+    protected PropCompactTable(IntVar[] vars, int nbTuples) {
+        super(vars, PropagatorPriority.QUADRATIC, true);
+        this.currTable = new RSparseBitSet(model.getEnvironment(), nbTuples);
         monitors = new IIntDeltaMonitor[vars.length];
         for (int i = 0; i < vars.length; i++) {
             monitors[i] = vars[i].monitorDelta(this);
@@ -89,18 +100,24 @@ public class PropCompactTable extends Propagator<IntVar> {
         };
     }
 
-    protected void computeSupports(Tuples tuples) {
+    /**
+     * Compute the supports of <i>tuples</i> wrt the initial domains of the variables.
+     * This is only called when no propagator of the same type shares them yet (see {@link CompactTableSupports}),
+     * so the returned structures must not be modified afterwards.
+     *
+     * @param tuples the relation
+     * @return the supports of the relation
+     */
+    protected CompactTableSupports computeSupports(Tuples tuples) {
         int n = vars.length;
-        offset = new int[n];
-        supports = new long[n][][];
-        residues = new int[n][];
+        int[] offset = new int[n];
+        long[][][] supports = new long[n][][];
         long[] tmp;
         for (int i = 0; i < n; i++) {
             int lb = vars[i].getLB();
             int ub = vars[i].getUB();
             offset[i] = lb;
             supports[i] = new long[ub - lb + 1][currTable.words.length];
-            residues[i] = new int[ub - lb + 1];
         }
         int wI = 0;
         byte bI = 63;
@@ -121,6 +138,21 @@ public class PropCompactTable extends Propagator<IntVar> {
                 wI++;
             }
         }
+        return new CompactTableSupports(offset, supports, null);
+    }
+
+    /**
+     * Use the (shared) supports and initialize the residues of this propagator.
+     *
+     * @param cts the supports of the relation
+     */
+    protected void setSupports(CompactTableSupports cts) {
+        this.offset = cts.offset;
+        this.supports = cts.supports;
+        this.residues = new int[vars.length][];
+        for (int i = 0; i < vars.length; i++) {
+            residues[i] = new int[supports[i].length];
+        }
     }
 
     //***********************************************************************************
@@ -131,12 +163,7 @@ public class PropCompactTable extends Propagator<IntVar> {
     public void propagate(int evtmask) throws ContradictionException {
         if (PropagatorEventType.isFullPropagation(evtmask)) {
             for (int i = 0; i < vars.length; i++) {
-                currTable.clearMask();
-                int ub = vars[i].getUB();
-                for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
-                    currTable.addToMask(supports[i][v - offset[i]]);
-                }
-                currTable.intersectWithMask();
+                resetTable(i);
             }
             for (int i = 0; i < vars.length; i++) {
                 monitors[i].startMonitoring();
@@ -147,24 +174,46 @@ public class PropCompactTable extends Propagator<IntVar> {
 
     @Override
     public void propagate(int vIdx, int mask) throws ContradictionException {
-        currTable.clearMask();
+        updateTable(vIdx);
+        if (currTable.isEmpty()) { // fail as soon as possible
+            fails();
+        }
+        forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+    }
+
+    /**
+     * Update the current table wrt the modifications of the domain of a variable,
+     * from the values removed or from the remaining ones, whichever is smaller.
+     *
+     * @param vIdx index of the modified variable
+     * @throws ContradictionException if a failure occurs while iterating over removed values
+     */
+    protected void updateTable(int vIdx) throws ContradictionException {
         if (vars[vIdx].getDomainSize() > monitors[vIdx].sizeApproximation()) {
+            currTable.clearMask();
             monitors[vIdx].forEachRemVal(onValRem.set(vIdx));
             currTable.reverseMask();
+            currTable.intersectWithMask();
         } else {
-            int ub = vars[vIdx].getUB();
-            for (int v = vars[vIdx].getLB(); v <= ub; v = vars[vIdx].nextValue(v)) {
-                currTable.addToMask(supports[vIdx][v - offset[vIdx]]);
-            }
+            resetTable(vIdx);
         }
-        currTable.intersectWithMask();
-        if (currTable.isEmpty()) { // fail as soon as possible
-            fails();
+    }
+
+    /**
+     * Update the current table wrt the values that remain in the domain of a variable.
+     *
+     * @param vIdx index of a variable
+     */
+    protected void resetTable(int vIdx) {
+        currTable.clearMask();
+        int ub = vars[vIdx].getUB();
+        for (int v = vars[vIdx].getLB(); v <= ub; v = vars[vIdx].nextValue(v)) {
+            currTable.addToMask(supports[vIdx][v - offset[vIdx]]);
         }
-        forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+        currTable.intersectWithMask();
     }
 
-    private void filterDomains() throws ContradictionException {
+    protected void filterDomains() throws ContradictionException {
         if (currTable.isEmpty()) {// to keep as we skip instantiated vars
             fails();
         }
@@ -256,7 +305,7 @@ public class PropCompactTable extends Propagator<IntVar> {
             }
         }
 
-        private boolean isEmpty() {
+        boolean isEmpty() {
             return limit.get() == -1;
         }
 
@@ -281,7 +330,7 @@ public class PropCompactTable extends Propagator<IntVar> {
             }
         }
 
-        private void intersectWithMask() {
+        void intersectWithMask() {
             for (int i = limit.get(); i >= 0; i--) {
                 int offset = index[i];
                 long w = words[offset].get() & mask[offset];
@@ -296,6 +345,30 @@ public class PropCompactTable extends Propagator<IntVar> {
             }
         }
 
+        /**
+         * @return the number of bits set
+         */
+        int cardinality() {
+            int card = 0;
+            for (int i = limit.get(); i >= 0; i--) {
+                card += Long.bitCount(words[index[i]].get());
+            }
+            return card;
+        }
+
+        /**
+         * @param m a mask
+         * @return the number of bits set in both this and <i>m</i>
+         */
+        int count(long[] m) {
+            int count = 0;
+            for (int i = limit.get(); i >= 0; i--) {
+                int offset = index[i];
+                count += Long.bitCount(words[offset].get() & m[offset]);
+            }
+            return count;
+        }
+
         private int intersectIndex(long[] m) {
             for (int i = limit.get(); i >= 0; i--) {
                 int offset = index[i];
@@ -0,0 +1,170 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.extension.nary;
+
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Propagator for table constraint based on
+ * "Extending Compact-Table to Negative and Short Tables",
+ * H. Verhaeghe and C. Lecoutre and P. Schauss, AAAI-17.
+ * Only for infeasible Tuples, without universal value.
+ * <p>
+ * The current table stores the forbidden tuples that are still valid.
+ * A value is removed as soon as the number of valid forbidden tuples it appears in
+ * is equal to the number of combinations of values of the other variables.
+ * The propagator becomes passive when no forbidden tuple is valid anymore.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class PropCompactTableNeg extends PropCompactTable {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    /**
+     * Domain sizes, as observed on filtering entry.
+     */
+    private final int[] sizes;
+
+    //***********************************************************************************
+    // CONSTRUCTOR
+    //***********************************************************************************
+
+    /**
+     * Create a propagator for table constraint
+     * Only for infeasible Tuples
+     *
+     * @param vars   scope
+     * @param tuples list of forbidden tuples
+     */
+    public PropCompactTableNeg(IntVar[] vars, Tuples tuples) {
+        super(vars, tuples);
+        assert !tuples.isFeasible() && !tuples.allowUniversalValue();
+        this.sizes = new int[vars.length];
+    }
+
+    //***********************************************************************************
+    // INITIALIZATION
+    //***********************************************************************************
+
+    @Override
+    protected CompactTableSupports computeSupports(Tuples tuples) {
+        int n = vars.length;
+        int[] offset = new int[n];
+        long[][][] supports = new long[n][][];
+        for (int i = 0; i < n; i++) {
+            int lb = vars[i].getLB();
+            int ub = vars[i].getUB();
+            offset[i] = lb;
+            supports[i] = new long[ub - lb + 1][currTable.words.length];
+        }
+        List<int[]> valid = new ArrayList<>();
+        top:
+        for (int ti = 0; ti < tuples.nbTuples(); ti++) {
+            int[] tuple = tuples.get(ti);
+            for (int i = 0; i < tuple.length; i++) {
+                if (!vars[i].contains(tuple[i])) {
+                    continue top;
+                }
+            }
+            valid.add(tuple);
+        }
+        // a forbidden tuple must be counted once
+        valid.sort(PropCompactTableNeg::lexCompare);
+        int wI = 0;
+        byte bI = 63;
+        int[] prev = null;
+        for (int[] tuple : valid) {
+            if (prev != null && Arrays.equals(prev, tuple)) {
+                continue;
+            }
+            prev = tuple;
+            for (int i = 0; i < tuple.length; i++) {
+                supports[i][tuple[i] - offset[i]][wI] |= 1L << (bI);
+            }
+            if (--bI < 0) {
+                bI = 63;
+                wI++;
+            }
+        }
+        return new CompactTableSupports(offset, supports, null);
+    }
+
+    /**
+     * Lexicographic comparison of two tuples of the same arity
+     */
+    private static int lexCompare(int[] t1, int[] t2) {
+        int i = 0;
+        while (i < t1.length && t1[i] == t2[i]) {
+            i++;
+        }
+        return i == t1.length ? 0 : Integer.compare(t1[i], t2[i]);
+    }
+
+    //***********************************************************************************
+    // FILTERING
+    //***********************************************************************************
+
+    @Override
+    public void propagate(int vIdx, int mask) throws ContradictionException {
+        updateTable(vIdx);
+        forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+    }
+
+    @Override
+    protected void filterDomains() throws ContradictionException {
+        boolean again;
+        do {
+            if (currTable.isEmpty()) {
+                setPassive();
+                return;
+            }
+            again = false;
+            int card = currTable.cardinality();
+            for (int i = 0; i < vars.length; i++) {
+                sizes[i] = vars[i].getDomainSize();
+            }
+            for (int i = 0; i < vars.length; i++) {
+                // number of combinations of values of the other variables, if not greater than card
+                long prod = 1;
+                for (int j = 0; j < vars.length && prod <= card; j++) {
+                    if (j != i) {
+                        prod *= sizes[j];
+                    }
+                }
+                if (prod <= card) {
+                    boolean modified = false;
+                    int ub = vars[i].getUB();
+                    for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
+                        if (currTable.count(supports[i][v - offset[i]]) == prod) {
+                            modified |= vars[i].removeValue(v, this);
+                        }
+                    }
+                    if (modified) {
+                        // the propagator is not informed of its own modifications
+                        resetTable(i);
+                        again = true;
+                    }
+                }
+            }
+        } while (again);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.extension.nary;
+
+import org.chocosolver.solver.constraints.extension.SmartTuples;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Propagator for table constraint based on
+ * "Extending Compact-Table to Basic Smart Tables",
+ * H. Verhaeghe and C. Lecoutre and Y. Deville and P. Schauss, CP-17.
+ * It deals with compressed tuples, whose entries are unary conditions (see {@link SmartTuples}).
+ * <p>
+ * The supports of a value are the tuples whose entry for the variable is satisfied by the value.
+ * Since an entry can be satisfied by many values, a tuple is only invalidated when none of them remains,
+ * so the current table is always updated from the values that remain in the domain of a modified variable.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class PropCompactTableSmart extends PropCompactTable {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final SmartTuples smartTuples;
+
+    //***********************************************************************************
+    // CONSTRUCTOR
+    //***********************************************************************************
+
+    /**
+     * Create a propagator for table constraint
+     * Only for feasible smart tuples
+     *
+     * @param vars   scope
+     * @param tuples list of feasible smart tuples
+     */
+    public PropCompactTableSmart(IntVar[] vars, SmartTuples tuples) {
+        super(vars, tuples.nbTuples());
+        this.smartTuples = tuples;
+        setSupports(CompactTableSupports.share(this, tuples, this::computeSmartSupports));
+    }
+
+    //***********************************************************************************
+    // INITIALIZATION
+    //***********************************************************************************
+
+    private CompactTableSupports computeSmartSupports() {
+        int n = vars.length;
+        int[] offset = new int[n];
+        long[][][] supports = new long[n][][];
+        for (int i = 0; i < n; i++) {
+            int lb = vars[i].getLB();
+            int ub = vars[i].getUB();
+            offset[i] = lb;
+            supports[i] = new long[ub - lb + 1][currTable.words.length];
+        }
+        int wI = 0;
+        byte bI = 63;
+        top:
+        for (int ti = 0; ti < smartTuples.nbTuples(); ti++) {
+            IntPredicate[] tuple = smartTuples.get(ti);
+            for (int i = 0; i < tuple.length; i++) {
+                if (!satisfiable(i, tuple[i])) {
+                    continue top;
+                }
+            }
+            long index = 1L << bI;
+            for (int i = 0; i < tuple.length; i++) {
+                int ub = vars[i].getUB();
+                for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
+                    if (tuple[i].test(v)) {
+                        supports[i][v - offset[i]][wI] |= index;
+                    }
+                }
+            }
+            if (--bI < 0) {
+                bI = 63;
+                wI++;
+            }
+        }
+        return new CompactTableSupports(offset, supports, null);
+    }
+
+    private boolean satisfiable(int i, IntPredicate entry) {
+        int ub = vars[i].getUB();
+        for (int v = vars[i].getLB(); v <= ub; v = vars[i].nextValue(v)) {
+            if (entry.test(v)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //***********************************************************************************
+    // FILTERING
+    //***********************************************************************************
+
+    @Override
+    protected void updateTable(int vIdx) {
+        resetTable(vIdx);
+    }
+
+    @Override
+    public ESat isEntailed() {
+        return smartTuples.check(vars);
+    }
+}
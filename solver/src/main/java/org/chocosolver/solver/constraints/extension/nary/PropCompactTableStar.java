@@ -70,19 +70,18 @@ public class PropCompactTableStar extends PropCompactTable {
         };
     }
 
-    protected void computeSupports(Tuples tuples) {
+    @Override
+    protected CompactTableSupports computeSupports(Tuples tuples) {
         int n = vars.length;
-        offset = new int[n];
-        supports = new long[n][][];
-        inc_supports = new long[n][][];
-        residues = new int[n][];
+        int[] offset = new int[n];
+        long[][][] supports = new long[n][][];
+        long[][][] inc_supports = new long[n][][];
         for (int i = 0; i < n; i++) {
             int lb = vars[i].getLB();
             int ub = vars[i].getUB();
             offset[i] = lb;
             supports[i] = new long[ub - lb + 1][currTable.words.length];
             inc_supports[i] = new long[ub - lb + 1][currTable.words.length];
-            residues[i] = new int[ub - lb + 1];
         }
         int wI = 0;
         byte bI = 63;
@@ -113,5 +112,12 @@ public class PropCompactTableStar extends PropCompactTable {
                 wI++;
             }
         }
+        return new CompactTableSupports(offset, supports, inc_supports);
+    }
+
+    @Override
+    protected void setSupports(CompactTableSupports cts) {
+        super.setSupports(cts);
+        this.inc_supports = cts.incSupports;
     }
 }
\ No newline at end of file
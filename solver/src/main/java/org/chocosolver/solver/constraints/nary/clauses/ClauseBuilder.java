@@ -107,6 +107,16 @@ public class ClauseBuilder {
      * Build the nogood in memory and post it to <i>model</i>.
      */
     public void buildNogood(Model model) {
+        buildNogood(model, false);
+    }
+
+    /**
+     * Build the nogood in memory and post it to <i>model</i>.
+     *
+     * @param model    the model to post the nogood in
+     * @param imported set to <i>true</i> if the nogood was learnt by another (equivalent) model
+     */
+    public void buildNogood(Model model, boolean imported) {
         if ((status & ALWAYSTRUE) == 0) {
             if ((status & UNKNOWN) != 0) { // at least one clause is unknown
                 if (XParameters.ELIMINATE_VIEWS) eliminateViews();
@@ -125,7 +135,7 @@ public class ClauseBuilder {
                         for (int i = 0; i < _vars.length; i++) {
                             ranges[i] = sets.get(_vars[i].getId());
                         }
-                        model.getClauseConstraint().addClause(_vars, ranges);
+                        model.getClauseConstraint().addClause(_vars, ranges, imported);
                         break;
                 }
             } else {
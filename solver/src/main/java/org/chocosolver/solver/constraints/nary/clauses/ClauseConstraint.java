@@ -42,6 +42,16 @@ public class ClauseConstraint extends Constraint {
         clauseStore.add(vars, ranges);
     }
 
+    /**
+     * Add a new clause to the clause store, like: (vars[0] ∈ ranges[0]) &or; (vars[1] ∈ ranges[1]) &or; ...
+     * @param vars set of variables
+     * @param ranges set of allowed ranges
+     * @param imported set to <i>true</i> if the clause was learnt by another (equivalent) model
+     */
+    public void addClause(IntVar[] vars, IntIterableRangeSet[] ranges, boolean imported){
+        clauseStore.add(vars, ranges, imported);
+    }
+
     @Override
     public ESat isSatisfied() {
         return clauseStore.isEntailed();
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.constraints.nary.clauses;
 
+import org.chocosolver.memory.structure.IOperation;
+import org.chocosolver.solver.ICause;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
@@ -20,22 +22,32 @@ import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.learn.XParameters;
 import org.chocosolver.solver.search.strategy.selectors.variables.ClausesBased;
 import org.chocosolver.solver.variables.IntVar;
-import org.chocosolver.solver.variables.events.IntEventType;
 import org.chocosolver.util.ESat;
-import org.chocosolver.util.objects.ShrinkableList;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
-import org.chocosolver.util.objects.tree.Interval;
-import org.chocosolver.util.objects.tree.IntervalTree;
-import org.chocosolver.util.tools.ArrayUtils;
 
-import java.util.*;
-import java.util.stream.Stream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Consumer;
 
 import static org.chocosolver.util.ESat.*;
 
 /**
- * A class to manage life of sclauses during resolution. TODO
- *
+ * A class to manage life of sclauses during resolution.
+ * <p>
+ * Signed clauses are not propagators: their literals are stored in a single array, the <i>arena</i>,
+ * and this store propagates them with two watched literals.
+ * A clause with <i>n</i> literals occupies 4&times;<i>n</i> consecutive cells of the arena:
+ * first the positions of its literals, the two first ones being watched,
+ * then, for each literal, the index of its variable in this store and the bounds of its range.
+ * Watch lists are indexed by variable, each entry records the slot of a clause, the literal watched and its range.
+ * An entry is removed lazily, once its clause is removed or does not watch the literal anymore.
+ * The LBD and the activity of the clauses are stored in arrays indexed by slot.
+ * </p>
+ * <p>
+ * When the maximum number of learnt clauses is reached, the store is reduced:
+ * learnt clauses are sorted by increasing LBD, then by decreasing activity, and only a ratio of them is kept.
+ * Glue clauses, whose LBD is less than or equal to 2, are always kept and do not count in the maximum.
+ * </p>
  * <p> Project: choco-solver.
  *
  * @author Charles Prud'homme
@@ -48,17 +60,13 @@ public class ClauseStore extends Propagator<IntVar> {
      */
     private static int SID = 1;
     /**
-     * Solver that handles the clauses
+     * Learnt clauses with a LBD less than or equal to this are never removed
      */
-    private Solver mSolver;
+    private static final int GLUE = 2;
     /**
-     * List of current sclauses
-     */
-    private List<SignedClause> clauses;
-    /**
-     * List of current sclauses
+     * Solver that handles the clauses
      */
-    private List<SignedClause> learnts;
+    private final Solver mSolver;
     /**
      * Number of learnts signed clauses to not exceed
      */
@@ -73,14 +81,90 @@ public class ClauseStore extends Propagator<IntVar> {
      * Reference to the last learnt signed clause, for checking routine
      */
     private SignedClause last;
+    /**
+     * Literals of the clauses
+     */
+    private int[] arena;
+    /**
+     * Number of cells used in {@link #arena}
+     */
+    private int arenaSize;
+    /**
+     * Number of cells of {@link #arena} used by removed clauses
+     */
+    private int wasted;
+    /**
+     * Clauses, in order of addition.
+     * A removed clause leaves an empty slot until the store is compacted.
+     */
+    private SignedClause[] clauses;
+    /**
+     * For each slot, world index in which the clause was propagated for the last time.
+     * A clause is propagated again when a world below this one is restored.
+     */
+    private int[] keys;
+    /**
+     * For each slot, Literal Block Distance of the clause, its number of literals when unknown
+     */
+    private int[] lbds;
+    /**
+     * For each slot, activity of the clause, bumped when it explains a modification and decayed over time
+     */
+    private double[] activities;
+    /**
+     * For each slot, number of times the clause explained a modification
+     */
+    private int[] rawActivities;
+    /**
+     * Number of slots used in {@link #clauses}
+     */
+    private int nbSlots;
+
+    private int nbOriginals;
+
+    private int nbLearnts;
+    /**
+     * Number of learnt glue clauses
+     */
+    private int nbGlues;
+    /**
+     * Index of each variable in this store, by variable ID, -1 if the variable is not in
+     */
+    private int[] indices;
+    /**
+     * Watch lists, by variable index, 4 cells per entry
+     */
+    private int[][] watches;
 
-    private HashMap<IntVar, IntervalTree<Container>> watches;
+    private int[] nbWatches;
+    /**
+     * Watchers to add once the current watch list is swept, 2 cells per entry
+     */
+    private int[] delayed;
+
+    private int nbDelayed;
+    /**
+     * To detect hidden unit clauses
+     */
+    private final IntIterableRangeSet uua = new IntIterableRangeSet();
+    /**
+     * LBD of the next learnt clause, -1 if unknown
+     */
+    private int nextLBD = -1;
     /**
      * Amount to bump clause with.
      */
     private double clauseInc = 1d;
 
     private ClausesBased strat;
+    /**
+     * Number of clauses imported from another model
+     */
+    private long nbImports;
+    /**
+     * Number of clauses imported from another model which have filtered at least once
+     */
+    private long nbUsefulImports;
 
     /**
      * Create a Nogood store connected to a model.
@@ -94,44 +178,132 @@ public class ClauseStore extends Propagator<IntVar> {
         this.nbMaxLearnts = model.getSettings().getNbMaxLearntClauses();
         this.ratio = model.getSettings().getRatioForClauseStoreReduction();
         this.domPerimeter = model.getSettings().getLearntClausesDominancePerimeter();
-        this.clauses = new ArrayList<>();
-        this.learnts = new ArrayList<>();
+        this.arena = new int[256];
+        this.clauses = new SignedClause[16];
+        this.keys = new int[16];
+        this.lbds = new int[16];
+        this.activities = new double[16];
+        this.rawActivities = new int[16];
+        this.indices = new int[16];
+        Arrays.fill(indices, -1);
+        this.watches = new int[16][];
+        this.nbWatches = new int[16];
+        this.delayed = new int[16];
         last = null;
-        this.watches = new HashMap<>();
         setActive0();
     }
 
     public int getNbClauses() {
-        return clauses.size();
+        return nbOriginals;
     }
 
     public int getNbLearntClauses() {
-        return learnts.size();
+        return nbLearnts;
+    }
+
+    /**
+     * @return the number of clauses imported from another model
+     */
+    public long getNbImports() {
+        return nbImports;
+    }
+
+    /**
+     * @return the number of clauses imported from another model which have filtered at least once
+     */
+    public long getNbUsefulImports() {
+        return nbUsefulImports;
+    }
+
+    /**
+     * @return a stamp such that any signed clause created from now on has a greater or equal identifier
+     * @see #forgetLearntsSince(int)
+     */
+    public int getStamp() {
+        return SID;
+    }
+
+    /**
+     * Remove the learnt signed clauses created since <i>stamp</i> was taken,
+     * for instance because they depend on constraints that were removed from the model.
+     * This should be called at root node.
+     *
+     * @param stamp a value returned by {@link #getStamp()}
+     */
+    public void forgetLearntsSince(int stamp) {
+        for (int s = nbSlots - 1; s >= 0; s--) {
+            SignedClause cl = clauses[s];
+            if (cl != null && cl.learnt && cl.id >= stamp) {
+                remove(cl);
+            }
+        }
+        if (last != null && last.id >= stamp) {
+            last = null;
+        }
+        compactIfNeeded();
     }
 
     public void declareClausesBasedStrategy(ClausesBased strat) {
         this.strat = strat;
     }
 
+    /**
+     * Declare the Literal Block Distance of the next learnt signed clause added to this store,
+     * which is used to select the clauses to keep on reduction.
+     * Otherwise, the LBD of a clause is its number of literals.
+     *
+     * @param lbd LBD of the next learnt clause, or -1 if unknown
+     * @see ExplanationForSignedClause#getLBD()
+     */
+    public void setNextLBD(int lbd) {
+        this.nextLBD = lbd;
+    }
+
     /**
      * Declare a new signed clause in this store
      */
     public void add(IntVar[] vars, IntIterableRangeSet[] ranges) {
+        add(vars, ranges, false);
+    }
+
+    /**
+     * Declare a new signed clause in this store.
+     * An imported clause is learnt by another (equivalent) model, so it is not the last clause learnt by this one.
+     *
+     * @param vars     set of variables
+     * @param ranges   set of allowed ranges
+     * @param imported set to <i>true</i> if the clause comes from another model
+     */
+    public void add(IntVar[] vars, IntIterableRangeSet[] ranges, boolean imported) {
         if (XParameters.INTERVAL_TREE) {
-            SignedClause cl = new SignedClause(vars, ranges);
-            attach(new Watcher(cl.pos[0], cl));
-            attach(new Watcher(cl.pos[1], cl));
+            SignedClause cl = newClause(vars, ranges);
+            attach(cl, cl.pos(0));
+            attach(cl, cl.pos(1));
             if (model.getSolver().getEngine().isInitialized()) {
-                this.learnts.add(cl);
-                last = cl;
-                last.activity = clauseInc;
-                last.rawActivity = 1;
+                nbLearnts++;
+                cl.learnt = true;
+                activities[cl.slot] = clauseInc;
+                rawActivities[cl.slot] = 1;
+                if (imported) {
+                    cl.imported = true;
+                    nbImports++;
+                } else {
+                    if (nextLBD > 0) {
+                        lbds[cl.slot] = nextLBD;
+                    }
+                    nextLBD = -1;
+                    last = cl;
+                }
+                if (lbds[cl.slot] <= GLUE) {
+                    nbGlues++;
+                }
                 if (XParameters.PRINT_CLAUSE) model.getSolver().log().white().printf("learn: %s\n", cl);
+                // the clause will be propagated on the next call to the propagation engine
+                forcePropagationOnBacktrack();
             } else {
                 if (XParameters.PRINT_CLAUSE) model.getSolver().log().white().printf("add: %s\n", cl);
-                this.clauses.add(cl);
+                nbOriginals++;
             }
-            mSolver.getEngine().dynamicAddition(true, cl);
         } else {
             PropSignedClause cl = PropSignedClause.makeFromIn(vars, ranges);
             if (XParameters.PRINT_CLAUSE) model.getSolver().log().white().printf("learn: %s\n", cl);
@@ -139,31 +311,172 @@ public class ClauseStore extends Propagator<IntVar> {
         }
     }
 
-    private void attach(Watcher w) {
-        IntVar var = w.c.v(w.p);
-        IntervalTree<Container> wm = watches.get(var);
-        if (wm == null) {
-            wm = new IntervalTree<>();
-            watches.put(var, wm);
+    /**
+     * Store the literals of a new clause in the arena.
+     */
+    private SignedClause newClause(IntVar[] vars, IntIterableRangeSet[] ranges) {
+        int size = 0;
+        for (int i = 0; i < ranges.length; i++) {
+            size += ranges[i].getNbRanges();
+        }
+        if (arenaSize + (size << 2) > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arenaSize + (size << 2), arena.length << 1));
+        }
+        SignedClause cl = new SignedClause(arenaSize, size);
+        arenaSize += size << 2;
+        for (int i = 0, k = 0; i < ranges.length; i++) {
+            int v = indexOf(vars[i]);
+            for (int r = 0; r < ranges[i].getNbRanges(); r++, k++) {
+                arena[cl.start + k] = k;
+                int o = cl.lit(k);
+                arena[o] = v;
+                arena[o + 1] = ranges[i].minOfRange(r);
+                arena[o + 2] = ranges[i].maxOfRange(r);
+            }
+        }
+        if (ranges[0].getNbRanges() > 1) {
+            // synchronize positions of var[0] and var[1]
+            int nbr = ranges[0].getNbRanges();
+            arena[cl.start + 1] = nbr;
+            arena[cl.start + nbr] = 1;
+        }
+        if (nbSlots == clauses.length) {
+            clauses = Arrays.copyOf(clauses, nbSlots << 1);
+            keys = Arrays.copyOf(keys, nbSlots << 1);
+            lbds = Arrays.copyOf(lbds, nbSlots << 1);
+            activities = Arrays.copyOf(activities, nbSlots << 1);
+            rawActivities = Arrays.copyOf(rawActivities, nbSlots << 1);
+        }
+        cl.slot = nbSlots;
+        clauses[nbSlots] = cl;
+        lbds[nbSlots] = size;
+        activities[nbSlots] = 0d;
+        rawActivities[nbSlots] = 0;
+        keys[nbSlots++] = Integer.MAX_VALUE;
+        return cl;
+    }
+
+    /**
+     * @return the index of <i>var</i> in this store, the variable is added if needed
+     */
+    private int indexOf(IntVar var) {
+        int id = var.getId();
+        if (id >= indices.length) {
+            int n = indices.length;
+            indices = Arrays.copyOf(indices, Math.max(id + 1, n << 1));
+            Arrays.fill(indices, n, indices.length, -1);
+        }
+        if (indices[id] == -1) {
+            int v = vars.length;
+            if (v == watches.length) {
+                watches = Arrays.copyOf(watches, v << 1);
+                nbWatches = Arrays.copyOf(nbWatches, v << 1);
+            }
+            indices[id] = v;
             this.addVariable(var);
         }
-        Container ct = wm.get(w.c.l(w.p), w.c.u(w.p));
-        if (ct == null) {
-            ct = new Container(w.c.l(w.p), w.c.u(w.p));
-            wm.insert(ct);
+        return indices[id];
+    }
+
+    /**
+     * Add a watcher of the literal <i>k</i> of <i>cl</i>.
+     */
+    private void attach(SignedClause cl, int k) {
+        int o = cl.lit(k);
+        int v = arena[o];
+        int n = nbWatches[v];
+        int[] wl = watches[v];
+        if (wl == null) {
+            wl = watches[v] = new int[8];
+        } else if (n == wl.length) {
+            wl = watches[v] = Arrays.copyOf(wl, n << 1);
+        }
+        wl[n] = cl.slot;
+        wl[n + 1] = k;
+        wl[n + 2] = arena[o + 1];
+        wl[n + 3] = arena[o + 2];
+        nbWatches[v] = n + 4;
+    }
+
+    /**
+     * Add a watcher of the literal <i>k</i> of <i>cl</i> once the current propagation is over,
+     * since it may modify the watch list being swept.
+     */
+    private void delay(SignedClause cl, int k) {
+        if (nbDelayed == delayed.length) {
+            delayed = Arrays.copyOf(delayed, nbDelayed << 1);
+        }
+        delayed[nbDelayed++] = cl.slot;
+        delayed[nbDelayed++] = k;
+    }
+
+    private void flushDelayed() {
+        for (int i = 0; i < nbDelayed; i += 2) {
+            attach(clauses[delayed[i]], delayed[i + 1]);
         }
-        ct.add(w);
+        nbDelayed = 0;
     }
 
     /**
-     * Remove the nogood at position <i>idx</i>
+     * Remove a clause from this store.
+     * Its cells in the arena and its watchers are released lazily.
      *
-     * @param idx position of the nogood in {@link #learnts}.
+     * @param cl the clause to remove
      */
-    private void remove(int idx) {
-        SignedClause ng = learnts.remove(idx);
-        mSolver.getEngine().dynamicDeletion(ng);
-        ng.pos[0] = ng.pos[1] = -1; // to remove it from watchers
+    private void remove(SignedClause cl) {
+        int lbd = lbds[cl.slot];
+        clauses[cl.slot] = null;
+        cl.slot = -1;
+        wasted += cl.size << 2;
+        if (cl.learnt) {
+            nbLearnts--;
+            if (lbd <= GLUE) {
+                nbGlues--;
+            }
+        } else {
+            nbOriginals--;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (wasted > arenaSize >> 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Release the cells and the slots of removed clauses, then rebuild the watch lists.
+     * The order of the remaining clauses is preserved.
+     */
+    private void compact() {
+        int o = 0;
+        int t = 0;
+        for (int s = 0; s < nbSlots; s++) {
+            SignedClause cl = clauses[s];
+            if (cl != null) {
+                int len = cl.size << 2;
+                if (cl.start != o) {
+                    System.arraycopy(arena, cl.start, arena, o, len);
+                    cl.start = o;
+                }
+                o += len;
+                cl.slot = t;
+                clauses[t] = cl;
+                lbds[t] = lbds[s];
+                activities[t] = activities[s];
+                rawActivities[t] = rawActivities[s];
+                keys[t++] = keys[s];
+            }
+        }
+        Arrays.fill(clauses, t, nbSlots, null);
+        nbSlots = t;
+        arenaSize = o;
+        wasted = 0;
+        Arrays.fill(nbWatches, 0);
+        for (int s = 0; s < nbSlots; s++) {
+            attach(clauses[s], clauses[s].pos(0));
+            attach(clauses[s], clauses[s].pos(1));
+        }
     }
 
     private void check(SignedClause ng) {
@@ -173,7 +486,7 @@ public class ClauseStore extends Propagator<IntVar> {
             IntVar uni = null;
             int usl = 0;
             int fsl = 0;
-            for (int i = 0; i < ng.pos.length; i++) {
+            for (int i = 0; i < ng.size; i++) {
                 switch (ng.check(i)) {
                     case TRUE:
                         throw new SolverException("Learn a satisfied signed clause: " + ng);
@@ -182,9 +495,9 @@ public class ClauseStore extends Propagator<IntVar> {
                         break;
                     case UNDEFINED:
                         if (usl == 0 && uni == null) {
-                            uni = ng.mvars[i];
+                            uni = ng.var(i);
                             usl++;
-                        } else if (usl > 0 && uni != ng.mvars[i]) {
+                        } else if (usl > 0 && uni != ng.var(i)) {
                             uni = null;
                         }
                         break;
@@ -218,7 +531,9 @@ public class ClauseStore extends Propagator<IntVar> {
             }
             detectDominance();
             if(strat != null){
-                Stream.of(last.getVars()).forEach(v -> strat.bump(v));
+                for (int i = 0; i < last.size; i++) {
+                    strat.bump(last.var(i));
+                }
             }
         }
         // 2. reduce database
@@ -234,8 +549,8 @@ public class ClauseStore extends Propagator<IntVar> {
         // counts by scaling everything down by a factor of 1e20.
         if (clauseInc > 1e20) {
             clauseInc *= 1e-20;
-            for (int i = 0; i < learnts.size(); i++) {
-                learnts.get(i).activity *= 1e-20;
+            for (int s = 0; s < nbSlots; s++) {
+                activities[s] *= 1e-20;
             }
         }
     }
@@ -245,251 +560,267 @@ public class ClauseStore extends Propagator<IntVar> {
      * Top level clean up. At root node, remove clauses entailed to true.
      */
     private void simplifyDB() {
-        int size = learnts.size();
-        for (int i = size - 1; i >= 0; i--) {
-            SignedClause ng = learnts.get(i);
-            if (ng.isNotLocked() && ng.isEntailed() == ESat.TRUE) {
-                remove(i);
+        int size = nbLearnts;
+        for (int s = nbSlots - 1; s >= 0; s--) {
+            SignedClause ng = clauses[s];
+            if (ng != null && ng.learnt && !ng.locked && ng.isEntailed() == ESat.TRUE) {
+                remove(ng);
             }
         }
-        if (size > learnts.size() && model.getSettings().warnUser()) {
-            model.getSolver().log().white().printf("Simplify DB: %d -> %d%n", size, learnts.size());
+        if (size > nbLearnts && model.getSettings().warnUser()) {
+            model.getSolver().log().white().printf("Simplify DB: %d -> %d%n", size, nbLearnts);
         }
+        compactIfNeeded();
     }
 
     /**
-     * Remove sclauses with a lifespan greater than <i>lifespan</i> and which did not filtered in
-     * the current branch.
+     * When too many clauses were learnt, remove the ones with the greatest LBD and, among them, the less active ones.
+     * Glue clauses, locked clauses and the last learnt clause are kept.
      */
     private void reduceDB() {
-        int size = learnts.size();
+        int size = nbLearnts - nbGlues;
         if (size >= nbMaxLearnts) {
-            learnts.sort(Comparator.comparingDouble(c -> -c.activity));
+            SignedClause[] learnts = new SignedClause[size];
+            for (int s = 0, i = 0; s < nbSlots; s++) {
+                SignedClause ng = clauses[s];
+                if (ng != null && ng.learnt && lbds[s] > GLUE) {
+                    learnts[i++] = ng;
+                }
+            }
+            Arrays.sort(learnts, Comparator.comparingInt((SignedClause c) -> lbds[c.slot])
+                    .thenComparingDouble(c -> -activities[c.slot]));
             long to = Math.round(ratio * size);
             for (int i = size - 1; i >= to; i--) {
-                SignedClause ng = learnts.get(i);
-                if (ng.isNotLocked() && ng != last) {
-                    remove(i);
+                SignedClause ng = learnts[i];
+                if (!ng.locked && ng != last) {
+                    remove(ng);
                 }
             }
-            if (size > learnts.size() && model.getSettings().warnUser()) {
-                model.getSolver().log().white().printf("Reduce DB: %d -> %d%n", size, learnts.size());
-            }
-            for (IntervalTree<Container> t : watches.values()) {
-                Stack<Container> del = new Stack<>();
-                for (Container c : t) {
-                    c.watchers.removeIf(w -> !w.c.isConnected());
-                    if(c.watchers.isEmpty()){
-                        del.push(c);
-                    }
-                }
-                while(!del.isEmpty()){
-                    t.delete(del.pop());
-                }
+            if (size > nbLearnts - nbGlues && model.getSettings().warnUser()) {
+                model.getSolver().log().white().printf("Reduce DB: %d -> %d%n", size, nbLearnts - nbGlues);
             }
+            compact();
         }
     }
 
     private void detectDominance() {
-        int size = learnts.size();
-        SignedClause ng0 = learnts.get(size - 1);
-        for (int i = size - 2; i >= Math.max(0, size - domPerimeter - 1); i--) {
-            SignedClause ng = learnts.get(i);
-            if (ng.isNotLocked() && ng0.dominate(ng) > 0) {
-                remove(i);
+        int size = nbLearnts;
+        int s = nbSlots - 1;
+        while (s >= 0 && (clauses[s] == null || !clauses[s].learnt)) {
+            s--;
+        }
+        if (s < 0) {
+            return;
+        }
+        SignedClause ng0 = clauses[s];
+        for (int p = 0; --s >= 0 && p < domPerimeter; ) {
+            SignedClause ng = clauses[s];
+            if (ng != null && ng.learnt) {
+                p++;
+                if (!ng.locked && ng0.dominate(ng) > 0) {
+                    remove(ng);
+                }
             }
         }
-        if (size > learnts.size() && model.getSettings().warnUser()) {
-            model.getSolver().log().white().printf("Dominance DB: %d -> %d%n", size, learnts.size());
+        if (size > nbLearnts && model.getSettings().warnUser()) {
+            model.getSolver().log().white().printf("Dominance DB: %d -> %d%n", size, nbLearnts);
         }
+        compactIfNeeded();
     }
 
 
     public void printStatistics() {
-        learnts.sort(Comparator.comparingInt(c -> -c.rawActivity));
+        SignedClause[] learnts = new SignedClause[nbLearnts];
+        for (int s = 0, i = 0; s < nbSlots; s++) {
+            if (clauses[s] != null && clauses[s].learnt) {
+                learnts[i++] = clauses[s];
+            }
+        }
+        Arrays.sort(learnts, Comparator.comparingInt(c -> -rawActivities[c.slot]));
         model.getSolver().log().white().print("Top ten clauses:\n");
-        for (int i = 0; i < 10 && i < learnts.size(); i++) {
-            model.getSolver().log().white().printf("%d : %d %s\n", i, learnts.get(i).rawActivity, learnts.get(i));
+        for (int i = 0; i < 10 && i < learnts.length; i++) {
+            model.getSolver().log().white().printf("%d : %d %s\n", i, rawActivities[learnts[i].slot], learnts[i]);
         }
     }
 
     @Override
     public void propagate(int evtmask) throws ContradictionException {
-        // nothing is done here
+        // propagate the clauses added since the last call
+        // and the ones last propagated in a world that was backtracked since
+        int cw = model.getEnvironment().getWorldIndex();
+        try {
+            for (int s = nbSlots - 1; s >= 0 && keys[s] >= cw; s--) {
+                keys[s] = cw;
+                if (clauses[s] != null) {
+                    propagateClause(clauses[s]);
+                }
+            }
+        } finally {
+            flushDelayed();
+        }
     }
 
     @Override
     public void propagate(int idxVarInProp, int mask) throws ContradictionException {
-        // iterate over clauses that needs to be propagator
+        // iterate over clauses that watch a literal of the modified variable
         IntVar var = vars[idxVarInProp];
-        IntervalTree<Container> wm = watches.get(var);
+        int[] wl = watches[idxVarInProp];
+        int n = nbWatches[idxVarInProp];
         int lb = var.getLB();
         int ub = var.getUB();
-        if (IntEventType.isInstantiate(mask) || IntEventType.isRemove(mask)) {
-            sweep(wm.iterator(), var, lb, ub);
-        } else {
-            if (IntEventType.isInclow(mask)) {
-                wm.forAllBelow(lb, c -> checkCont(c, var, lb, ub));
+        boolean enumerated = var.hasEnumeratedDomain();
+        int i = 0;
+        int j = 0;
+        try {
+            while (i < n) {
+                int l = wl[i + 2];
+                int u = wl[i + 3];
+                // the cheap test on the literal comes first, the clause is only looked at when the literal is false
+                if (u >= lb && l <= ub && (!enumerated || l <= lb || u >= ub || var.nextValue(l - 1) <= u)) {
+                    if (j < i) {
+                        System.arraycopy(wl, i, wl, j, 4);
+                    }
+                    i += 4;
+                    j += 4;
+                    continue;
+                }
+                SignedClause cl = clauses[wl[i]];
+                int w;
+                if (cl == null || (w = cl.watch(wl[i + 1])) < 0) {
+                    // the clause was removed or does not watch this literal anymore, forget it
+                    i += 4;
+                    continue;
+                }
+                if (j < i) {
+                    System.arraycopy(wl, i, wl, j, 4);
+                }
+                i += 4;
+                j += 4;
+                if (cl.check(cl.pos(1 - w)) == TRUE) {
+                    continue;
+                }
+                if (replace(cl, w) != FALSE) {
+                    // the literal is not watched anymore
+                    j -= 4;
+                    continue;
+                }
+                // the clause is unit under assignment, or failed
+                if (w == 0) {
+                    cl.swap();
+                }
+                unit(cl);
+                // the variable may have been modified by the clause
+                lb = var.getLB();
+                ub = var.getUB();
             }
-            if (IntEventType.isDecupp(mask)) {
-                wm.forAllAbove(ub, c -> checkCont(c, var, lb, ub));
+        } finally {
+            if (i < n) {
+                System.arraycopy(wl, i, wl, j, n - i);
+                j += n - i;
             }
+            nbWatches[idxVarInProp] = j;
+            flushDelayed();
         }
     }
 
-    @Override
-    public ESat isEntailed() {
-        ESat sat = ESat.TRUE;
-        for (int i = 0; i < clauses.size() && sat == TRUE; i++) {
-            sat = clauses.get(i).isEntailed();
+    /**
+     * Coarse propagation of a clause: make sure its watched literals are not false, if possible,
+     * and detect unit clauses.
+     */
+    private void propagateClause(SignedClause cl) throws ContradictionException {
+        ESat b0 = cl.check(cl.pos(0));
+        if (b0 == TRUE) {
+            return;
         }
-        for (int i = 0; i < learnts.size() && sat == TRUE; i++) {
-            sat = learnts.get(i).isEntailed();
+        ESat b1 = cl.check(cl.pos(1));
+        if (b1 == TRUE || (b1 == FALSE && (b1 = replace(cl, 1)) == TRUE)
+                || (b0 == FALSE && (b0 = replace(cl, 0)) == TRUE)) {
+            return;
         }
-        return sat;
-    }
-
-
-    private void sweep(Iterator<Container> it, IntVar v, int lb, int ub) {
-        while (it.hasNext()) {
-            checkCont(it.next(), v, lb, ub);
+        if (b0 == FALSE) {
+            // Make sure the false literal is pos[1]:
+            cl.swap();
+            b1 = FALSE;
         }
-    }
-
-    private void checkCont(Container ct, IntVar v, int lb, int ub) {
-        if (!ct.isActive()) return;
-        ESat check = check(lb, ub, ct.s, ct.e, v);
-        if (check != UNDEFINED) {
-            if (check == FALSE) {
-                ct.sweepOnFalse();
-            } else {
-                ct.sweepOnTrue();
-            }
-            model.getEnvironment().save(ct::setActive);
-            ct.setPassive();
+        if (b1 == FALSE) {
+            unit(cl);
+        } else {
+            detectHiddenUUA(cl);
         }
     }
 
-    private final class Container implements Interval {
-
-        int s, e;
-        ShrinkableList<Watcher> watchers;
-        boolean active = true;
-
-        Container(int s, int e) {
-            this.s = s;
-            this.e = e;
-            this.watchers = new ShrinkableList<>();
-        }
-
-        @Override
-        public int start() {
-            return s;
-        }
-
-        @Override
-        public int end() {
-            return e;
-        }
-
-        public void add(Watcher w) {
-            this.watchers.add(w);
-        }
-
-        boolean isActive() {
-            return active;
-        }
-
-        void setPassive() {
-            active = false;
-        }
-
-        void setActive() {
-            active = true;
-        }
-
-        void sweepOnFalse() {
-            int i = 0;
-            int j = i;
-            int p;
-            int s = watchers.size();
-            while (i < s) {
-                Watcher w = watchers.get(i++);
-                SignedClause c = w.c;
-                if (w.p != c.pos[p = 0] && w.p != c.pos[++p]) {
-                    // watched literal loss, forget it
-                    continue;
-                }
-                if (w.c.isScheduled()) { // clause already scheduled, skip it
-                    watchers.set(j++, w);
-                    continue;
-                }
-                if (!w.c.isActive()) {
-                    // clause passive, forget it
-                    model.getEnvironment().save(() -> {
-                        if (w.c.isConnected()) {
-                            attach(w);
-                        }
-                    });
-                    continue;
-                }/*else*/
-                {
-                    watchers.set(j++, w); // keep it, even it is false, since propagation may change the other WL
-                    mSolver.getEngine().schedule(w.c, p, 1);
-                }
-            }
-            // shrink
-            watchers.removeRange(j, i);
-        }
-
-        void sweepOnTrue() {
-            int i = 0;
-            int j = 0;
-            int s = watchers.size();
-            while (i < s) {
-                Watcher w = watchers.get(i++);
-                SignedClause c = w.c;
-                if (w.p == c.pos[0] || w.p == c.pos[1]) {
-                    watchers.set(j++, w);
-                }// watched literal loss due to initial propagation
+    /**
+     * Look for a literal, which is not false, to watch instead of <i>pos[w]</i>.
+     *
+     * @return the status of the new watched literal, or {@link ESat#FALSE} if none was found
+     */
+    private ESat replace(SignedClause cl, int w) {
+        for (int i = 2; i < cl.size; i++) {
+            int k = cl.pos(i);
+            ESat b = cl.check(k);
+            if (b != FALSE) {
+                arena[cl.start + i] = cl.pos(w);
+                arena[cl.start + w] = k;
+                delay(cl, k);
+                return b;
             }
-            // shrink
-            watchers.removeRange(j, i);
         }
+        return FALSE;
+    }
 
-        @Override
-        public String toString() {
-            return String.format("[%d,%d]", start(), end());
+    /**
+     * All literals but pos[0] are false, restrict the variable of pos[0] (or fail).
+     */
+    private void unit(SignedClause cl) throws ContradictionException {
+        if (cl.restrict(cl.pos(0))) {
+            assert cl.isEntailed() == TRUE;
+            cl.lock();
         }
     }
 
-
-    private static final class Watcher {
-        int p;
-        SignedClause c; // clause watch by c.mvars[p]
-
-        Watcher(int p, SignedClause c) {
-            this.p = p;
-            this.c = c;
+    /**
+     * Detect hidden "unit under assignment" case.
+     * This is supposed to be called only at coarse propagation (so mainly on backtrack).
+     * It collects variables related to UNDEF lits.
+     * If only one variable is concerned, then we can force the clause to filter.
+     * @throws ContradictionException not supposed to happen
+     */
+    private void detectHiddenUUA(SignedClause cl) throws ContradictionException {
+        IntVar one = null;
+        uua.clear();
+        for (int k = 0; k < cl.size; k++) {
+            switch (cl.check(k)) {
+                case UNDEFINED:
+                    if (one == null || one == cl.var(k)) {
+                        one = cl.var(k);
+                        uua.addBetween(cl.l(k), cl.u(k));
+                    } else {
+                        return;
+                    }
+                    break;
+                case TRUE:
+                    return;
+            }
         }
-
-        @Override
-        public String toString() {
-            return c.toString();
+        if (one != null && one.removeAllValuesBut(uua, cl)) {
+            cl.lock();
         }
     }
 
-    private static PropagatorPriority computePriority(int nbvars) {
-        if (nbvars == 2) {
-            return PropagatorPriority.BINARY;
-        } else if (nbvars == 3) {
-            return PropagatorPriority.TERNARY;
-        } else {
-            return PropagatorPriority.LINEAR;
+    @Override
+    public ESat isEntailed() {
+        ESat sat = ESat.TRUE;
+        for (int s = 0; s < nbSlots && sat == TRUE; s++) {
+            if (clauses[s] != null) {
+                sat = clauses[s].isEntailed();
+            }
         }
+        return sat;
     }
 
-    private static ESat check(int lv, int uv, int l, int u, IntVar v) {
+    private static ESat check(IntVar v, int l, int u) {
+        int lv = v.getLB();
+        int uv = v.getUB();
         if (l <= lv && uv <= u) { // v in [l,u]
             return ESat.TRUE;
         } else if (l > uv || lv > u || (v.hasEnumeratedDomain() && v.nextValue(l - 1) > u)) {  // v does not intersect [l,u]
@@ -498,269 +829,120 @@ public class ClauseStore extends Propagator<IntVar> {
         return ESat.UNDEFINED;
     }
 
-    public class SignedClause extends Propagator<IntVar> {
+    /**
+     * A signed clause of the store, that is a disjunction of literals like <i>x &isin; [l,u]</i>.
+     * Its literals are stored in the arena of the store, this object is the cause of the modifications
+     * the clause does, and is in charge of explaining them.
+     */
+    public final class SignedClause implements ICause, IOperation {
 
-        static final short LOCK = 4;
+        private final int id;
         /**
-         * Free mask
+         * Position of this clause in {@link #clauses}, -1 once removed
          */
-        private static final byte F0 = 0b00;
+        private int slot;
         /**
-         * Mask that indicates pos[0] as false
+         * Offset of this clause in {@link #arena}
          */
-        private static final byte F1 = 0b01;
+        private int start;
         /**
-         * Mask that indicates pos[1] as false
+         * Number of literals
          */
-        protected static final byte F2 = 0b10;
+        private final int size;
+        private boolean learnt;
         /**
-         * Store which pos, among 0 and 1, are false
+         * Set to <i>true</i> when this clause comes from another model and has not filtered yet
          */
-        private byte FL;
+        private boolean imported;
         /**
-         * List of variables this propagators deal with.
+         * Set to <i>true</i> when this clause has filtered, until backtrack
          */
-        private final IntVar[] mvars;
+        private boolean locked;
 
-        private final int[] bounds;
-        /**
-         * Literals of the clauses. Use to always get at position 0 a free literal.
-         */
-        private final int[] pos;
-
-        private double activity = 0d;
-
-        private int rawActivity = 0;
-
-        private int id;
-
-        IntIterableRangeSet uua;
-
-        SignedClause(IntVar[] vars, IntIterableRangeSet[] ranges) {
-            super(new IntVar[]{vars[0], vars[0]}, computePriority(vars.length), false, false);
-            this.vars = new IntVar[0];
-            this.uua = new IntIterableRangeSet();
-            setActive0();
+        SignedClause(int start, int size) {
             this.id = SID++;
-            // TODO: accurately select literals
-            int size = 0;
-            for (int i = 0; i < ranges.length; i++) {
-                size += ranges[i].getNbRanges();
-            }
-            this.pos = ArrayUtils.array(0, size - 1);
-            this.mvars = new IntVar[size];
-            this.bounds = new int[size << 1];
-            for (int i = 0, k = -1; i < ranges.length; i++) {
-                for (int r = 0; r < ranges[i].getNbRanges(); r++) {
-                    this.mvars[++k] = vars[i];
-                    this.bounds[k << 1] = ranges[i].minOfRange(r);
-                    this.bounds[(k << 1) + 1] = ranges[i].maxOfRange(r);
-                }
-            }
-            if (ranges[0].getNbRanges() > 1) {
-//                 synchronize positions of var[0] and var[1]
-                int nbr = ranges[0].getNbRanges();
-                int p = this.pos[1];
-                this.pos[1] = this.pos[nbr];
-                this.pos[nbr] = p;
-            }
+            this.start = start;
+            this.size = size;
         }
 
-
         /**
          * @return the number of literals in this
          */
-        public final int cardinality() {
-            return mvars.length;
+        public int cardinality() {
+            return size;
         }
 
-        private ESat check(int p) {
-            return ClauseStore.check(mvars[p].getLB(), mvars[p].getUB(), bounds[p << 1], bounds[(p << 1) + 1], mvars[p]);
+        /**
+         * @return the literal at position <i>i</i>, the two first ones are watched
+         */
+        private int pos(int i) {
+            return arena[start + i];
         }
 
-        private boolean restrict(int p) throws ContradictionException {
-            return mvars[p].updateBounds(bounds[p << 1], bounds[(p << 1) + 1], this);
+        /**
+         * @return the offset of the literal <i>k</i> in {@link #arena}
+         */
+        private int lit(int k) {
+            return start + size + k * 3;
         }
 
-        public final boolean isConnected() {
-            return pos[0] > -1 && pos[1] > -1;
+        IntVar var(int k) {
+            return vars[arena[lit(k)]];
         }
 
-        @SuppressWarnings("Duplicates")
-        public final void propagate(int evtmask) throws ContradictionException {
-            if (evtmask == 2) {
-                if (!isConnected()) {
-                    // this was removed from ClauseStore, to ignore
-                    return;
-                }
-                switch (check(pos[0])) {
-                    case TRUE:
-                        FL = F0;
-                        setPassive();
-                        return;
-                    case FALSE:
-                        FL |= F1;
-                        break;
-                    case UNDEFINED:
-                        break;
-                }
-                switch (check(pos[1])) {
-                    case TRUE:
-                        FL = F0;
-                        setPassive();
-                        return;
-                    case FALSE:
-                        FL |= F2;
-                        break;
-                    case UNDEFINED:
-                        break;
-                }
-            }
-            if (FL != F0) {
-                propagateClause();
-            }
-            if (evtmask == 2 && this.isActive()) {
-                detectHiddenUUA();
-            }
+        int l(int k) {
+            return arena[lit(k) + 1];
         }
 
-        /**
-         * Detect hidden "unit under assignment" case.
-         * This is supposed to be called only at coarse propagation (so mainly on backtrack).
-         * It collects variables related to UNDEF lits.
-         * If only one variable is concerned, then we can force the clause to filter.
-         * @throws ContradictionException not supposed to happen
-         */
-        private void detectHiddenUUA() throws ContradictionException {
-            IntVar one = null;
-            this.uua.clear();
-            fl:
-            for (int i = 0; i < pos.length; i++) {
-                switch (check(i)) {
-                    case UNDEFINED:
-                        if (one == null || one == mvars[i]) {
-                            one = mvars[i];
-                            uua.addBetween(bounds[i << 1], bounds[(i << 1) + 1]);
-                        } else {
-                            one = null;
-                            break fl;
-                        }
-                        break;
-                    case TRUE:
-                        one = null;
-                        break fl;
-                }
-            }
-            if (one != null) {
-                if (one.removeAllValuesBut(uua, this)) {
-                    setPassiveAndLock();
-                } else setPassive();
-            }
+        int u(int k) {
+            return arena[lit(k) + 2];
         }
 
         /**
-         * Condition: at least one lit is false and none is true among l0 and l1.
+         * @return 0 or 1 if the literal <i>k</i> is watched at this position, -1 otherwise
          */
-        private void propagateClause() throws ContradictionException {
-            int k = 2;
-            int to = pos.length;
-            do {
-                int p;
-                if ((FL & F2) != 0) {
-                    p = 1;
-                    FL ^= F2;
-                } else {
-                    p = 0;
-                    FL ^= F1;
-                }
-                // assertion: p is false
-                int l0 = pos[0];
-                int l1 = pos[1];
-                if (p == 0) {
-                    // Make sure the false literal is pos[1]:
-                    int t = l0;
-                    pos[0] = l0 = l1;
-                    pos[1] = l1 = t;
-                }
-                // Look for new watch:
-                boolean cont = false;
-                for (; k < to; k++) {
-                    int l = pos[k];
-                    ESat b = check(l);
-                    if (b != FALSE) {
-                        // update watcher -- preserve the operations order
-                        // remove current watcher
-//                        detach(this, pos[1]); // useless, will be removed later on
-                        pos[1] = l;
-                        pos[k] = pos[--to];
-                        pos[to] = l1;
-                        attach(new Watcher(l, this));
-                        if (b == TRUE) {
-                            setPassive();
-                            FL = F0;
-                            assert this.isEntailed() == TRUE;
-                            return;
-                        }
-                        cont = true;
-                        break;
-                    }
-                }
-                // Did not find watch -- clause is unit under assignment:
-                if (!cont) {
-                    FL = F0;
-                    if (restrict(l0)) {
-                        assert this.isEntailed() == TRUE;
-                        setPassiveAndLock();
-                        return;
-                    } else {
-                        assert this.isEntailed() != FALSE;
-                    }
-                }
-            } while (FL != F0);
+        private int watch(int k) {
+            return pos(0) == k ? 0 : pos(1) == k ? 1 : -1;
         }
 
-        private void setPassiveAndLock() {
-            state = LOCK;
-            model.getEnvironment().save(operations[ACTIVE]);
+        /**
+         * Swap the two watched literals
+         */
+        private void swap() {
+            int t = arena[start];
+            arena[start] = arena[start + 1];
+            arena[start + 1] = t;
         }
 
-        int getNbFalsified() {
-            int count = 0;
-            for (int i = 0; i < pos.length; i++) {
-                ESat b = check(i);
-                if (b == FALSE) {
-                    count++;
-                }
-            }
-            return count;
+        private ESat check(int k) {
+            int o = lit(k);
+            return ClauseStore.check(vars[arena[o]], arena[o + 1], arena[o + 2]);
         }
 
-
-        int getNbSatisfied() {
-            int count = 0;
-            for (int i = 0; i < pos.length; i++) {
-                ESat b = check(i);
-                if (b == TRUE) {
-                    count++;
-                }
+        private boolean restrict(int k) throws ContradictionException {
+            if (imported) {
+                imported = false;
+                nbUsefulImports++;
             }
-            return count;
-        }
-
-        boolean isNotLocked() {
-            return state != 4;
+            int o = lit(k);
+            return vars[arena[o]].updateBounds(arena[o + 1], arena[o + 2], this);
         }
 
-        IntVar v(int i) {
-            return mvars[i];
+        private void lock() {
+            locked = true;
+            model.getEnvironment().save(this);
         }
 
-        int l(int i) {
-            return bounds[i << 1];
+        @Override
+        public void undo() {
+            locked = false;
         }
 
-        int u(int i) {
-            return bounds[(i << 1) + 1];
+        /**
+         * @return <i>true</i> if this clause is still in the store
+         */
+        public boolean isConnected() {
+            return slot > -1;
         }
 
         /**
@@ -774,10 +956,10 @@ public class ClauseStore extends Propagator<IntVar> {
          * @implSpec vars in each clause is supposed to be sorted wrt the var ID. Otherwise, this
          * method can return incorrect results.
          */
-        final int dominate(SignedClause cj) {
-            if (this.mvars.length < cj.mvars.length) {
+        int dominate(SignedClause cj) {
+            if (this.size < cj.size) {
                 return outhsine0(this, cj);
-            } else if (this.mvars.length > cj.mvars.length) {
+            } else if (this.size > cj.size) {
                 return -outhsine0(cj, this);
             } else {
                 return outhsine1(this, cj);
@@ -795,9 +977,9 @@ public class ClauseStore extends Propagator<IntVar> {
         private int outhsine0(SignedClause ci, SignedClause cj) {
             int[] idx = {0, 0};
             boolean outs = true;
-            while (idx[0] <= ci.mvars.length - 1 && idx[1] <= cj.mvars.length - 1 && outs) {
-                int idi = ci.mvars[idx[0]].getId();
-                int idj = cj.mvars[idx[1]].getId();
+            while (idx[0] <= ci.size - 1 && idx[1] <= cj.size - 1 && outs) {
+                int idi = ci.var(idx[0]).getId();
+                int idj = cj.var(idx[1]).getId();
                 if (idi == idj) {
                     outs = includedIn(ci, cj, idi, idj, idx);
                 } else if (idj < idi) {
@@ -820,12 +1002,12 @@ public class ClauseStore extends Propagator<IntVar> {
          * @implSpec variables, in each clause, are supposed to be sorted wrt to increasing ID.
          */
         private int outhsine1(SignedClause ci, SignedClause cj) {
-            int k = ci.mvars.length - 1;
+            int k = ci.size - 1;
             int outi = 0, outj = 0;
             byte skip = 0b00;
             while (k >= 0 && skip < 0b11) {
-                int idi = ci.mvars[k].getId();
-                int idj = cj.mvars[k].getId();
+                int idi = ci.var(k).getId();
+                int idj = cj.var(k).getId();
                 if (idi == idj) {
                     if (outi >= outj && cj.l(k) <= ci.l(k) && ci.u(k) <= cj.u(k)) {
                         outi++;
@@ -841,9 +1023,9 @@ public class ClauseStore extends Propagator<IntVar> {
                     k--;
                 } else break;
             }
-            if (outi == ci.mvars.length) {
+            if (outi == ci.size) {
                 return 1;
-            } else if (outj == cj.mvars.length) {
+            } else if (outj == cj.size) {
                 return -1;
             }
             return 0;
@@ -854,13 +1036,13 @@ public class ClauseStore extends Propagator<IntVar> {
             int ubi = ci.u(idx[0]);
             int lbj = cj.l(idx[1]);
             int ubj = cj.u(idx[1]);
-            while (idx[0] <= ci.mvars.length - 1 && idi == ci.mvars[idx[0]].getId()
-                    && idx[1] <= cj.mvars.length - 1 && idj == cj.mvars[idx[1]].getId()) {
-                if (ubj < lbi && ++idx[1] <= cj.mvars.length - 1 && idj == cj.mvars[idx[1]].getId()) {
+            while (idx[0] <= ci.size - 1 && idi == ci.var(idx[0]).getId()
+                    && idx[1] <= cj.size - 1 && idj == cj.var(idx[1]).getId()) {
+                if (ubj < lbi && ++idx[1] <= cj.size - 1 && idj == cj.var(idx[1]).getId()) {
                     lbj = cj.l(idx[1]);
                     ubj = cj.u(idx[1]);
                 } else if (lbj <= lbi && ubi <= ubj) {
-                    if (++idx[0] <= ci.mvars.length - 1 && idi == ci.mvars[idx[0]].getId()) {
+                    if (++idx[0] <= ci.size - 1 && idi == ci.var(idx[0]).getId()) {
                         lbi = ci.l(idx[0]);
                         ubi = ci.u(idx[0]);
                     }
@@ -872,37 +1054,38 @@ public class ClauseStore extends Propagator<IntVar> {
         }
 
 
-        public final ESat isEntailed() {
-            int i = 0;
+        public ESat isEntailed() {
             boolean u = false;
-            while (i < pos.length) {
-                ESat b = check(i);
+            for (int k = 0; k < size; k++) {
+                ESat b = check(k);
                 if (b == TRUE) {
                     return TRUE;
                 } else if (b == UNDEFINED) {
                     u = true;
                 }
-                i++;
             }
             return u ? UNDEFINED : FALSE;
         }
 
+        @Override
         public void explain(int p, ExplanationForSignedClause explanation) {
             IntVar pivot = explanation.readVar(p);
             IntIterableRangeSet set;
-            activity += clauseInc;
-            rawActivity += 1;
-            int i = 0;
-            while (i < mvars.length) {
-                IntVar v = mvars[i];
+            if (slot > -1) {
+                activities[slot] += clauseInc;
+                rawActivities[slot]++;
+            }
+            int k = 0;
+            while (k < size) {
+                IntVar v = var(k);
                 if (explanation.getFront().getValueOrDefault(v, -1) == -1) { // see javadoc for motivation of these two lines
                      explanation.getImplicationGraph().findPredecessor(explanation.getFront(), v, p);
                  }
                 set = explanation.empty();
                 do {
-                    set.addBetween(bounds[i << 1], bounds[(i << 1) + 1]);
-                    i++;
-                } while (i < mvars.length && mvars[i - 1] == mvars[i]);
+                    set.addBetween(l(k), u(k));
+                    k++;
+                } while (k < size && var(k - 1) == var(k));
                 if(v == pivot){
                     v.intersectLit(set, explanation);
                 }else{
@@ -911,19 +1094,21 @@ public class ClauseStore extends Propagator<IntVar> {
             }
         }
 
+        @Override
+        public void forEachIntVar(Consumer<IntVar> action) {
+            // predecessors of the variables are looked for on demand, in explain(int, ExplanationForSignedClause)
+        }
+
         @Override
         public String toString() {
             StringBuilder st = new StringBuilder();
             st.append("#").append(id).append(" : ");
             st.append("?").append(isEntailed()).append(" : ");
-            st.append('(').append(mvars[pos[0]]).append(" \u2208 [")
-                    .append(bounds[pos[0] << 1]).append(',').append(bounds[(pos[0] << 1) + 1]).append(']');
-            st.append(':').append(check(pos[0]));
-            for (int i = 1; i < pos.length; i++) {
-                st.append(") \u2228 (");
-                st.append(mvars[pos[i]]).append(" \u2208 [").append(bounds[pos[i] << 1])
-                        .append(',').append(bounds[(pos[i] << 1) + 1]).append(']');
-                st.append(':').append(check(pos[i]));
+            for (int i = 0; i < size; i++) {
+                int k = pos(i);
+                st.append(i == 0 ? "(" : ") \u2228 (");
+                st.append(var(k)).append(" \u2208 [").append(l(k)).append(',').append(u(k)).append(']');
+                st.append(':').append(check(k));
             }
             st.append(')');
             return st.toString();
@@ -44,6 +44,8 @@ public class Cumulative extends Constraint {
      *                         - SWEEP: filters time-table with a sweep-based algorithm
      *                         - NRJ: greedy energy-based filter.
      *                         BEWARE: should not be used alone, use it in addition to either SWEEP or TIME.
+     *                         - TTEF: timetable edge-finding.
+     *                         BEWARE: should not be used alone, use it in addition to either SWEEP or TIME.
      *
      */
     public Cumulative(Task[] tasks, IntVar[] heights, IntVar capacity, boolean graphBased, Filter... filters) {
@@ -185,6 +187,17 @@ public class Cumulative extends Constraint {
 				return new DisjunctiveTaskIntervalFilter(n);
 			}
 		},
+		/**
+		 * timetable edge-finding, energetic reasoning over time windows
+		 * which also accounts for the compulsory parts of tasks
+		 * not idempotent
+		 * not enough to ensure correctness (only an additional filtering)
+		 */
+		TTEF {
+			public CumulFilter make(int n){
+				return new TTEFCumulFilter(n);
+			}
+		},
 		/**
 		 * Combines above filters as a black-box
 		 * not idempotent
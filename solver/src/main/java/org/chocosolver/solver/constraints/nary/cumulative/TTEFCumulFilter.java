@@ -0,0 +1,256 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.cumulative;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.ISet;
+import org.chocosolver.util.objects.setDataStructures.ISetIterator;
+import org.chocosolver.util.sort.ArraySort;
+import org.chocosolver.util.sort.IntComparator;
+
+/**
+ * Timetable edge-finding, as described in:
+ * "P. Vilím, Timetable Edge Finding Filtering Algorithm for Discrete Cumulative Resources, CPAIOR 2011".
+ * <br/>
+ * For each time window [b,e), where b is an earliest starting time and e a latest completion time,
+ * the energy required in the window is the energy of the compulsory parts within the window (time-table)
+ * plus the free energy, the energy outside compulsory parts, of the tasks which fit in the window.
+ * It fails when the required energy exceeds the energy available in the window,
+ * and pushes the earliest starting time of a task when it cannot start at its earliest starting time
+ * without exceeding the energy available in the window.
+ * Latest completion times are updated by reasoning on mirrored tasks.
+ * <br/>
+ * O(n^2.log(n)) windows are checked, each task being filtered only in windows where the available energy is small enough.
+ * BEWARE: should not be used alone, use it in addition to either SWEEP or TIME.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class TTEFCumulFilter extends CumulFilter {
+
+	//***********************************************************************************
+	// VARIABLES
+	//***********************************************************************************
+
+	private final int[] idx, est, lct, lst, ect, p, h, newEst;
+	/**
+	 * Free energy of each task
+	 */
+	private final long[] free;
+	private final int[] byEst, byLct;
+	private final ArraySort sorter;
+	private final IntComparator estComparator, lctComparator, lstComparator, ectComparator;
+	/**
+	 * Time-table: from ttTime[k] to ttTime[k+1], the height of the compulsory parts is ttHeight[k],
+	 * and ttEnergy[k] is the energy of the compulsory parts before ttTime[k]
+	 */
+	private final int[] ttTime, ttHeight, ttStarts, ttEnds;
+	private final long[] ttEnergy;
+	private int m, nbTT;
+
+	//***********************************************************************************
+	// CONSTRUCTORS
+	//***********************************************************************************
+
+	public TTEFCumulFilter(int n) {
+		super(n);
+		idx = new int[n];
+		est = new int[n];
+		lct = new int[n];
+		lst = new int[n];
+		ect = new int[n];
+		p = new int[n];
+		h = new int[n];
+		newEst = new int[n];
+		free = new long[n];
+		byEst = new int[n];
+		byLct = new int[n];
+		sorter = new ArraySort(n, false, true);
+		estComparator = (i, j) -> Integer.compare(est[i], est[j]);
+		lctComparator = (i, j) -> Integer.compare(lct[i], lct[j]);
+		lstComparator = (i, j) -> Integer.compare(lst[i], lst[j]);
+		ectComparator = (i, j) -> Integer.compare(ect[i], ect[j]);
+		ttTime = new int[2 * n];
+		ttHeight = new int[2 * n];
+		ttEnergy = new long[2 * n];
+		ttStarts = new int[n];
+		ttEnds = new int[n];
+	}
+
+	//***********************************************************************************
+	// METHODS
+	//***********************************************************************************
+
+	@Override
+	public void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] h, IntVar capa, ISet tasks, Propagator<IntVar> aCause) throws ContradictionException {
+		m = 0;
+		ISetIterator tIter = tasks.iterator();
+		while (tIter.hasNext()) {
+			int i = tIter.nextInt();
+			if (d[i].getLB() > 0 && h[i].getLB() > 0) {
+				idx[m++] = i;
+			}
+		}
+		if (m > 0) {
+			filter(s, d, e, h, capa.getUB(), false, aCause);
+			filter(s, d, e, h, capa.getUB(), true, aCause);
+		}
+	}
+
+	private void filter(IntVar[] s, IntVar[] d, IntVar[] e, IntVar[] hv, long capa, boolean mirror, Propagator<IntVar> aCause) throws ContradictionException {
+		long maxEnergy = 0;
+		long maxHeight = 0;
+		for (int k = 0; k < m; k++) {
+			int i = idx[k];
+			if (mirror) {
+				est[k] = -e[i].getUB();
+				lct[k] = -s[i].getLB();
+				lst[k] = -e[i].getLB();
+				ect[k] = -s[i].getUB();
+			} else {
+				est[k] = s[i].getLB();
+				lct[k] = e[i].getUB();
+				lst[k] = s[i].getUB();
+				ect[k] = e[i].getLB();
+			}
+			int cp = Math.max(0, ect[k] - lst[k]);
+			p[k] = Math.max(d[i].getLB(), cp);
+			h[k] = hv[i].getLB();
+			free[k] = (long) h[k] * (p[k] - cp);
+			maxEnergy = Math.max(maxEnergy, (long) h[k] * p[k]);
+			maxHeight = Math.max(maxHeight, h[k]);
+			newEst[k] = est[k];
+			byEst[k] = byLct[k] = k;
+		}
+		sorter.sort(byEst, m, estComparator);
+		sorter.sort(byLct, m, lctComparator);
+		buildTimeTable();
+		for (int x = 0; x < m; x++) {
+			int end = lct[byLct[x]];
+			if (x + 1 < m && lct[byLct[x + 1]] == end) {
+				continue;
+			}
+			long ttEnd = energyBefore(end);
+			long f = 0;
+			for (int y = m - 1; y >= 0; y--) {
+				int k = byEst[y];
+				if (lct[k] <= end) {
+					f += free[k];
+				}
+				int begin = est[k];
+				if (begin >= end || (y > 0 && est[byEst[y - 1]] == begin)) {
+					continue;
+				}
+				long avail = capa * (end - begin) - (ttEnd - energyBefore(begin)) - f;
+				if (avail < 0) {
+					aCause.fails();
+				}
+				// a task cannot overlap the window by more than its energy, or more than hmax.(end - begin)
+				if (avail < Math.min(maxEnergy, maxHeight * (end - begin))) {
+					filterWindow(begin, end, avail);
+				}
+			}
+		}
+		for (int k = 0; k < m; k++) {
+			if (newEst[k] > est[k]) {
+				if (mirror) {
+					e[idx[k]].updateUpperBound(-newEst[k], aCause);
+				} else {
+					s[idx[k]].updateLowerBound(newEst[k], aCause);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Push the earliest starting times of tasks which cannot start at their earliest starting time,
+	 * given that the energy available for them in [begin,end) is avail, plus their own compulsory and free energies.
+	 */
+	private void filterWindow(int begin, int end, long avail) {
+		for (int k = 0; k < m; k++) {
+			if (newEst[k] >= end || (long) h[k] * p[k] <= avail) {
+				continue;
+			}
+			long overlap = Math.min(end, est[k] + p[k]) - Math.max(begin, est[k]);
+			if (overlap <= 0) {
+				continue;
+			}
+			long r = avail;
+			if (lst[k] < ect[k]) {
+				r += (long) h[k] * Math.max(0, Math.min(end, ect[k]) - Math.max(begin, lst[k]));
+			}
+			if (est[k] >= begin && lct[k] <= end) {
+				r += free[k];
+			}
+			if (h[k] * overlap > r) {
+				// starting before end - r/h, the task would overlap [begin,end) too much
+				newEst[k] = (int) Math.max(newEst[k], end - r / h[k]);
+			}
+		}
+	}
+
+	/**
+	 * Build the profile of compulsory parts and the energy it consumes before each of its breakpoints.
+	 */
+	private void buildTimeTable() {
+		int nb = 0;
+		for (int k = 0; k < m; k++) {
+			if (lst[k] < ect[k]) {
+				ttStarts[nb] = ttEnds[nb] = k;
+				nb++;
+			}
+		}
+		sorter.sort(ttStarts, nb, lstComparator);
+		sorter.sort(ttEnds, nb, ectComparator);
+		// heights are summed by sweeping over starts and ends of compulsory parts
+		nbTT = 0;
+		int i = 0, j = 0;
+		int height = 0;
+		long energy = 0;
+		while (j < nb) {
+			int t = i < nb ? Math.min(lst[ttStarts[i]], ect[ttEnds[j]]) : ect[ttEnds[j]];
+			if (nbTT > 0) {
+				energy += (long) ttHeight[nbTT - 1] * (t - ttTime[nbTT - 1]);
+			}
+			while (i < nb && lst[ttStarts[i]] == t) {
+				height += h[ttStarts[i++]];
+			}
+			while (j < nb && ect[ttEnds[j]] == t) {
+				height -= h[ttEnds[j++]];
+			}
+			ttTime[nbTT] = t;
+			ttHeight[nbTT] = height;
+			ttEnergy[nbTT] = energy;
+			nbTT++;
+		}
+	}
+
+	/**
+	 * @return the energy of the compulsory parts before time t
+	 */
+	private long energyBefore(int t) {
+		int lo = 0, hi = nbTT - 1;
+		if (nbTT == 0 || t <= ttTime[0]) {
+			return 0;
+		}
+		// find the last breakpoint before t
+		while (lo < hi) {
+			int mid = (lo + hi + 1) >>> 1;
+			if (ttTime[mid] <= t) {
+				lo = mid;
+			} else {
+				hi = mid - 1;
+			}
+		}
+		return ttEnergy[lo] + (long) ttHeight[lo] * (t - ttTime[lo]);
+	}
+}
@@ -0,0 +1,330 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.disjunctive;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.sort.ArraySort;
+import org.chocosolver.util.sort.IntComparator;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Propagator for a unary resource: tasks with a positive duration may not overlap.
+ * Based on Theta-Lambda trees, as described in:
+ * "P. Vilím, Global Constraints in Scheduling, PhD thesis, 2007", it applies in O(n.log(n)):
+ * <ul>
+ *     <li>overload checking,</li>
+ *     <li>detectable precedences,</li>
+ *     <li>not-first/not-last,</li>
+ *     <li>edge-finding.</li>
+ * </ul>
+ * Each rule updates earliest starting times on the tasks, and latest completion times on the mirrored tasks.
+ * Rules are applied until the fix point is reached.
+ * </p>
+ * <p>
+ * Tasks whose duration may be zero are ignored until their duration is positive.
+ * Consistency between start, duration and end variables is expected to be maintained elsewhere,
+ * for instance by {@link org.chocosolver.solver.variables.Task}.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class PropDisjunctive extends Propagator<IntVar> {
+
+    //***********************************************************************************
+    // VARIABLES
+    //***********************************************************************************
+
+    private final int n;
+    private final IntVar[] s, d, e;
+    private final ThetaLambdaTree tree;
+    private final ArraySort<?> sorter;
+    /**
+     * Indices of the tasks considered, those with a positive duration
+     */
+    private final int[] tasks;
+    /**
+     * Data of the considered tasks, in the current direction, indexed like {@link #tasks}
+     */
+    private final int[] est, lct, p, newEst, newLct;
+    /**
+     * Rank of each considered task in {@link #byEst}
+     */
+    private final int[] rank;
+    private final int[] byEst, byLct, byLst, byEct;
+    private final IntComparator estComparator, lctComparator, lstComparator, ectComparator;
+    private int m;
+
+    //***********************************************************************************
+    // CONSTRUCTORS
+    //***********************************************************************************
+
+    /**
+     * Unary resource propagator
+     *
+     * @param s start variables
+     * @param d duration variables
+     * @param e end variables
+     */
+    public PropDisjunctive(IntVar[] s, IntVar[] d, IntVar[] e) {
+        super(ArrayUtils.append(s, d, e), PropagatorPriority.LINEAR, false);
+        this.n = s.length;
+        if (!(n == d.length && n == e.length)) {
+            throw new UnsupportedOperationException();
+        }
+        this.s = Arrays.copyOfRange(vars, 0, n);
+        this.d = Arrays.copyOfRange(vars, n, n * 2);
+        this.e = Arrays.copyOfRange(vars, n * 2, n * 3);
+        this.tree = new ThetaLambdaTree(n);
+        this.sorter = new ArraySort<>(n, false, true);
+        this.tasks = new int[n];
+        this.est = new int[n];
+        this.lct = new int[n];
+        this.p = new int[n];
+        this.newEst = new int[n];
+        this.newLct = new int[n];
+        this.rank = new int[n];
+        this.byEst = new int[n];
+        this.byLct = new int[n];
+        this.byLst = new int[n];
+        this.byEct = new int[n];
+        this.estComparator = (i, j) -> Integer.compare(est[i], est[j]);
+        this.lctComparator = (i, j) -> Integer.compare(lct[i], lct[j]);
+        this.lstComparator = (i, j) -> Integer.compare(lct[i] - p[i], lct[j] - p[j]);
+        this.ectComparator = (i, j) -> Integer.compare(est[i] + p[i], est[j] + p[j]);
+    }
+
+    //***********************************************************************************
+    // METHODS
+    //***********************************************************************************
+
+    @Override
+    public int getPropagationConditions(int idx) {
+        return IntEventType.boundAndInst();
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            for (int i = 0; i < n; i++) {
+                d[i].updateLowerBound(0, this);
+                s[i].updateBounds(e[i].getLB() - d[i].getUB(), e[i].getUB() - d[i].getLB(), this);
+                e[i].updateBounds(s[i].getLB() + d[i].getLB(), s[i].getUB() + d[i].getUB(), this);
+            }
+        }
+        boolean again;
+        do {
+            m = 0;
+            for (int i = 0; i < n; i++) {
+                if (d[i].getLB() > 0) {
+                    tasks[m++] = i;
+                }
+            }
+            if (m < 2) {
+                return;
+            }
+            // both directions must be applied
+            again = filter(false);
+            again |= filter(true);
+        } while (again);
+    }
+
+    /**
+     * Apply the rules in one direction.
+     *
+     * @param mirror set to <tt>true</tt> to reason on the mirrored tasks, which updates latest completion times
+     * @return <tt>true</tt> if a bound has been modified
+     */
+    private boolean filter(boolean mirror) throws ContradictionException {
+        for (int k = 0; k < m; k++) {
+            int i = tasks[k];
+            if (mirror) {
+                est[k] = -e[i].getUB();
+                lct[k] = -s[i].getLB();
+            } else {
+                est[k] = s[i].getLB();
+                lct[k] = e[i].getUB();
+            }
+            p[k] = d[i].getLB();
+            newEst[k] = est[k];
+            newLct[k] = lct[k];
+            byEst[k] = byLct[k] = byLst[k] = byEct[k] = k;
+        }
+        sorter.sort(byEst, m, estComparator);
+        sorter.sort(byLct, m, lctComparator);
+        sorter.sort(byLst, m, lstComparator);
+        sorter.sort(byEct, m, ectComparator);
+        for (int r = 0; r < m; r++) {
+            rank[byEst[r]] = r;
+        }
+        edgeFinding();
+        detectablePrecedences();
+        notLast();
+        boolean modified = false;
+        for (int k = 0; k < m; k++) {
+            int i = tasks[k];
+            if (newEst[k] > est[k]) {
+                modified = true;
+                if (mirror) {
+                    updateUpperBound(i, -newEst[k]);
+                } else {
+                    updateLowerBound(i, newEst[k]);
+                }
+            }
+            if (newLct[k] < lct[k]) {
+                modified = true;
+                if (mirror) {
+                    updateLowerBound(i, -newLct[k]);
+                } else {
+                    updateUpperBound(i, newLct[k]);
+                }
+            }
+        }
+        return modified;
+    }
+
+    private void updateLowerBound(int i, int est) throws ContradictionException {
+        s[i].updateLowerBound(est, this);
+        e[i].updateLowerBound(s[i].getLB() + d[i].getLB(), this);
+    }
+
+    private void updateUpperBound(int i, int lct) throws ContradictionException {
+        e[i].updateUpperBound(lct, this);
+        s[i].updateUpperBound(e[i].getUB() - d[i].getLB(), this);
+    }
+
+    /**
+     * Overload checking and edge-finding, on earliest starting times.
+     * Tasks are removed from Theta by non-increasing latest completion times, and moved to Lambda.
+     * When adding a task of Lambda to Theta makes Theta end after its latest completion time,
+     * this task has to start after the completion of Theta.
+     */
+    private void edgeFinding() throws ContradictionException {
+        tree.fillTheta(byEst, m, est, p);
+        int j = byLct[m - 1];
+        for (int q = m - 1; q > 0; q--) {
+            if (tree.getEct() > lct[j]) {
+                fails();
+            }
+            tree.addToLambda(rank[j], est[j], p[j], j);
+            j = byLct[q - 1];
+            while (tree.getEctBar() > lct[j]) {
+                int i = tree.getResponsibleEctBar();
+                if (i < 0) {
+                    break;
+                }
+                newEst[i] = Math.max(newEst[i], tree.getEct());
+                tree.remove(rank[i]);
+            }
+        }
+        if (tree.getEct() > lct[j]) {
+            fails();
+        }
+    }
+
+    /**
+     * Detectable precedences, on earliest starting times.
+     * A task <i>j</i> precedes a task <i>i</i> as soon as <i>lst(j) &lt; ect(i)</i>.
+     */
+    private void detectablePrecedences() {
+        tree.clear();
+        int q = 0;
+        for (int r = 0; r < m; r++) {
+            int i = byEct[r];
+            int ecti = est[i] + p[i];
+            while (q < m && ecti > lct[byLst[q]] - p[byLst[q]]) {
+                int j = byLst[q++];
+                tree.addToTheta(rank[j], est[j], p[j]);
+            }
+            // ECT(Theta \ {i}) <= ECT(Theta), so i is only removed when this may update its bound
+            if (tree.getEct() > newEst[i]) {
+                boolean in = ecti > lct[i] - p[i];
+                if (in) {
+                    tree.remove(rank[i]);
+                }
+                newEst[i] = Math.max(newEst[i], tree.getEct());
+                if (in) {
+                    tree.addToTheta(rank[i], est[i], p[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Not-last, on latest completion times.
+     * If the tasks which may start before the completion of a task <i>i</i> cannot all complete
+     * before the latest starting time of <i>i</i>, then <i>i</i> cannot be the last one.
+     */
+    private void notLast() {
+        tree.clear();
+        int q = 0;
+        int j = -1;
+        for (int r = 0; r < m; r++) {
+            int i = byLct[r];
+            while (q < m && lct[i] > lct[byLst[q]] - p[byLst[q]]) {
+                j = byLst[q++];
+                tree.addToTheta(rank[j], est[j], p[j]);
+            }
+            if (tree.getEct() > lct[i] - p[i]) {
+                // as its duration is positive, i is in Theta
+                tree.remove(rank[i]);
+                if (tree.getEct() > lct[i] - p[i]) {
+                    newLct[i] = Math.min(newLct[i], lct[j] - p[j]);
+                }
+                tree.addToTheta(rank[i], est[i], p[i]);
+            }
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        for (int i = 0; i < n; i++) {
+            if (s[i].getLB() + d[i].getLB() > e[i].getUB()
+                    || s[i].getUB() + d[i].getUB() < e[i].getLB()) {
+                return ESat.FALSE;
+            }
+        }
+        boolean instantiated = true;
+        for (int i = 0; i < n; i++) {
+            // compulsory parts may not overlap
+            if (d[i].getLB() > 0 && s[i].getUB() < e[i].getLB()) {
+                for (int j = i + 1; j < n; j++) {
+                    if (d[j].getLB() > 0 && s[j].getUB() < e[j].getLB()
+                            && s[i].getUB() < e[j].getLB() && s[j].getUB() < e[i].getLB()) {
+                        return ESat.FALSE;
+                    }
+                }
+            }
+            instantiated &= s[i].isInstantiated() && d[i].isInstantiated() && e[i].isInstantiated();
+        }
+        return instantiated ? ESat.TRUE : ESat.UNDEFINED;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(this.getClass().getSimpleName() + "(");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("[").append(s[i].getName()).append(", ")
+                    .append(d[i].getName()).append(", ")
+                    .append(e[i].getName()).append("]");
+        }
+        return sb.append(")").toString();
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.disjunctive;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A Theta-Lambda tree, as described in:
+ * "P. Vilím, Global Constraints in Scheduling, PhD thesis, 2007".
+ * </p>
+ * <p>
+ * The leaves are the tasks of a unary resource, sorted by non-decreasing earliest starting time,
+ * and each leaf is either empty, in the set Theta (white) or in the set Lambda (gray).
+ * Each node maintains, for the leaves of its subtree:
+ * <ul>
+ *     <li>the total processing time and the earliest completion time of the tasks in Theta,</li>
+ *     <li>the same values when at most one task of Lambda is added to Theta,
+ *     together with the gray task responsible for them.</li>
+ * </ul>
+ * So, adding or removing a task and getting ECT(Theta) or ECT(Theta, Lambda) run in O(log n).
+ * </p>
+ * <p>
+ * The tree is stored in arrays, the leaves of a tree of capacity <i>c</i> being the nodes <i>c</i> to <i>2c - 1</i>.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public final class ThetaLambdaTree {
+
+    /**
+     * Value of the earliest completion time of an empty set, small enough not to overflow
+     */
+    private static final int EMPTY = Integer.MIN_VALUE / 2;
+
+    /**
+     * Index of the first leaf
+     */
+    private int capacity;
+    /**
+     * Sum of processing times of Theta
+     */
+    private int[] sumP;
+    /**
+     * Earliest completion time of Theta
+     */
+    private int[] ect;
+    /**
+     * Sum of processing times of Theta with at most one gray task
+     */
+    private int[] sumPBar;
+    /**
+     * Earliest completion time of Theta with at most one gray task
+     */
+    private int[] ectBar;
+    /**
+     * Gray task responsible for {@link #sumPBar}, or -1
+     */
+    private int[] respP;
+    /**
+     * Gray task responsible for {@link #ectBar}, or -1
+     */
+    private int[] respEct;
+
+    /**
+     * Set to <tt>true</tt> when the values related to Lambda are maintained,
+     * which is only needed once a task is added to Lambda
+     */
+    private boolean lambda;
+
+    /**
+     * Create a tree for at most <i>n</i> tasks.
+     *
+     * @param n maximum number of tasks
+     */
+    public ThetaLambdaTree(int n) {
+        capacity = 1;
+        while (capacity < n) {
+            capacity <<= 1;
+        }
+        sumP = new int[2 * capacity];
+        ect = new int[2 * capacity];
+        sumPBar = new int[2 * capacity];
+        ectBar = new int[2 * capacity];
+        respP = new int[2 * capacity];
+        respEct = new int[2 * capacity];
+        clear();
+    }
+
+    /**
+     * Remove all tasks from the tree.
+     */
+    public void clear() {
+        Arrays.fill(sumP, 0);
+        Arrays.fill(ect, EMPTY);
+        Arrays.fill(sumPBar, 0);
+        Arrays.fill(ectBar, EMPTY);
+        Arrays.fill(respP, -1);
+        Arrays.fill(respEct, -1);
+        lambda = false;
+    }
+
+    /**
+     * Clear the tree, then add tasks to Theta, in O(n).
+     *
+     * @param order tasks in non-decreasing order of earliest starting times
+     * @param size  number of tasks in <i>order</i>
+     * @param est   earliest starting time of each task
+     * @param p     processing time of each task
+     */
+    public void fillTheta(int[] order, int size, int[] est, int[] p) {
+        clear();
+        for (int r = 0; r < size; r++) {
+            int node = capacity + r;
+            int i = order[r];
+            sumP[node] = sumPBar[node] = p[i];
+            ect[node] = ectBar[node] = est[i] + p[i];
+        }
+        for (int node = capacity - 1; node > 0; node--) {
+            combine(node);
+        }
+        lambda = true;
+    }
+
+    /**
+     * Add a task to Theta, or move it from Lambda to Theta.
+     *
+     * @param leaf rank of the task in the non-decreasing order of earliest starting times
+     * @param est  earliest starting time of the task
+     * @param p    processing time of the task
+     */
+    public void addToTheta(int leaf, int est, int p) {
+        int node = capacity + leaf;
+        sumP[node] = sumPBar[node] = p;
+        ect[node] = ectBar[node] = est + p;
+        respP[node] = respEct[node] = -1;
+        update(node >> 1);
+    }
+
+    /**
+     * Add a task to Lambda, or move it from Theta to Lambda.
+     *
+     * @param leaf rank of the task in the non-decreasing order of earliest starting times
+     * @param est  earliest starting time of the task
+     * @param p    processing time of the task
+     * @param task the value returned by {@link #getResponsibleEctBar()} when this task is responsible
+     */
+    public void addToLambda(int leaf, int est, int p, int task) {
+        if (!lambda) {
+            for (int node = capacity - 1; node > 0; node--) {
+                combine(node);
+            }
+            lambda = true;
+        }
+        int node = capacity + leaf;
+        sumP[node] = 0;
+        ect[node] = EMPTY;
+        sumPBar[node] = p;
+        ectBar[node] = est + p;
+        respP[node] = respEct[node] = task;
+        update(node >> 1);
+    }
+
+    /**
+     * Remove a task from Theta or Lambda.
+     *
+     * @param leaf rank of the task in the non-decreasing order of earliest starting times
+     */
+    public void remove(int leaf) {
+        int node = capacity + leaf;
+        sumP[node] = sumPBar[node] = 0;
+        ect[node] = ectBar[node] = EMPTY;
+        respP[node] = respEct[node] = -1;
+        update(node >> 1);
+    }
+
+    /**
+     * @return the earliest completion time of Theta
+     */
+    public int getEct() {
+        return ect[1];
+    }
+
+    /**
+     * @return the earliest completion time of Theta when at most one task of Lambda is added
+     */
+    public int getEctBar() {
+        return lambda ? ectBar[1] : ect[1];
+    }
+
+    /**
+     * @return the task of Lambda responsible for {@link #getEctBar()}, or -1 if no task of Lambda is
+     */
+    public int getResponsibleEctBar() {
+        return lambda ? respEct[1] : -1;
+    }
+
+    private void update(int node) {
+        if (lambda) {
+            while (node > 0) {
+                combine(node);
+                node >>= 1;
+            }
+        } else {
+            while (node > 0) {
+                int l = node << 1;
+                int r = l + 1;
+                sumP[node] = sumP[l] + sumP[r];
+                ect[node] = Math.max(ect[r], ect[l] + sumP[r]);
+                node >>= 1;
+            }
+        }
+    }
+
+    private void combine(int node) {
+        int l = node << 1;
+        int r = l + 1;
+        sumP[node] = sumP[l] + sumP[r];
+        ect[node] = Math.max(ect[r], ect[l] + sumP[r]);
+        if (sumPBar[l] + sumP[r] >= sumP[l] + sumPBar[r]) {
+            sumPBar[node] = sumPBar[l] + sumP[r];
+            respP[node] = respP[l];
+        } else {
+            sumPBar[node] = sumP[l] + sumPBar[r];
+            respP[node] = respP[r];
+        }
+        int e = ectBar[r];
+        int re = respEct[r];
+        if (ect[l] + sumPBar[r] > e) {
+            e = ect[l] + sumPBar[r];
+            re = respP[r];
+        }
+        if (ectBar[l] + sumP[r] > e) {
+            e = ectBar[l] + sumP[r];
+            re = respEct[l];
+        }
+        ectBar[node] = e;
+        respEct[node] = re;
+    }
+}
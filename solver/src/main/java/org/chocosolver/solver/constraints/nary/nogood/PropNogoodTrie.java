@@ -0,0 +1,642 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.nogood;
+
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.SetVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.solver.variables.events.SetEventType;
+import org.chocosolver.util.ESat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A store of nogoods extracted from decision paths, as in "Nogood Recording from Restarts", C. Lecoutre et al.
+ * Such a nogood is made of positive decisions followed by a refuted one,
+ * and the nogoods extracted from a decision path share their positive decisions.
+ * </p>
+ * <p>
+ * So, nogoods are stored in a trie: each node but the root is labelled with a decision (a variable, an operator
+ * and a value), a path from the root to a node denotes a sequence of decisions,
+ * and a node flagged as terminal ends a nogood: the decisions from the root to it cannot all hold.
+ * Shared prefixes are stored once, whatever the number of restarts.
+ * </p>
+ * <p>
+ * A node is open when the decisions of its path hold.
+ * The root is always open and, when a node is open, the decision of each of its terminal children is refuted
+ * and each of its other children is opened as soon as its decision holds.
+ * Open nodes are stored in a backtrackable stack, and undecided children of open nodes are watched
+ * on their variable, so propagation walks the trie incrementally as decisions are applied.
+ * Unlike a clause-based store, a decision is only refuted when all the decisions above it hold.
+ * </p>
+ * <p>
+ * The number of nodes is bounded: when the capacity is exceeded, only the nodes of the most recent paths are kept,
+ * nogoods made of a single decision being always kept.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @see org.chocosolver.solver.search.loop.monitors.NogoodFromRestarts
+ * @since 16/10/2026
+ */
+public class PropNogoodTrie extends Propagator<Variable> {
+
+    /**
+     * Operator of a decision: <i>x = v</i>
+     */
+    public static final int EQ = 0;
+    /**
+     * Operator of a decision: <i>x &ne; v</i>
+     */
+    public static final int NEQ = 1;
+    /**
+     * Operator of a decision: <i>x &le; v</i>
+     */
+    public static final int LE = 2;
+    /**
+     * Operator of a decision: <i>x &ge; v</i>
+     */
+    public static final int GE = 3;
+    /**
+     * Operator of a decision: <i>v &isin; S</i>
+     */
+    public static final int IN = 4;
+    /**
+     * Operator of a decision: <i>v &notin; S</i>
+     */
+    public static final int OUT = 5;
+
+    /**
+     * Default maximum number of nodes
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 18;
+
+    /**
+     * The root node
+     */
+    private static final int ROOT = 0;
+    /**
+     * No node
+     */
+    private static final int NONE = -1;
+
+    //***********************************************************************************
+    // THE TRIE, one entry per node
+    //***********************************************************************************
+
+    /**
+     * Index of the variable of the decision, in {@link #vars}
+     */
+    private int[] var;
+    /**
+     * Operator of the decision
+     */
+    private int[] op;
+    /**
+     * Value of the decision
+     */
+    private int[] val;
+    private int[] parent;
+    private int[] child;
+    private int[] sibling;
+    private boolean[] terminal;
+    /**
+     * Number of the last path which went through the node, to evict old nodes
+     */
+    private int[] stamp;
+    /**
+     * Number of nodes, including unreachable ones
+     */
+    private int size;
+    /**
+     * Maximum number of nodes
+     */
+    private final int capacity;
+    /**
+     * Number of paths recorded so far
+     */
+    private int paths;
+    /**
+     * Number of terminal nodes
+     */
+    private int nbNogoods;
+
+    //***********************************************************************************
+    // PROPAGATION
+    //***********************************************************************************
+
+    /**
+     * Position in {@link #vars} of each variable, by ID
+     */
+    private final TIntIntHashMap positions;
+    /**
+     * Variables to add to the scope
+     */
+    private final ArrayList<Variable> toAdd;
+    /**
+     * Open nodes, the first {@link #nbOpen} ones
+     */
+    private int[] open;
+    private final IStateInt nbOpen;
+    /**
+     * Position of each node in {@link #open}, meaningful only if the node is open
+     */
+    private int[] where;
+    /**
+     * Incremented each time a node is opened, to detect outdated watchers
+     */
+    private int[] opening;
+    private int clock;
+    /**
+     * For each variable, pairs (child, opening of its parent) of undecided children of open nodes
+     */
+    private int[][] watchers;
+    private int[] nbWatchers;
+    /**
+     * World in which the open nodes were last computed from scratch,
+     * the stack of open nodes cannot be trusted below it
+     */
+    private int rebuildWorld;
+
+    /**
+     * Create an empty nogood store, with a default capacity.
+     *
+     * @param model the model that declares the propagator
+     */
+    public PropNogoodTrie(Model model) {
+        this(model, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create an empty nogood store.
+     *
+     * @param model    the model that declares the propagator
+     * @param capacity maximum number of nodes of the trie
+     */
+    public PropNogoodTrie(Model model, int capacity) {
+        // this propagator initially has no variable
+        // adds a variable to fit to the super constructor
+        super(new Variable[]{model.getNbVars() > 0 ? model.getVar(0) : model.boolVar(false)},
+                PropagatorPriority.VERY_SLOW, true);
+        // erase this variable from the scope
+        this.vars = new Variable[0];
+        this.capacity = Math.max(capacity, 2);
+        int n = 64;
+        this.var = new int[n];
+        this.op = new int[n];
+        this.val = new int[n];
+        this.parent = new int[n];
+        this.child = new int[n];
+        this.sibling = new int[n];
+        this.terminal = new boolean[n];
+        this.stamp = new int[n];
+        this.open = new int[n];
+        this.where = new int[n];
+        this.opening = new int[n];
+        this.positions = new TIntIntHashMap(16, .5f, -1, -1);
+        this.toAdd = new ArrayList<>();
+        this.nbOpen = model.getEnvironment().makeInt(0);
+        this.watchers = new int[0][];
+        this.nbWatchers = new int[0];
+        this.rebuildWorld = Integer.MAX_VALUE;
+        // the root
+        this.size = 1;
+        this.parent[ROOT] = NONE;
+        this.child[ROOT] = NONE;
+        this.sibling[ROOT] = NONE;
+        this.stamp[ROOT] = Integer.MAX_VALUE;
+    }
+
+    //***********************************************************************************
+    // RECORDING
+    //***********************************************************************************
+
+    /**
+     * @param op a decision operator
+     * @return the code of <i>op</i>, -1 if it cannot be stored
+     */
+    public static int opCode(DecisionOperator<?> op) {
+        if (DecisionOperatorFactory.makeIntEq().equals(op)) {
+            return EQ;
+        } else if (DecisionOperatorFactory.makeIntNeq().equals(op)) {
+            return NEQ;
+        } else if (DecisionOperatorFactory.makeIntSplit().equals(op)) {
+            return LE;
+        } else if (DecisionOperatorFactory.makeIntReverseSplit().equals(op)) {
+            return GE;
+        } else if (DecisionOperatorFactory.makeSetForce().equals(op)) {
+            return IN;
+        } else if (DecisionOperatorFactory.makeSetRemove().equals(op)) {
+            return OUT;
+        }
+        return -1;
+    }
+
+    /**
+     * Start the recording of a new path, old nodes may be evicted before.
+     *
+     * @return the root of the trie
+     */
+    public int root() {
+        if (size > capacity) {
+            evict();
+        }
+        paths++;
+        if (model.getSolver().getEngine().isInitialized()) {
+            // the nogoods recorded are propagated from the root node
+            forcePropagationOnBacktrack();
+        }
+        return ROOT;
+    }
+
+    /**
+     * Extend a path with a positive decision.
+     *
+     * @param node     the last node of the path, as returned by {@link #root()} or by this method
+     * @param variable the variable of the decision
+     * @param operator the operator of the decision, see {@link #opCode(DecisionOperator)}
+     * @param value    the value of the decision
+     * @return the node denoting the extended path,
+     * or -1 if a stored nogood already forbids it (then, the path should not be extended anymore)
+     */
+    public int extend(int node, Variable variable, int operator, int value) {
+        if (node == NONE) {
+            return NONE;
+        }
+        int x = indexOf(variable);
+        int c = find(node, x, operator, value);
+        if (c == NONE) {
+            c = add(node, x, operator, value);
+        } else if (terminal[c]) {
+            return NONE;
+        }
+        stamp[c] = paths;
+        return c;
+    }
+
+    /**
+     * Record the nogood made of the decisions of a path and a refuted decision.
+     *
+     * @param node     the last node of the path, as returned by {@link #root()} or by {@link #extend}
+     * @param variable the variable of the refuted decision
+     * @param operator the operator of the refuted decision, see {@link #opCode(DecisionOperator)}
+     * @param value    the value of the refuted decision
+     */
+    public void forbid(int node, Variable variable, int operator, int value) {
+        if (node == NONE) {
+            return;
+        }
+        int x = indexOf(variable);
+        int c = find(node, x, operator, value);
+        if (c == NONE) {
+            c = add(node, x, operator, value);
+        } else if (terminal[c]) {
+            return;
+        }
+        // the nogoods below c are subsumed
+        terminal[c] = true;
+        child[c] = NONE;
+        nbNogoods++;
+        // a nogood made of a single decision is always kept
+        stamp[c] = node == ROOT ? Integer.MAX_VALUE : paths;
+    }
+
+    private int find(int node, int x, int operator, int value) {
+        for (int c = child[node]; c != NONE; c = sibling[c]) {
+            if (var[c] == x && op[c] == operator && val[c] == value) {
+                return c;
+            }
+        }
+        return NONE;
+    }
+
+    private int add(int node, int x, int operator, int value) {
+        if (size == var.length) {
+            int n = size * 3 / 2 + 1;
+            var = Arrays.copyOf(var, n);
+            op = Arrays.copyOf(op, n);
+            val = Arrays.copyOf(val, n);
+            parent = Arrays.copyOf(parent, n);
+            child = Arrays.copyOf(child, n);
+            sibling = Arrays.copyOf(sibling, n);
+            terminal = Arrays.copyOf(terminal, n);
+            stamp = Arrays.copyOf(stamp, n);
+            where = Arrays.copyOf(where, n);
+            opening = Arrays.copyOf(opening, n);
+        }
+        int c = size++;
+        var[c] = x;
+        op[c] = operator;
+        val[c] = value;
+        parent[c] = node;
+        child[c] = NONE;
+        terminal[c] = false;
+        // the new node is the first child of its parent
+        sibling[c] = child[node];
+        child[node] = c;
+        return c;
+    }
+
+    private int indexOf(Variable variable) {
+        int x = positions.get(variable.getId());
+        if (x == -1) {
+            x = vars.length + toAdd.size();
+            positions.put(variable.getId(), x);
+            toAdd.add(variable);
+        }
+        return x;
+    }
+
+    /**
+     * Keep the nodes of the most recent paths, at most half the capacity, and renumber them.
+     * Since a path stamps all its nodes, the nodes kept form a trie.
+     */
+    private void evict() {
+        // nodes below a terminal one are not reachable anymore
+        boolean[] reachable = new boolean[size];
+        int[] stamps = new int[size];
+        int n = 0;
+        for (int c = child[ROOT]; c != NONE; c = sibling[c]) {
+            reachable[c] = true;
+        }
+        // parents are created before their children
+        for (int c = 1; c < size; c++) {
+            if (reachable[c]) {
+                stamps[n++] = stamp[c];
+                for (int d = child[c]; d != NONE; d = sibling[d]) {
+                    reachable[d] = true;
+                }
+            }
+        }
+        Arrays.sort(stamps, 0, n);
+        int limit = n > capacity / 2 ? stamps[n - capacity / 2] : Integer.MIN_VALUE;
+        int[] renum = new int[size];
+        renum[ROOT] = ROOT;
+        int k = 1;
+        nbNogoods = 0;
+        for (int c = 1; c < size; c++) {
+            int p = renum[parent[c]];
+            if (reachable[c] && p != NONE && stamp[c] >= limit) {
+                renum[c] = k;
+                var[k] = var[c];
+                op[k] = op[c];
+                val[k] = val[c];
+                parent[k] = p;
+                terminal[k] = terminal[c];
+                stamp[k] = stamp[c];
+                if (terminal[k]) {
+                    nbNogoods++;
+                }
+                k++;
+            } else {
+                renum[c] = NONE;
+            }
+        }
+        size = k;
+        Arrays.fill(child, 0, size, NONE);
+        for (int c = size - 1; c > 0; c--) {
+            sibling[c] = child[parent[c]];
+            child[parent[c]] = c;
+        }
+        // node numbers have changed
+        rebuildWorld = Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return the number of nogoods stored
+     */
+    public int getNbNogoods() {
+        return nbNogoods;
+    }
+
+    /**
+     * @return the number of nodes of the trie, including the root
+     */
+    public int getNbNodes() {
+        return size;
+    }
+
+    //***********************************************************************************
+    // PROPAGATION
+    //***********************************************************************************
+
+    @Override
+    public int getPropagationConditions(int vIdx) {
+        if ((vars[vIdx].getTypeAndKind() & Variable.KIND) == Variable.SET) {
+            return SetEventType.all();
+        }
+        return IntEventType.all();
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (!toAdd.isEmpty()) {
+            Variable[] nvars = toAdd.toArray(new Variable[0]);
+            toAdd.clear();
+            addVariable(nvars);
+        }
+        if (watchers.length < vars.length) {
+            watchers = Arrays.copyOf(watchers, vars.length);
+            nbWatchers = Arrays.copyOf(nbWatchers, vars.length);
+        }
+        if (open.length < var.length) {
+            open = Arrays.copyOf(open, var.length);
+        }
+        Arrays.fill(nbWatchers, 0);
+        int world = model.getEnvironment().getWorldIndex();
+        if (PropagatorEventType.isFullPropagation(evtmask) && world < rebuildWorld) {
+            // compute open nodes from scratch
+            rebuildWorld = world;
+            nbOpen.set(0);
+            push(ROOT);
+            walk(0);
+        } else {
+            // rescan open nodes, the trie may have grown
+            walk(0);
+        }
+    }
+
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        if (model.getEnvironment().getWorldIndex() < rebuildWorld) {
+            // open nodes are not reliable
+            propagate(PropagatorEventType.FULL_PROPAGATION.getMask());
+        } else {
+            int from = nbOpen.get();
+            wake(idxVarInProp);
+            walk(from);
+        }
+    }
+
+    /**
+     * Scan the children of the open nodes, from the <i>from</i>-th one, including the nodes opened meanwhile.
+     */
+    private void walk(int from) throws ContradictionException {
+        for (int i = from; i < nbOpen.get(); i++) {
+            int node = open[i];
+            for (int c = child[node]; c != NONE; c = sibling[c]) {
+                if (var[c] >= vars.length) {
+                    // recorded during search, considered from the next full propagation
+                    continue;
+                }
+                if (terminal[c]) {
+                    if (refute(c)) {
+                        wake(var[c]);
+                    }
+                } else {
+                    int s = status(c);
+                    if (s > 0) {
+                        if (!isOpen(c)) {
+                            push(c);
+                        }
+                    } else if (s == 0) {
+                        watch(c, node);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Open the watched children on variable <i>x</i> whose decision holds, and forget outdated watchers.
+     */
+    private void wake(int x) {
+        int[] ws = watchers[x];
+        int n = nbWatchers[x];
+        for (int i = 0; i < n; ) {
+            int c = ws[i];
+            int p = parent[c];
+            if (!isOpen(p) || opening[p] != ws[i + 1]) {
+                n -= 2;
+                ws[i] = ws[n];
+                ws[i + 1] = ws[n + 1];
+            } else {
+                if (!isOpen(c) && status(c) > 0) {
+                    push(c);
+                }
+                i += 2;
+            }
+        }
+        nbWatchers[x] = n;
+    }
+
+    private void watch(int c, int p) {
+        int x = var[c];
+        int[] ws = watchers[x];
+        if (ws == null) {
+            ws = watchers[x] = new int[8];
+        } else if (nbWatchers[x] == ws.length) {
+            ws = watchers[x] = Arrays.copyOf(ws, ws.length * 2);
+        }
+        ws[nbWatchers[x]++] = c;
+        ws[nbWatchers[x]++] = opening[p];
+    }
+
+    private void push(int node) {
+        int n = nbOpen.get();
+        if (n == open.length) {
+            open = Arrays.copyOf(open, n * 2);
+        }
+        open[n] = node;
+        where[node] = n;
+        opening[node] = ++clock;
+        nbOpen.set(n + 1);
+    }
+
+    private boolean isOpen(int node) {
+        int w = where[node];
+        return w < nbOpen.get() && open[w] == node;
+    }
+
+    /**
+     * @return 1 if the decision of <i>node</i> holds, -1 if it is refuted, 0 otherwise
+     */
+    private int status(int node) {
+        int v = val[node];
+        if (op[node] >= IN) {
+            SetVar s = (SetVar) vars[var[node]];
+            boolean in = op[node] == IN;
+            if (s.getLB().contains(v)) {
+                return in ? 1 : -1;
+            } else if (!s.getUB().contains(v)) {
+                return in ? -1 : 1;
+            }
+            return 0;
+        }
+        IntVar x = (IntVar) vars[var[node]];
+        switch (op[node]) {
+            case EQ:
+                return x.isInstantiatedTo(v) ? 1 : x.contains(v) ? 0 : -1;
+            case NEQ:
+                return x.isInstantiatedTo(v) ? -1 : x.contains(v) ? 0 : 1;
+            case LE:
+                return x.getUB() <= v ? 1 : x.getLB() > v ? -1 : 0;
+            default:
+                return x.getLB() >= v ? 1 : x.getUB() < v ? -1 : 0;
+        }
+    }
+
+    /**
+     * Refute the decision of <i>node</i>.
+     *
+     * @return <tt>true</tt> if the domain of its variable has changed
+     */
+    private boolean refute(int node) throws ContradictionException {
+        int v = val[node];
+        switch (op[node]) {
+            case EQ:
+                return ((IntVar) vars[var[node]]).removeValue(v, this);
+            case NEQ:
+                return ((IntVar) vars[var[node]]).instantiateTo(v, this);
+            case LE:
+                return ((IntVar) vars[var[node]]).updateLowerBound(v + 1, this);
+            case GE:
+                return ((IntVar) vars[var[node]]).updateUpperBound(v - 1, this);
+            case IN:
+                return ((SetVar) vars[var[node]]).remove(v, this);
+            default:
+                return ((SetVar) vars[var[node]]).force(v, this);
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        if (!isCompletelyInstantiated()) {
+            return ESat.UNDEFINED;
+        }
+        // look for a nogood whose decisions all hold
+        int[] stack = new int[size];
+        int n = 0;
+        stack[n++] = ROOT;
+        while (n > 0) {
+            int node = stack[--n];
+            for (int c = child[node]; c != NONE; c = sibling[c]) {
+                if (var[c] < vars.length && status(c) > 0) {
+                    if (terminal[c]) {
+                        return ESat.FALSE;
+                    }
+                    stack[n++] = c;
+                }
+            }
+        }
+        return ESat.TRUE;
+    }
+}
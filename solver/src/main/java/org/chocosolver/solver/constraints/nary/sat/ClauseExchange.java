@@ -0,0 +1,607 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.sat;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.nary.clauses.ClauseBuilder;
+import org.chocosolver.solver.constraints.nary.nogood.PropNogoodTrie;
+import org.chocosolver.solver.learn.ExplanationForSignedClause;
+import org.chocosolver.solver.search.loop.learn.LearnSignedClauses;
+import org.chocosolver.solver.search.loop.monitors.IMonitorOpenNode;
+import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
+import org.chocosolver.solver.search.loop.monitors.NogoodFromRestarts;
+import org.chocosolver.solver.search.loop.move.MoveLNS;
+import org.chocosolver.solver.search.strategy.decision.Decision;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.search.strategy.decision.SetDecision;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ * This class manages clause sharing among models involved in a {@link org.chocosolver.solver.ParallelPortfolio}.
+ * In this, we make the following hypothesis: all models were created following the very same steps.
+ * The consequence is that a variable has the same ID in all models.
+ * </p>
+ * <p>
+ * Each registered model owns a {@link Channel}, that is a bounded ring buffer it is the only one to write in.
+ * Clauses are published without lock and are read by the other models on their own thread,
+ * either before each restart or every {@link #getNodeInterval()} nodes.
+ * When a reader falls too far behind a writer, the oldest clauses are lost.
+ * Only short clauses (wrt their size and their LBD) are exported.
+ * </p>
+ * <p>
+ * Two kinds of clauses are exchanged:
+ * <ul>
+ *     <li>nogoods extracted, before each restart, from the decision path of a model
+ *     (see {@link NogoodFromRestarts}),
+ *     they are imported in the SAT store of the other models (see {@link PropSat}),
+ *     or in their nogood trie (see {@link PropNogoodTrie}) when they store nogoods from restarts in a trie,</li>
+ *     <li>signed clauses learnt on conflicts by a model equipped with {@link LearnSignedClauses},
+ *     they are imported in the clause store of the other models that learn signed clauses too
+ *     (see {@link org.chocosolver.solver.constraints.nary.clauses.ClauseStore}).</li>
+ * </ul>
+ * A model running a LNS only imports clauses: its neighbors are frozen without any decision,
+ * so what it learns only holds in the current neighborhood.
+ * </p>
+ * <p>
+ * Project: choco.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class ClauseExchange {
+
+    /**
+     * Default number of clauses a channel can hold.
+     */
+    public static final int CAPACITY = 1024;
+
+    /**
+     * Default maximum number of literals of an exported clause.
+     */
+    public static final int MAX_SIZE = 32;
+
+    /**
+     * Default maximum LBD of an exported clause.
+     */
+    public static final int MAX_LBD = 12;
+
+    /**
+     * Default number of nodes between two imports.
+     */
+    public static final int NODE_INTERVAL = 1000;
+
+    /**
+     * Kind of clause built from a decision path
+     */
+    private static final int NOGOOD = 0;
+
+    /**
+     * Kind of clause learnt on conflict
+     */
+    private static final int SIGNED = 1;
+
+    /**
+     * A clause, as published in a channel.
+     * The clause is model-independent: variables are referenced by their ID.
+     */
+    private static final class SharedClause {
+        /**
+         * Position in the channel
+         */
+        private final long seq;
+        /**
+         * Either {@link #NOGOOD} or {@link #SIGNED}
+         */
+        private final int kind;
+        /**
+         * For {@link #NOGOOD}, a sequence of triplets (var ID, operator, value) which denotes decisions
+         * that cannot be all satisfied together.
+         * For {@link #SIGNED}, a sequence of (var ID, number of ranges, lb_1, ub_1, ..., lb_n, ub_n)
+         * which denotes a signed clause.
+         */
+        private final int[] data;
+
+        private SharedClause(long seq, int kind, int[] data) {
+            this.seq = seq;
+            this.kind = kind;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Number of slots in a channel, a power of 2
+     */
+    private final int capacity;
+
+    /**
+     * Maximum number of literals of an exported clause
+     */
+    private final int maxSize;
+
+    /**
+     * Maximum LBD of an exported clause
+     */
+    private final int maxLBD;
+
+    /**
+     * Number of nodes between two imports, 0 means imports happen only on restarts
+     */
+    private final int nodeInterval;
+
+    /**
+     * One channel per model registered
+     */
+    private final List<Channel> channels;
+
+    /**
+     * Create a clause exchange.
+     *
+     * @param capacity     number of clauses a channel can hold, must be a power of 2
+     * @param maxSize      maximum number of literals of an exported clause
+     * @param maxLBD       maximum LBD of an exported clause
+     * @param nodeInterval number of nodes between two imports, set to 0 to only import on restarts
+     */
+    public ClauseExchange(int capacity, int maxSize, int maxLBD, int nodeInterval) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of 2, found " + capacity);
+        }
+        if (nodeInterval < 0) {
+            throw new IllegalArgumentException("Node interval must be positive or null, found " + nodeInterval);
+        }
+        this.capacity = capacity;
+        this.maxSize = maxSize;
+        this.maxLBD = maxLBD;
+        this.nodeInterval = nodeInterval;
+        this.channels = new ArrayList<>();
+    }
+
+    /**
+     * Create a clause exchange with default parameters.
+     *
+     * @see #CAPACITY
+     * @see #MAX_SIZE
+     * @see #MAX_LBD
+     * @see #NODE_INTERVAL
+     */
+    public ClauseExchange() {
+        this(CAPACITY, MAX_SIZE, MAX_LBD, NODE_INTERVAL);
+    }
+
+    /**
+     * Register <i>model</i> in this exchange and plug the channel in its solver.
+     * The SAT store of <i>model</i> is created if needed, so this method must be called before solving.
+     * An unreliable model (ie, with non-redundant constraints) should not be registered.
+     *
+     * @param model a model
+     * @return the channel of <i>model</i>
+     */
+    @SuppressWarnings("rawtypes")
+    public Channel register(Model model) {
+        assert valid(model) : "Cannot share clauses between non equivalent models";
+        Channel channel = new Channel(model, channels.size());
+        channels.add(channel);
+        model.getMinisat();
+        model.getSolver().plugMonitor(channel);
+        if (model.getSolver().getLearner() instanceof LearnSignedClauses) {
+            ((LearnSignedClauses) model.getSolver().getLearner()).setClauseExchange(channel);
+        }
+        return channel;
+    }
+
+    private boolean valid(Model model) {
+        if (channels.size() > 0) {
+            // compare variables declared before registration only
+            Channel first = channels.get(0);
+            Variable[] vars0 = first.model.getVars();
+            Variable[] vars1 = model.getVars();
+            if (first.nbVars != vars1.length) {
+                return false;
+            }
+            for (int i = 0; i < first.nbVars; i++) {
+                if (vars0[i].getId() != vars1[i].getId()
+                        || !vars0[i].getName().equals(vars1[i].getName())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of slots of each channel
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the maximum number of literals of an exported clause
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the maximum LBD of an exported clause
+     */
+    public int getMaxLBD() {
+        return maxLBD;
+    }
+
+    /**
+     * @return the number of nodes between two imports, 0 if imports only happen on restarts
+     */
+    public int getNodeInterval() {
+        return nodeInterval;
+    }
+
+    /**
+     * @return the channels, one per registered model
+     */
+    public List<Channel> getChannels() {
+        return channels;
+    }
+
+    /**
+     * @return the total number of clauses exported.
+     * Counters are maintained by the thread running each model, so they should be read once solving is over.
+     */
+    public long getNbExported() {
+        return channels.stream().mapToLong(Channel::getNbExported).sum();
+    }
+
+    /**
+     * @return the total number of clauses imported.
+     * Counters are maintained by the thread running each model, so they should be read once solving is over.
+     */
+    public long getNbImported() {
+        return channels.stream().mapToLong(Channel::getNbImported).sum();
+    }
+
+    /**
+     * @return the total number of clauses imported which have filtered at least once.
+     * Counters are maintained by the thread running each model, so they should be read once solving is over.
+     */
+    public long getNbUseful() {
+        return channels.stream().mapToLong(Channel::getNbUseful).sum();
+    }
+
+    /**
+     * Adapted from {@link java.util.Arrays#binarySearch(Object[], Object)}
+     *
+     * @param model a model
+     * @param id    ID of a variable
+     * @return the variable of <i>model</i> with ID <i>id</i>, or <tt>null</tt>
+     */
+    public static Variable getById(Model model, int id) {
+        int low = 0;
+        int high = model.getNbVars() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Variable midVal = model.getVar(mid);
+            int cmp = midVal.getId() - id;
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return midVal;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The end point of a model in a {@link ClauseExchange}.
+     * It publishes the clauses of its model in a ring buffer and imports clauses published by the other models.
+     * All methods are expected to be called by the thread running the model.
+     */
+    public final class Channel implements IMonitorRestart, IMonitorOpenNode {
+
+        /**
+         * The model this channel is attached to
+         */
+        private final Model model;
+        /**
+         * Position of this channel in {@link #channels}
+         */
+        private final int index;
+        /**
+         * Number of variables of the model when registered
+         */
+        private final int nbVars;
+        /**
+         * The ring buffer, only written by the model's thread
+         */
+        private final AtomicReferenceArray<SharedClause> ring;
+        /**
+         * Sequence number of the next clause to publish
+         */
+        private final AtomicLong head;
+        /**
+         * For each channel, sequence number of the next clause to import
+         */
+        private long[] cursors;
+        /**
+         * Number of nodes opened since the last import
+         */
+        private int nodes;
+        /**
+         * Buffer to build clauses
+         */
+        private final TIntArrayList buffer;
+        /**
+         * Buffer to build SAT literals
+         */
+        private final TIntArrayList lits;
+        private long nbExported;
+        private long nbImported;
+        private long nbUsefulUnits;
+
+        private Channel(Model model, int index) {
+            this.model = model;
+            this.index = index;
+            this.nbVars = model.getNbVars();
+            this.ring = new AtomicReferenceArray<>(capacity);
+            this.head = new AtomicLong();
+            this.cursors = new long[0];
+            this.buffer = new TIntArrayList();
+            this.lits = new TIntArrayList();
+        }
+
+        @Override
+        public void beforeRestart() {
+            if (canExport()) {
+                exportNogoodsFromPath(model.getSolver().getDecisionPath());
+            }
+            importAll();
+        }
+
+        @Override
+        public void beforeOpenNode() {
+            if (nodeInterval > 0 && ++nodes >= nodeInterval) {
+                importAll();
+            }
+        }
+
+        /**
+         * @return <tt>true</tt> if the clauses learnt by the model hold in the other models,
+         * which is not the case when some variables are frozen by a LNS
+         */
+        private boolean canExport() {
+            return !(model.getSolver().getMove() instanceof MoveLNS);
+        }
+
+        private void publish(int kind, int[] data) {
+            long h = head.get();
+            ring.lazySet((int) (h & (capacity - 1)), new SharedClause(h, kind, data));
+            // the clause is visible before the head moves forward
+            head.lazySet(h + 1);
+            nbExported++;
+        }
+
+        /**
+         * Publish the nogoods that can be extracted from <i>decisionPath</i>:
+         * each refuted decision, together with the positive decisions above it, forms a nogood.
+         * The LBD of such a nogood is its size.
+         *
+         * @param decisionPath a decision path of the model
+         */
+        @SuppressWarnings("rawtypes")
+        public void exportNogoodsFromPath(DecisionPath decisionPath) {
+            buffer.resetQuick();
+            int size = 0;
+            // 0 is ROOT
+            for (int i = 1; i < decisionPath.size() && size < Math.min(maxSize, maxLBD); i++) {
+                Decision decision = decisionPath.getDecision(i);
+                int op;
+                if (decision instanceof IntDecision) {
+                    op = PropNogoodTrie.opCode(((IntDecision) decision).getDecOp());
+                } else if (decision instanceof SetDecision) {
+                    op = PropNogoodTrie.opCode(((SetDecision) decision).getDecOp());
+                } else {
+                    op = -1;
+                }
+                if (op == -1) {
+                    // cannot deal with such decision, nor with the ones below
+                    return;
+                }
+                buffer.add(decision.getDecisionVariable().getId());
+                buffer.add(op);
+                buffer.add((Integer) decision.getDecisionValue());
+                size++;
+                if (!decision.hasNext() && decision.getArity() > 1) {
+                    publish(NOGOOD, buffer.toArray());
+                    // the refuted decision is now implied
+                    buffer.remove(buffer.size() - 3, 3);
+                    size--;
+                }
+            }
+        }
+
+        /**
+         * Publish the signed clause stored in <i>explanation</i>, if it is short enough.
+         *
+         * @param explanation an explanation of a conflict
+         * @param lbd         its LBD
+         */
+        public void exportSignedClause(ExplanationForSignedClause explanation, int lbd) {
+            if (explanation.getCardinality() > maxSize || lbd > maxLBD || !canExport()) {
+                return;
+            }
+            buffer.resetQuick();
+            for (int i = 0; i < explanation.getCardinality(); i++) {
+                IntVar var = explanation.getLiteral(i);
+                IntIterableRangeSet set = var.getLit().export();
+                buffer.add(var.getId());
+                buffer.add(set.getNbRanges());
+                for (int r = 0; r < set.getNbRanges(); r++) {
+                    buffer.add(set.minOfRange(r));
+                    buffer.add(set.maxOfRange(r));
+                }
+            }
+            publish(SIGNED, buffer.toArray());
+        }
+
+        /**
+         * Import all clauses published by the other channels since the last call.
+         */
+        public void importAll() {
+            nodes = 0;
+            if (cursors.length < channels.size()) {
+                long[] tmp = new long[channels.size()];
+                System.arraycopy(cursors, 0, tmp, 0, cursors.length);
+                cursors = tmp;
+            }
+            for (int c = 0; c < channels.size(); c++) {
+                if (c == index) continue;
+                Channel source = channels.get(c);
+                long h = source.head.get();
+                long cursor = Math.max(cursors[c], h - capacity);
+                for (; cursor < h; cursor++) {
+                    SharedClause clause = source.ring.get((int) (cursor & (capacity - 1)));
+                    // the slot may have been overwritten in the meantime
+                    if (clause != null && clause.seq == cursor) {
+                        importClause(clause);
+                    }
+                }
+                cursors[c] = h;
+            }
+        }
+
+        private void importClause(SharedClause clause) {
+            boolean imported;
+            if (clause.kind == NOGOOD) {
+                imported = importNogood(clause.data);
+            } else {
+                imported = importSignedClause(clause.data);
+            }
+            if (imported) {
+                nbImported++;
+            }
+        }
+
+        private boolean importNogood(int[] data) {
+            if (model.getHook(Model.NOGOODS_HOOK_NAME) != null) {
+                return importNogoodInTrie(data);
+            }
+            if (model.getHook(Model.MINISAT_HOOK_NAME) == null) {
+                return false;
+            }
+            PropSat png = model.getMinisat().getPropSat();
+            lits.resetQuick();
+            for (int i = 0; i < data.length; i += 3) {
+                Variable var = getById(model, data[i]);
+                if (var == null) {
+                    return false;
+                }
+                lits.add(NogoodFromRestarts.asLit(png, var, data[i + 1], data[i + 2]));
+            }
+            if (lits.size() == 1) {
+                // a unit clause always filters
+                nbUsefulUnits++;
+            }
+            png.importLearnt(lits.toArray());
+            return true;
+        }
+
+        private boolean importNogoodInTrie(int[] data) {
+            PropNogoodTrie trie = model.getNogoodTrie();
+            int node = trie.root();
+            for (int i = 0; i < data.length && node > -1; i += 3) {
+                Variable var = getById(model, data[i]);
+                if (var == null) {
+                    return false;
+                }
+                if (i + 3 < data.length) {
+                    node = trie.extend(node, var, data[i + 1], data[i + 2]);
+                } else {
+                    trie.forbid(node, var, data[i + 1], data[i + 2]);
+                }
+            }
+            if (data.length == 3) {
+                // a unit nogood always filters
+                nbUsefulUnits++;
+            }
+            return true;
+        }
+
+        private boolean importSignedClause(int[] data) {
+            if (model.getHook(Model.CLAUSES_HOOK_NAME) == null
+                    || model.getHook(Model.CLAUSESBUILDER_HOOK_NAME) == null) {
+                return false;
+            }
+            // first check that all variables exist, since the builder cannot be rolled back
+            for (int i = 0; i < data.length; i += 2 + 2 * data[i + 1]) {
+                if (getById(model, data[i]) == null) {
+                    return false;
+                }
+            }
+            ClauseBuilder builder = model.getClauseBuilder();
+            for (int i = 0; i < data.length; ) {
+                IntVar var = (IntVar) getById(model, data[i]);
+                int nbRanges = data[i + 1];
+                i += 2;
+                IntIterableRangeSet set = new IntIterableRangeSet();
+                for (int r = 0; r < nbRanges; r++, i += 2) {
+                    set.addBetween(data[i], data[i + 1]);
+                }
+                builder.put(var, set);
+            }
+            builder.buildNogood(model, true);
+            return true;
+        }
+
+        /**
+         * @return the model this channel is attached to
+         */
+        public Model getModel() {
+            return model;
+        }
+
+        /**
+         * @return the number of clauses exported by this channel
+         */
+        public long getNbExported() {
+            return nbExported;
+        }
+
+        /**
+         * @return the number of clauses imported by this channel
+         */
+        public long getNbImported() {
+            return nbImported;
+        }
+
+        /**
+         * @return the number of clauses imported by this channel which have filtered at least once
+         */
+        public long getNbUseful() {
+            long useful = nbUsefulUnits;
+            if (model.getHook(Model.MINISAT_HOOK_NAME) != null) {
+                useful += model.getMinisat().getPropSat().getMiniSat().getNbUsefulImports();
+            }
+            if (model.getHook(Model.CLAUSES_HOOK_NAME) != null) {
+                useful += model.getClauseConstraint().getClauseStore().getNbUsefulImports();
+            }
+            return useful;
+        }
+    }
+}
@@ -27,7 +27,10 @@ import org.chocosolver.solver.variables.Variable;
  *
  * @author Charles Prud'homme
  * @since 10/02/2020.
+ * @deprecated reading the decision path of a model from another thread is not safe,
+ * use {@link ClauseExchange} instead
  */
+@Deprecated
 public class NogoodStealer {
 
     /**
@@ -219,4 +219,14 @@ public class PropSat extends Propagator<Variable> {
 
     }
 
+    /**
+     * Add a clause learnt by another solver to SAT solver
+     *
+     * @param lits clause
+     */
+    public void importLearnt(int... lits) {
+        sat_.importClause(lits);
+        forcePropagationOnBacktrack();
+    }
+
 }
@@ -70,7 +70,9 @@ public class IntLinCombFactory {
                                     int minCardForDecomposition) {
         // 0. normalize data
         Model model = SCALAR.getModel();
-        if (VARS.length > minCardForDecomposition) {
+        // an incremental propagator does not need to be decomposed
+        if (VARS.length > minCardForDecomposition
+                && !model.getSettings().enableIncrementalityOnSum(VARS.length)) {
             int k = VARS.length;
             int d1 = (int) Math.sqrt(k);
             int d2 = k / d1 + (k % d1 == 0?0:1);
@@ -301,6 +303,12 @@ public class IntLinCombFactory {
 
                     }
                 }
+                if (model.getSettings().enableIncrementalityOnSum(tmpV.length)) {
+                    int[] tmpC = new int[tmpV.length];
+                    Arrays.fill(tmpC, 0, b, 1);
+                    Arrays.fill(tmpC, b, tmpC.length, -1);
+                    return new SumConstraint(new PropScalarIncr(tmpV, tmpC, b, OPERATOR, RESULT));
+                }
                 return new SumConstraint( new PropSum(tmpV, b, OPERATOR, RESULT));
         }
     }
@@ -357,6 +365,9 @@ public class IntLinCombFactory {
             OPERATOR = Operator.LE;
             RESULT--;
         }
+        if (s.getSettings().enableIncrementalityOnSum(tmpV.length)) {
+            return new SumConstraint(new PropScalarIncr(tmpV, tmpC, b, OPERATOR, RESULT));
+        }
         return new SumConstraint(new PropScalar(tmpV, tmpC, b, OPERATOR, RESULT));
     }
 
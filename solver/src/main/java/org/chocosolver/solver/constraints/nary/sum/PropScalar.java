@@ -34,7 +34,7 @@ public class PropScalar extends PropSum {
     /**
      * The coefficients
      */
-    private final int[] c;
+    protected final int[] c;
 
     /**
      * Create a scalar product: SUM(x_i*c_i) o b
@@ -50,6 +50,11 @@ public class PropScalar extends PropSum {
         this.c = coeffs;
     }
 
+    PropScalar(IntVar[] variables, int[] coeffs, int pos, Operator o, int b, boolean reactOnFineEvent) {
+        super(variables, pos, o, b, computePriority(variables.length), reactOnFineEvent);
+        this.c = coeffs;
+    }
+
 
     @Override
     protected void prepare() {
@@ -466,7 +471,7 @@ public class PropScalar extends PropSum {
     }
 
 
-    private int divFloor(int a, int b) {
+    static int divFloor(int a, int b) {
         // <!> we assume b > 0
         if (a >= 0) {
             return (a / b);
@@ -475,7 +480,7 @@ public class PropScalar extends PropSum {
         }
     }
 
-    private int divCeil(int a, int b) {
+    static int divCeil(int a, int b) {
         // <!> we assume b > 0
         if (a >= 0) {
             return ((a + b - 1) / b);
@@ -0,0 +1,296 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.sum;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateIntVector;
+import org.chocosolver.solver.constraints.Operator;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+
+import java.util.Arrays;
+
+/**
+ * A propagator for SUM(x_i*c_i) o b, maintained incrementally.
+ * <br/>
+ * Based on "Bounds Consistency Techniques for Long Linear Constraint" </br>
+ * W. Harvey and J. Schimpf
+ * <p>
+ * Like {@link PropSumBoolIncr}, the sums of the lower bounds and of the upper bounds of the terms are trailed
+ * and updated on each bound modification, in constant time, instead of being recomputed on each propagation.
+ * Filtering is only triggered when a bound relevant to the operator has changed,
+ * and visits the terms by decreasing span (ie, <i>c_i * (ub_i - lb_i)</i>, as observed on initial propagation)
+ * and stops as soon as no term can be filtered anymore.
+ * A sum is declared with coefficients equal to 1 or -1.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class PropScalarIncr extends PropScalar {
+
+    /**
+     * Sum of the lower bounds of the terms, maintained incrementally.
+     */
+    private final IStateInt sLB;
+
+    /**
+     * Sum of the upper bounds of the terms, maintained incrementally.
+     */
+    private final IStateInt sUB;
+
+    /**
+     * Lower bound of each term, as counted in {@link #sLB}.
+     */
+    private final IStateIntVector mins;
+
+    /**
+     * Upper bound of each term, as counted in {@link #sUB}.
+     */
+    private final IStateIntVector maxs;
+
+    /**
+     * Span of each term on initial propagation, an upper bound of its current span.
+     */
+    private final int[] spans;
+
+    /**
+     * Terms sorted by decreasing initial span.
+     */
+    private final int[] order;
+
+    /**
+     * The filtering algorithm is triggered on some particular events.
+     * This boolean indicates when the propagation should be executed.
+     */
+    private boolean doFilter;
+
+    /**
+     * Create a scalar product: SUM(x_i*c_i) o b, maintained incrementally.
+     * Variables and coefficients are excepted to be ordered wrt to coefficients: first positive ones then negative ones.
+     *
+     * @param variables list of integer variables
+     * @param coeffs    list of coefficients
+     * @param pos       position of the last positive coefficient
+     * @param o         operator
+     * @param b         bound to respect.
+     */
+    public PropScalarIncr(IntVar[] variables, int[] coeffs, int pos, Operator o, int b) {
+        super(variables, coeffs, pos, o, b, true);
+        IEnvironment environment = model.getEnvironment();
+        this.sLB = environment.makeInt(0);
+        this.sUB = environment.makeInt(0);
+        this.mins = environment.makeIntVector(l, 0);
+        this.maxs = environment.makeIntVector(l, 0);
+        this.spans = new int[l];
+        this.order = new int[l];
+    }
+
+    private int min(int i) {
+        return i < pos ? vars[i].getLB() * c[i] : vars[i].getUB() * c[i];
+    }
+
+    private int max(int i) {
+        return i < pos ? vars[i].getUB() * c[i] : vars[i].getLB() * c[i];
+    }
+
+    /**
+     * Update the bounds of the term <i>i</i>, and the sums, wrt the domain of its variable.
+     *
+     * @param i index of a term
+     * @return <tt>true</tt> if the lower bound or the upper bound of the term has changed
+     */
+    private boolean refresh(int i) {
+        int lb = min(i);
+        int ub = max(i);
+        int olb = mins.quickGet(i);
+        int oub = maxs.quickGet(i);
+        if (lb != olb) {
+            sLB.add(lb - olb);
+            mins.quickSet(i, lb);
+        }
+        if (ub != oub) {
+            sUB.add(ub - oub);
+            maxs.quickSet(i, ub);
+        }
+        return lb != olb || ub != oub;
+    }
+
+    @Override
+    public void propagate(int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            int slb = 0, sub = 0;
+            long[] keys = new long[l];
+            for (int i = 0; i < l; i++) {
+                int lb = min(i);
+                int ub = max(i);
+                mins.quickSet(i, lb);
+                maxs.quickSet(i, ub);
+                slb += lb;
+                sub += ub;
+                spans[i] = ub - lb;
+                keys[i] = ((long) spans[i] << 32) | i;
+            }
+            sLB.set(slb);
+            sUB.set(sub);
+            Arrays.sort(keys);
+            for (int i = 0; i < l; i++) {
+                order[i] = (int) keys[l - 1 - i];
+            }
+        }
+        doFilter = false;
+        filter();
+    }
+
+    @Override
+    public void propagate(int idxVarInProp, int mask) throws ContradictionException {
+        int olb = mins.quickGet(idxVarInProp);
+        int oub = maxs.quickGet(idxVarInProp);
+        refresh(idxVarInProp);
+        if (o == Operator.NQ) {
+            doFilter = true;
+        } else {
+            doFilter |= o != Operator.GE && mins.quickGet(idxVarInProp) != olb;
+            doFilter |= o != Operator.LE && maxs.quickGet(idxVarInProp) != oub;
+        }
+        if (doFilter) {
+            forcePropagate(PropagatorEventType.CUSTOM_PROPAGATION);
+        }
+    }
+
+    @Override
+    protected void prepare() {
+        sumLB = sLB.get();
+        sumUB = sUB.get();
+    }
+
+    /**
+     * Decrease the upper bound of the term <i>i</i> wrt <i>F</i>, the slack wrt the sum of lower bounds.
+     *
+     * @param i index of a term
+     * @param F slack
+     * @return <tt>true</tt> if the domain of the variable has changed
+     * @throws ContradictionException if a domain becomes empty
+     */
+    private boolean decreaseMax(int i, int F) throws ContradictionException {
+        int lb = mins.quickGet(i);
+        if (i < pos) {
+            return vars[i].updateUpperBound(divFloor(F + lb, c[i]), this);
+        } else {
+            return vars[i].updateLowerBound(divCeil(-F - lb, -c[i]), this);
+        }
+    }
+
+    /**
+     * Increase the lower bound of the term <i>i</i> wrt <i>E</i>, the slack wrt the sum of upper bounds.
+     *
+     * @param i index of a term
+     * @param E slack
+     * @return <tt>true</tt> if the domain of the variable has changed
+     * @throws ContradictionException if a domain becomes empty
+     */
+    private boolean increaseMin(int i, int E) throws ContradictionException {
+        int ub = maxs.quickGet(i);
+        if (i < pos) {
+            return vars[i].updateLowerBound(divCeil(ub - E, c[i]), this);
+        } else {
+            return vars[i].updateUpperBound(divFloor(-ub + E, -c[i]), this);
+        }
+    }
+
+    @Override
+    protected void filterOnEq() throws ContradictionException {
+        boolean anychange;
+        do {
+            anychange = false;
+            int F = b - sLB.get();
+            int E = sUB.get() - b;
+            // When explanations are on, no global failure allowed
+            if (model.getSolver().isLearnOff() && (F < 0 || E < 0)) {
+                fails();
+            }
+            for (int k = 0; k < l; k++) {
+                int i = order[k];
+                if (spans[i] <= F && spans[i] <= E) {
+                    break;
+                }
+                int span = maxs.quickGet(i) - mins.quickGet(i);
+                if (span > F && decreaseMax(i, F)) {
+                    refresh(i);
+                    E = sUB.get() - b;
+                    anychange = true;
+                    span = maxs.quickGet(i) - mins.quickGet(i);
+                }
+                if (span > E && increaseMin(i, E)) {
+                    refresh(i);
+                    F = b - sLB.get();
+                    anychange = true;
+                }
+            }
+            if (F <= 0 && E <= 0) {
+                this.setPassive();
+                return;
+            }
+        } while (anychange);
+    }
+
+    @Override
+    protected void filterOnLeq() throws ContradictionException {
+        int F = b - sLB.get();
+        // When explanations are on, no global failure allowed
+        if (model.getSolver().isLearnOff() && F < 0) {
+            fails();
+        }
+        for (int k = 0; k < l; k++) {
+            int i = order[k];
+            if (spans[i] <= F) {
+                break;
+            }
+            // the upper bound of the term may not be up to date, since such events are not listened to
+            refresh(i);
+            if (maxs.quickGet(i) - mins.quickGet(i) > F && decreaseMax(i, F)) {
+                refresh(i);
+            }
+        }
+        if (sUB.get() <= b) {
+            this.setPassive();
+        }
+    }
+
+    @Override
+    protected void filterOnGeq() throws ContradictionException {
+        int E = sUB.get() - b;
+        // When explanations are on, no global failure allowed
+        if (model.getSolver().isLearnOff() && E < 0) {
+            fails();
+        }
+        for (int k = 0; k < l; k++) {
+            int i = order[k];
+            if (spans[i] <= E) {
+                break;
+            }
+            // the lower bound of the term may not be up to date, since such events are not listened to
+            refresh(i);
+            if (maxs.quickGet(i) - mins.quickGet(i) > E && increaseMin(i, E)) {
+                refresh(i);
+            }
+        }
+        if (sLB.get() >= b) {
+            this.setPassive();
+        }
+    }
+
+    @Override
+    protected PropSum opposite() {
+        return new PropScalarIncr(vars, c, pos, nop(o), b + nb(o));
+    }
+}
@@ -23,16 +23,22 @@ import org.chocosolver.solver.search.strategy.decision.IntDecision;
 import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.impl.siglit.SignedLiteral;
 import org.chocosolver.util.PoolManager;
 import org.chocosolver.util.objects.ValueSortedMap;
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
 
-import java.util.HashSet;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * An implementation of {@link IExplanation} dedicated to learn signed clauses
  * <p>
- *
+ * Literals are stored in a sparse set indexed by variable ids, and decision levels are marked with stamps,
+ * so that, once the internal arrays have grown, explaining a conflict does not allocate objects.
  * <p>
  * Project: choco-solver.
  *
@@ -46,9 +52,21 @@ public class ExplanationForSignedClause extends IExplanation {
      */
     private final ValueSortedMap<IntVar> front;
     /**
-     * Literals that explains the conflict
+     * Literals that explains the conflict, the first {@link #nbLiterals} ones
+     */
+    private IntVar[] literals;
+    /**
+     * Number of literals that explains the conflict
+     */
+    private int nbLiterals;
+    /**
+     * Position in {@link #literals} of each variable, indexed by variable id
+     */
+    private int[] positionOf;
+    /**
+     * A read-only view of the literals
      */
-    private final HashSet<IntVar> literals;
+    private final Set<IntVar> literalsView;
     /**
      * The decision to refute (ie, point to jump to wrt the current decision path).
      *
@@ -64,9 +82,22 @@ public class ExplanationForSignedClause extends IExplanation {
 
     private final PoolManager<IntIterableRangeSet> manager;
 
+    /**
+     * Stamp of each decision level, indexed by level, to compute LBD
+     */
+    private int[] levels;
+
+    /**
+     * Current stamp, a decision level is met when {@code levels[l] == stamp}
+     */
+    private int stamp;
+
     public ExplanationForSignedClause(Implications ig) {
-        front = new ValueSortedMap<>();
-        literals = new HashSet<>();
+        front = new ValueSortedMap<>(IntVar::getId);
+        levels = new int[16];
+        literals = new IntVar[16];
+        positionOf = new int[16];
+        literalsView = new LiteralsView();
         manager = new PoolManager<>();
         mIG = ig;
     }
@@ -77,15 +108,20 @@ public class ExplanationForSignedClause extends IExplanation {
     @Override
     public void extractConstraint(Model mModel, ClauseStore ngstore) {
         ClauseBuilder ngb = mModel.getClauseBuilder();
-        literals.forEach(v -> ngb.put(v, v.getLit().export())); // TODO : improve
+        for (int i = 0; i < nbLiterals; i++) {
+            ngb.put(literals[i], literals[i].getLit().export());
+        }
         ngb.buildNogood(mModel);
     }
 
     @Override
     public void recycle() {
         front.clear();
-        literals.forEach(IntVar::flushLit);
-        literals.clear();
+        for (int i = 0; i < nbLiterals; i++) {
+            literals[i].flushLit();
+            literals[i] = null;
+        }
+        nbLiterals = 0;
         assertLevel = Integer.MAX_VALUE;
     }
 
@@ -183,9 +219,9 @@ public class ExplanationForSignedClause extends IExplanation {
             explain(mIG.getCauseAt(current), current);
             if (XParameters.PROOF) {
                 System.out.print("Expl: {");
-                literals.stream()
-                        //.sorted(Comparator.comparingInt(Identity::getId))
-                        .forEach(v -> System.out.printf("%s ∈ %s,", v, v.getLit()));
+                for (int i = 0; i < nbLiterals; i++) {
+                    System.out.printf("%s ∈ %s,", literals[i], literals[i].getLit());
+                }
                 System.out.print("}\n-----");
             }
             // filter irrelevant nodes
@@ -198,7 +234,6 @@ public class ExplanationForSignedClause extends IExplanation {
                 XParameters.DEFAULT_X
                         && Propagator.class.isAssignableFrom(cause.getClass())
                         && !PropSignedClause.class.isAssignableFrom(cause.getClass())
-                        && !ClauseStore.SignedClause.class.isAssignableFrom(cause.getClass())
         ) {
             Propagator<IntVar> propagator = (Propagator<IntVar>) cause;
             Propagator.defaultExplain(propagator, p, this);
@@ -231,7 +266,7 @@ public class ExplanationForSignedClause extends IExplanation {
         while (!front.isEmpty() && (l = front.getLastValue()) != k) {
             // remove variable in 'front' but not in literals
             // achieved lazily by only evaluating the right-most one
-            if (!literals.contains(mIG.getIntVarAt(l))) {
+            if (!contains(mIG.getIntVarAt(l))) {
                 front.pollLastValue();
             } else {
                 IntVar var = mIG.getIntVarAt(l);
@@ -293,7 +328,9 @@ public class ExplanationForSignedClause extends IExplanation {
             /*/if (IntDecision.class.isAssignableFrom(mIG.getCauseAt(max).getClass())) {
             if (XParameters.PROOF)
                 System.out.printf("\nbacktrack to %s\n-----", mIG.getCauseAt(max));
-            if (XParameters.ASSERT_NO_LEFT_BRANCH && !((IntDecision) mIG.getCauseAt(max)).hasNext()) {
+            // a non-refutable decision, such as an assumption, can be the backjump target
+            if (XParameters.ASSERT_NO_LEFT_BRANCH && !((IntDecision) mIG.getCauseAt(max)).hasNext()
+                    && ((IntDecision) mIG.getCauseAt(max)).getArity() > 1) {
                 throw new SolverException("Weak explanation found. Try to backjump to :" + mIG.getCauseAt(max) + "\n" + literals);
             }
             assertLevel = ((IntDecision) mIG.getCauseAt(max)).getPosition();
@@ -326,7 +363,13 @@ public class ExplanationForSignedClause extends IExplanation {
      * @param var a variable
      */
     public void removeLit(IntVar var) {
-        literals.remove(var);
+        if (contains(var)) {
+            int i = positionOf[var.getId()];
+            IntVar last = literals[--nbLiterals];
+            literals[i] = last;
+            positionOf[last.getId()] = i;
+            literals[nbLiterals] = null;
+        }
         front.remove(var);
     }
 
@@ -336,7 +379,21 @@ public class ExplanationForSignedClause extends IExplanation {
      * @param var a variable
      */
     public void addLit(IntVar var) {
-        literals.add(var);
+        if (!contains(var)) {
+            int id = var.getId();
+            if (id >= positionOf.length) {
+                int[] positionBigger = new int[Math.max(id + 1, positionOf.length << 1)];
+                System.arraycopy(positionOf, 0, positionBigger, 0, positionOf.length);
+                positionOf = positionBigger;
+            }
+            if (nbLiterals == literals.length) {
+                IntVar[] literalsBigger = new IntVar[nbLiterals << 1];
+                System.arraycopy(literals, 0, literalsBigger, 0, nbLiterals);
+                literals = literalsBigger;
+            }
+            positionOf[id] = nbLiterals;
+            literals[nbLiterals++] = var;
+        }
     }
 
     /**
@@ -345,14 +402,54 @@ public class ExplanationForSignedClause extends IExplanation {
      * @param var a variable
      */
     public boolean contains(IntVar var) {
-        return literals.contains(var);
+        int id = var.getId();
+        if (id < positionOf.length) {
+            int i = positionOf[id];
+            return i < nbLiterals && literals[i] == var;
+        }
+        return false;
     }
 
     /**
      * @return the number of literals in this explanation
      */
     public int getCardinality() {
-        return literals.size();
+        return nbLiterals;
+    }
+
+    /**
+     * Compute the Literal Block Distance of this explanation,
+     * that is the number of distinct decision levels at which the literals were falsified.
+     * Must be called before the implication graph is reset.
+     *
+     * @return the LBD of this explanation
+     */
+    public int getLBD() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(levels, 0);
+            stamp = 1;
+        }
+        int lbd = 0;
+        for (int i = 0; i < nbLiterals; i++) {
+            SignedLiteral lit = literals[i].getLit();
+            int node = mIG.lastNodeOf(literals[i]);
+            int pred;
+            // go back to the node that falsified the literal
+            while ((pred = mIG.getPredecessorOf(node)) < node && lit.disjoint(mIG.getDomainAt(pred))) {
+                node = pred;
+            }
+            int dl = mIG.getDecisionLevelAt(node);
+            if (dl >= levels.length) {
+                int[] levelsBigger = new int[Math.max(dl + 1, levels.length << 1)];
+                System.arraycopy(levels, 0, levelsBigger, 0, levels.length);
+                levels = levelsBigger;
+            }
+            if (levels[dl] != stamp) {
+                levels[dl] = stamp;
+                lbd++;
+            }
+        }
+        return lbd;
     }
 
     /**
@@ -500,19 +597,66 @@ public class ExplanationForSignedClause extends IExplanation {
         return mIG.getDomainAt(front.getValue(var));
     }
 
-    public HashSet<IntVar> getLiterals() {
-        return literals;
+    /**
+     * @return a read-only view of the literals of this explanation
+     */
+    public Set<IntVar> getLiterals() {
+        return literalsView;
+    }
+
+    /**
+     * @param i index of a literal, between 0 and {@link #getCardinality()} (exclusive)
+     * @return the variable of the <i>i</i>-th literal of this explanation
+     */
+    public IntVar getLiteral(int i) {
+        return literals[i];
     }
 
     @Override
     public String toString() {
         StringBuilder st = new StringBuilder();
         st.append('{');
-        literals.stream()
-                //.sorted(Comparator.comparingInt(Identity::getId))
-                .forEach(v -> st.append(v.getName()).append('\u2208').append(v.getLit()).append(','));
+        for (int i = 0; i < nbLiterals; i++) {
+            st.append(literals[i].getName()).append('\u2208').append(literals[i].getLit()).append(',');
+        }
         st.append('}');
         return st.toString();
 
     }
+
+    /**
+     * A read-only view of {@link #literals}
+     */
+    private final class LiteralsView extends AbstractSet<IntVar> {
+
+        @Override
+        public Iterator<IntVar> iterator() {
+            return new Iterator<IntVar>() {
+                int i = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return i < nbLiterals;
+                }
+
+                @Override
+                public IntVar next() {
+                    if (i >= nbLiterals) {
+                        throw new NoSuchElementException();
+                    }
+                    return literals[i++];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof IntVar && ExplanationForSignedClause.this.contains((IntVar) o);
+        }
+
+        @Override
+        public int size() {
+            return nbLiterals;
+        }
+    }
 }
@@ -76,6 +76,13 @@ public abstract class Implications {
      */
     public abstract void findPredecessor(ValueSortedMap<IntVar> front, IntVar vi, int p);
 
+    /**
+     * Find the right-most node declared on variable <i>var</i>, that is its current state.
+     * @param var a variable
+     * @return the position of the last node of <i>var</i>
+     */
+    public abstract int lastNodeOf(IntVar var);
+
     /**
      * Get the {@link ICause} declared in node <i>idx</i>
      * @param idx position of the node to query
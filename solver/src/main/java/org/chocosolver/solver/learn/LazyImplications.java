@@ -21,7 +21,7 @@ import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeS
 import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSetUtils;
 
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.function.Consumer;
 
 /**
  * This implication graph is lazily built.
@@ -116,9 +116,13 @@ public class LazyImplications extends Implications {
      */
     Entry[] entries;
     /**
-     * Pointer, per variable, to the root entry {@link #entries}
+     * Pointer, per variable (indexed by its id), to the root entry {@link #entries}
      */
-    final HashMap<IntVar, Entry> rootEntries;
+    Entry[] rootEntries;
+    /**
+     * Number of root entries, which are the first ones in {@link #entries}
+     */
+    private int nbRoots;
     /**
      * Number of entries stored -- backtrackable
      */
@@ -131,6 +135,18 @@ public class LazyImplications extends Implications {
      * Inform when a decision level changes
      */
     private boolean tagDl;
+    /**
+     * Front and limit of the current call to {@link #predecessorsOf(int, ValueSortedMap)}
+     * or {@link #collectNodesFromConflict(ContradictionException, ValueSortedMap)},
+     * read by {@link #onPredecessor} and {@link #onConflict}
+     */
+    private ValueSortedMap<IntVar> cFront;
+    private int cLimit;
+    /**
+     * Created once, to avoid allocating a lambda on each call
+     */
+    private final Consumer<IntVar> onPredecessor = v -> findPredecessor(cFront, v, cLimit);
+    private final Consumer<IntVar> onConflict = v -> cFront.put(v, rootOf(v).p);
 
     /**
      * Create lazily built implication graph
@@ -141,7 +157,7 @@ public class LazyImplications extends Implications {
         size = model.getEnvironment().makeInt(0);
         size._set(0, 0); // to force history manually -- required when created during the search
         entries = new Entry[16];
-        rootEntries = new HashMap<>(16, .5f);
+        rootEntries = new Entry[16];
         init(model);
     }
 
@@ -155,22 +171,29 @@ public class LazyImplications extends Implications {
             root.getD().copyFrom(var);
             root.d.lock();
             var.createLit(root.d);
-            rootEntries.put(var, root);
+            if (var.getId() >= rootEntries.length) {
+                Entry[] rootBigger = new Entry[Math.max(var.getId() + 1, rootEntries.length << 1)];
+                System.arraycopy(rootEntries, 0, rootBigger, 0, rootEntries.length);
+                rootEntries = rootBigger;
+            }
+            rootEntries[var.getId()] = root;
             nbEntries++;
+            nbRoots++;
         }
         size.set(nbEntries);
     }
 
     @Override
     public void reset(){
-        synchronize(rootEntries.size());
+        synchronize(nbRoots);
     }
 
     /**
      * @return <i>true</i> if links between nodes in this graph are correct
      */
     private boolean checkIntegrity() {
-        for (Entry r : rootEntries.values()) {
+        for (int i = 0; i < nbRoots; i++) {
+            Entry r = entries[i];
             int dec = nbEntries;
             Entry prev = entries[r.p];
             if(prev.i > dec) return false;
@@ -191,7 +214,7 @@ public class LazyImplications extends Implications {
         for (int p = upto; p < nbEntries; p++) {
             Entry e = entries[p];
             e.getD().unlock();
-            Entry root = rootEntries.get(e.v);
+            Entry root = rootOf(e.v);
             if (root.p >= upto) {
                 root.setPrev(e.p);
             }
@@ -208,7 +231,7 @@ public class LazyImplications extends Implications {
     @Override
     public void undoLastEvent() {
         Entry toUndo = entries[--nbEntries];
-        rootEntries.get(toUndo.v).p = toUndo.p;
+        rootOf(toUndo.v).p = toUndo.p;
     }
 
     /**
@@ -369,7 +392,7 @@ public class LazyImplications extends Implications {
         if (nbEntries != size_) {
             synchronize(size_);
         }
-        Entry root = rootEntries.get(var);
+        Entry root = var.getId() < rootEntries.length ? rootEntries[var.getId()] : null;
         if (root == null) {
             throw new Error("Unknown variable. This happens when a constraint is added after the call to `solver.setLearningClause();`");
         }
@@ -394,7 +417,7 @@ public class LazyImplications extends Implications {
      */
     int rightmostNode(int limit, IntVar var) {
         if(var.isBool()){
-            Entry root = rootEntries.get(var);
+            Entry root = rootOf(var);
             int ri = root.i;
             assert ri < limit :"impossible right-most search";
             // consider the case where the variable failed
@@ -408,7 +431,7 @@ public class LazyImplications extends Implications {
             int pos = limit - 1;
             // 2. reverse-iteration over nodes of var, starting from 'root.p'
             // (presumably far away from limit)
-            int prev = rootEntries.get(var).p;
+            int prev = rootOf(var).p;
             while (pos > 0 && entries[pos].v != var && prev > limit) {
                 pos--;
                 prev = entries[prev].p;
@@ -417,6 +440,19 @@ public class LazyImplications extends Implications {
         }
     }
 
+    /**
+     * @param var a variable known by this graph
+     * @return the root entry of <i>var</i>
+     */
+    private Entry rootOf(IntVar var) {
+        return rootEntries[var.getId()];
+    }
+
+    @Override
+    public int lastNodeOf(IntVar var) {
+        return rightmostNode(size(), var);
+    }
+
     @Override
     public int size() {
         return size.get();
@@ -425,14 +461,13 @@ public class LazyImplications extends Implications {
     @Override
     public void collectNodesFromConflict(ContradictionException cft, ValueSortedMap<IntVar> front) {
         if (cft.v != null) {
-            Entry root = rootEntries.get(cft.v);
+            Entry root = rootOf((IntVar) cft.v);
             assert entries[root.p].c == cft.c;
             front.put((IntVar) cft.v, root.p);
         } else {
-            cft.c.forEachIntVar(v -> {
-                Entry root = rootEntries.get(v);
-                front.put(root.v, root.p);
-            });
+            cFront = front;
+            cft.c.forEachIntVar(onConflict);
+            cFront = null;
         }
     }
 
@@ -442,7 +477,10 @@ public class LazyImplications extends Implications {
         ICause cause = entry.c;
         // add the predecessor of 'p'
         front.put(entry.v, entry.p);
-        cause.forEachIntVar(v -> findPredecessor(front, v, p));
+        cFront = front;
+        cLimit = p;
+        cause.forEachIntVar(onPredecessor);
+        cFront = null;
     }
 
     /**
@@ -506,12 +544,12 @@ public class LazyImplications extends Implications {
 
     @Override
     public IntIterableRangeSet getRootDomain(IntVar var) {
-        return rootEntries.get(var).d;
+        return rootOf(var).d;
     }
 
     @Override
     public void copyComplementSet(IntVar var, IntIterableRangeSet set, IntIterableRangeSet dest) {
-        dest.copyFrom(rootEntries.get(var).d);
+        dest.copyFrom(rootOf(var).d);
         dest.removeAll(set);
     }
 }
@@ -72,7 +72,7 @@ public class XParameters {
      */
     public static boolean PRINT_CLAUSE = false;
     /**
-     * When set to <i>true</i>, store signed clauses in a unique structure driven by an interval tree.
+     * When set to <i>true</i>, store signed clauses in a unique structure, propagated with watched literals.
      * Otherwise, each clause is turned into a constraint.
      */
     public static boolean INTERVAL_TREE = true;
@@ -0,0 +1,402 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import org.chocosolver.solver.Solution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A set of mutually non-dominated points, to be maximized, together with the solutions they come from.
+ * A point <i>a</i> dominates a point <i>b</i> when <i>a[j] &ge; b[j]</i> for all <i>j</i>
+ * and <i>a[j] &gt; b[j]</i> for at least one <i>j</i>.
+ * </p>
+ * <p>
+ * The points are indexed by a k-d tree, where each node also stores the bounding box of the points of its subtree,
+ * so that dominance queries only visit the part of the tree which may answer them.
+ * Removed points are only marked as such, and a subtree is rebuilt once it is unbalanced
+ * or contains too many removed points.
+ * </p>
+ * <p>
+ * The tree is persistent: an update copies the nodes it modifies and publishes the new root by compare-and-set.
+ * So, a front can be shared by several workers solving the same problem in parallel:
+ * queries never lock and always see a consistent front,
+ * and concurrent offers are retried on the latest front.
+ * </p>
+ *
+ * @author Charles Prud'homme
+ * @see ParetoMaximizer
+ * @since 16/10/2026
+ */
+public final class ParetoFront {
+
+    /**
+     * A node of the k-d tree, immutable.
+     */
+    private static final class Node {
+        private final int[] point;
+        private final Solution solution;
+        private final long stamp;
+        /**
+         * Splitting dimension of this node
+         */
+        private final int dim;
+        private final boolean alive;
+        private final Node left;
+        private final Node right;
+        /**
+         * Bounding box of the points alive in this subtree, meaningless when {@link #size} is 0
+         */
+        private final int[] lo;
+        private final int[] hi;
+        /**
+         * Number of points alive in this subtree
+         */
+        private final int size;
+        /**
+         * Number of nodes in this subtree
+         */
+        private final int total;
+
+        private Node(int[] point, Solution solution, long stamp, int dim, boolean alive, Node left, Node right) {
+            this.point = point;
+            this.solution = solution;
+            this.stamp = stamp;
+            this.dim = dim;
+            this.alive = alive;
+            this.left = left;
+            this.right = right;
+            int k = point.length;
+            this.lo = new int[k];
+            this.hi = new int[k];
+            Arrays.fill(lo, Integer.MAX_VALUE);
+            Arrays.fill(hi, Integer.MIN_VALUE);
+            int s = 0;
+            int t = 1;
+            if (alive) {
+                s++;
+                include(point, point);
+            }
+            if (left != null) {
+                s += left.size;
+                t += left.total;
+                if (left.size > 0) {
+                    include(left.lo, left.hi);
+                }
+            }
+            if (right != null) {
+                s += right.size;
+                t += right.total;
+                if (right.size > 0) {
+                    include(right.lo, right.hi);
+                }
+            }
+            this.size = s;
+            this.total = t;
+        }
+
+        private void include(int[] l, int[] h) {
+            for (int j = 0; j < lo.length; j++) {
+                lo[j] = Math.min(lo[j], l[j]);
+                hi[j] = Math.max(hi[j], h[j]);
+            }
+        }
+
+        private Node with(boolean alive, Node left, Node right) {
+            return new Node(point, solution, stamp, dim, alive, left, right);
+        }
+    }
+
+    /**
+     * An immutable state of the front.
+     */
+    private static final class State {
+        private final Node root;
+        private final long stamp;
+
+        private State(Node root, long stamp) {
+            this.root = root;
+            this.stamp = stamp;
+        }
+    }
+
+    /**
+     * A subtree is rebuilt when one of its children holds more than this ratio of its nodes
+     */
+    private static final double ALPHA = .75;
+
+    /**
+     * Number of objectives
+     */
+    private final int k;
+
+    /**
+     * The current front
+     */
+    private final AtomicReference<State> state = new AtomicReference<>(new State(null, 0));
+
+    /**
+     * Create an empty front.
+     *
+     * @param k the number of objectives
+     */
+    public ParetoFront(int k) {
+        this.k = k;
+    }
+
+    /**
+     * @return the number of objectives
+     */
+    public int getNbObjectives() {
+        return k;
+    }
+
+    /**
+     * @return the number of points in this front
+     */
+    public int size() {
+        Node root = state.get().root;
+        return root == null ? 0 : root.size;
+    }
+
+    /**
+     * @return the number of times this front was modified, which enables to detect changes
+     */
+    public long getVersion() {
+        return state.get().stamp;
+    }
+
+    /**
+     * @return the solutions of this front, in the order they were offered
+     */
+    public List<Solution> getSolutions() {
+        List<Node> nodes = new ArrayList<>();
+        collect(state.get().root, nodes);
+        nodes.sort(Comparator.comparingLong(n -> n.stamp));
+        List<Solution> solutions = new ArrayList<>(nodes.size());
+        for (Node n : nodes) {
+            solutions.add(n.solution);
+        }
+        return solutions;
+    }
+
+    /**
+     * Offer a point to this front.
+     * If no point of the front dominates <i>point</i>, the points that <i>point</i> dominates or equals are removed
+     * and <i>point</i> is added, together with the solution given by <i>solution</i>.
+     *
+     * @param point    a point, which must not be modified afterwards
+     * @param solution supplies the solution which <i>point</i> comes from, called at most once
+     * @return <tt>true</tt> if <i>point</i> has been added
+     */
+    public boolean offer(int[] point, Supplier<Solution> solution) {
+        assert point.length == k;
+        State current = state.get();
+        if (dominated(current.root, point)) {
+            return false;
+        }
+        Solution sol = solution.get();
+        while (true) {
+            long stamp = current.stamp + 1;
+            Node root = insert(removeDominatedBy(current.root, point), point, sol, stamp, 0);
+            if (state.compareAndSet(current, new State(root, stamp))) {
+                return true;
+            }
+            current = state.get();
+            if (dominated(current.root, point)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Compute the tightest lower bound of objective <i>i</i> implied by this front, that is,
+     * the smallest value a point <i>p</i> such that <i>p[j] &le; dp[j]</i> for all <i>j &ne; i</i>
+     * needs for <i>p[i]</i> not to be dominated.
+     * Only points of the front which dominate <i>dp</i> are considered.
+     * This method does not allocate.
+     *
+     * @param dp the dominated point: the upper bounds of the objectives, except the lower bound for <i>i</i>
+     * @param i  index of an objective
+     * @return the tightest lower bound of objective <i>i</i>, or {@link Integer#MIN_VALUE} if none
+     */
+    public int tightestPoint(int[] dp, int i) {
+        return tightest(state.get().root, dp, i, Integer.MIN_VALUE);
+    }
+
+    private int tightest(Node node, int[] dp, int i, int best) {
+        if (node == null || node.size == 0 || node.hi[i] + 1 <= best) {
+            return best;
+        }
+        for (int j = 0; j < k; j++) {
+            if (node.hi[j] < dp[j]) {
+                return best;
+            }
+        }
+        if (node.alive) {
+            int d = dominates(node.point, dp, i);
+            if (d > 0) {
+                best = Math.max(best, d == 1 ? node.point[i] : node.point[i] + 1);
+            }
+        }
+        // visit first the child which may give the largest value
+        Node first = node.left;
+        Node second = node.right;
+        if (first != null && second != null && second.size > 0 && (first.size == 0 || second.hi[i] > first.hi[i])) {
+            first = node.right;
+            second = node.left;
+        }
+        best = tightest(first, dp, i, best);
+        return tightest(second, dp, i, best);
+    }
+
+    /**
+     * Return an int :
+     * 0 if a doesn't dominate b
+     * 1 if a dominates b and a = b if we don't take into account index i
+     * 2 if a dominates b and a dominates b if we don't take into account index i
+     */
+    private int dominates(int[] a, int[] b, int i) {
+        int dominates = 0;
+        for (int j = 0; j < k; j++) {
+            if (a[j] < b[j]) return 0;
+            if (a[j] > b[j]) {
+                if (dominates == 0) dominates = 1;
+                if (j != i) dominates = 2;
+            }
+        }
+        return dominates;
+    }
+
+    /**
+     * @return <tt>true</tt> if a point of the subtree rooted in <i>node</i> dominates <i>p</i>
+     */
+    private boolean dominated(Node node, int[] p) {
+        if (node == null || node.size == 0) {
+            return false;
+        }
+        for (int j = 0; j < k; j++) {
+            if (node.hi[j] < p[j]) {
+                return false;
+            }
+        }
+        if (node.alive && dominates(node.point, p, -1) > 0) {
+            return true;
+        }
+        return dominated(node.left, p) || dominated(node.right, p);
+    }
+
+    /**
+     * @return the subtree rooted in <i>node</i> where the points dominated by or equal to <i>p</i> are removed
+     */
+    private Node removeDominatedBy(Node node, int[] p) {
+        if (node == null || node.size == 0) {
+            return node;
+        }
+        for (int j = 0; j < k; j++) {
+            if (node.lo[j] > p[j]) {
+                return node;
+            }
+        }
+        boolean alive = node.alive && !weaklyDominates(p, node.point);
+        Node left = removeDominatedBy(node.left, p);
+        Node right = removeDominatedBy(node.right, p);
+        if (alive == node.alive && left == node.left && right == node.right) {
+            return node;
+        }
+        Node copy = node.with(alive, left, right);
+        if (copy.size * 2 < copy.total) {
+            return rebuild(copy);
+        }
+        return copy;
+    }
+
+    private boolean weaklyDominates(int[] a, int[] b) {
+        for (int j = 0; j < k; j++) {
+            if (a[j] < b[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Node insert(Node node, int[] p, Solution sol, long stamp, int dim) {
+        if (node == null) {
+            return new Node(p, sol, stamp, dim, true, null, null);
+        }
+        int d = node.dim;
+        Node copy;
+        if (p[d] < node.point[d]) {
+            copy = node.with(node.alive, insert(node.left, p, sol, stamp, (d + 1) % k), node.right);
+        } else {
+            copy = node.with(node.alive, node.left, insert(node.right, p, sol, stamp, (d + 1) % k));
+        }
+        int l = copy.left == null ? 0 : copy.left.total;
+        int r = copy.right == null ? 0 : copy.right.total;
+        if (copy.total > 4 && Math.max(l, r) > ALPHA * copy.total) {
+            return rebuild(copy);
+        }
+        return copy;
+    }
+
+    /**
+     * @return a balanced subtree with the points alive in the subtree rooted in <i>node</i>
+     */
+    private Node rebuild(Node node) {
+        Node[] nodes = new Node[node.size];
+        int[] n = {0};
+        fill(node, nodes, n);
+        return build(nodes, 0, nodes.length, node.dim);
+    }
+
+    private static void fill(Node node, Node[] nodes, int[] n) {
+        if (node == null || node.size == 0) {
+            return;
+        }
+        if (node.alive) {
+            nodes[n[0]++] = node;
+        }
+        fill(node.left, nodes, n);
+        fill(node.right, nodes, n);
+    }
+
+    private Node build(Node[] nodes, int from, int to, int d) {
+        if (from >= to) {
+            return null;
+        }
+        Arrays.sort(nodes, from, to, Comparator.comparingInt(n -> n.point[d]));
+        int m = (from + to) >>> 1;
+        // points equal on d go to the right subtree
+        while (m > from && nodes[m - 1].point[d] == nodes[m].point[d]) {
+            m--;
+        }
+        Node median = nodes[m];
+        int next = (d + 1) % k;
+        return new Node(median.point, median.solution, median.stamp, d, true,
+                build(nodes, from, m, next), build(nodes, m + 1, to, next));
+    }
+
+    private static void collect(Node node, List<Node> nodes) {
+        if (node == null || node.size == 0) {
+            return;
+        }
+        if (node.alive) {
+            nodes.add(node);
+        }
+        collect(node.left, nodes);
+        collect(node.right, nodes);
+    }
+}
@@ -14,19 +14,21 @@ import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.constraints.Propagator;
 import org.chocosolver.solver.constraints.PropagatorPriority;
 import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 
-import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Stream;
 
 /**
  * Class to store the pareto front (multi-objective optimization).
  * <p>
  * Based on "Multi-Objective Large Neighborhood Search", P. Schaus , R. Hartert (CP'2013)
  * </p>
+ * <p>
+ * The front is stored in a {@link ParetoFront}, which indexes it for dominance queries.
+ * </p>
  *
  * @author Charles Vernerey
  * @author Charles Prud'homme
@@ -38,20 +40,17 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
     // VARIABLES
     //***********************************************************************************
 
-    // Set of incomparable and Pareto-best solutions
-    private final LinkedList<Solution> paretoSolutions;
-    private final LinkedList<int[]> paretoFront;
+    // Set of incomparable and Pareto-best solutions, possibly shared with other models
+    private final ParetoFront front;
 
     private final Model model;
 
-    // Allow to recycle (dominated) Solution objects
-    private final LinkedList<Solution> poolSols = new LinkedList<>();
-
     // objective function
     private final IntVar[] objectives;
     private final int n;
 
-    //private final int[] vals;
+    // the dominated point, see computeDominatedPoint(int)
+    private final int[] dp;
 
     //***********************************************************************************
     // CONSTRUCTOR
@@ -70,13 +69,28 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
      * @param objectives objective variables (must all be optimized in the same direction)
      */
     public ParetoMaximizer(final IntVar[] objectives) {
+        this(objectives, new ParetoFront(objectives.length));
+    }
+
+    /**
+     * Create an object to compute the Pareto front of a multi-objective problem,
+     * stored in <i>front</i>, which can be shared by models solving the same problem in parallel.
+     * Each model then prunes the solutions dominated by the ones found by the others.
+     *
+     * @param objectives objective variables (must all be optimized in the same direction)
+     * @param front      the Pareto front to fill
+     * @see org.chocosolver.solver.ParallelPortfolio#findParetoFront(java.util.function.Function, boolean)
+     */
+    public ParetoMaximizer(final IntVar[] objectives, ParetoFront front) {
         super(objectives, PropagatorPriority.QUADRATIC, false);
-        this.paretoSolutions = new LinkedList<>();
-        this.paretoFront = new LinkedList<>();
+        if (front.getNbObjectives() != objectives.length) {
+            throw new SolverException("The Pareto front expects " + front.getNbObjectives() + " objectives");
+        }
+        this.front = front;
         this.objectives = objectives.clone();
         n = objectives.length;
         model = objectives[0].getModel();
-        //vals = new int[n];
+        dp = new int[n];
     }
 
     //***********************************************************************************
@@ -87,40 +101,18 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
      * @return the set of Pareto-best (possibly optimal) solutions found so far
      */
     public List<Solution> getParetoFront() {
-        return paretoSolutions;
+        return front.getSolutions();
     }
 
     @Override
     public void onSolution() {
         // get objective values
-        int[] vals = Stream.of(objectives).mapToInt(IntVar::getValue).toArray();
-        // remove dominated solutions
-        for (int i = paretoFront.size() - 1; i >= 0; i--) {
-            if (isDominated(paretoSolutions.get(i), vals)) {
-                poolSols.add(paretoSolutions.remove(i));
-                paretoFront.remove(i);
-            }
-        }
-        // store current solution
-        Solution solution;
-        if (poolSols.isEmpty()) {
-            solution = new Solution(model);
-        } else {
-            solution = poolSols.remove();
-        }
-        solution.record();
-        paretoSolutions.add(solution);
-        paretoFront.add(vals);
-    }
-
-    private boolean isDominated(Solution solution, int[] vals) {
+        int[] vals = new int[n];
         for (int i = 0; i < n; i++) {
-            int delta = solution.getIntVal(objectives[i]) - vals[i];
-            if (delta > 0) {
-                return false;
-            }
+            vals[i] = objectives[i].getValue();
         }
-        return true;
+        // remove dominated solutions and store current solution, unless another model found a better one
+        front.offer(vals, () -> new Solution(model).record());
     }
 
     @Override
@@ -137,17 +129,8 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
      * @param i index of the variable
      */
     private void computeTightestPoint(int i) throws ContradictionException {
-        int tightestPoint = Integer.MIN_VALUE;
-        int[] dominatedPoint = computeDominatedPoint(i);
-        for (int[] sol : paretoFront) {
-            int dominates = dominates(sol, dominatedPoint, i);
-            if (dominates > 0) {
-                int currentPoint = dominates == 1 ? sol[i] : sol[i] + 1;
-                if (tightestPoint < currentPoint) {
-                    tightestPoint = currentPoint;
-                }
-            }
-        }
+        computeDominatedPoint(i);
+        int tightestPoint = front.tightestPoint(dp, i);
         if (tightestPoint > Integer.MIN_VALUE) {
             objectives[i].updateLowerBound(tightestPoint, this);
         }
@@ -158,35 +141,12 @@ public class ParetoMaximizer extends Propagator<IntVar> implements IMonitorSolut
      * i.e. DP_i = (obj_1_max,...,obj_i_min,...,obj_m_max)
      *
      * @param i index of the variable
-     * @return dominated point
      */
-    private int[] computeDominatedPoint(int i) {
-        int[] dp = Stream.of(objectives).mapToInt(IntVar::getUB).toArray();
-        dp[i] = objectives[i].getLB();
-        return dp;
-    }
-
-    /**
-     * Return an int :
-     * 0 if a doesn't dominate b
-     * 1 if a dominates b and a = b if we don't take into account index i
-     * 2 if a dominates b and a dominates b if we don't take into account index i
-     *
-     * @param a vector
-     * @param b vector
-     * @param i index
-     * @return an int representing the fact that a dominates b
-     */
-    private int dominates(int[] a, int[] b, int i) {
-        int dominates = 0;
-        for (int j = 0; j < objectives.length; j++) {
-            if (a[j] < b[j]) return 0;
-            if (a[j] > b[j]) {
-                if (dominates == 0) dominates = 1;
-                if (j != i) dominates = 2;
-            }
+    private void computeDominatedPoint(int i) {
+        for (int j = 0; j < n; j++) {
+            dp[j] = objectives[j].getUB();
         }
-        return dominates;
+        dp[i] = objectives[i].getLB();
     }
 
     @Override
@@ -22,6 +22,7 @@ import org.chocosolver.util.iterators.EvtScheduler;
 import org.chocosolver.util.objects.queues.CircularQueue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
@@ -31,6 +32,12 @@ import java.util.function.Consumer;
  * <br/>On a call to {@code onVariableUpdate}, it stores the event generated and schedules the propagator in
  * one of the 7 queues wrt to its priority for future revision.
  * <p>
+ * When adaptive (see {@link org.chocosolver.solver.Settings#enableAdaptivePropagationEngine()}),
+ * each priority class is split in two queues: the first one for propagators whose yield (ratio of executions
+ * that filter) per nanosecond is greater than the average of the class, or whose yield is high enough,
+ * the second one for the others.
+ * Propagators that run {@link #DEMOTION} times in a row without filtering anything are demoted
+ * to the second queue of the next priority class, until they filter again.
  * <br/>
  *
  * @author Charles Prud'homme
@@ -69,7 +76,7 @@ public class PropagationEngine {
     /**
      * One bit per queue: true if the queue is not empty.
      */
-    private int notEmpty;
+    private long notEmpty;
     /**
      * PropagatorEventType's mask for delayed propagation
      */
@@ -85,6 +92,62 @@ public class PropagationEngine {
      * when set to '0b10', this workds as a variable- oriented propagation engine.
      */
     private final byte hybrid;
+    /**
+     * Number of consecutive executions without filtering before a propagator is demoted
+     */
+    public static final int DEMOTION = 16;
+    /**
+     * A propagator that filters at least once every YIELD executions is always in the first queue of its class
+     */
+    private static final int YIELD = 4;
+    /**
+     * Executions whose duration is measured: one out of SAMPLING + 1
+     */
+    private static final int SAMPLING = 0b111;
+    /**
+     * Smoothing factor of the moving averages
+     */
+    private static final double ALPHA = .05;
+    /**
+     * Set to <i>true</i> to schedule propagators wrt their cost and their yield
+     */
+    private final boolean adaptive;
+    /**
+     * Number of events stored since the creation of this engine
+     */
+    private long nbEvents;
+    /**
+     * Number of propagator executions since the creation of this engine
+     */
+    private long nbPropagations;
+    /**
+     * Number of times a propagator has been demoted
+     */
+    private long nbDemotions;
+    /**
+     * For each propagator, wrt its position: number of executions
+     */
+    private long[] runs;
+    /**
+     * For each propagator, wrt its position: number of executions that filtered or failed
+     */
+    private long[] prunings;
+    /**
+     * For each propagator, wrt its position: number of consecutive executions without filtering
+     */
+    private int[] idles;
+    /**
+     * For each propagator, wrt its position: moving average of the sampled executions duration, in nanoseconds
+     */
+    private double[] costs;
+    /**
+     * For each propagator, wrt its position: index of the queue it is scheduled in
+     */
+    private int[] queues;
+    /**
+     * For each priority class: moving average of the scores of its propagators
+     */
+    private double[] scores;
     /**
      * For dynamyc addition, avoid creating a new lambda at each call
      */
@@ -106,7 +169,17 @@ public class PropagationEngine {
      */
     public PropagationEngine(Model model) {
         this.model = model;
+        this.adaptive = model.getSettings().enableAdaptivePropagationEngine();
         int nbQueues = model.getSettings().getMaxPropagatorPriority() + 1;
+        if (adaptive) {
+            this.runs = new long[16];
+            this.prunings = new long[16];
+            this.idles = new int[16];
+            this.costs = new double[16];
+            this.queues = new int[16];
+            this.scores = new double[nbQueues];
+            nbQueues <<= 1;
+        }
         //noinspection unchecked
         this.pro_queue = new CircularQueue[nbQueues];
         for (int i = 0; i < nbQueues; i++) {
@@ -148,7 +221,7 @@ public class PropagationEngine {
             }
             for (int i = 0; i < propagators.size(); i++) {
                 Propagator<?> propagator = propagators.get(i);
-                if (propagator.getPriority().getValue() >= pro_queue.length) {
+                if (propagator.getPriority().getValue() > model.getSettings().getMaxPropagatorPriority()) {
                     throw new SolverException(
                             propagator+
                             "\nThis propagator declares a priority (" +
@@ -164,6 +237,12 @@ public class PropagationEngine {
                 propagator.setPosition(i);
                 awake_queue.addLast(propagator);
             }
+            if (adaptive) {
+                ensureStatistics(propagators.size());
+                for (int i = 0; i < propagators.size(); i++) {
+                    resetStatistics(i);
+                }
+            }
         }
     }
 
@@ -190,12 +269,17 @@ public class PropagationEngine {
                 assert !pro_queue[i].isEmpty() : "try to pop a propagator from an empty queue";
                 lastProp = pro_queue[i].pollFirst();
                 if (pro_queue[i].isEmpty()) {
-                    notEmpty &= ~(1 << i);
+                    notEmpty &= ~(1L << i);
                 }
                 // revision of the variable
                 lastProp.unschedule();
                 delayedPropagationType = 0;
-                propagateEvents();
+                nbPropagations++;
+                if (adaptive) {
+                    propagateAndLearn();
+                } else {
+                    propagateEvents();
+                }
                 if (hybrid < 0b01) {
                     manageModifications();
                 }
@@ -203,6 +287,57 @@ public class PropagationEngine {
         } while (!var_queue.isEmpty());
     }
 
+    /**
+     * Execute the last propagator and update its statistics, then decide in which queue it will be scheduled next.
+     *
+     * @throws ContradictionException if a contradiction occurs
+     */
+    private void propagateAndLearn() throws ContradictionException {
+        int p = lastProp.getPosition();
+        if (p < 0) {
+            propagateEvents();
+            return;
+        }
+        long evts = nbEvents;
+        boolean sample = (runs[p] & SAMPLING) == 0;
+        long start = sample ? System.nanoTime() : 0L;
+        try {
+            propagateEvents();
+        } catch (ContradictionException cex) {
+            learn(p, true, sample ? System.nanoTime() - start : -1L);
+            throw cex;
+        }
+        learn(p, nbEvents > evts, sample ? System.nanoTime() - start : -1L);
+    }
+
+    private void learn(int p, boolean pruned, long duration) {
+        runs[p]++;
+        if (pruned) {
+            prunings[p]++;
+            idles[p] = 0;
+        } else {
+            idles[p]++;
+        }
+        if (duration >= 0) {
+            costs[p] = costs[p] == 0d ? duration : costs[p] + (duration - costs[p]) * ALPHA;
+        }
+        int prio = lastProp.getPriority().getValue();
+        // Laplace smoothing, so that a new propagator is neither too good nor too bad
+        double score = (prunings[p] + 1d) / (runs[p] + 2d) / (costs[p] + 1d);
+        scores[prio] += (score - scores[prio]) * ALPHA;
+        if (idles[p] >= DEMOTION) {
+            int q = Math.min((prio << 1) + 3, pro_queue.length - 1);
+            if (queues[p] != q) {
+                nbDemotions++;
+                queues[p] = q;
+            }
+        } else {
+            // the second queue is for propagators less profitable than the average and which rarely filter
+            boolean first = score >= scores[prio] || prunings[p] * YIELD >= runs[p];
+            queues[p] = (prio << 1) + (first ? 0 : 1);
+        }
+    }
+
     protected void propagateEvents() throws ContradictionException {
         if (lastProp.reactToFineEvent()) {
             lastProp.doFinePropagation();
@@ -256,7 +391,7 @@ public class PropagationEngine {
 
     private int nextNotEmpty() {
         if (notEmpty == 0) return -1;
-        return Integer.numberOfTrailingZeros(notEmpty);
+        return Long.numberOfTrailingZeros(notEmpty);
     }
 
     /**
@@ -274,7 +409,7 @@ public class PropagationEngine {
                 // revision of the variable
                 pro_queue[i].pollLast().doFlush();
             }
-            notEmpty = notEmpty & ~(1 << i);
+            notEmpty = notEmpty & ~(1L << i);
         }
         lastProp = null;
     }
@@ -301,6 +436,7 @@ public class PropagationEngine {
             variable.schedule();
         }
         variable.storeEvents(type.getMask(), cause);
+        nbEvents++;
     }
 
     private void schedule(Variable variable) {
@@ -328,7 +464,13 @@ public class PropagationEngine {
 
     public void schedule(Propagator<?> prop, int pindice, int mask) {
         prop.doScheduleEvent(pindice, mask);
-        notEmpty |= (1 << prop.doSchedule(pro_queue));
+        if (adaptive) {
+            int p = prop.getPosition();
+            notEmpty |= (1L << prop.doSchedule(pro_queue,
+                    p > -1 ? queues[p] : prop.getPriority().getValue() << 1));
+        } else {
+            notEmpty |= (1L << prop.doSchedule(pro_queue));
+        }
     }
 
     /**
@@ -384,6 +526,10 @@ public class PropagationEngine {
     public void clear() {
         dynPropagators.clear();
         awake_queue.clear();
+        // propagators added dynamically are not restored on initialization
+        for (int i = 0; i < propagators.size(); i++) {
+            propagators.get(i).setPosition(-1);
+        }
         propagators.clear();
         notEmpty = 0;
         init = false;
@@ -410,6 +556,10 @@ public class PropagationEngine {
                 ps[i].setPosition(propagators.size());
                 propagators.add(ps[i]);
                 dynPropagators.add(ps[i]);
+                if (adaptive) {
+                    ensureStatistics(propagators.size());
+                    resetStatistics(ps[i].getPosition());
+                }
             }
         }
     }
@@ -432,9 +582,27 @@ public class PropagationEngine {
     public void propagateOnBacktrack(Propagator<?> propagator) {
         int idx = propagator.getPosition();
         assert propagators.get(idx) == propagator : "Try to remove the wrong propagator";
+        int last = propagators.size() - 1;
+        long r = 0, pr = 0;
+        int id = 0, q = 0;
+        double c = 0d;
+        if (adaptive) {
+            r = runs[idx];
+            pr = prunings[idx];
+            id = idles[idx];
+            c = costs[idx];
+            q = queues[idx];
+        }
         shift(idx);
-        propagators.set(propagators.size() - 1, propagator);
-        propagator.setPosition(propagators.size() - 1);
+        propagators.set(last, propagator);
+        propagator.setPosition(last);
+        if (adaptive) {
+            runs[last] = r;
+            prunings[last] = pr;
+            idles[last] = id;
+            costs[last] = c;
+            queues[last] = q;
+        }
         dynPropagators.addOrUpdate(propagator);
     }
 
@@ -471,6 +639,92 @@ public class PropagationEngine {
             propagators.set(i, propagators.get(i + 1));
             propagators.get(i).setPosition(i);
         }
+        if (adaptive && from < propagators.size() - 1) {
+            int len = propagators.size() - 1 - from;
+            System.arraycopy(runs, from + 1, runs, from, len);
+            System.arraycopy(prunings, from + 1, prunings, from, len);
+            System.arraycopy(idles, from + 1, idles, from, len);
+            System.arraycopy(costs, from + 1, costs, from, len);
+            System.arraycopy(queues, from + 1, queues, from, len);
+        }
+    }
+
+    private void ensureStatistics(int n) {
+        if (runs.length < n) {
+            int size = Math.max(n, runs.length * 3 / 2);
+            runs = Arrays.copyOf(runs, size);
+            prunings = Arrays.copyOf(prunings, size);
+            idles = Arrays.copyOf(idles, size);
+            costs = Arrays.copyOf(costs, size);
+            queues = Arrays.copyOf(queues, size);
+        }
+    }
+
+    private void resetStatistics(int p) {
+        runs[p] = 0;
+        prunings[p] = 0;
+        idles[p] = 0;
+        costs[p] = 0d;
+        queues[p] = propagators.get(p).getPriority().getValue() << 1;
+    }
+
+    /**
+     * @return <i>true</i> if this engine schedules propagators wrt their cost and their yield
+     * @see org.chocosolver.solver.Settings#enableAdaptivePropagationEngine()
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * @param propagator a propagator
+     * @return the number of executions of <i>propagator</i> since the initialization of this adaptive engine,
+     * 0 if this engine is not adaptive
+     */
+    public long getNbRuns(Propagator<?> propagator) {
+        return adaptive && propagator.getPosition() > -1 ? runs[propagator.getPosition()] : 0L;
+    }
+
+    /**
+     * @param propagator a propagator
+     * @return the number of executions of <i>propagator</i> that filtered some values or failed,
+     * since the initialization of this adaptive engine, 0 if this engine is not adaptive
+     */
+    public long getNbPrunings(Propagator<?> propagator) {
+        return adaptive && propagator.getPosition() > -1 ? prunings[propagator.getPosition()] : 0L;
+    }
+
+    /**
+     * @param propagator a propagator
+     * @return the estimated cost of an execution of <i>propagator</i>, in nanoseconds,
+     * 0 if this engine is not adaptive
+     */
+    public double getCost(Propagator<?> propagator) {
+        return adaptive && propagator.getPosition() > -1 ? costs[propagator.getPosition()] : 0d;
+    }
+
+    /**
+     * @param propagator a propagator
+     * @return <i>true</i> if <i>propagator</i> is currently demoted, because it ran
+     * {@link #DEMOTION} times in a row without filtering anything
+     */
+    public boolean isDemoted(Propagator<?> propagator) {
+        return adaptive && propagator.getPosition() > -1 && idles[propagator.getPosition()] >= DEMOTION;
+    }
+
+    /**
+     * @return the number of propagator executions since the creation of this engine,
+     * whether it is adaptive or not
+     */
+    public long getNbPropagations() {
+        return nbPropagations;
+    }
+
+    /**
+     * @return the number of times a propagator was demoted by this adaptive engine
+     */
+    public long getNbDemotions() {
+        return nbDemotions;
     }
 
     private static class DynPropagators {
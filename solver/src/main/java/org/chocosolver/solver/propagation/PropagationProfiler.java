@@ -127,6 +127,9 @@ public class PropagationProfiler implements PropagationObserver {
      */
     public void writeTo(PrintWriter writer, boolean rawValues) {
         profilePropagators(writer, rawValues);
+        if (model.getSolver().getEngine().isAdaptive()) {
+            profileScheduling(writer);
+        }
         profileVariables(writer);
     }
 
@@ -167,6 +170,31 @@ public class PropagationProfiler implements PropagationObserver {
         writer.println();
     }
 
+    private void profileScheduling(PrintWriter writer) {
+        PropagationEngine engine = model.getSolver().getEngine();
+        writer.println("Adaptive scheduling\n" +
+                " \n" +
+                "* id      : row id\n" +
+                "* runs    : for a given propagator, number of executions from a queue\n" +
+                "* yield   : for a given propagator, ratio of executions that filter or fail\n" +
+                "* cost    : for a given propagator, estimated duration of an execution, in nanoseconds\n" +
+                "* demoted : for a given propagator, whether it is currently demoted to the next priority class\n" +
+                "* name    : name of the given propagator \n" +
+                " \n" +
+                " id          runs     yield      cost  demoted  name");
+        Propagator<?>[] propagators = Stream.of(model.getCstrs()).flatMap(c -> Stream.of(c.getPropagators())).toArray(Propagator[]::new);
+        for (int i = 0; i < propagators.length; i++) {
+            Propagator<?> p = propagators[i];
+            long r = engine.getNbRuns(p);
+            writer.printf(" %-6d %9d %8.2f%% %9.0f  %-7s  \"%s\"%n",
+                    i, r, r == 0 ? 0d : engine.getNbPrunings(p) * 100d / r, engine.getCost(p),
+                    engine.isDemoted(p), p.toString()
+            );
+        }
+        writer.printf("Demotions %d%n", engine.getNbDemotions());
+        writer.println();
+    }
+
     private void profileVariables(PrintWriter writer) {
         IntVar[] ivars = model.retrieveIntVars(true);
         int k = 0;
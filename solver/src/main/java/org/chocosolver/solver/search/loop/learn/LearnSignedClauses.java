@@ -11,6 +11,7 @@ package org.chocosolver.solver.search.loop.learn;
 
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.nary.clauses.ClauseStore;
+import org.chocosolver.solver.constraints.nary.sat.ClauseExchange;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.learn.ExplanationForSignedClause;
 import org.chocosolver.solver.search.strategy.decision.DecisionPath;
@@ -53,6 +54,14 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
      * Maximum cardinality to add nogoods to the store
      */
     private final int max_card;
+    /**
+     * Where to export learnt clauses, may be null
+     */
+    private ClauseExchange.Channel exchange;
+    /**
+     * LBD of the last explanation computed, -1 if unknown
+     */
+    private int lbd = -1;
 
     /**
      * Build a learned able to learn signed clauses on conflicts and solutions.
@@ -74,6 +83,15 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
         return (E) lastExplanation;
     }
 
+    /**
+     * Export clauses learnt on conflicts into <i>channel</i>, to share them with other models.
+     *
+     * @param channel a channel of a clause exchange
+     */
+    public void setClauseExchange(ClauseExchange.Channel channel) {
+        this.exchange = channel;
+    }
+
     @Override
     public boolean record(Solver solver) {
         if (nbsol == solver.getSolutionCount()) {
@@ -98,6 +116,8 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
             (cex.v != null) || (cex.c != null) :
             this.getClass().getName() + ".onContradiction incoherent state";
         lastExplanation.learnSignedClause(cex);
+        // the implication graph is needed to compute LBD
+        lbd = lastExplanation.getLBD();
 
         int upto = mSolver.getDecisionPath().size() - lastExplanation.getAssertingLevel();
 
@@ -137,13 +157,20 @@ public class LearnSignedClauses<E extends ExplanationForSignedClause> implements
             // extract the decision path to build the nogood
             lastExplanation.learnSolution(mSolver.getDecisionPath());
             mSolver.setJumpTo(-1);
+            // such a nogood is only relevant to this model
+            lbd = -1;
         }
     }
 
     private void addLearntConstraint() {
         if (lastExplanation != null && lastExplanation.getCardinality() > 0
             && lastExplanation.getCardinality() <= max_card) {
+            if (exchange != null && lbd > 0) {
+                exchange.exportSignedClause(lastExplanation, lbd);
+            }
+            ngstore.setNextLBD(lbd);
             lastExplanation.extractConstraint(mSolver.getModel(), ngstore);
         }
+        lbd = -1;
     }
 }
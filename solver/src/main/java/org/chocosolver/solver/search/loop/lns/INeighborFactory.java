@@ -91,6 +91,23 @@ public class INeighborFactory {
         return new ReversePropagationGuidedNeighborhood(vars, 0, 30, seed);
     }
 
+    /**
+     * Creates a black-box LNS neighbor whose neighbors are selected wrt their improvement rate,
+     * observed by all workers sharing <i>scores</i>
+     * @param scores the scores of the neighbors, of size 3, possibly shared among workers
+     * @param seed   the seed for randomness
+     * @param vars   the pool of variables to be freezed
+     * @return an adaptive black-box LNS neighbor
+     * @see SharedAdaptiveNeighborhood
+     */
+    public static INeighbor sharedAdaptive(SharedAdaptiveNeighborhood.Scores scores, long seed, IntVar... vars) {
+        return new SharedAdaptiveNeighborhood(scores, seed,
+            propagationGuided(seed, vars),
+            reversedPropagationGuided(seed, vars),
+            random(seed, vars)
+        );
+    }
+
     /**
      * Creates a composite INeighbor grouping a set of neighbors
      * @param neighbors a set of neighbors to be grouped
@@ -0,0 +1,146 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.loop.lns.neighbors;
+
+import org.chocosolver.solver.exception.ContradictionException;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A neighbor which is based on multiple neighbors, like {@link AdaptiveNeighborhood},
+ * but whose selection relies on {@link Scores} which may be shared by workers running in parallel.
+ * <p>
+ * Each worker declares its own neighbors, on its own model, in the same order.
+ * Each time a fragment is computed, the neighbor is selected randomly with a probability
+ * proportional to its observed improvement rate, among all workers sharing the scores:
+ * the number of fragments which led to a solution divided by the number of fragments computed.
+ * So, neighborhood types which improve more often are allocated to more workers.
+ * </p>
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @see org.chocosolver.solver.ParallelPortfolio#shareElitesWithLNS(int, int)
+ * @since 16/10/2026
+ */
+public class SharedAdaptiveNeighborhood extends SequenceNeighborhood {
+
+    /**
+     * Number of fragments computed and number of solutions found by each type of neighbor,
+     * updated without lock by the workers sharing them.
+     */
+    public static final class Scores {
+
+        private final AtomicLongArray tries;
+        private final AtomicLongArray improvements;
+
+        /**
+         * @param size number of types of neighbor
+         */
+        public Scores(int size) {
+            this.tries = new AtomicLongArray(size);
+            this.improvements = new AtomicLongArray(size);
+        }
+
+        /**
+         * @return number of types of neighbor
+         */
+        public int size() {
+            return tries.length();
+        }
+
+        /**
+         * @param i a type of neighbor
+         * @return the number of fragments computed by neighbors of type <i>i</i>
+         */
+        public long getTries(int i) {
+            return tries.get(i);
+        }
+
+        /**
+         * @param i a type of neighbor
+         * @return the number of solutions found in fragments computed by neighbors of type <i>i</i>
+         */
+        public long getImprovements(int i) {
+            return improvements.get(i);
+        }
+
+        /**
+         * @param i a type of neighbor
+         * @return the improvement rate of the neighbors of type <i>i</i>,
+         * smoothed so that a type not tried yet has a positive rate
+         */
+        public double getRate(int i) {
+            return (improvements.get(i) + 1d) / (tries.get(i) + 2d);
+        }
+    }
+
+    private final Scores scores;
+    private final Random random;
+    /**
+     * Neighbor which computed the current fragment, -1 if none since the last solution
+     */
+    private int last;
+
+    /**
+     * @param scores    scores of the neighbors, possibly shared with other workers
+     * @param seed      seed for the random selection
+     * @param neighbors neighbors, indexed like <i>scores</i>
+     */
+    public SharedAdaptiveNeighborhood(Scores scores, long seed, INeighbor... neighbors) {
+        super(neighbors);
+        if (scores.size() != neighbors.length) {
+            throw new IllegalArgumentException("Scores and neighbors should have the same size");
+        }
+        this.scores = scores;
+        this.random = new Random(seed);
+        this.last = -1;
+    }
+
+    @Override
+    public void recordSolution() {
+        if (last > -1) {
+            scores.improvements.incrementAndGet(last);
+            last = -1;
+        }
+        super.recordSolution();
+    }
+
+    @Override
+    public void fixSomeVariables() throws ContradictionException {
+        super.fixSomeVariables();
+        last = who;
+        scores.tries.incrementAndGet(who);
+    }
+
+    @Override
+    protected void nextNeighbor() {
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += scores.getRate(i);
+        }
+        double r = random.nextDouble() * sum;
+        for (int i = 0; i < count; i++) {
+            r -= scores.getRate(i);
+            if (r < 0) {
+                who = i;
+                return;
+            }
+        }
+        who = count - 1;
+    }
+
+    /**
+     * @return the scores of the neighbors
+     */
+    public Scores getScores() {
+        return scores;
+    }
+}
@@ -45,6 +45,18 @@ public interface ISearchMonitorFactory extends ISelf<Solver> {
         ref().plugMonitor(new NogoodFromRestarts(ref().getModel()));
     }
 
+    /**
+     * Record nogoods from restart, as {@link #setNoGoodRecordingFromRestarts()} does,
+     * but store them either as clauses or in a trie of decision paths.
+     * The trie stores shared prefixes once but only refutes a decision once all the decisions above it hold.
+     *
+     * @param useTrie set to <tt>true</tt> to store nogoods in a trie
+     * @see org.chocosolver.solver.constraints.nary.nogood.PropNogoodTrie
+     */
+    default void setNoGoodRecordingFromRestarts(boolean useTrie) {
+        ref().plugMonitor(new NogoodFromRestarts(ref().getModel(), useTrie));
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
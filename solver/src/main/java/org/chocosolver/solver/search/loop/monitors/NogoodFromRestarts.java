@@ -11,10 +11,9 @@ package org.chocosolver.solver.search.loop.monitors;
 
 import org.chocosolver.sat.MiniSat;
 import org.chocosolver.solver.Model;
-import org.chocosolver.solver.constraints.nary.sat.NogoodStealer;
+import org.chocosolver.solver.constraints.nary.nogood.PropNogoodTrie;
+import org.chocosolver.solver.constraints.nary.sat.ClauseExchange;
 import org.chocosolver.solver.constraints.nary.sat.PropSat;
-import org.chocosolver.solver.search.strategy.assignments.DecisionOperator;
-import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
 import org.chocosolver.solver.search.strategy.decision.Decision;
 import org.chocosolver.solver.search.strategy.decision.DecisionPath;
 import org.chocosolver.solver.search.strategy.decision.IntDecision;
@@ -31,10 +30,17 @@ import java.util.Arrays;
  * <p>
  * Related to "Nogood Recording from Restarts", C. Lecoutre et al.
  * <br/>
+ * Nogoods are stored as clauses in the SAT store of the model (see {@link Model#getMinisat()}),
+ * or, on demand, in the trie of the model (see {@link Model#getNogoodTrie()}).
+ * In the trie, the positive decisions shared by the nogoods of a decision path,
+ * and by decision paths of successive restarts, are stored once,
+ * but a decision is refuted only once all the decisions above it hold,
+ * whereas a clause is unit-propagated whatever the order its literals become false.
+ * <br/>
  * Beware :
  * - Must be plugged as a monitor
- * - Only works for integer variables
- * - Only works if branching decisions are assignments (no domain split nor value removal)
+ * - Only works for integer and set variables
+ * - Only works if branching decisions are assignments, domain splits or value removals
  *
  * @author Charles Prud'homme
  * @since 20/06/13
@@ -48,117 +54,165 @@ public class NogoodFromRestarts implements IMonitorRestart {
     private ArrayDeque<Decision> decisions;
 
     /**
-     * The (unique) no-good store
+     * The (unique) no-good store, when nogoods are stored as clauses
      */
     private final PropSat png;
 
     /**
-     * {@link NogoodStealer} that helps sharing no-goods among models.
+     * The (unique) no-good store, when nogoods are stored in a trie
+     */
+    private final PropNogoodTrie trie;
+
+    /**
+     * The model observed
+     */
+    private final Model model;
+
+    /**
+     * Extracts nogoods from the decision paths of other models, <tt>null</tt> if there is none to steal from.
      */
-    private final NogoodStealer nogoodStealer;
+    private Runnable stealing;
 
     /**
      * A constraint for the specific Nogood store designed to store IntVar and SetVar-based decisions.
+     * Nogoods can be shared among (equivalent) models with a {@link ClauseExchange}.
      * @param model solver to observe
      */
     public NogoodFromRestarts(Model model) {
-        this(model, NogoodStealer.NONE);
+        this(model, false);
     }
 
     /**
      * A constraint for the specific Nogood store designed to store IntVar and SetVar-based decisions.
+     * Nogoods can be shared among (equivalent) models with a {@link ClauseExchange}.
      * @param model solver to observe
-     * @param stealer when nogoods can be shared among (equivalent) models
+     * @param useTrie set to <tt>true</tt> to store nogoods in a trie (see {@link PropNogoodTrie}),
+     *                which is smaller but filters less than clauses
      */
-    public NogoodFromRestarts(Model model, NogoodStealer stealer) {
-        this.png = model.getMinisat().getPropSat();
+    public NogoodFromRestarts(Model model, boolean useTrie) {
+        this.model = model;
+        if (useTrie) {
+            this.png = null;
+            this.trie = model.getNogoodTrie();
+        } else {
+            this.png = model.getMinisat().getPropSat();
+            this.trie = null;
+        }
         this.decisions = new ArrayDeque<>(16);
-        this.nogoodStealer = stealer;
-        this.nogoodStealer.add(model);
+    }
+
+    /**
+     * A constraint for the specific Nogood store designed to store IntVar and SetVar-based decisions.
+     * @param model solver to observe
+     * @param stealer when nogoods can be shared among (equivalent) models
+     * @deprecated use {@link ClauseExchange} to share nogoods
+     */
+    @Deprecated
+    public NogoodFromRestarts(Model model, org.chocosolver.solver.constraints.nary.sat.NogoodStealer stealer) {
+        this(model);
+        stealer.add(model);
+        this.stealing = () -> stealer.nogoodStealing(model, this);
     }
 
     @Override
     public void beforeRestart() {
-        extractNogoodFromPath(png.getModel().getSolver().getDecisionPath());
-        nogoodStealer.nogoodStealing(png.getModel(), this);
+        extractNogoodFromPath(model.getSolver().getDecisionPath());
+        if (stealing != null) {
+            stealing.run();
+        }
     }
 
+    /**
+     * Record the nogoods of <i>decisionPath</i>:
+     * each refuted decision, together with the positive decisions above it, forms a nogood.
+     *
+     * @param decisionPath a decision path
+     */
     @SuppressWarnings("unchecked")
     public void extractNogoodFromPath(DecisionPath decisionPath) {
         assert decisions.isEmpty();
         decisionPath.transferInto(decisions, false);
-        int d = decisions.size();
         Decision<Variable> decision;
-        int[] lits = new int[d];
+        int node = trie == null ? -1 : trie.root();
+        int[] lits = trie == null ? new int[decisions.size()] : null;
         int i = 0;
         while (!decisions.isEmpty()) {
             decision = decisions.pollFirst();
-            int lit = asLit(decision);
-            if (decision.hasNext() || decision.getArity() == 1) {
-                lits[i++] = lit;
-            } else {
-                if (i == 0) {
+            Variable var = decision.getDecisionVariable();
+            if (var.getModel() != model) {
+                // the path of another model
+                var = ClauseExchange.getById(model, var.getId());
+            }
+            int op = opCode(decision);
+            int val = (Integer) decision.getDecisionValue();
+            boolean positive = decision.hasNext() || decision.getArity() == 1;
+            if (trie == null) {
+                int lit = asLit(png, var, op, val);
+                if (positive) {
+                    lits[i++] = lit;
+                } else if (i == 0) {
                     // value can be removed permanently from var!
                     png.addLearnt(lit);
                 } else {
                     lits[i] = lit;
                     png.addLearnt(Arrays.copyOf(lits, i + 1));
                 }
+            } else if (positive) {
+                node = trie.extend(node, var, op, val);
+                if (node == -1) {
+                    // the nogoods below are subsumed by a stored one
+                    decisions.clear();
+                }
+            } else {
+                // the refuted decision is now implied
+                trie.forbid(node, var, op, val);
             }
         }
     }
 
     /**
-     * Transform this decision into a literal to be used in {@link PropSat}.
+     * Transform a decision into a literal to be used in {@link PropSat}, that is, its negation.
      *
-     * @param decision a decision
-     * @return the literal corresponding to this decision
+     * @param png the SAT store
+     * @param var the variable of the decision
+     * @param op  the code of the operator of the decision in {@link PropNogoodTrie}
+     * @param val the value of the decision
+     * @return the literal corresponding to the negation of this decision
      */
-    private <V extends Variable> int asLit(Decision<V> decision) {
-        if (decision instanceof IntDecision) {
-            IntDecision id = (IntDecision) decision;
-            return asLit(
-                nogoodStealer.getById(id.getDecisionVariable(), png.getModel()), 
-                id.getDecOp(),
-                id.getDecisionValue()
-            );
-        } else if (decision instanceof SetDecision) {
-            SetDecision id = (SetDecision) decision;
-            return asLit(
-                nogoodStealer.getById(id.getDecisionVariable(), png.getModel()), 
-                id.getDecOp(),
-                id.getDecisionValue()
-            );
-        } else {
-            throw new UnsupportedOperationException("Cannot deal with such decision: " + decision);
+    public static int asLit(PropSat png, Variable var, int op, int val) {
+        switch (op) {
+            case PropNogoodTrie.EQ:
+                return MiniSat.makeLiteral(png.makeIntEq((IntVar) var, val), false);
+            case PropNogoodTrie.NEQ:
+                return MiniSat.makeLiteral(png.makeIntEq((IntVar) var, val), true);
+            case PropNogoodTrie.LE:
+                return MiniSat.makeLiteral(png.makeIntLe((IntVar) var, val), false);
+            case PropNogoodTrie.GE:
+                // not(x >= v) is x <= v - 1
+                return MiniSat.makeLiteral(png.makeIntLe((IntVar) var, val - 1), true);
+            case PropNogoodTrie.IN:
+                return MiniSat.makeLiteral(png.makeSetIn((SetVar) var, val), false);
+            case PropNogoodTrie.OUT:
+                return MiniSat.makeLiteral(png.makeSetIn((SetVar) var, val), true);
+            default:
+                throw new UnsupportedOperationException("Unknown operator: " + op);
         }
     }
 
-    private int asLit(IntVar var, DecisionOperator<IntVar> op, int val) {
-        int l;
-        if (DecisionOperatorFactory.makeIntEq().equals(op)) {
-            l = MiniSat.makeLiteral(png.makeIntEq(var, val), false);
-        } else if (DecisionOperatorFactory.makeIntNeq().equals(op)) {
-            l = MiniSat.makeLiteral(png.makeIntEq(var, val), true);
-        } else if (DecisionOperatorFactory.makeIntSplit().equals(op)) {
-            l = MiniSat.makeLiteral(png.makeIntLe(var, val), false);
-        } else if (DecisionOperatorFactory.makeIntReverseSplit().equals(op)) {
-            l = MiniSat.makeLiteral(png.makeIntLe(var, val), true);
-        } else {
-            throw new UnsupportedOperationException("Cannot deal with such operator: " + op);
+    /**
+     * @param decision a decision
+     * @return the code of the operator of this decision in {@link PropNogoodTrie}
+     */
+    private static <V extends Variable> int opCode(Decision<V> decision) {
+        int op = -1;
+        if (decision instanceof IntDecision) {
+            op = PropNogoodTrie.opCode(((IntDecision) decision).getDecOp());
+        } else if (decision instanceof SetDecision) {
+            op = PropNogoodTrie.opCode(((SetDecision) decision).getDecOp());
         }
-        return l;
-    }
-
-    private int asLit(SetVar var, DecisionOperator<SetVar> op, int val) {
-        int l;
-        if (DecisionOperatorFactory.makeSetForce().equals(op)) {
-            l = MiniSat.makeLiteral(png.makeSetIn(var, val), false);
-        } else if (DecisionOperatorFactory.makeSetRemove().equals(op)) {
-            l = MiniSat.makeLiteral(png.makeSetIn(var, val), true);
-        } else {
-            throw new UnsupportedOperationException("Cannot deal with such operator: " + op);
+        if (op == -1) {
+            throw new UnsupportedOperationException("Cannot deal with such decision: " + decision);
         }
-        return l;
+        return op;
     }
 }
@@ -11,11 +11,16 @@ package org.chocosolver.solver.search.loop.monitors;
 
 import org.chocosolver.solver.exception.ContradictionException;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
- * <br/>
+ * The search monitors plugged into a solver, dispatched by event.
+ * <p>
+ * Monitors are stored in one array per event, which is replaced (never modified) when a monitor is added or removed.
+ * So, dispatching an event to no monitor costs nothing but an empty loop,
+ * and a monitor can be plugged or unplugged while an event is dispatched:
+ * the event is still dispatched to the monitors plugged when it was fired.
+ * </p>
  *
  * @author Charles Prud'homme
  * @since 09/05/11
@@ -27,139 +32,153 @@ public final class SearchMonitorList implements IMonitorClose, IMonitorContradic
     /**
      * Close monitors
      */
-    private List<IMonitorClose> mclos = new ArrayList<>();
+    private IMonitorClose[] mclos = new IMonitorClose[0];
 
     /**
      * Contradiction monitors
      */
-    private List<IMonitorContradiction> mcont = new ArrayList<>();
+    private IMonitorContradiction[] mcont = new IMonitorContradiction[0];
 
     /**
      * Down branch monitors
      */
-    private List<IMonitorDownBranch> mdbra = new ArrayList<>();
+    private IMonitorDownBranch[] mdbra = new IMonitorDownBranch[0];
 
     /**
      * Initialize monitors
      */
-    private List<IMonitorInitialize> minit = new ArrayList<>();
+    private IMonitorInitialize[] minit = new IMonitorInitialize[0];
 
     /**
      * Open node monitors
      */
-    private List<IMonitorOpenNode> mopno = new ArrayList<>();
+    private IMonitorOpenNode[] mopno = new IMonitorOpenNode[0];
 
     /**
      * Restart monitors
      */
-    private List<IMonitorRestart> mrest = new ArrayList<>();
+    private IMonitorRestart[] mrest = new IMonitorRestart[0];
 
     /**
      * Solution monitors
      */
-    private List<IMonitorSolution> msolu = new ArrayList<>();
+    private IMonitorSolution[] msolu = new IMonitorSolution[0];
 
     /**
      * Up branch monitors
      */
-    private List<IMonitorUpBranch> mubra = new ArrayList<>();
+    private IMonitorUpBranch[] mubra = new IMonitorUpBranch[0];
 
 
     @Override
     public void beforeInitialize() {
-        for (int i = 0; i < minit.size(); i++) {
-            minit.get(i).beforeInitialize();
+        final IMonitorInitialize[] ms = minit;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].beforeInitialize();
         }
     }
 
     @Override
     public void afterInitialize(boolean correct) {
-        for (int i = 0; i < minit.size(); i++) {
-            minit.get(i).afterInitialize(correct);
+        final IMonitorInitialize[] ms = minit;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].afterInitialize(correct);
         }
     }
 
     @Override
     public void beforeOpenNode() {
-        for (int i = 0; i < mopno.size(); i++) {
-            mopno.get(i).beforeOpenNode();
+        final IMonitorOpenNode[] ms = mopno;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].beforeOpenNode();
         }
     }
 
     @Override
     public void afterOpenNode() {
-        for (int i = 0; i < mopno.size(); i++) {
-            mopno.get(i).afterOpenNode();
+        final IMonitorOpenNode[] ms = mopno;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].afterOpenNode();
         }
     }
 
     @Override
     public void onSolution() {
-        for (int i = 0; i < msolu.size(); i++) {
-            msolu.get(i).onSolution();
+        final IMonitorSolution[] ms = msolu;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].onSolution();
         }
     }
 
     @Override
     public void beforeDownBranch(boolean left) {
-        for (int i = 0; i < mdbra.size(); i++) {
-            mdbra.get(i).beforeDownBranch(left);
+        final IMonitorDownBranch[] ms = mdbra;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].beforeDownBranch(left);
         }
     }
 
     @Override
     public void afterDownBranch(boolean left) {
-        for (int i = 0; i < mdbra.size(); i++) {
-            mdbra.get(i).afterDownBranch(left);
+        final IMonitorDownBranch[] ms = mdbra;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].afterDownBranch(left);
         }
     }
 
     @Override
     public void beforeUpBranch() {
-        for (int i = 0; i < mubra.size(); i++) {
-            mubra.get(i).beforeUpBranch();
+        final IMonitorUpBranch[] ms = mubra;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].beforeUpBranch();
         }
     }
 
     @Override
     public void afterUpBranch() {
-        for (int i = 0; i < mubra.size(); i++) {
-            mubra.get(i).afterUpBranch();
+        final IMonitorUpBranch[] ms = mubra;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].afterUpBranch();
         }
     }
 
     @Override
     public void onContradiction(ContradictionException cex) {
-        for (int i = 0; i < mcont.size(); i++) {
-            mcont.get(i).onContradiction(cex);
+        final IMonitorContradiction[] ms = mcont;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].onContradiction(cex);
         }
     }
 
     @Override
     public void beforeRestart() {
-        for (int i = 0; i < mrest.size(); i++) {
-            mrest.get(i).beforeRestart();
+        final IMonitorRestart[] ms = mrest;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].beforeRestart();
         }
     }
 
     @Override
     public void afterRestart() {
-        for (int i = 0; i < mrest.size(); i++) {
-            mrest.get(i).afterRestart();
+        final IMonitorRestart[] ms = mrest;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].afterRestart();
         }
     }
 
     @Override
     public void beforeClose() {
-        for (int i = 0; i < mclos.size(); i++) {
-            mclos.get(i).beforeClose();
+        final IMonitorClose[] ms = mclos;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].beforeClose();
         }
     }
 
     @Override
     public void afterClose() {
-        for (int i = 0; i < mclos.size(); i++) {
-            mclos.get(i).afterClose();
+        final IMonitorClose[] ms = mclos;
+        for (int i = 0; i < ms.length; i++) {
+            ms[i].afterClose();
         }
     }
 
@@ -170,28 +189,28 @@ public final class SearchMonitorList implements IMonitorClose, IMonitorContradic
     public void add(ISearchMonitor sm) {
         if (sm != null) {
             if (sm instanceof IMonitorClose) {
-                mclos.add((IMonitorClose) sm);
+                mclos = add(mclos, (IMonitorClose) sm);
             }
             if (sm instanceof IMonitorContradiction) {
-                mcont.add((IMonitorContradiction) sm);
+                mcont = add(mcont, (IMonitorContradiction) sm);
             }
             if (sm instanceof IMonitorDownBranch) {
-                mdbra.add((IMonitorDownBranch) sm);
+                mdbra = add(mdbra, (IMonitorDownBranch) sm);
             }
             if (sm instanceof IMonitorInitialize) {
-                minit.add((IMonitorInitialize) sm);
+                minit = add(minit, (IMonitorInitialize) sm);
             }
             if (sm instanceof IMonitorOpenNode) {
-                mopno.add((IMonitorOpenNode) sm);
+                mopno = add(mopno, (IMonitorOpenNode) sm);
             }
             if (sm instanceof IMonitorRestart) {
-                mrest.add((IMonitorRestart) sm);
+                mrest = add(mrest, (IMonitorRestart) sm);
             }
             if (sm instanceof IMonitorSolution) {
-                msolu.add((IMonitorSolution) sm);
+                msolu = add(msolu, (IMonitorSolution) sm);
             }
             if (sm instanceof IMonitorUpBranch) {
-                mubra.add((IMonitorUpBranch) sm);
+                mubra = add(mubra, (IMonitorUpBranch) sm);
             }
         }
     }
@@ -205,33 +224,40 @@ public final class SearchMonitorList implements IMonitorClose, IMonitorContradic
         boolean isPluggedIn = false;
         if (sm != null) {
             if (sm instanceof IMonitorClose) {
-                isPluggedIn = mclos.contains(sm);
+                isPluggedIn = contains(mclos, sm);
             }
             if (sm instanceof IMonitorContradiction) {
-                isPluggedIn = mcont.contains(sm);
+                isPluggedIn = contains(mcont, sm);
             }
             if (sm instanceof IMonitorDownBranch) {
-                isPluggedIn = mdbra.contains(sm);
+                isPluggedIn = contains(mdbra, sm);
             }
             if (sm instanceof IMonitorInitialize) {
-                isPluggedIn = minit.contains(sm);
+                isPluggedIn = contains(minit, sm);
             }
             if (sm instanceof IMonitorOpenNode) {
-                isPluggedIn = mopno.contains(sm);
+                isPluggedIn = contains(mopno, sm);
             }
             if (sm instanceof IMonitorRestart) {
-                isPluggedIn = mrest.contains(sm);
+                isPluggedIn = contains(mrest, sm);
             }
             if (sm instanceof IMonitorSolution) {
-                isPluggedIn = msolu.contains(sm);
+                isPluggedIn = contains(msolu, sm);
             }
             if (sm instanceof IMonitorUpBranch) {
-                isPluggedIn = mubra.contains(sm);
+                isPluggedIn = contains(mubra, sm);
             }
         }
         return isPluggedIn;
     }
 
+    /**
+     * @return <tt>true</tt> if at least one monitor listens to node or branch events.
+     */
+    public boolean listensToNodes() {
+        return mopno.length > 0 || mdbra.length > 0 || mubra.length > 0;
+    }
+
     /**
      * Removes a search monitor for this list.
      * @param sm a search monitor.
@@ -239,28 +265,28 @@ public final class SearchMonitorList implements IMonitorClose, IMonitorContradic
     public void remove(ISearchMonitor sm) {
         if (sm != null) {
             if (sm instanceof IMonitorClose) {
-                mclos.remove(sm);
+                mclos = remove(mclos, sm);
             }
             if (sm instanceof IMonitorContradiction) {
-                mcont.remove(sm);
+                mcont = remove(mcont, sm);
             }
             if (sm instanceof IMonitorDownBranch) {
-                mdbra.remove(sm);
+                mdbra = remove(mdbra, sm);
             }
             if (sm instanceof IMonitorInitialize) {
-                minit.remove(sm);
+                minit = remove(minit, sm);
             }
             if (sm instanceof IMonitorOpenNode) {
-                mopno.remove(sm);
+                mopno = remove(mopno, sm);
             }
             if (sm instanceof IMonitorRestart) {
-                mrest.remove(sm);
+                mrest = remove(mrest, sm);
             }
             if (sm instanceof IMonitorSolution) {
-                msolu.remove(sm);
+                msolu = remove(msolu, sm);
             }
             if (sm instanceof IMonitorUpBranch) {
-                mubra.remove(sm);
+                mubra = remove(mubra, sm);
             }
         }
     }
@@ -269,14 +295,39 @@ public final class SearchMonitorList implements IMonitorClose, IMonitorContradic
      * Clears all internal lists of search monitors.
      */
     public void reset() {
-        mclos.clear();
-        mcont.clear();
-        mdbra.clear();
-        minit.clear();
-        mopno.clear();
-        mrest.clear();
-        msolu.clear();
-        mubra.clear();
+        mclos = new IMonitorClose[0];
+        mcont = new IMonitorContradiction[0];
+        mdbra = new IMonitorDownBranch[0];
+        minit = new IMonitorInitialize[0];
+        mopno = new IMonitorOpenNode[0];
+        mrest = new IMonitorRestart[0];
+        msolu = new IMonitorSolution[0];
+        mubra = new IMonitorUpBranch[0];
     }
 
+    private static <T> T[] add(T[] monitors, T sm) {
+        T[] copy = Arrays.copyOf(monitors, monitors.length + 1);
+        copy[monitors.length] = sm;
+        return copy;
+    }
+
+    private static boolean contains(Object[] monitors, ISearchMonitor sm) {
+        for (Object monitor : monitors) {
+            if (sm.equals(monitor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> T[] remove(T[] monitors, ISearchMonitor sm) {
+        for (int i = 0; i < monitors.length; i++) {
+            if (sm.equals(monitors[i])) {
+                T[] copy = Arrays.copyOf(monitors, monitors.length - 1);
+                System.arraycopy(monitors, i + 1, copy, i, copy.length - i);
+                return copy;
+            }
+        }
+        return monitors;
+    }
 }
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.solver.search.loop.move;
 
+import org.chocosolver.solver.ElitePool;
+import org.chocosolver.solver.SharedIncumbent;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
@@ -28,6 +30,7 @@ import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableSetUti
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * This {@link Move}'s implementation defines a Large Neighborhood Search.
@@ -71,6 +74,36 @@ public class MoveLNS implements Move {
 
     private boolean canApplyNeighborhood;
 
+    /**
+     * Incumbent shared with other workers, may be null
+     */
+    private SharedIncumbent incumbent;
+
+    /**
+     * Version of the shared incumbent last seen
+     */
+    private long incumbentVersion;
+
+    /**
+     * Elite solutions shared with other workers, may be null
+     */
+    private ElitePool elites;
+
+    /**
+     * Number of consecutive restarts without solution before loading an elite solution
+     */
+    private int patience;
+
+    /**
+     * Number of consecutive restarts without solution
+     */
+    private int fruitless;
+
+    /**
+     * To pick elite solutions
+     */
+    private Random random;
+
     /**
      * Create a move which defines a Large Neighborhood Search.
      * @param move how the subtree is explored
@@ -145,7 +178,7 @@ public class MoveLNS implements Move {
                 // if fast restart is on
                 if (counter.isMet()) {
                     // then is restart is triggered
-                    doRestart(solver);
+                    doFruitlessRestart(solver);
                     extend = true;
                 } else {
                     extend = move.extend(solver);
@@ -206,9 +239,15 @@ public class MoveLNS implements Move {
                 assert solutions == solver.getSolutionCount() - 1;
                 solutions++;
                 solutionLoaded = false;
+                fruitless = 0;
                 neighbor.recordSolution();
                 doRestart(solver);
             }
+            // a better solution has been found by another worker
+            else if (importIncumbent(solver)) {
+                // then it is loaded and a restart is triggered
+                assert freshRestart;
+            }
             // when posting the cut directly at root node fails
             else if (freshRestart) {
                 repair = false;
@@ -218,16 +257,16 @@ public class MoveLNS implements Move {
                 // but the neighbor cannot ensure completeness
                 if (!neighbor.isSearchComplete()) {
                     // then a restart is triggered
-                    doRestart(solver);
+                    doFruitlessRestart(solver);
                     repair = true;
                 }
             }
             // or a fast restart is on
             else if (counter.isMet()) {
                 // then is restart is triggered
-                doRestart(solver);
+                doFruitlessRestart(solver);
             }
-        }else{
+        }else if(!importIncumbent(solver)){
             repair = move.repair(solver);
         }
         return repair;
@@ -249,6 +288,82 @@ public class MoveLNS implements Move {
         }
     }
 
+    /**
+     * Share an incumbent with other workers.
+     * On each call to {@link #repair(Solver)}, the incumbent is polled and,
+     * when another worker has found a better solution, it is loaded as the new basis of the neighbor
+     * and a restart is triggered.
+     * @implSpec It is assumed that the models of the workers are equivalent
+     * (ie, each variable has the same ID in each worker).
+     * @param incumbent the incumbent shared among workers
+     */
+    public void setSharedIncumbent(SharedIncumbent incumbent) {
+        this.incumbent = incumbent;
+        this.incumbentVersion = 0;
+    }
+
+    /**
+     * Load the shared incumbent, if any, when it has been improved by another worker since last call.
+     * @param solver that manages the LNS
+     * @return <i>true</i> if a solution has been loaded, and a restart triggered
+     */
+    private boolean importIncumbent(Solver solver) {
+        if (incumbent == null) {
+            return false;
+        }
+        SharedIncumbent.Snapshot current = incumbent.get();
+        if (current.getVersion() == incumbentVersion) {
+            return false;
+        }
+        incumbentVersion = current.getVersion();
+        if (current.getSolution() == null || current.getModel() == solver.getModel()) {
+            return false;
+        }
+        neighbor.loadFromSolution(current.getSolution());
+        solutionLoaded = true;
+        fruitless = 0;
+        doRestart(solver);
+        return true;
+    }
+
+    /**
+     * Share elite solutions with other workers.
+     * When <i>patience</i> consecutive restarts occur without finding a solution,
+     * a solution picked at random in the pool is loaded as the new basis of the neighbor,
+     * which diversifies the search while the cut on the objective still requires improving solutions.
+     * The pool is expected to be fed by the workers themselves,
+     * for instance by {@link org.chocosolver.solver.ParallelPortfolio#shareElitesWithLNS(int, int)}.
+     * @implSpec It is assumed that the models of the workers are equivalent
+     * (ie, each variable has the same ID in each worker).
+     * @param elites the pool of elite solutions shared among workers
+     * @param patience number of consecutive restarts without solution before loading an elite solution
+     * @param seed seed for picking elite solutions
+     */
+    public void setElitePool(ElitePool elites, int patience, long seed) {
+        this.elites = elites;
+        this.patience = patience;
+        this.fruitless = 0;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Do a restart when the current fragment did not lead to a solution,
+     * the basis of the neighbor is replaced by an elite solution when the search stagnates.
+     *
+     * @param solver SearchLoop
+     */
+    private void doFruitlessRestart(Solver solver) {
+        if (elites != null && ++fruitless >= patience) {
+            fruitless = 0;
+            Solution elite = elites.pick(random);
+            if (elite != null) {
+                neighbor.loadFromSolution(elite);
+                solutionLoaded = true;
+            }
+        }
+        doRestart(solver);
+    }
+
     @Override
     public void setTopDecisionPosition(int position) {
         move.setTopDecisionPosition(position);
@@ -149,6 +149,31 @@ public interface IMeasures extends Serializable {
      */
     IBoundsManager getBoundsManager();
 
+    /**
+     * @return the number of clauses learnt by the SAT solver, if any, with a small LBD (never removed)
+     */
+    long getCoreLearntCount();
+
+    /**
+     * @return the number of clauses learnt by the SAT solver, if any, with a medium LBD (kept while used)
+     */
+    long getTier2LearntCount();
+
+    /**
+     * @return the number of other clauses learnt by the SAT solver, if any (periodically reduced)
+     */
+    long getLocalLearntCount();
+
+    /**
+     * @return the number of reductions of the learnt clauses database of the SAT solver, if any
+     */
+    long getLearntReductionCount();
+
+    /**
+     * @return the number of learnt clauses removed from the SAT solver, if any
+     */
+    long getRemovedLearntCount();
+
     /**
      * @return a summary of recorded statistics
      */
@@ -246,6 +271,18 @@ public interface IMeasures extends Serializable {
                 getRestartCount()
             )
         );
+        if (getCoreLearntCount() + getTier2LearntCount() + getLocalLearntCount() + getRemovedLearntCount() > 0) {
+            st.append(
+                String.format(
+                    "\n\tLearnt clauses: %,d core, %,d tier2, %,d local (%,d reductions, %,d removed)",
+                    getCoreLearntCount(),
+                    getTier2LearntCount(),
+                    getLocalLearntCount(),
+                    getLearntReductionCount(),
+                    getRemovedLearntCount()
+                )
+            );
+        }
         return st.toString();
     }
 
@@ -107,6 +107,31 @@ public class Measures implements IMeasures, Cloneable {
      */
     protected long backjumpCount;
 
+    /**
+     * Number of clauses learnt by the SAT solver with a small LBD
+     */
+    protected long coreLearntCount;
+
+    /**
+     * Number of clauses learnt by the SAT solver with a medium LBD
+     */
+    protected long tier2LearntCount;
+
+    /**
+     * Number of other clauses learnt by the SAT solver
+     */
+    protected long localLearntCount;
+
+    /**
+     * Counts the number of reductions of the learnt clauses database of the SAT solver
+     */
+    protected long learntReductionCount;
+
+    /**
+     * Counts the number of learnt clauses removed from the SAT solver
+     */
+    protected long removedLearntCount;
+
     //***********************************************************************************
     // CONSTRUCTOR
     //***********************************************************************************
@@ -141,6 +166,11 @@ public class Measures implements IMeasures, Cloneable {
         failCount = measures.getFailCount();
         depth = measures.getCurrentDepth();
         maxDepth = measures.getMaxDepth();
+        coreLearntCount = measures.getCoreLearntCount();
+        tier2LearntCount = measures.getTier2LearntCount();
+        localLearntCount = measures.getLocalLearntCount();
+        learntReductionCount = measures.getLearntReductionCount();
+        removedLearntCount = measures.getRemovedLearntCount();
     }
 
     //****************************************************************************************************************//
@@ -250,6 +280,31 @@ public class Measures implements IMeasures, Cloneable {
         return nodeCount - solutionCount;
     }
 
+    @Override
+    public final long getCoreLearntCount() {
+        return coreLearntCount;
+    }
+
+    @Override
+    public final long getTier2LearntCount() {
+        return tier2LearntCount;
+    }
+
+    @Override
+    public final long getLocalLearntCount() {
+        return localLearntCount;
+    }
+
+    @Override
+    public final long getLearntReductionCount() {
+        return learntReductionCount;
+    }
+
+    @Override
+    public final long getRemovedLearntCount() {
+        return removedLearntCount;
+    }
+
     @Override
     public String toString() {
         return toMultiLineString();
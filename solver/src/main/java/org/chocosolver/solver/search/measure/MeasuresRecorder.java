@@ -193,6 +193,22 @@ public final class MeasuresRecorder extends Measures {
         this.boundsManager = boundsManager;
     }
 
+    /**
+     * Update the statistics of the learnt clauses database of the SAT solver
+     * @param core number of learnt clauses in the core tier
+     * @param tier2 number of learnt clauses in the tier2
+     * @param local number of learnt clauses in the local tier
+     * @param reductions number of reductions done so far
+     * @param removed number of learnt clauses removed so far
+     */
+    public final void setLearntClauseCounts(long core, long tier2, long local, long reductions, long removed) {
+        this.coreLearntCount = core;
+        this.tier2LearntCount = tier2;
+        this.localLearntCount = local;
+        this.learntReductionCount = reductions;
+        this.removedLearntCount = removed;
+    }
+
     public final void setReadingTimeCount(long readingTimeCount) {
         if(this.readingTimeCount <= 0) {
             this.readingTimeCount = readingTimeCount;
@@ -10,8 +10,6 @@
 package org.chocosolver.solver.search.strategy.selectors.variables;
 
 import gnu.trove.list.array.TIntArrayList;
-import gnu.trove.map.TObjectDoubleMap;
-import gnu.trove.map.hash.TObjectDoubleHashMap;
 import org.chocosolver.memory.IEnvironment;
 import org.chocosolver.memory.IStateInt;
 import org.chocosolver.solver.Solver;
@@ -24,17 +22,26 @@ import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
 import org.chocosolver.solver.variables.events.IEventType;
 import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.util.tools.VariableUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.function.BiFunction;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 /**
  * <p>
  * Project: choco.
+ * <p>
+ * Weights, failure counters and watchers are stored in primitive arrays indexed by
+ * variable and propagator ids.
+ * By default, the variable with the best score is found with a linear scan of the free variables.
+ * Alternatively, variables can be stored in a lazily-updated heap (see {@link IndexedVariableHeap}),
+ * which makes selection run in <i>O(log n)</i>.
  *
  * @author Charles Prud'homme
  * @since 26/02/2020.
@@ -49,27 +56,16 @@ public abstract class AbstractCriterionBasedVariableSelector implements Variable
      */
     static class Element {
         int[] ws;
+        /**
+         * Refined weights, for DOMWDEG_REFINED and CHS
+         */
+        double[] rws;
 
         public Element(int count, int w0, int w1) {
             this.ws = new int[]{w0, w1, count};
         }
     }
 
-    private final BiFunction<Propagator<?>, double[], double[]> remapWeights =
-            (p, w) -> {
-                if (w == null) {
-                    // if absent
-                    w = new double[p.getNbVars()];
-                } else if (w.length < p.getNbVars()) {
-                    // may happen propagators (like PropSat) with dynamic variable addition
-                    w = new double[p.getNbVars()];
-                    double[] nw = new double[p.getNbVars()];
-                    System.arraycopy(w, 0, nw, 0, w.length);
-                    w = nw;
-                }
-                return w;
-            };
-
     protected static final int FLUSH_TOPS = 20;
     protected static final double FLUSH_RATIO = .9 * FLUSH_TOPS;
     protected int flushThs;
@@ -102,34 +98,74 @@ public abstract class AbstractCriterionBasedVariableSelector implements Variable
      */
     int conflicts = 0;
     /**
-     * Stores for each propagator, its {@link Element}.
+     * Stores for each propagator, its {@link Element}, indexed by propagator id.
      */
-    final HashMap<Propagator<?>, Element> failCount = new HashMap<>();
+    private Element[] failCount = new Element[16];
     /**
-     * Required to store for each variable the number of watchers (ie, propagator and futvars)
+     * Required to store for each variable the number of watchers (ie, propagator and futvars),
+     * indexed by variable id
      */
-    private final HashMap<Variable, Integer> observed = new HashMap<>();
+    private int[] observed = new int[16];
     /**
-     * Scoring for each variables, is updated dynamically.
+     * Scoring for each variables, is updated dynamically, indexed by variable id.
      */
-    final TObjectDoubleMap<Variable> weights = new TObjectDoubleHashMap<>(15, 1.5f, 0.);
+    private double[] weights = new double[16];
     /**
-     * Refined weights,
-     * for DOMWDEG_REFINED and CHS
+     * Variables with a weight, in order of appearance
      */
-    final HashMap<Propagator<?>, double[]> refinedWeights = new HashMap<>();
-    static final double[] rw = {0.};
+    private final List<Variable> weighted = new ArrayList<>();
+    /**
+     * Ids of the variables in {@link #weighted}
+     */
+    private final BitSet weightedIds = new BitSet();
+    /**
+     * The decision variables, when stored in a heap
+     */
+    private final IntVar[] hvars;
+    /**
+     * Heap of the decision variables, <i>null</i> when variables are scanned
+     */
+    private final IndexedVariableHeap heap;
 
     public AbstractCriterionBasedVariableSelector(IntVar[] vars, long seed, int flush) {
+        this(vars, seed, flush, false, true);
+    }
+
+    /**
+     * @param vars       decision variables
+     * @param seed       seed for breaking ties randomly
+     * @param flush      flush threshold, when reached, it flushes scores
+     * @param heap       set to <i>true</i> to store variables in a heap instead of scanning them
+     * @param randomTies only when <i>heap</i> is <i>true</i>, set to <i>true</i> to break ties uniformly at random
+     *                   (as the scan does), otherwise the first variable wrt to the input order is selected
+     */
+    public AbstractCriterionBasedVariableSelector(IntVar[] vars, long seed, int flush,
+                                                  boolean heap, boolean randomTies) {
         this.random = new java.util.Random(seed);
         this.solver = vars[0].getModel().getSolver();
         this.environment = vars[0].getModel().getEnvironment();
         this.last = environment.makeInt(vars.length - 1);
         this.flushThs = flush;
+        if (heap) {
+            this.hvars = vars.clone();
+            this.heap = new IndexedVariableHeap(hvars, i -> weight(hvars[i]) / hvars[i].getDomainSize(),
+                    environment, randomTies ? random : null);
+            // any domain modification of a decision variable increases its score
+            for (IntVar var : hvars) {
+                plug(var);
+            }
+        } else {
+            this.hvars = null;
+            this.heap = null;
+        }
     }
 
     @Override
     public final IntVar getVariable(IntVar[] vars) {
+        if (heap != null) {
+            int i = heap.select();
+            return i < 0 ? null : hvars[i];
+        }
         IntVar best = null;
         bests.resetQuick();
         double w = Double.NEGATIVE_INFINITY;
@@ -166,6 +202,110 @@ public abstract class AbstractCriterionBasedVariableSelector implements Variable
 
     protected abstract double weight(IntVar v);
 
+    /**
+     * @return <i>true</i> if variables are stored in a heap
+     */
+    final boolean isHeapBased() {
+        return heap != null;
+    }
+
+    /**
+     * @param var a variable
+     * @return the weight of <i>var</i>
+     */
+    final double weightOf(Variable var) {
+        int id = var.getId();
+        return id < weights.length ? weights[id] : 0.;
+    }
+
+    /**
+     * Add <i>inc</i> to the weight of <i>var</i>
+     *
+     * @param var a variable
+     * @param inc increment, may be negative
+     */
+    final void addWeight(Variable var, double inc) {
+        setWeight(var, weightOf(var) + inc);
+    }
+
+    /**
+     * Set the weight of <i>var</i> to <i>w</i>
+     *
+     * @param var a variable
+     * @param w   new weight
+     */
+    final void setWeight(Variable var, double w) {
+        int id = var.getId();
+        if (id >= weights.length) {
+            weights = Arrays.copyOf(weights, Math.max(id + 1, weights.length * 3 / 2));
+        }
+        if (!weightedIds.get(id)) {
+            weightedIds.set(id);
+            weighted.add(var);
+        }
+        weights[id] = w;
+        if (heap != null) {
+            int i = heap.position(var);
+            if (i > -1) {
+                heap.touch(i);
+            }
+        }
+    }
+
+    /**
+     * Notify the heap, if any, that the score of <i>var</i> may have increased.
+     * The score is computed when <i>var</i> reaches the top of the heap.
+     *
+     * @param var a variable
+     */
+    final void invalidate(Variable var) {
+        if (heap != null) {
+            int i = heap.position(var);
+            if (i > -1) {
+                heap.invalidate(i);
+            }
+        }
+    }
+
+    /**
+     * Reset the weight of all variables to 0
+     */
+    final void clearWeights() {
+        for (int i = 0; i < weighted.size(); i++) {
+            weights[weighted.get(i).getId()] = 0.;
+        }
+    }
+
+    /**
+     * @param prop a propagator
+     * @return the {@link Element} of <i>prop</i>, or <i>null</i> if it never failed
+     */
+    final Element element(Propagator<?> prop) {
+        int id = prop.getId();
+        return id < failCount.length ? failCount[id] : null;
+    }
+
+    private Element addElement(Propagator<?> prop) {
+        int id = prop.getId();
+        if (id >= failCount.length) {
+            failCount = Arrays.copyOf(failCount, Math.max(id + 1, failCount.length * 3 / 2));
+        }
+        Element elt = new Element(0, 0, 1);
+        failCount[id] = elt;
+        return elt;
+    }
+
+    private static double[] remapWeights(Propagator<?> p, Element elt) {
+        if (elt.rws == null) {
+            // if absent
+            elt.rws = new double[p.getNbVars()];
+        } else if (elt.rws.length < p.getNbVars()) {
+            // may happen propagators (like PropSat) with dynamic variable addition
+            elt.rws = Arrays.copyOf(elt.rws, p.getNbVars());
+        }
+        return elt.rws;
+    }
+
     @Override
     public final void onContradiction(ContradictionException cex) {
         conflicts++;
@@ -174,10 +314,9 @@ public abstract class AbstractCriterionBasedVariableSelector implements Variable
             if (prop.getNbVars() < 2 /*|| prop instanceof PropSat*/) return;
             // store the propagator if needed
             // then update its failure counter
-            Element elt = failCount.get(prop);
+            Element elt = element(prop);
             if (elt == null) {
-                elt = new Element(0, 0, 1);
-                failCount.put(prop, elt);
+                elt = addElement(prop);
             } else {
                 unplug(prop.getVar(elt.ws[0]));
                 unplug(prop.getVar(elt.ws[1]));
@@ -217,7 +356,7 @@ public abstract class AbstractCriterionBasedVariableSelector implements Variable
 
             // create, update or get weights
             elt.ws[2] += remapInc();
-            double[] ws = refinedWeights.compute(prop, remapWeights);
+            double[] ws = remapWeights(prop, elt);
             increase(prop, elt, ws);
         }
     }
@@ -228,16 +367,54 @@ public abstract class AbstractCriterionBasedVariableSelector implements Variable
         return 0;
     }
 
+    /**
+     * Increase by <i>inc</i> the weight of all integer variables of <i>prop</i>,
+     * even if they are already instantiated.
+     * When the deepest watched variable is the only free one, its increment is delayed until backtrack,
+     * since its weight has been temporarily decreased (see {@link #updateFutvars(Propagator, Element, int)}).
+     *
+     * @param prop a propagator that just failed
+     * @param elt  its element
+     * @param inc  weight increment
+     */
+    final void distribute(Propagator<?> prop, Element elt, double inc) {
+        int s = prop.getModel().getEnvironment().getWorldIndex();
+        int dj = prop.getVar(elt.ws[0]).instantiationWorldIndex();
+        int dk = prop.getVar(elt.ws[1]).instantiationWorldIndex();
+        boolean futVar1 = Math.min(dj, dk) < s; // that is, futvars == 1 until we reach 'dk'
+        for (int i = 0; i < prop.getNbVars(); i++) {
+            if (prop.getVar(i).isAConstant() || !VariableUtils.isInt(prop.getVar(i))) continue;
+            IntVar ivar = (IntVar) prop.getVar(i);
+            // recall that variable at 0 is the 'deepest' one
+            if (i == elt.ws[0] && futVar1) {
+                // it should be restored upon backtrack
+                environment.saveAt(() -> addWeight(ivar, inc), dk);
+            } else {
+                addWeight(ivar, inc);
+            }
+        }
+    }
+
+    /**
+     * @param ws  refined weights of a propagator
+     * @param idx index of a variable in the propagator
+     * @return the part of the weight of the variable at <i>idx</i> that comes from the propagator
+     */
+    double contribution(double[] ws, int idx) {
+        // may happen propagators (like PropSat) with dynamic variable addition
+        return idx < ws.length ? ws[idx] : 0.;
+    }
+
     /**
      * This method sorts elements wrt to their weight.
      * If 90% of the top 20 elements remain unchanged, then weights are flushed
      *
      * @return <i>true</i> if the weights should be flushed
      */
-    protected boolean flushWeights(TObjectDoubleMap<?> q) {
+    protected boolean flushWeights(ToDoubleFunction<Variable> q) {
         //if(true)return false;
-        List<Variable> temp = weights.keySet().stream()
-                .sorted(Comparator.comparingDouble(q::get))
+        List<Variable> temp = weighted.stream()
+                .sorted(Comparator.comparingDouble(q))
                 .limit(FLUSH_TOPS)
                 .collect(Collectors.toList());
         long cnt = temp.stream().filter(tops::contains).count();
@@ -262,20 +439,20 @@ public abstract class AbstractCriterionBasedVariableSelector implements Variable
 
 
     final void plug(Variable var) {
-        if (!observed.containsKey(var)) {
-            observed.put(var, 1);
+        int id = var.getId();
+        if (id >= observed.length) {
+            observed = Arrays.copyOf(observed, Math.max(id + 1, observed.length * 3 / 2));
+        }
+        if (observed[id]++ == 0) {
             var.addMonitor(this);
-        } else {
-            observed.computeIfPresent(var, (v, c) -> c + 1);
         }
     }
 
     private void unplug(Variable var) {
-        assert observed.containsKey(var);
-        Integer obs = observed.computeIfPresent(var, (v, c) -> c - 1);
-        if (obs != null && obs == 0) {
+        int id = var.getId();
+        assert id < observed.length && observed[id] > 0;
+        if (--observed[id] == 0) {
             var.removeMonitor(this);
-            observed.remove(var);
         }
     }
 
@@ -291,9 +468,18 @@ public abstract class AbstractCriterionBasedVariableSelector implements Variable
 
     @Override
     public final void onUpdate(Variable var, IEventType evt) {
+        if (heap != null) {
+            int i = heap.position(var);
+            if (i > -1) {
+                heap.touch(i);
+            }
+        }
         if (evt == IntEventType.INSTANTIATE) {
-            for (Propagator<?> p : var.getPropagators()) {
-                Element elt = failCount.get(p);
+            onInstantiation(var);
+            int nbp = var.getNbProps();
+            for (int j = 0; j < nbp; j++) {
+                Propagator<?> p = var.getPropagator(j);
+                Element elt = element(p);
                 if (elt != null) {
                     if (p.getVar(elt.ws[0]) == var) {
                         updateFutvars(p, elt, 0);
@@ -305,6 +491,14 @@ public abstract class AbstractCriterionBasedVariableSelector implements Variable
         }
     }
 
+    /**
+     * Called when an observed variable is instantiated. Does nothing by default.
+     *
+     * @param var the variable just instantiated
+     */
+    void onInstantiation(Variable var) {
+    }
+
     private void updateFutvars(Propagator<?> p, Element elt, int i) {
         assert (p.getVar(elt.ws[i]).isInstantiated());
         // look for another free and unwatched variable
@@ -322,19 +516,10 @@ public abstract class AbstractCriterionBasedVariableSelector implements Variable
             if (!other.isInstantiated()) {
                 // 'var' is the last one not instantiated,
                 // so this counter will not be taken into account
-                double[] delta = {0.};
-                double[] ws = refinedWeights.get(p);
-                if (elt.ws[k] < ws.length) {
-                    // may happen propagators (like PropSat) with dynamic variable addition
-                    delta[0] = ws[elt.ws[k]];
-                }
-                weights.adjustValue(other, -delta[0]);
+                double delta = contribution(elt.rws, elt.ws[k]);
+                addWeight(other, -delta);
                 // but it should be restored upon backtrack
-                environment.save(() -> {
-                    double ww = weights.get(other) + delta[0];
-                    ww = Math.max(ww, 0.);
-                    weights.put(other, ww);
-                });
+                environment.save(() -> setWeight(other, Math.max(weightOf(other) + delta, 0.)));
             }
         }
     }
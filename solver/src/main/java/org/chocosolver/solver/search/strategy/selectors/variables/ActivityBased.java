@@ -130,8 +130,38 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
 
     private Move rfMove;
 
+    /**
+     * Heap of the variables, <i>null</i> when variables are scanned
+     */
+    private final IndexedVariableHeap heap;
+
     public ActivityBased(final Model model, IntVar[] vars, IntValueSelector valueSelector,
                          double g, double d, int a, int samplingIterationForced, long seed) {
+        this(model, vars, valueSelector, g, d, a, samplingIterationForced, seed, false, true);
+    }
+
+    /**
+     * Create an Activity based search strategy.
+     * <p>
+     * When <i>heap</i> is <i>true</i>, variables are stored in a heap instead of being scanned
+     * to select the one with the best activity.
+     * Activities are updated the same way in both cases.
+     *
+     * @param model                   the model
+     * @param vars                    decision variables
+     * @param valueSelector           a value selector, may be null
+     * @param g                       aging parameter
+     * @param d                       interval size estimation parameter
+     * @param a                       forget parameter
+     * @param samplingIterationForced minimal number of sampling iterations
+     * @param seed                    seed for breaking ties randomly
+     * @param heap                    set to <i>true</i> to store variables in a heap instead of scanning them
+     * @param randomTies              only when <i>heap</i> is <i>true</i>, set to <i>true</i> to break ties
+     *                                uniformly at random, otherwise the first variable wrt to the input order is selected
+     */
+    public ActivityBased(final Model model, IntVar[] vars, IntValueSelector valueSelector,
+                         double g, double d, int a, int samplingIterationForced, long seed,
+                         boolean heap, boolean randomTies) {
         super(vars);
         this.model = model;
         this.vars = vars;
@@ -155,6 +185,12 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
         random = new Random(seed);
         nb_probes = 0;
         this.samplingIterationForced = samplingIterationForced;
+        if (heap) {
+            this.heap = new IndexedVariableHeap(vars, i -> A[i] / vars[i].getDomainSize(),
+                    model.getEnvironment(), randomTies ? random : null);
+        } else {
+            this.heap = null;
+        }
 //        idx_large = 0; // start the first variable
 //        init(vars);
     }
@@ -242,6 +278,14 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
 
     @Override
     public Decision<IntVar> getDecision() {
+        if (heap != null) {
+            int i = heap.select();
+            if (i > -1) {
+                currentVar = i;
+                return computeDecision(vars[i]);
+            }
+            return computeDecision(null);
+        }
         IntVar best = null;
         bests.clear();
         double bestVal = -1.0d;
@@ -296,6 +340,12 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
     @Override
     public void onUpdate(IntVar var, IEventType evt) {
         affected.set(v2i.get(var.getId()));
+        if (heap != null) {
+            int i = heap.position(var);
+            if (i > -1) {
+                heap.touch(i);
+            }
+        }
     }
 
     @Override
@@ -314,6 +364,10 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
                 }
                 if (affected.get(i)) {
                     A[i] += 1;
+                    if (heap != null) {
+                        // aging only decreases activities, which the heap detects lazily
+                        heap.touch(i);
+                    }
                 }
             }
             double act = vAct[currentVar].activity(currentVal);
@@ -362,6 +416,9 @@ public class ActivityBased extends AbstractStrategy<IntVar> implements IMonitorD
                 for (int i = 0; i < A.length; i++) {
                     vAct[i].transfer();
                 }
+                if (heap != null) {
+                    heap.rebuild();
+                }
             }
         }
     }
@@ -18,6 +18,7 @@ import org.chocosolver.solver.search.loop.monitors.IMonitorRestart;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
 
+import java.util.BitSet;
 import java.util.stream.Stream;
 
 /**
@@ -57,23 +58,75 @@ public class ConflictHistorySearch
      * Last {@link #conflicts} value where a propagator led to a failure.
      */
     private final TObjectIntMap<Propagator> conflict = new TObjectIntHashMap<>(10, 0.5f, 0);
+    /**
+     * The decision variables, only when they are stored in a heap
+     */
+    private final IntVar[] vars;
 
     public ConflictHistorySearch(IntVar[] vars, long seed) {
         this(vars, seed, Integer.MAX_VALUE);
     }
 
     public ConflictHistorySearch(IntVar[] vars, long seed, int flushThs) {
-        super(vars, seed, flushThs);
+        this(vars, seed, flushThs, false, true);
+    }
+
+    /**
+     * Creates a CHS variable selector.
+     * When <i>heap</i> is <i>true</i>, scores are the same as when variables are scanned.
+     * The heap is notified each time the score of a variable may increase,
+     * that is, when the score of one of its propagators increases, when its domain is reduced
+     * or when one of its propagators gets a second instantiated variable.
+     * So, the variables of the propagators of the decision variables are observed too.
+     *
+     * @param vars       decision variables
+     * @param seed       seed for breaking ties randomly
+     * @param flushThs   flush threshold, when reached, it flushes scores
+     * @param heap       set to <i>true</i> to store variables in a heap instead of scanning them
+     * @param randomTies only when <i>heap</i> is <i>true</i>, set to <i>true</i> to break ties uniformly at random,
+     *                   otherwise the first variable wrt to the input order is selected
+     */
+    public ConflictHistorySearch(IntVar[] vars, long seed, int flushThs, boolean heap, boolean randomTies) {
+        super(vars, seed, flushThs, heap, randomTies);
+        this.vars = heap ? vars : null;
     }
 
     @Override
     public boolean init() {
         if (!solver.getSearchMonitors().contains(this)) {
             solver.plugMonitor(this);
+            if (vars != null) {
+                observeNeighbors();
+            }
         }
         return true;
     }
 
+    /**
+     * Observe the variables of the propagators of the decision variables, once,
+     * since the instantiation of one of them may increase the score of a decision variable.
+     */
+    private void observeNeighbors() {
+        BitSet observed = new BitSet();
+        for (IntVar v : vars) {
+            // decision variables are already observed
+            observed.set(v.getId());
+        }
+        for (IntVar v : vars) {
+            int nbp = v.getNbProps();
+            for (int i = 0; i < nbp; i++) {
+                Propagator<?> prop = v.getPropagator(i);
+                for (int j = 0; j < prop.getNbVars(); j++) {
+                    Variable w = prop.getVar(j);
+                    if (!w.isAConstant() && !observed.get(w.getId())) {
+                        observed.set(w.getId());
+                        plug(w);
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public void remove() {
         if (solver.getSearchMonitors().contains(this)) {
@@ -92,7 +145,8 @@ public class ConflictHistorySearch
                     .limit(2)
                     .count();
             if (fut > 1) {
-                w += refinedWeights.getOrDefault(prop, rw)[0] + D;
+                Element elt = element(prop);
+                w += (elt == null ? 0. : elt.rws[0]) + D;
             }
         }
         return w;
@@ -105,14 +159,49 @@ public class ConflictHistorySearch
         double r = 1d / (conflicts - elt.ws[2] + 1);
         // update q
         ws[0] = (1 - alpha) * ws[0] + alpha * r;
+        if (isHeapBased()) {
+            for (int i = 0; i < prop.getNbVars(); i++) {
+                invalidate(prop.getVar(i));
+            }
+        }
         // decrease a
         alpha = Math.max(ALPHA_LIMIT, alpha - STEP);
         elt.ws[2] = conflicts;
     }
 
+    @Override
+    void onInstantiation(Variable var) {
+        if (isHeapBased()) {
+            int nbp = var.getNbProps();
+            for (int i = 0; i < nbp; i++) {
+                Propagator<?> prop = var.getPropagator(i);
+                // the score of the propagator is now counted in the score of its variables
+                if (countInstantiated(prop) == 2) {
+                    for (int j = 0; j < prop.getNbVars(); j++) {
+                        invalidate(prop.getVar(j));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param prop a propagator
+     * @return the number of instantiated variables of <i>prop</i>, up to 3
+     */
+    private static int countInstantiated(Propagator<?> prop) {
+        int cnt = 0;
+        for (int i = 0; i < prop.getNbVars() && cnt < 3; i++) {
+            if (prop.getVar(i).isInstantiated()) {
+                cnt++;
+            }
+        }
+        return cnt;
+    }
+
     @Override
     public void afterRestart() {
-        if (flushWeights(q)) {
+        if (flushWeights(q::get)) {
             q.clear();
             conflict.forEachEntry((a1, b) -> {
                 conflict.put(a1, conflicts);
@@ -46,6 +46,20 @@ public class DomOverWDeg extends AbstractCriterionBasedVariableSelector implemen
         super(variables, seed, flushThs);
     }
 
+    /**
+     * Creates a DomOverWDeg variable selector
+     *
+     * @param variables  decision variables
+     * @param seed       seed for breaking ties randomly
+     * @param flushThs   flush threshold, when reached, it flushes scores
+     * @param heap       set to <i>true</i> to store variables in a heap instead of scanning them
+     * @param randomTies only when <i>heap</i> is <i>true</i>, set to <i>true</i> to break ties uniformly at random,
+     *                   otherwise the first variable wrt to the input order is selected
+     */
+    public DomOverWDeg(IntVar[] variables, long seed, int flushThs, boolean heap, boolean randomTies) {
+        super(variables, seed, flushThs, heap, randomTies);
+    }
+
 
     @Override
     public final boolean init() {
@@ -65,7 +79,7 @@ public class DomOverWDeg extends AbstractCriterionBasedVariableSelector implemen
     @Override
     protected final double weight(IntVar v) {
         //assert weightW(v) == weights.get(v) : "wrong weight for " + v + ", expected " + weightW(v) + ", but found " + weights.get(v);
-        return 1 + weights.get(v);
+        return 1 + weightOf(v);
     }
 
 
@@ -73,20 +87,9 @@ public class DomOverWDeg extends AbstractCriterionBasedVariableSelector implemen
     void increase(Propagator<?> prop, Element elt, double[] ws) {
         // Increase weights of all variables in this propagator
         // even if they are already instantiated
-        int s = prop.getModel().getEnvironment().getWorldIndex();
-        int dj = prop.getVar(elt.ws[0]).instantiationWorldIndex();
-        int dk = prop.getVar(elt.ws[1]).instantiationWorldIndex();
-        boolean futVar1 = Math.min(dj, dk) < s; // that is, futvars == 1 until we reach 'dk'
+        distribute(prop, elt, 1.);
         for (int i = 0; i < prop.getNbVars(); i++) {
             if (prop.getVar(i).isAConstant() || !VariableUtils.isInt(prop.getVar(i))) continue;
-            IntVar ivar = (IntVar) prop.getVar(i);
-            // recall that variable at 0 is the 'deepest' one
-            if (i == elt.ws[0] && futVar1) {
-                // it should be restored upon backtrack
-                environment.saveAt(() -> weights.adjustOrPutValue(ivar, 1., 1.), dk);
-            } else {
-                weights.adjustOrPutValue(ivar, 1., 1.);
-            }
             ws[i] += 1;
         }
     }
@@ -102,11 +105,8 @@ public class DomOverWDeg extends AbstractCriterionBasedVariableSelector implemen
             solution = vars[0].getModel().getSolver().getSolutionCount();
         }
         if (solution > 0 && top(20)) {*/
-        if (flushWeights(weights)) {
-            weights.forEachEntry((a1, b) -> {
-                weights.put(a1, 0.);
-                return true;
-            });
+        if (flushWeights(this::weightOf)) {
+            clearWeights();
         }
     }
 
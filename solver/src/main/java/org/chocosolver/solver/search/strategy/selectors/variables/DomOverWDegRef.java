@@ -44,6 +44,20 @@ public class DomOverWDegRef extends DomOverWDeg {
         super(variables, seed, flushThs);
     }
 
+    /**
+     * Creates a DomOverWDegRef variable selector with "CACD" as weight incrementer.
+     *
+     * @param variables  decision variables
+     * @param seed       seed for breaking ties randomly
+     * @param flushThs   flush threshold, when reached, it flushes scores
+     * @param heap       set to <i>true</i> to store variables in a heap instead of scanning them
+     * @param randomTies only when <i>heap</i> is <i>true</i>, set to <i>true</i> to break ties uniformly at random,
+     *                   otherwise the first variable wrt to the input order is selected
+     */
+    public DomOverWDegRef(IntVar[] variables, long seed, int flushThs, boolean heap, boolean randomTies) {
+        super(variables, seed, flushThs, heap, randomTies);
+    }
+
     /**
      * @implNote
      * This is the reason this class exists.
@@ -60,7 +74,7 @@ public class DomOverWDegRef extends DomOverWDeg {
             if (prop.getVar(i).isAConstant() || !VariableUtils.isInt(prop.getVar(i))) continue;
             IntVar ivar = (IntVar) prop.getVar(i);
             inc[0] = 1.0 / (futvars * (ivar.getDomainSize() == 0 ? 0.5 : ivar.getDomainSize()));
-            weights.adjustOrPutValue(ivar, inc[0], inc[0]);
+            addWeight(ivar, inc[0]);
             ws[i] += inc[0];
         }
     }
@@ -0,0 +1,231 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.selectors.variables;
+
+import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+import org.chocosolver.util.objects.IntHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * A lazily-updated max-heap of decision variables, ordered by a score (like <i>weight/dom</i>),
+ * in the manner of VSIDS in SAT solvers.
+ * <p>
+ * The score of each variable is cached as a key in a primitive array, indexed by the position of the variable.
+ * Any increase of a score must be notified with {@link #touch(int)},
+ * whereas decreases (e.g., domains restored upon backtrack) are detected lazily,
+ * when the variable reaches the top of the heap.
+ * Instantiated variables are removed from the heap when they reach the top, and reinserted upon backtrack.
+ * <p>
+ * Among variables with the best score, either the first one wrt to the input order is selected,
+ * or one is picked uniformly at random, like a linear scan does.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+final class IndexedVariableHeap {
+
+    /**
+     * Decision variables
+     */
+    private final IntVar[] vars;
+    /**
+     * Score of the free variable at a given position
+     */
+    private final IntToDoubleFunction score;
+    /**
+     * Needed to reinsert variables upon backtrack
+     */
+    private final IEnvironment environment;
+    /**
+     * Randomness to break ties, <i>null</i> when ties are broken wrt to the input order
+     */
+    private final Random random;
+    /**
+     * Cached score of each variable, never lower than the actual one
+     */
+    private final double[] keys;
+    /**
+     * Variable id to position in {@link #vars}, -1 if absent
+     */
+    private final int[] positions;
+    /**
+     * Max-heap of positions wrt to {@link #keys}
+     */
+    private final IntHeap heap;
+    /**
+     * Temporary. Stores positions of variables with the same (best) score
+     */
+    private final TIntArrayList bests = new TIntArrayList();
+    /**
+     * Temporary. Heap nodes to visit when collecting ties
+     */
+    private final TIntArrayList stack = new TIntArrayList();
+    /**
+     * Set to <i>true</i> once the heap is filled
+     */
+    private boolean built;
+
+    /**
+     * Create a heap of variables.
+     *
+     * @param vars        decision variables
+     * @param score       score of the (free) variable at a given position, the greater the better
+     * @param environment the environment of the model
+     * @param random      randomness to break ties, or <i>null</i> to select the first variable among ties
+     */
+    IndexedVariableHeap(IntVar[] vars, IntToDoubleFunction score, IEnvironment environment, Random random) {
+        this.vars = vars;
+        this.score = score;
+        this.environment = environment;
+        this.random = random;
+        this.keys = new double[vars.length];
+        int max = 0;
+        for (IntVar var : vars) {
+            max = Math.max(max, var.getId());
+        }
+        this.positions = new int[max + 1];
+        Arrays.fill(positions, -1);
+        for (int i = vars.length - 1; i >= 0; i--) {
+            // in case of duplicates, the first occurrence is the only one considered
+            positions[vars[i].getId()] = i;
+        }
+        this.heap = new IntHeap((a, b) -> keys[a] > keys[b] || (keys[a] == keys[b] && a < b));
+    }
+
+    /**
+     * @param var a variable
+     * @return the position of <i>var</i> in the heap, or -1 if it is not a decision variable
+     */
+    int position(Variable var) {
+        int id = var.getId();
+        return id < positions.length ? positions[id] : -1;
+    }
+
+    /**
+     * Notify that the score of the variable at position <i>i</i> may have increased.
+     *
+     * @param i position of a variable
+     */
+    void touch(int i) {
+        if (heap.contains(i)) {
+            keys[i] = key(i);
+            heap.update(i);
+        }
+    }
+
+    /**
+     * Notify that the score of the variable at position <i>i</i> may have increased,
+     * without computing it: it is computed when the variable reaches the top of the heap.
+     *
+     * @param i position of a variable
+     */
+    void invalidate(int i) {
+        if (heap.contains(i)) {
+            keys[i] = Double.POSITIVE_INFINITY;
+            heap.update(i);
+        }
+    }
+
+    /**
+     * Recompute the keys of all variables, to be called when scores change in bulk.
+     */
+    void rebuild() {
+        if (built) {
+            for (int i = 0; i < vars.length; i++) {
+                touch(i);
+            }
+        }
+    }
+
+    /**
+     * @return the position of the free variable with the best score, or -1 if all variables are instantiated
+     */
+    int select() {
+        if (!built) {
+            build();
+        }
+        while (!heap.isEmpty()) {
+            int i = heap.get(0);
+            if (vars[i].isInstantiated()) {
+                heap.removeMin();
+                environment.save(() -> reinsert(i));
+                continue;
+            }
+            double s = score.applyAsDouble(i);
+            if (s != keys[i]) {
+                // stale key: fix it and try again
+                keys[i] = s;
+                heap.update(i);
+                continue;
+            }
+            return random == null ? i : breakTies(s);
+        }
+        return -1;
+    }
+
+    private void build() {
+        built = true;
+        for (int i = 0; i < vars.length; i++) {
+            if (positions[vars[i].getId()] == i) {
+                keys[i] = key(i);
+                heap.insert(i);
+            }
+        }
+    }
+
+    private double key(int i) {
+        return vars[i].isInstantiated() ? Double.POSITIVE_INFINITY : score.applyAsDouble(i);
+    }
+
+    private void reinsert(int i) {
+        if (!heap.contains(i)) {
+            // the score is not accurate during backtrack, it will be fixed lazily
+            keys[i] = Double.POSITIVE_INFINITY;
+            heap.insert(i);
+        }
+    }
+
+    /**
+     * Collect all free variables with score <i>s</i> and pick one at random.
+     * Only subtrees whose root key is not lower than <i>s</i> are explored.
+     * Ties are sorted wrt to the input order, like a linear scan finds them,
+     * so that the same random draw selects the same variable.
+     */
+    private int breakTies(double s) {
+        bests.resetQuick();
+        stack.resetQuick();
+        stack.add(0);
+        int size = heap.size();
+        while (!stack.isEmpty()) {
+            int p = stack.removeAt(stack.size() - 1);
+            int j = heap.get(p);
+            if (keys[j] >= s) {
+                if (!vars[j].isInstantiated() && score.applyAsDouble(j) == s) {
+                    bests.add(j);
+                }
+                int l = (p << 1) + 1;
+                if (l < size) {
+                    stack.add(l);
+                    if (l + 1 < size) {
+                        stack.add(l + 1);
+                    }
+                }
+            }
+        }
+        bests.sort();
+        return bests.get(random.nextInt(bests.size()));
+    }
+}
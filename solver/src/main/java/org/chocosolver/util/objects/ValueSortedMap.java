@@ -11,14 +11,20 @@ package org.chocosolver.util.objects;
 
 import gnu.trove.map.hash.TObjectIntHashMap;
 
-import java.util.Iterator;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.TreeMap;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 /**
  * A map which ensures key uniqueness and order over values.
+ * <p>
+ * Values are stored in a bitset, and keys in an array indexed by values.
+ * When keys come with a unique non-negative index, such as the id of a variable,
+ * values are stored in an array indexed by keys, instead of a hash map,
+ * so that, once the map has grown, none of its operations allocates objects.
+ * </p>
  *
  * @param <E> key's type
  * @author Charles Prud'homme
@@ -33,13 +39,33 @@ public class ValueSortedMap<E> {
      */
     private static final int NO_ENTRY = -1;
     /**
-     * Set : values -> E
+     * Set : values -> E, when keys are not indexed
      */
     TObjectIntHashMap<E> map;
     /**
-     * Ordered set : values -> E
+     * Index of keys, or <i>null</i>
      */
-    TreeMap<Integer, E> rmap;
+    private final ToIntFunction<E> index;
+    /**
+     * Value of each key, by index of keys, or {@link #NO_ENTRY}
+     */
+    private int[] valueOf;
+    /**
+     * Number of keys in this
+     */
+    private int size;
+    /**
+     * Values stored in this, as a bitset
+     */
+    private long[] values;
+    /**
+     * Keys, indexed by values
+     */
+    private Object[] keys;
+    /**
+     * Index of the highest non-empty word in {@link #values}, or less
+     */
+    private int top;
 
     /**
      * Create a doubly-linked set E <-> value, where value is a int.
@@ -49,15 +75,48 @@ public class ValueSortedMap<E> {
      */
     public ValueSortedMap() {
         this.map = new TObjectIntHashMap<>(16, .5f, NO_ENTRY);
-        this.rmap = new TreeMap<>();
+        this.index = null;
+        this.values = new long[1];
+        this.keys = new Object[64];
+        this.top = -1;
+    }
+
+    /**
+     * Create a doubly-linked set E <-> value, where value is a int, and keys are indexed.
+     *
+     * @param index unique non-negative index of a key
+     * @see #ValueSortedMap()
+     */
+    public ValueSortedMap(ToIntFunction<E> index) {
+        this.index = index;
+        this.valueOf = new int[16];
+        Arrays.fill(valueOf, NO_ENTRY);
+        this.values = new long[1];
+        this.keys = new Object[64];
+        this.top = -1;
     }
 
     /**
      * Remove all entries from this map.
      */
+    @SuppressWarnings("unchecked")
     public void clear() {
-        map.clear();
-        rmap.clear();
+        if (index == null) {
+            map.clear();
+        }
+        size = 0;
+        for (; top >= 0; top--) {
+            long word = values[top];
+            while (word != 0) {
+                int v = (top << 6) + Long.numberOfTrailingZeros(word);
+                if (index != null) {
+                    valueOf[index.applyAsInt((E) keys[v])] = NO_ENTRY;
+                }
+                keys[v] = null;
+                word &= word - 1;
+            }
+            values[top] = 0;
+        }
     }
 
     /**
@@ -67,11 +126,12 @@ public class ValueSortedMap<E> {
      * @param v the value
      */
     public void put(E k, int v) {
-        if(map.containsKey(k)){
+        if(get(k) != NO_ENTRY){
             replace(k, v);
         }else {
-            map.put(k, v);
-            rmap.put(v, k);
+            set(k, v);
+            size++;
+            link(k, v);
         }
     }
 
@@ -81,16 +141,15 @@ public class ValueSortedMap<E> {
      * @param v the value
      */
     public void replace(E k, int v) {
-        int cValue = map.get(k);
+        int cValue = get(k);
         assert cValue != NO_ENTRY;
-        int amount = v - cValue;
-        if(amount != 0) {
-            map.adjustValue(k, amount);
-            rmap.remove(cValue);
-            rmap.put(v, k);
+        if(v != cValue) {
+            set(k, v);
+            unlink(cValue);
+            link(k, v);
         }
-        assert rmap.get(map.get(k)) == k;
-        assert map.get(rmap.get(v)) == v;
+        assert keys[get(k)] == k;
+        assert get(k) == v;
     }
 
     /**
@@ -98,7 +157,7 @@ public class ValueSortedMap<E> {
      * @return value attached to the key <i>k</i>, or {@link #NO_ENTRY} otherwise.
      */
     public int getValue(E k) {
-        return map.get(k);
+        return get(k);
     }
 
     /**
@@ -107,7 +166,7 @@ public class ValueSortedMap<E> {
      * @return value attached to the key <i>k</i>, or <i>defaultValue</i> otherwise.
      */
     public int getValueOrDefault(E k, int defaultValue) {
-        int value = map.get(k);
+        int value = get(k);
         if (value == NO_ENTRY) {
             return defaultValue;
         }
@@ -117,10 +176,16 @@ public class ValueSortedMap<E> {
     /**
      * return the largest value stored in this
      * @return the largest value stored in this
+     * @throws NoSuchElementException if this is empty
      */
     public int getLastValue() {
-//        return rmap.lastValue();
-        return rmap.lastKey();
+        while (top >= 0 && values[top] == 0) {
+            top--;
+        }
+        if (top < 0) {
+            throw new NoSuchElementException();
+        }
+        return (top << 6) + 63 - Long.numberOfLeadingZeros(values[top]);
     }
 
     /**
@@ -128,20 +193,37 @@ public class ValueSortedMap<E> {
      * @return the lowest value stored in this
      */
     public int getLowerValue(int value){
-        Integer low = rmap.lowerKey(value);
-        if(low == null){
-            low = -1;
+        if (value <= 0) {
+            return -1;
+        }
+        int w = Math.min((value - 1) >> 6, values.length - 1);
+        long word = values[w];
+        if (w == (value - 1) >> 6) {
+            word &= -1L >>> (63 - ((value - 1) & 63));
+        }
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + 63 - Long.numberOfLeadingZeros(word);
+            }
+            if (--w < 0) {
+                return -1;
+            }
+            word = values[w];
         }
-        return low;
     }
+
     /**
      * return and remove the largest value stored in this
      * @return  the largest value stored in this
+     * @throws NoSuchElementException if this is empty
      */
+    @SuppressWarnings("unchecked")
     public int pollLastValue() {
-        Map.Entry<Integer, E> last = rmap.pollLastEntry();
-        map.remove(last.getValue());
-        return last.getKey();
+        int v = getLastValue();
+        E k = (E) keys[v];
+        unlink(v);
+        unset(k);
+        return v;
     }
 
     /**
@@ -149,24 +231,32 @@ public class ValueSortedMap<E> {
      * @param k a key
      */
     public void remove(E k){
-        rmap.remove(map.remove(k));
+        int v = get(k);
+        if (v != NO_ENTRY) {
+            unset(k);
+            unlink(v);
+        }
     }
 
     /**
      * Remove any key and its value that matches the predicate <i>filter</i>
      * @param filter predicate that satisfies (key,value) to remove
      */
+    @SuppressWarnings("unchecked")
     public boolean removeIf(Predicate<? super E> filter) {
         Objects.requireNonNull(filter);
         boolean removed = false;
-        final Iterator<E> each = map.keySet().iterator();
-        while (each.hasNext()) {
-            E e = each.next();
-            if (filter.test(e)) {
-                int value = map.get(e);
-                each.remove();
-                rmap.remove(value);
-                removed = true;
+        for (int w = 0; w <= top; w++) {
+            long word = values[w];
+            while (word != 0) {
+                int v = (w << 6) + Long.numberOfTrailingZeros(word);
+                E e = (E) keys[v];
+                if (filter.test(e)) {
+                    unset(e);
+                    unlink(v);
+                    removed = true;
+                }
+                word &= word - 1;
             }
         }
         return removed;
@@ -176,7 +266,60 @@ public class ValueSortedMap<E> {
      * @return <i>true</i> if this is empty
      */
     public boolean isEmpty() {
-        return map.isEmpty();
+        return size == 0;
+    }
+
+    private int get(E k) {
+        if (index == null) {
+            return map.get(k);
+        }
+        int i = index.applyAsInt(k);
+        return i < valueOf.length ? valueOf[i] : NO_ENTRY;
+    }
+
+    private void set(E k, int v) {
+        if (index == null) {
+            map.put(k, v);
+        } else {
+            int i = index.applyAsInt(k);
+            if (i >= valueOf.length) {
+                int old = valueOf.length;
+                valueOf = Arrays.copyOf(valueOf, Math.max(i + 1, old << 1));
+                Arrays.fill(valueOf, old, valueOf.length, NO_ENTRY);
+            }
+            valueOf[i] = v;
+        }
+    }
+
+    private void unset(E k) {
+        size--;
+        if (index == null) {
+            map.remove(k);
+        } else {
+            valueOf[index.applyAsInt(k)] = NO_ENTRY;
+        }
+    }
+
+    private void link(E k, int v) {
+        int w = v >> 6;
+        if (w >= values.length) {
+            long[] nvalues = new long[Math.max(w + 1, values.length << 1)];
+            System.arraycopy(values, 0, nvalues, 0, values.length);
+            values = nvalues;
+        }
+        if (v >= keys.length) {
+            Object[] nkeys = new Object[values.length << 6];
+            System.arraycopy(keys, 0, nkeys, 0, keys.length);
+            keys = nkeys;
+        }
+        values[w] |= 1L << v;
+        keys[v] = k;
+        top = Math.max(top, w);
+    }
+
+    private void unlink(int v) {
+        values[v >> 6] &= ~(1L << v);
+        keys[v] = null;
     }
 
 }
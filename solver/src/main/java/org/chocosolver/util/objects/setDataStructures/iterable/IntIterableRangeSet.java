@@ -465,82 +465,54 @@ public class IntIterableRangeSet extends AbstractSet implements IntIterableSet {
             throw new IndexOutOfBoundsException("Incorrect bounds [" + a + "," + b + "]");
         }
         boolean change;
-        int s1 = SIZE >> 1;
-        int s2 = 1; // since a <= b
-        if (s1 > 0) {
-            int i = 0, j = 0;
-            int s = 0, c = 0;
-            int[] e = new int[SIZE];
-            int lbi, ubi, lbj, ubj, lb, ub;
-            lb = lbi = ELEMENTS[0];
-            ub = ubi = ELEMENTS[1];
-            lbj = a;
-            ubj = b;
-            if (lb > lbj) {
-                lb = lbj;
-                ub = ubj;
-            }
-            boolean extend;
-            // TODO: replace while loop with rangeOf
-            while (i < s1 || j < s2) {
-                extend = false;
-                if (lb - 1 <= lbi && lbi <= ub + 1) {
-                    ub = Math.max(ub, ubi);
-                    extend = i < s1;
-                    if (++i < s1) {
-                        lbi = ELEMENTS[i << 1];
-                        ubi = ELEMENTS[(i << 1) + 1];
-                    }
+        int n = SIZE >> 1;
+        if (n > 0) {
+            // the ranges are merged in place, so that no array is allocated once this set has grown
+            // 1. first range which is not strictly before [a,b], adjacent ranges are merged
+            int lo = 0, hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ELEMENTS[(mid << 1) + 1] + 1L < a) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
                 }
-                if (lb - 1 <= lbj && lbj <= ub + 1) {
-                    ub = Math.max(ub, ubj);
-                    extend |= j < s2;
-                    j++;
+            }
+            int i = lo;
+            // 2. first range which is strictly after [a,b]
+            int k = i;
+            while (k < n && ELEMENTS[k << 1] - 1L <= b) {
+                k++;
+            }
+            if (i == k) {
+                // no range touches [a,b], insert it
+                grow(SIZE + 2);
+                System.arraycopy(ELEMENTS, i << 1, ELEMENTS, (i << 1) + 2, SIZE - (i << 1));
+                ELEMENTS[i << 1] = a;
+                ELEMENTS[(i << 1) + 1] = b;
+                SIZE += 2;
+                CARDINALITY += b - a + 1;
+                change = true;
+            } else {
+                // replace ranges i to k-1 by their union with [a,b]
+                int lb = Math.min(a, ELEMENTS[i << 1]);
+                int ub = Math.max(b, ELEMENTS[((k - 1) << 1) + 1]);
+                int c = CARDINALITY;
+                for (int r = i; r < k; r++) {
+                    c -= ELEMENTS[(r << 1) + 1] - ELEMENTS[r << 1] + 1;
                 }
-                if (!extend) {
-                    if (s + 2 > e.length) {
-                        // overflow-conscious code
-                        int oldCapacity = e.length;
-                        int newCapacity = oldCapacity + (oldCapacity >> 1);
-                        if (newCapacity < s + 2)
-                            newCapacity = s + 2;
-                        // minCapacity is usually close to size, so this is a win:
-                        e = Arrays.copyOf(e, newCapacity);
-                    }
-                    e[s++] = lb;
-                    e[s++] = ub;
-                    c += ub - lb + 1;
-                    if (i < s1) {
-                        lb = lbi;
-                        ub = ubi;
-                        if (j < s2 && lbi > lbj) {
-                            lb = lbj;
-                            ub = ubj;
-                        }
-                    } else if (j < s2) {
-                        lb = lbj;
-                        ub = ubj;
-                    }
+                c += ub - lb + 1;
+                ELEMENTS[i << 1] = lb;
+                ELEMENTS[(i << 1) + 1] = ub;
+                if (k - i > 1) {
+                    System.arraycopy(ELEMENTS, k << 1, ELEMENTS, (i + 1) << 1, SIZE - (k << 1));
+                    SIZE -= (k - i - 1) << 1;
                 }
+                change = (CARDINALITY != c);
+                CARDINALITY = c;
             }
-            if (s + 2 > e.length) {
-                // overflow-conscious code
-                int oldCapacity = e.length;
-                int newCapacity = oldCapacity + (oldCapacity >> 1);
-                if (newCapacity < s + 2)
-                    newCapacity = s + 2;
-                // minCapacity is usually close to size, so this is a win:
-                e = Arrays.copyOf(e, newCapacity);
-            }
-            e[s++] = lb;
-            e[s++] = ub;
-            c += ub - lb + 1;
-            ELEMENTS = e;
-            SIZE = s;
-            change = (CARDINALITY != c);
-            CARDINALITY = c;
         } else {
-            grow(1);
+            grow(2);
             ELEMENTS[0] = a;
             ELEMENTS[1] = b;
             SIZE = 2;
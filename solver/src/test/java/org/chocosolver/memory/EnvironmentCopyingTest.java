@@ -0,0 +1,207 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.memory;
+
+import org.chocosolver.memory.copying.EnvironmentCopying;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * <p> Project: choco-solver.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class EnvironmentCopyingTest {
+
+    @DataProvider(name = "env")
+    public Object[][] env() {
+        return new IEnvironment[][]{
+                {new EnvironmentBuilder().fromFlat().build()},
+                {new EnvironmentBuilder().setPageSize(1).buildCopying()},
+                {new EnvironmentBuilder().setPageSize(4).buildCopying()},
+                {new EnvironmentBuilder().buildCopying()}
+        };
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testPageSize() {
+        try {
+            new EnvironmentBuilder().setPageSize(3).buildCopying();
+            Assert.fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOnePagePerWorld() {
+        EnvironmentCopying env = new EnvironmentBuilder().setPageSize(8).buildCopying();
+        IStateInt[] ints = new IStateInt[16];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = env.makeInt(i);
+        }
+        env.worldPush();
+        for (int k = 0; k < 10; k++) {
+            for (int i = 0; i < 8; i++) {
+                ints[i].add(1);
+            }
+        }
+        Assert.assertEquals(env.getIntPageStore().getNbCopies(), 1);
+        ints[15].set(-1);
+        Assert.assertEquals(env.getIntPageStore().getNbCopies(), 2);
+        env.worldPop();
+        Assert.assertEquals(env.getIntPageStore().getNbCopies(), 0);
+        for (int i = 0; i < ints.length; i++) {
+            Assert.assertEquals(ints[i].get(), i);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testCommit(IEnvironment env) {
+        IStateInt a = env.makeInt(0);
+        IStateDouble b = env.makeFloat(0.);
+        env.worldPush();
+        a.set(1);
+        env.worldPush();
+        b.set(2.);
+        env.worldPush();
+        a.set(3);
+        b.set(3.);
+        env.worldCommit();
+        Assert.assertEquals(a.get(), 3);
+        Assert.assertEquals(b.get(), 3.);
+        env.worldPop();
+        Assert.assertEquals(a.get(), 1);
+        Assert.assertEquals(b.get(), 0.);
+        env.worldPop();
+        Assert.assertEquals(a.get(), 0);
+        Assert.assertEquals(b.get(), 0.);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testVectors(IEnvironment env) {
+        IStateIntVector iv = env.makeIntVector(3, -1);
+        IStateDoubleVector dv = env.makeDoubleVector(3, .5);
+        env.worldPush();
+        iv.set(1, 4);
+        dv.quickSet(2, 1.5);
+        env.worldPush();
+        iv.set(1, 5);
+        iv.add(6);
+        Assert.assertEquals(iv.quickGet(1), 5);
+        Assert.assertEquals(iv.quickGet(3), 6);
+        env.worldPop();
+        Assert.assertEquals(iv.quickGet(1), 4);
+        Assert.assertEquals(dv.quickGet(2), 1.5);
+        env.worldPop();
+        Assert.assertEquals(iv.quickGet(1), -1);
+        Assert.assertEquals(dv.quickGet(2), .5);
+        // entries removed on backtrack are added again
+        env.worldPush();
+        iv.add(7);
+        iv.set(3, 8);
+        env.worldPush();
+        iv.set(3, 9);
+        env.worldPop();
+        Assert.assertEquals(iv.quickGet(3), 8);
+        env.worldPop();
+        Assert.assertEquals(iv.quickGet(1), -1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testRandom(IEnvironment env) {
+        Random rnd = new Random(0);
+        int n = 200;
+        IStateInt[] ints = new IStateInt[n];
+        IStateLong[] longs = new IStateLong[n];
+        IStateBool[] bools = new IStateBool[n];
+        int[][] expI = new int[50][n];
+        long[][] expL = new long[50][n];
+        boolean[][] expB = new boolean[50][n];
+        for (int i = 0; i < n; i++) {
+            ints[i] = env.makeInt(i);
+            longs[i] = env.makeLong(-i);
+            bools[i] = env.makeBool(i % 2 == 0);
+        }
+        for (int r = 0; r < 20; r++) {
+            int depth = 1 + rnd.nextInt(expI.length - 1);
+            for (int d = 0; d < depth; d++) {
+                for (int i = 0; i < n; i++) {
+                    expI[d][i] = ints[i].get();
+                    expL[d][i] = longs[i].get();
+                    expB[d][i] = bools[i].get();
+                }
+                env.worldPush();
+                for (int k = rnd.nextInt(n); k > 0; k--) {
+                    int i = rnd.nextInt(n);
+                    ints[i].set(rnd.nextInt());
+                    longs[i].set(rnd.nextLong());
+                    bools[i].set(rnd.nextBoolean());
+                }
+            }
+            for (int d = depth - 1; d >= 0; d--) {
+                env.worldPop();
+                for (int i = 0; i < n; i++) {
+                    Assert.assertEquals(ints[i].get(), expI[d][i]);
+                    Assert.assertEquals(longs[i].get(), expL[d][i]);
+                    Assert.assertEquals(bools[i].get(), expB[d][i]);
+                }
+            }
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testSolveNQueens() {
+        for (int n = 4; n < 10; n++) {
+            Assert.assertEquals(
+                    nqueens(new EnvironmentBuilder().buildCopying(), n, false),
+                    nqueens(new EnvironmentBuilder().fromFlat().build(), n, false));
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testSolveNQueensWithRestarts() {
+        for (int n = 4; n < 10; n++) {
+            Assert.assertEquals(
+                    nqueens(new EnvironmentBuilder().buildCopying(), n, true),
+                    nqueens(new EnvironmentBuilder().fromFlat().build(), n, true));
+        }
+    }
+
+    private static long nqueens(IEnvironment env, int n, boolean restarts) {
+        Model model = new Model(env, "nqueens");
+        IntVar[] vars = model.intVarArray("Q", n, 1, n, false);
+        IntVar[] diag1 = new IntVar[n];
+        IntVar[] diag2 = new IntVar[n];
+        for (int i = 0; i < n; i++) {
+            diag1[i] = model.intOffsetView(vars[i], i);
+            diag2[i] = model.intOffsetView(vars[i], -i);
+        }
+        model.allDifferent(vars, "BC").post();
+        model.allDifferent(diag1, "BC").post();
+        model.allDifferent(diag2, "BC").post();
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.inputOrderLBSearch(vars));
+        if (restarts) {
+            solver.setLubyRestart(2, new FailCounter(model, 2), 1000);
+            solver.setNoGoodRecordingFromRestarts();
+        }
+        while (solver.solve()) ;
+        return solver.getSolutionCount() * 1_000_000L + solver.getNodeCount();
+    }
+}
@@ -9,6 +9,8 @@
  */
 package org.chocosolver.memory;
 
+import org.chocosolver.memory.structure.FlatS64BitSet;
+import org.chocosolver.memory.structure.S64BitSet;
 import org.chocosolver.memory.trailing.EnvironmentTrailing;
 import org.chocosolver.solver.Cause;
 import org.chocosolver.solver.Model;
@@ -31,7 +33,8 @@ public class EnvironmentTest {
     public Object[][] env() {
         return new IEnvironment[][]{
                 {new EnvironmentBuilder().fromFlat().build()},
-                {new EnvironmentBuilder().fromChunk().build()}
+                {new EnvironmentBuilder().fromChunk().build()},
+                {new EnvironmentBuilder().buildCopying()}
         };
     }
 
@@ -386,4 +389,60 @@ public class EnvironmentTest {
         env.worldPop();
         Assert.assertEquals(val, new int[]{0, 1});
     }
-}
\ No newline at end of file
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "env")
+    public void testBitset2(IEnvironment environment) {
+        // the flat bitset behaves like the one made of backtrackable longs
+        IStateBitSet flat = environment.makeBitSet(200);
+        IStateBitSet ref = new S64BitSet(environment, 200);
+        Assert.assertTrue(flat instanceof FlatS64BitSet);
+        java.util.Random rnd = new java.util.Random(0);
+        int root = environment.getWorldIndex();
+        for (int k = 0; k < 5000; k++) {
+            int i = rnd.nextInt(260);
+            int j = i + rnd.nextInt(140);
+            switch (rnd.nextInt(8)) {
+                case 0:
+                    flat.set(i);
+                    ref.set(i);
+                    break;
+                case 1:
+                    flat.clear(i);
+                    ref.clear(i);
+                    break;
+                case 2:
+                    flat.set(i, j);
+                    ref.set(i, j);
+                    break;
+                case 3:
+                    flat.clear(i, j);
+                    ref.clear(i, j);
+                    break;
+                case 4:
+                case 5:
+                    environment.worldPush();
+                    break;
+                case 6:
+                    if (environment.getWorldIndex() > root) {
+                        environment.worldPop();
+                    }
+                    break;
+                case 7:
+                    if (rnd.nextInt(20) == 0) {
+                        flat.clear();
+                        ref.clear();
+                    }
+                    break;
+            }
+            Assert.assertEquals(flat.cardinality(), ref.cardinality());
+            Assert.assertEquals(flat.isEmpty(), ref.isEmpty());
+            Assert.assertEquals(flat.get(i), ref.get(i));
+            Assert.assertEquals(flat.nextSetBit(i), ref.nextSetBit(i));
+            Assert.assertEquals(flat.nextClearBit(i), ref.nextClearBit(i));
+            Assert.assertEquals(flat.prevSetBit(j), ref.prevSetBit(j));
+            Assert.assertEquals(flat.prevClearBit(j), ref.prevClearBit(j));
+        }
+        environment.worldPopUntil(root);
+        Assert.assertEquals(flat.toString(), ref.toString());
+    }
+}
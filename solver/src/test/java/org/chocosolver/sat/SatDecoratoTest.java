@@ -189,4 +189,59 @@ public class SatDecoratoTest {
         sat.cancelUntil(2);
         Assert.assertTrue(sat.propagateOneLiteral(MiniSat.makeLiteral(d, true)));
     }
-}
\ No newline at end of file
+
+    @Test(groups = "1s")
+    public void testImportedClausesAreTiered() {
+        int[] vs = new int[8];
+        for (int i = 0; i < vs.length; i++) {
+            vs[i] = sat.newVariable();
+        }
+        sat.importClause(MiniSat.makeLiteral(vs[0], true), MiniSat.makeLiteral(vs[1], true));
+        sat.importClause(MiniSat.makeLiteral(vs[0], false), MiniSat.makeLiteral(vs[1], true),
+                MiniSat.makeLiteral(vs[2], true), MiniSat.makeLiteral(vs[3], true));
+        int[] large = new int[vs.length];
+        for (int i = 0; i < vs.length; i++) {
+            large[i] = MiniSat.makeLiteral(vs[i], false);
+        }
+        sat.importClause(large);
+        Assert.assertEquals(sat.nLearnt(), 0);
+        Assert.assertEquals(sat.getNbCoreLearnts(), 1);
+        Assert.assertEquals(sat.getNbTier2Learnts(), 1);
+        Assert.assertEquals(sat.getNbLocalLearnts(), 1);
+        Assert.assertEquals(model.getSolver().getCoreLearntCount(), 1);
+        Assert.assertEquals(model.getSolver().getTier2LearntCount(), 1);
+        Assert.assertEquals(model.getSolver().getLocalLearntCount(), 1);
+        Assert.assertEquals(model.getSolver().getLearntReductionCount(), 0);
+    }
+
+    @Test(groups = "1s")
+    public void testImportedClausesAreReduced() {
+        int[] vs = new int[12];
+        for (int i = 0; i < vs.length; i++) {
+            vs[i] = sat.newVariable();
+        }
+        sat.tier2_interval = sat.local_interval = 10;
+        sat.next_tier2_reduce = sat.next_local_reduce = 10;
+        int[] ps = new int[8];
+        for (int k = 0; k < 40; k++) {
+            for (int i = 0; i < ps.length; i++) {
+                ps[i] = MiniSat.makeLiteral(vs[(k + i) % vs.length], (k & 1) == 0);
+            }
+            sat.importClause(ps.clone());
+        }
+        Assert.assertEquals(sat.getNbLocalLearnts(), 40);
+        Assert.assertEquals(sat.getNbReductions(), 0);
+        // as if some clauses have propagated
+        for (int k = 0; k < 5; k++) {
+            sat.arena[sat.learnts_local.get(k)] |= MiniSat.USED;
+        }
+        // unused clauses are dropped once enough conflicts occur
+        sat.conflicts = 10;
+        sat.importClause(ps.clone());
+        Assert.assertEquals(sat.getNbReductions(), 1);
+        Assert.assertEquals(sat.getNbRemovedLearnts(), 36);
+        Assert.assertEquals(sat.getNbLocalLearnts(), 5);
+        Assert.assertEquals(model.getSolver().getRemovedLearntCount(), 36);
+        Assert.assertTrue(sat.propagateOneLiteral(MiniSat.makeLiteral(vs[0], true)));
+    }
+}
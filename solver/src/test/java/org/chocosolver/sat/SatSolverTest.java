@@ -10,6 +10,7 @@
 package org.chocosolver.sat;
 
 import gnu.trove.list.array.TIntArrayList;
+import org.chocosolver.util.ESat;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -487,4 +488,86 @@ public class SatSolverTest {
         Assert.assertEquals(sat.valueVar(c), MiniSat.Boolean.lUndef);
         Assert.assertEquals(sat.valueVar(d), MiniSat.Boolean.lUndef);
     }
-}
\ No newline at end of file
+
+    private static MiniSat pigeonHole(int pigeons, int holes) {
+        MiniSat sat = new MiniSat();
+        int[][] x = new int[pigeons][holes];
+        for (int p = 0; p < pigeons; p++) {
+            for (int h = 0; h < holes; h++) {
+                x[p][h] = sat.newVariable();
+            }
+        }
+        TIntArrayList lits = new TIntArrayList();
+        for (int p = 0; p < pigeons; p++) {
+            lits.resetQuick();
+            for (int h = 0; h < holes; h++) {
+                lits.add(MiniSat.makeLiteral(x[p][h], true));
+            }
+            sat.addClause(lits);
+        }
+        for (int h = 0; h < holes; h++) {
+            for (int p = 0; p < pigeons; p++) {
+                for (int q = p + 1; q < pigeons; q++) {
+                    sat.addClause(MiniSat.makeLiteral(x[p][h], false), MiniSat.makeLiteral(x[q][h], false));
+                }
+            }
+        }
+        return sat;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testPigeonHoleSat() {
+        MiniSat sat = pigeonHole(9, 9);
+        Assert.assertEquals(sat.solve(), ESat.TRUE);
+        for (int i = 0; i < sat.clauses.size(); i++) {
+            int cr = sat.clauses.get(i);
+            boolean satisfied = false;
+            for (int k = 0; k < sat.clauseSize(cr); k++) {
+                int l = sat.clauseLit(cr, k);
+                satisfied |= sat.model.get(MiniSat.var(l)) == (MiniSat.sgn(l) ? MiniSat.Boolean.lTrue : MiniSat.Boolean.lFalse);
+            }
+            Assert.assertTrue(satisfied, "clause " + i);
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testPigeonHoleUnsat() {
+        // many conflicts, so the learnt clauses are reduced and the arena compacted
+        MiniSat sat = pigeonHole(9, 8);
+        Assert.assertEquals(sat.solve(), ESat.FALSE);
+        Assert.assertTrue(sat.conflicts > 1000);
+        Assert.assertTrue(sat.arena_wasted <= sat.arena_size * sat.garbage_frac);
+        Assert.assertTrue(sat.getNbReductions() > 0);
+        Assert.assertTrue(sat.getNbRemovedLearnts() > 0);
+        int learnts = sat.getNbCoreLearnts() + sat.getNbTier2Learnts() + sat.getNbLocalLearnts();
+        Assert.assertTrue(learnts > 0);
+        // one clause is learnt per conflict, most of them are removed
+        Assert.assertTrue(learnts < sat.conflicts / 4);
+    }
+
+    @Test(groups = "1s")
+    public void testGarbageCollect() {
+        int ap = MiniSat.makeLiteral(a, true);
+        int bp = MiniSat.makeLiteral(b, true);
+        int cp = MiniSat.makeLiteral(c, true);
+        int dp = MiniSat.makeLiteral(d, true);
+        Assert.assertTrue(sat.addClause(ap, bp, cp));
+        Assert.assertTrue(sat.addClause(bp, cp, dp));
+        int first = sat.clauses.get(0);
+        sat.removeClause(first);
+        sat.clauses.removeAt(0);
+        sat.garbageCollect();
+        Assert.assertEquals(sat.arena_wasted, 0);
+        Assert.assertEquals(sat.arena_size, MiniSat.HEADER + 3);
+        int cr = sat.clauses.get(0);
+        Assert.assertEquals(cr, 0);
+        Assert.assertEquals(sat.clauseLit(cr, 2), dp);
+        sat.pushTrailMarker();
+        sat.uncheckedEnqueue(MiniSat.neg(bp));
+        sat.uncheckedEnqueue(MiniSat.neg(cp));
+        Assert.assertEquals(sat.propagate(), MiniSat.CR_Undef);
+        Assert.assertEquals(sat.valueVar(d), MiniSat.Boolean.lTrue);
+        Assert.assertEquals(sat.valueVar(a), MiniSat.Boolean.lUndef);
+        Assert.assertEquals(sat.reason(d), cr);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
+import org.chocosolver.solver.variables.IntVar;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory.makeIntEq;
+import static org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory.makeIntSplit;
+
+/**
+ * Tests for constraint scopes and assumption-based resolutions.
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class IncrementalSolvingTest {
+
+    private static long count(Solver solver) {
+        long n = 0;
+        while (solver.solve()) {
+            n++;
+        }
+        solver.reset();
+        return n;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testPushPopScope() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        model.arithm(x, "<=", y).post();
+        Solver solver = model.getSolver();
+        Assert.assertEquals(count(solver), 21);
+        model.pushScope();
+        Constraint c = model.arithm(x, ">=", 3);
+        c.post();
+        Assert.assertEquals(model.getNbScopes(), 1);
+        Assert.assertEquals(count(solver), 6);
+        model.popScope();
+        Assert.assertEquals(model.getNbScopes(), 0);
+        Assert.assertEquals(c.getStatus(), Constraint.Status.FREE);
+        Assert.assertEquals(model.getNbCstrs(), 1);
+        Assert.assertEquals(count(solver), 21);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNestedScopes() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 9);
+        Solver solver = model.getSolver();
+        model.pushScope();
+        model.arithm(x, ">=", 3).post();
+        model.pushScope();
+        model.arithm(x, "<=", 5).post();
+        Assert.assertTrue(solver.solve());
+        // no reset: the scope resets the solver
+        model.pushScope();
+        model.arithm(x, "=", 7).post();
+        Assert.assertFalse(solver.solve());
+        model.popScope();
+        Assert.assertEquals(count(solver), 3);
+        model.popScope();
+        Assert.assertEquals(count(solver), 7);
+        model.popScope();
+        Assert.assertEquals(count(solver), 10);
+        Assert.assertThrows(SolverException.class, model::popScope);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAssumptions() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        IntVar z = model.intVar("z", 0, 5);
+        model.arithm(x, "+", y, "=", 5).post();
+        Solver solver = model.getSolver();
+        IntDecision ax = solver.getDecisionPath().makeIntDecision(x, makeIntEq(), 1);
+        IntDecision az = solver.getDecisionPath().makeIntDecision(z, makeIntEq(), 2);
+        IntDecision ay = solver.getDecisionPath().makeIntDecision(y, makeIntEq(), 3);
+        solver.setAssumptions(Arrays.asList(ax, az));
+        Assert.assertTrue(solver.solve());
+        Assert.assertEquals(x.getValue(), 1);
+        Assert.assertEquals(y.getValue(), 4);
+        Assert.assertEquals(z.getValue(), 2);
+        Assert.assertFalse(solver.solve());
+        Assert.assertEquals(solver.getSolutionCount(), 1);
+        Assert.assertTrue(solver.findMinimumConflictingAssumptions().isEmpty());
+
+        solver.setAssumptions(Arrays.asList(ax, az, ay));
+        Assert.assertFalse(solver.solve());
+        List<IntDecision> core = solver.findMinimumConflictingAssumptions();
+        Assert.assertEquals(core.size(), 2);
+        Assert.assertTrue(core.contains(ax));
+        Assert.assertTrue(core.contains(ay));
+        Assert.assertEquals(solver.getAssumptions(), Arrays.asList(ax, az, ay));
+        // assumptions are not constraints
+        Assert.assertEquals(model.getNbCstrs(), 1);
+
+        solver.setAssumptions(Collections.emptyList());
+        Assert.assertEquals(count(solver), 36);
+        solver.setAssumptions(Collections.singletonList(ay));
+        solver.hardReset();
+        Assert.assertTrue(solver.getAssumptions().isEmpty());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAssumptionsWithOptimization() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 4, 0, 3);
+        model.allDifferent(xs).post();
+        IntVar obj = model.intVar("o", 0, 30);
+        model.scalar(xs, new int[]{1, 2, 3, 4}, "=", obj).post();
+        Solver solver = model.getSolver();
+        // x[3] <= 1 is not an equality
+        solver.setAssumptions(Collections.singletonList(
+                solver.getDecisionPath().makeIntDecision(xs[3], makeIntSplit(), 1)));
+        Solution best = solver.findOptimalSolution(obj, Model.MAXIMIZE);
+        Assert.assertNotNull(best);
+        // x = (0, 2, 3, 1) -> 0 + 4 + 9 + 4
+        Assert.assertEquals(best.getIntVal(obj), 17);
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testAssumptionsAgainstScopes() {
+        Random rnd = new Random(0);
+        Model model = new Model();
+        int n = 8;
+        IntVar[] xs = model.intVarArray("x", n, 0, n - 1);
+        model.allDifferent(xs).post();
+        model.sum(Arrays.copyOf(xs, n / 2), "<=", n).post();
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.domOverWDegSearch(xs));
+        solver.setLearningSignedClauses();
+        solver.setLubyRestart(10, new FailCounter(model, 0), 100);
+        for (int k = 0; k < 20; k++) {
+            List<IntDecision> as = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                as.add(solver.getDecisionPath().makeIntDecision(xs[rnd.nextInt(n)], makeIntEq(), rnd.nextInt(n)));
+            }
+            solver.setAssumptions(as);
+            boolean sat = solver.solve();
+            solver.reset();
+            solver.setAssumptions(Collections.emptyList());
+            // the same problem, with constraints
+            model.pushScope();
+            for (IntDecision d : as) {
+                model.arithm(d.getDecisionVariable(), "=", d.getDecisionValue()).post();
+            }
+            Assert.assertEquals(solver.solve(), sat, "instance " + k);
+            model.popScope();
+            if (!sat) {
+                solver.setAssumptions(as);
+                List<IntDecision> core = solver.findMinimumConflictingAssumptions();
+                Assert.assertFalse(core.isEmpty());
+                solver.setAssumptions(core);
+                Assert.assertFalse(solver.solve());
+                solver.reset();
+                solver.setAssumptions(Collections.emptyList());
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testPopScopeForgetsLearntClauses() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 5, 0, 4);
+        model.allDifferent(xs).post();
+        Solver solver = model.getSolver();
+        solver.setLearningSignedClauses();
+        model.pushScope();
+        for (int i = 1; i < xs.length; i++) {
+            model.arithm(xs[i - 1], "<", xs[i]).post();
+        }
+        model.arithm(xs[4], "<", 4).post();
+        Assert.assertFalse(solver.solve());
+        model.popScope();
+        Assert.assertEquals(model.getClauseConstraint().getClauseStore().getNbLearntClauses(), 0);
+        Assert.assertTrue(solver.solve());
+    }
+}
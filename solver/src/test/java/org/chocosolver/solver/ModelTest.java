@@ -12,6 +12,7 @@ package org.chocosolver.solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.monitors.IMonitorOpenNode;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.strategy.Search;
 import org.chocosolver.solver.variables.*;
@@ -292,6 +293,63 @@ public class ModelTest {
         assertEquals(4, d[0]);
     }
 
+    @Test(groups = "1s", timeOut = 60000)
+    public void testMonitorUnplugsItself() {
+        Model model = new Model();
+        model.boolVar("b");
+        final int[] c = {0};
+        final int[] d = {0};
+        IMonitorSolution sm1 = new IMonitorSolution() {
+            @Override
+            public void onSolution() {
+                c[0]++;
+                model.getSolver().unplugMonitor(this);
+            }
+        };
+        IMonitorSolution sm2 = () -> d[0]++;
+        model.getSolver().plugMonitor(sm1);
+        model.getSolver().plugMonitor(sm2);
+        while (model.getSolver().solve()) ;
+        assertEquals(1, c[0]);
+        assertEquals(2, d[0]);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNodeMonitors() {
+        long[][] counts = new long[2][];
+        for (int k = 0; k < 2; k++) {
+            Model model = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+            Solver solver = model.getSolver();
+            solver.setSearch(inputOrderLBSearch(model.retrieveIntVars(true)));
+            final int[] n = {0};
+            IMonitorOpenNode nm = new IMonitorOpenNode() {
+                @Override
+                public void beforeOpenNode() {
+                    n[0]++;
+                }
+            };
+            if (k == 0) {
+                solver.plugMonitor(nm);
+            } else {
+                // plugged during search
+                solver.plugMonitor((IMonitorSolution) () -> {
+                    if (!solver.getSearchMonitors().contains(nm)) {
+                        solver.plugMonitor(nm);
+                    }
+                });
+            }
+            while (solver.solve()) ;
+            counts[k] = new long[]{solver.getSolutionCount(), solver.getNodeCount(),
+                    solver.getFailCount(), solver.getBackTrackCount()};
+            assertTrue(n[0] > 0);
+            if (k == 0) {
+                assertEquals(n[0], solver.getNodeCount());
+            }
+        }
+        assertEquals(counts[0], counts[1]);
+        assertEquals(counts[0][0], 92);
+    }
+
     @Test(groups = "1s", timeOut = 60000)
     public void testCriteria() {
         Model model = new Model();
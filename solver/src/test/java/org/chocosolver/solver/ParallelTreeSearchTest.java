@@ -0,0 +1,113 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.chocosolver.util.criteria.Criterion;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.chocosolver.solver.ModelTest.knapsack;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class ParallelTreeSearchTest {
+
+    @DataProvider
+    public Object[][] workers() {
+        return new Object[][]{{1}, {2}, {4}};
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testNoModel() {
+        ParallelTreeSearch pts = new ParallelTreeSearch();
+        Assert.assertThrows(SolverException.class, pts::solve);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "workers")
+    public void testSatisfaction(int n) {
+        ParallelTreeSearch pts = new ParallelTreeSearch();
+        for (int i = 0; i < n; i++) {
+            pts.addModel(ProblemMaker.makeNQueenWithOneAlldifferent(8));
+        }
+        Assert.assertTrue(pts.solve());
+        Assert.assertTrue(pts.getBestSolution().exists());
+        Assert.assertTrue(pts.getNbSubproblems() > 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testUnsat() {
+        ParallelTreeSearch pts = new ParallelTreeSearch();
+        for (int i = 0; i < 2; i++) {
+            pts.addModel(ProblemMaker.makeNQueenWithOneAlldifferent(3));
+        }
+        Assert.assertFalse(pts.solve());
+        Assert.assertNull(pts.getBestSolution());
+        Assert.assertTrue(pts.isSearchCompleted());
+    }
+
+    @Test(groups = "10s", timeOut = 60000, dataProvider = "workers")
+    public void testAllSolutions(int n) {
+        ParallelTreeSearch pts = new ParallelTreeSearch();
+        for (int i = 0; i < n; i++) {
+            pts.addModel(ProblemMaker.makeNQueenWithOneAlldifferent(8));
+        }
+        List<Solution> solutions = pts.findAllSolutions();
+        Assert.assertEquals(solutions.size(), 92);
+        Assert.assertEquals(pts.getSolutionCount(), 92);
+        // a second run starts from scratch
+        Assert.assertEquals(pts.findAllSolutions().size(), 92);
+    }
+
+    @Test(groups = "10s", timeOut = 60000, dataProvider = "workers")
+    public void testMaximize(int n) {
+        ParallelTreeSearch pts = new ParallelTreeSearch();
+        for (int i = 0; i < n; i++) {
+            pts.addModel(knapsack());
+        }
+        Assert.assertTrue(pts.solve());
+        Assert.assertEquals(pts.getBestSolutionValue(), 51);
+        Model best = pts.getBestModel();
+        Assert.assertEquals(pts.getBestSolution().getIntVal((IntVar) best.getObjective()), 51);
+    }
+
+    @Test(groups = "10s", timeOut = 60000, dataProvider = "workers")
+    public void testMinimize(int n) {
+        ParallelTreeSearch pts = new ParallelTreeSearch();
+        for (int i = 0; i < n; i++) {
+            pts.addModel(ProblemMaker.makeGolombRuler(8));
+        }
+        pts.setSubproblemsPerWorker(10);
+        Assert.assertTrue(pts.solve());
+        Assert.assertEquals(pts.getBestSolutionValue(), 34);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testStopCriterion() {
+        ParallelTreeSearch pts = new ParallelTreeSearch();
+        for (int i = 0; i < 2; i++) {
+            pts.addModel(ProblemMaker.makeNQueenWithOneAlldifferent(10));
+        }
+        Criterion never = () -> true;
+        pts.addStopCriterion(never);
+        pts.findAllSolutions();
+        Assert.assertFalse(pts.isSearchCompleted());
+        Assert.assertTrue(pts.getSolutionCount() < 724);
+    }
+}
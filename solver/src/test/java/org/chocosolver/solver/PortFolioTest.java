@@ -9,13 +9,23 @@
  */
 package org.chocosolver.solver;
 
+import org.chocosolver.solver.constraints.nary.sat.ClauseExchange;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.search.loop.lns.neighbors.SharedAdaptiveNeighborhood;
 import org.chocosolver.solver.search.restart.MonotonicRestartStrategy;
+import org.chocosolver.solver.search.strategy.assignments.DecisionOperatorFactory;
+import org.chocosolver.solver.search.strategy.decision.DecisionPath;
+import org.chocosolver.solver.search.strategy.decision.IntDecision;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ProblemMaker;
+import org.chocosolver.util.tools.ArrayUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import static org.chocosolver.solver.ModelTest.knapsack;
@@ -269,4 +279,184 @@ public class PortFolioTest {
             System.gc();
         }
     }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testShareIncumbentWithLNS() {
+        for (int iter = 0; iter < 5; iter++) {
+            ParallelPortfolio pares = new ParallelPortfolio();
+            for (int i = 0; i < 10; i++) {
+                pares.addModel(ProblemMaker.makeGolombRuler(8));
+            }
+            pares.shareIncumbentWithLNS();
+            while (pares.solve()) ;
+            Model finder = pares.getBestModel();
+            Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 34);
+            Assert.assertEquals(pares.getBestSolution().getIntVal((IntVar) finder.getObjective()), 34);
+            System.gc();
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSharedIncumbent() {
+        SharedIncumbent incumbent = new SharedIncumbent();
+        Model m1 = knapsack();
+        Model m2 = knapsack();
+        incumbent.plug(m2.getSolver());
+        Assert.assertEquals(incumbent.get().getVersion(), 0);
+        Assert.assertNull(incumbent.get().getSolution());
+        IntVar o1 = (IntVar) m1.getObjective();
+        Assert.assertTrue(m1.getSolver().solve());
+        Assert.assertTrue(incumbent.offer(m1));
+        Assert.assertEquals(incumbent.get().getVersion(), 1);
+        Assert.assertEquals(incumbent.get().getModel(), m1);
+        Assert.assertEquals(incumbent.get().getValue(), o1.getValue());
+        // not better
+        Assert.assertFalse(incumbent.offer(m1));
+        Assert.assertEquals(incumbent.get().getVersion(), 1);
+        // the other model polls the incumbent
+        incumbent.tighten(m2.getSolver());
+        Assert.assertEquals(m2.getSolver().getObjectiveManager().getBestLB(), o1.getValue());
+        while (m2.getSolver().solve()) ;
+        Assert.assertTrue(incumbent.get().getValue().intValue() <= 51);
+        Assert.assertEquals(m2.getSolver().getObjectiveManager().getBestLB().intValue(), 51);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testElitePool() {
+        ElitePool pool = new ElitePool(3);
+        Model m1 = knapsack();
+        Model m2 = knapsack();
+        Assert.assertNull(pool.pick(new Random(0)));
+        int nb = 0;
+        while (m1.getSolver().solve()) {
+            Assert.assertTrue(pool.offer(m1));
+            // a single solution per objective value
+            Assert.assertFalse(pool.offer(m1));
+            nb++;
+        }
+        Assert.assertTrue(nb > 3);
+        Assert.assertEquals(pool.size(), 3);
+        Assert.assertEquals(pool.getValue(0).intValue(), 51);
+        for (int r = 1; r < pool.size(); r++) {
+            Assert.assertTrue(pool.getValue(r - 1).intValue() > pool.getValue(r).intValue());
+        }
+        // solutions can be read with the variables of an equivalent model
+        IntVar o2 = (IntVar) m2.getObjective();
+        Assert.assertEquals(pool.getSolution(0).getIntVal(o2), 51);
+        Assert.assertEquals(pool.getModel(0), m1);
+        m2.getSolver().solve();
+        // not better than the worst one
+        Assert.assertFalse(pool.offer(m2));
+    }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testShareElitesWithLNS() {
+        for (int iter = 0; iter < 3; iter++) {
+            ParallelPortfolio pares = new ParallelPortfolio();
+            for (int i = 0; i < 10; i++) {
+                pares.addModel(ProblemMaker.makeGolombRuler(8));
+            }
+            pares.shareElitesWithLNS(8, 5);
+            while (pares.solve()) ;
+            Model finder = pares.getBestModel();
+            Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 34);
+            ElitePool pool = pares.getElitePool();
+            Assert.assertTrue(pool.size() > 0);
+            Assert.assertEquals(pool.getValue(0), 34);
+            System.gc();
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testParallelLNS() {
+        ParallelPortfolio pares = new ParallelPortfolio(false);
+        SharedAdaptiveNeighborhood.Scores scores = new SharedAdaptiveNeighborhood.Scores(3);
+        for (int i = 0; i < 4; i++) {
+            Model model = ProblemMaker.makeGolombRuler(9);
+            IntVar[] ticks = (IntVar[]) model.getHook("ticks");
+            Solver solver = model.getSolver();
+            solver.setSearch(randomSearch(ticks, i));
+            solver.setLNS(INeighborFactory.sharedAdaptive(scores, i, ticks), new FailCounter(model, 100));
+            solver.limitFail(20000);
+            pares.addModel(model);
+        }
+        pares.shareElitesWithLNS(4, 3);
+        while (pares.solve()) ;
+        ElitePool pool = pares.getElitePool();
+        Assert.assertTrue(pool.size() > 0);
+        Assert.assertEquals(pool.getValue(0), pares.getBestModel().getSolver().getBestSolutionValue());
+        long tries = 0;
+        for (int k = 0; k < scores.size(); k++) {
+            Assert.assertTrue(scores.getImprovements(k) <= scores.getTries(k));
+            tries += scores.getTries(k);
+        }
+        Assert.assertTrue(tries > 0);
+    }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testShareClauses() {
+        ParallelPortfolio pares = new ParallelPortfolio();
+        for (int i = 0; i < 10; i++) {
+            pares.addModel(ProblemMaker.makeGolombRuler(9));
+        }
+        ClauseExchange exchange = new ClauseExchange(64, 16, 16, 100);
+        pares.shareClauses(exchange);
+        while (pares.solve()) ;
+        Model finder = pares.getBestModel();
+        Assert.assertEquals(finder.getSolver().getObjectiveManager().getBestSolutionValue(), 44);
+        Assert.assertEquals(exchange.getChannels().size(), 10);
+        Assert.assertTrue(exchange.getNbExported() > 0);
+        Assert.assertTrue(exchange.getNbImported() > 0);
+        Assert.assertTrue(exchange.getNbUseful() <= exchange.getNbImported());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testShareSignedClauses() {
+        ParallelPortfolio pares = new ParallelPortfolio(false);
+        for (int i = 0; i < 4; i++) {
+            // infeasible problem
+            Model model = new Model();
+            int n = 9;
+            IntVar[] x = model.intVarArray("x", n, 0, n + 1, true);
+            model.allDifferent(x, "NEQS").post();
+            model.arithm(x[n - 2], "=", x[n - 1]).post();
+            IntVar[] y = x.clone();
+            ArrayUtils.randomPermutations(y, i);
+            Solver solver = model.getSolver();
+            solver.setSearch(inputOrderLBSearch(y));
+            solver.setLubyRestart(10, new FailCounter(model, 1), 1000);
+            solver.setLearningSignedClauses();
+            pares.addModel(model);
+        }
+        ClauseExchange exchange = new ClauseExchange(256, 16, 8, 10);
+        pares.shareClauses(exchange);
+        Assert.assertFalse(pares.solve());
+        Assert.assertTrue(exchange.getNbExported() > 0);
+        Assert.assertTrue(exchange.getNbUseful() <= exchange.getNbImported());
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testShareReverseSplitNogood() throws ContradictionException {
+        Model[] models = new Model[2];
+        IntVar[] xs = new IntVar[2];
+        ClauseExchange exchange = new ClauseExchange();
+        for (int i = 0; i < 2; i++) {
+            models[i] = new Model();
+            xs[i] = models[i].intVar("x", 0, 9);
+            exchange.register(models[i]);
+        }
+        // x >= 4 has been refuted in the first model
+        DecisionPath path = models[0].getSolver().getDecisionPath();
+        IntDecision decision = path.makeIntDecision(xs[0], DecisionOperatorFactory.makeIntReverseSplit(), 4);
+        decision.buildNext();
+        decision.buildNext();
+        path.pushDecision(decision);
+        exchange.getChannels().get(0).exportNogoodsFromPath(path);
+        models[1].getSolver().propagate();
+        exchange.getChannels().get(1).importAll();
+        models[1].getSolver().propagate();
+        Assert.assertEquals(exchange.getNbImported(), 1);
+        Assert.assertEquals(xs[1].getLB(), 0);
+        Assert.assertEquals(xs[1].getUB(), 3);
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver;
+
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class SolutionPoolTest {
+
+    @DataProvider
+    public Object[][] delta() {
+        return new Object[][]{{false}, {true}};
+    }
+
+    private static int[] values(Solution solution, IntVar[] vars) {
+        return Arrays.stream(vars).mapToInt(solution::getIntVal).toArray();
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "delta")
+    public void testEnumeration(boolean delta) {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+        IntVar[] vars = model.retrieveIntVars(true);
+        SolutionPool pool = new SolutionPool(model, vars, Integer.MAX_VALUE, SolutionPool.Eviction.OLDEST, delta);
+        Solver solver = model.getSolver();
+        solver.plugMonitor(pool);
+        List<Solution> solutions = solver.findAllSolutions();
+        Assert.assertEquals(pool.size(), 92);
+        for (int i = 0; i < solutions.size(); i++) {
+            Assert.assertEquals(pool.getValues(i), values(solutions.get(i), vars));
+            Assert.assertEquals(values(pool.getSolution(i), vars), values(solutions.get(i), vars));
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "delta")
+    public void testOldestAndNewest(boolean delta) {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+        IntVar[] vars = model.retrieveIntVars(true);
+        SolutionPool oldest = new SolutionPool(model, vars, 10, SolutionPool.Eviction.OLDEST, delta);
+        SolutionPool newest = new SolutionPool(model, vars, 10, SolutionPool.Eviction.NEWEST, delta);
+        Solver solver = model.getSolver();
+        solver.plugMonitor(oldest);
+        solver.plugMonitor(newest);
+        List<Solution> solutions = solver.findAllSolutions();
+        Assert.assertEquals(oldest.size(), 10);
+        Assert.assertEquals(newest.size(), 10);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(oldest.getValues(i), values(solutions.get(82 + i), vars));
+            Assert.assertEquals(newest.getValues(i), values(solutions.get(i), vars));
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "delta")
+    public void testWorst(boolean delta) throws ContradictionException {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 5, 0, 99);
+        IntVar obj = model.intVar("o", 0, 99);
+        model.setObjective(Model.MINIMIZE, obj);
+        SolutionPool pool = new SolutionPool(model, new IntVar[]{obj, xs[0], xs[1], xs[2], xs[3], xs[4]},
+                5, SolutionPool.Eviction.WORST, delta);
+        Random rnd = new Random(0);
+        int[] objs = new int[100];
+        for (int k = 0; k < objs.length; k++) {
+            objs[k] = rnd.nextInt(100);
+            model.getEnvironment().worldPush();
+            obj.instantiateTo(objs[k], Cause.Null);
+            for (IntVar x : xs) {
+                x.instantiateTo(rnd.nextInt(3), Cause.Null);
+            }
+            pool.record();
+            model.getEnvironment().worldPop();
+        }
+        Assert.assertEquals(pool.size(), 5);
+        int[] best = IntStream.range(0, 5).map(i -> pool.getValues(i)[0]).sorted().toArray();
+        Assert.assertEquals(best, Arrays.copyOf(Arrays.stream(objs).sorted().toArray(), 5));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testWorstWithoutObjective() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 0);
+        SolutionPool pool = new SolutionPool(model, new IntVar[]{x}, 1, SolutionPool.Eviction.WORST, false);
+        Assert.assertThrows(SolverException.class, pool::record);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testDeltaEncoding() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 10, 0, 2);
+        model.sum(xs, ">=", 0).post();
+        Solver solver = model.getSolver();
+        solver.setSearch(Search.inputOrderLBSearch(xs));
+        SolutionPool dense = new SolutionPool(model, xs, 30_000, SolutionPool.Eviction.OLDEST, false);
+        SolutionPool delta = new SolutionPool(model, xs, 30_000, SolutionPool.Eviction.OLDEST, true);
+        solver.plugMonitor(dense);
+        solver.plugMonitor(delta);
+        while (solver.solve()) ;
+        Assert.assertEquals(solver.getSolutionCount(), 59_049);
+        Assert.assertEquals(dense.size(), 30_000);
+        Assert.assertEquals(delta.size(), 30_000);
+        Assert.assertEquals(dense.getNbStoredValues(), 300_000);
+        Assert.assertTrue(delta.getNbStoredValues() < dense.getNbStoredValues() / 2);
+        int[] v1 = new int[10];
+        int[] v2 = new int[10];
+        for (int i = 0; i < 30_000; i++) {
+            dense.getValues(i, v1);
+            delta.getValues(i, v2);
+            Assert.assertEquals(v2, v1);
+        }
+        delta.clear();
+        Assert.assertEquals(delta.size(), 0);
+        Assert.assertEquals(delta.getNbStoredValues(), 0);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRestore() throws ContradictionException {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(6);
+        IntVar[] vars = model.retrieveIntVars(true);
+        SolutionPool pool = new SolutionPool(model);
+        Solver solver = model.getSolver();
+        solver.plugMonitor(pool);
+        solver.findAllSolutions();
+        Assert.assertEquals(pool.size(), 4);
+        solver.reset();
+        model.getEnvironment().worldPush();
+        pool.restore(2);
+        for (int i = 0; i < vars.length; i++) {
+            Assert.assertTrue(vars[i].isInstantiatedTo(pool.getValues(2)[i]));
+        }
+        model.getEnvironment().worldPop();
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> pool.getValues(4));
+    }
+}
@@ -9,6 +9,9 @@
  */
 package org.chocosolver.solver;
 
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.search.loop.lns.INeighborFactory;
+import org.chocosolver.solver.variables.IntVar;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -19,4 +22,58 @@ public class SolutionTest {
         final Solution emptySolution = new Solution(null);
         Assert.assertNotSame(emptySolution, emptySolution.copySolution());
     }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRecordAndCopy() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 5);
+        IntVar y = model.intVar("y", 0, 5);
+        IntVar z = model.intVar("z", 0, 5);
+        model.arithm(x, "<", y).post();
+        Solver solver = model.getSolver();
+        Assert.assertTrue(solver.solve());
+        Solution solution = new Solution(model, x, y).record();
+        Solution copy = solution.copySolution();
+        Assert.assertEquals(copy.getIntVal(x), x.getValue());
+        Assert.assertEquals(copy.getIntVal(y), y.getValue());
+        Assert.assertThrows(SolverException.class, () -> copy.getIntVal(z));
+        copy.setIntVal(z, 3);
+        copy.setIntVal(x, 4);
+        Assert.assertEquals(copy.getIntVal(z), 3);
+        Assert.assertEquals(copy.getIntVal(x), 4);
+        Assert.assertEquals(solution.getIntVal(x), x.getValue());
+        Assert.assertEquals(copy.toString(), "Solution: x=4, y=" + y.getValue() + ", ");
+        Assert.assertTrue(solver.solve());
+        copy.record();
+        Assert.assertEquals(copy.getIntVal(x), x.getValue());
+        Assert.assertThrows(SolverException.class, () -> copy.getIntVal(z));
+    }
+
+    private static IntVar[] knapsack(Model model) {
+        IntVar[] x = model.intVarArray("x", 6, 0, 4);
+        IntVar cost = model.intVar("cost", 0, 100);
+        model.scalar(x, new int[]{3, 5, 2, 7, 4, 6}, "<=", 20).post();
+        model.scalar(x, new int[]{4, 6, 3, 9, 5, 7}, "=", cost).post();
+        model.setObjective(Model.MAXIMIZE, cost);
+        return x;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRestoreInAnotherModel() {
+        Model m1 = new Model();
+        IntVar[] x1 = knapsack(m1);
+        Assert.assertTrue(m1.getSolver().solve());
+        Solution solution = new Solution(m1).record();
+        // an equivalent model, whose variables have the same ids
+        Model m2 = new Model();
+        IntVar[] x2 = knapsack(m2);
+        for (int i = 0; i < x2.length; i++) {
+            Assert.assertEquals(solution.getIntVal(x2[i]), x1[i].getValue());
+        }
+        Solution copy = solution.copySolution();
+        Assert.assertEquals(copy.getIntVal(x2[0]), x1[0].getValue());
+        m2.getSolver().setLNS(INeighborFactory.random(x2), solution);
+        m2.getSolver().limitSolution(1);
+        Assert.assertTrue(m2.getSolver().solve());
+    }
 }
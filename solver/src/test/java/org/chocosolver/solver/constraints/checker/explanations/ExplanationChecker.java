@@ -39,8 +39,8 @@ import org.testng.annotations.Test;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -150,7 +150,7 @@ public class ExplanationChecker {
                                                              ContradictionException cex, int p, boolean general){
             e.recycle();
             ValueSortedMap<IntVar> front = e.getFront();
-            HashSet<IntVar> literals = e.getLiterals();
+            Set<IntVar> literals = e.getLiterals();
 
     //        ig.collectNodesFromConflict(cex, front);
             assert ig.getIntVarAt(p) == cex.v;
@@ -19,7 +19,9 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.Random;
 
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
 import static org.chocosolver.solver.search.strategy.Search.lastConflict;
 import static org.chocosolver.solver.search.strategy.Search.randomSearch;
 
@@ -186,6 +188,62 @@ public class CumulativeTest {
 		}
 	}
 
+	@Test(groups="10s", timeOut=60000)
+	public void testTTEF(){
+		for (long seed = 0; seed < 30; seed++) {
+			long[] ref = solveAll(seed, Cumulative.Filter.TIME);
+			long[] ttef = solveAll(seed, Cumulative.Filter.TIME, Cumulative.Filter.TTEF);
+			Assert.assertEquals(ttef[0], ref[0], "seed " + seed);
+			Assert.assertTrue(ttef[1] <= ref[1], "seed " + seed);
+		}
+	}
+
+	@Test(groups="1s", timeOut=60000)
+	public void testTTEFWindow() throws ContradictionException {
+		for (boolean ttef : new boolean[]{false, true}) {
+			// A, B and C have no compulsory part but require 9 units of energy in [0,6), out of 12,
+			// so D cannot overlap [0,6) by more than 1 unit of time
+			Model model = new Model();
+			Task[] tasks = new Task[4];
+			for (int i = 0; i < 3; i++) {
+				tasks[i] = model.taskVar(model.intVar("s" + i, 0, 3), 3);
+			}
+			tasks[3] = model.taskVar(model.intVar("D", 0, 17), 3);
+			IntVar[] heights = {model.intVar(1), model.intVar(1), model.intVar(1), model.intVar(2)};
+			if (ttef) {
+				model.cumulative(tasks, heights, model.intVar(2), false, Cumulative.Filter.TIME, Cumulative.Filter.TTEF).post();
+			} else {
+				model.cumulative(tasks, heights, model.intVar(2), false, Cumulative.Filter.TIME).post();
+			}
+			model.getSolver().propagate();
+			Assert.assertEquals(tasks[3].getStart().getLB(), ttef ? 5 : 0);
+		}
+	}
+
+	/**
+	 * Enumerate all solutions of a random instance
+	 * @return the number of solutions and the number of nodes
+	 */
+	private static long[] solveAll(long seed, Cumulative.Filter... filters) {
+		Random rnd = new Random(seed);
+		int n = 4 + rnd.nextInt(3);
+		Model model = new Model();
+		Task[] tasks = new Task[n];
+		IntVar[] heights = new IntVar[n];
+		IntVar[] starts = new IntVar[n];
+		for (int i = 0; i < n; i++) {
+			int est = rnd.nextInt(4);
+			starts[i] = model.intVar("s" + i, est, est + 2 + rnd.nextInt(6));
+			tasks[i] = model.taskVar(starts[i], 1 + rnd.nextInt(4));
+			heights[i] = model.intVar(1 + rnd.nextInt(3));
+		}
+		model.cumulative(tasks, heights, model.intVar(3), false, filters).post();
+		Solver solver = model.getSolver();
+		solver.setSearch(inputOrderLBSearch(starts));
+		while (solver.solve()) ;
+		return new long[]{solver.getSolutionCount(), solver.getNodeCount()};
+	}
+
     @Test(groups="10s", timeOut=60000)
     public void testADelsol1(){
 		int[] height = new int[]{0, 1, 3, 5, 1, 4, 4, 3, 4, 3, 0};
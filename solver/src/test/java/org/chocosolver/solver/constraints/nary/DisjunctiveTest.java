@@ -0,0 +1,197 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.nary.cumulative.Cumulative;
+import org.chocosolver.solver.constraints.nary.disjunctive.ThetaLambdaTree;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Task;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * Tests the disjunctive constraint, against a cumulative constraint of capacity 1
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class DisjunctiveTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testThetaLambdaTree() {
+        Random rnd = new Random(0);
+        for (int k = 0; k < 200; k++) {
+            int n = 1 + rnd.nextInt(9);
+            int[] est = new int[n];
+            int[] p = new int[n];
+            for (int i = 0; i < n; i++) {
+                est[i] = rnd.nextInt(20);
+                p[i] = 1 + rnd.nextInt(5);
+            }
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            Arrays.sort(order, (i, j) -> Integer.compare(est[i], est[j]));
+            // 0: absent, 1: theta, 2: lambda
+            int[] status = new int[n];
+            ThetaLambdaTree tree = new ThetaLambdaTree(n);
+            for (int r = 0; r < n; r++) {
+                int i = order[r];
+                status[i] = rnd.nextInt(3);
+                if (status[i] == 1) tree.addToTheta(r, est[i], p[i]);
+                if (status[i] == 2) tree.addToLambda(r, est[i], p[i], i);
+            }
+            int ect = ect(est, p, status, -1);
+            Assert.assertEquals(Math.max(ect, Integer.MIN_VALUE / 2), tree.getEct());
+            int ectBar = ect;
+            for (int i = 0; i < n; i++) {
+                if (status[i] == 2) {
+                    ectBar = Math.max(ectBar, ect(est, p, status, i));
+                }
+            }
+            Assert.assertEquals(Math.max(ectBar, Integer.MIN_VALUE / 2), tree.getEctBar());
+            int resp = tree.getResponsibleEctBar();
+            if (ectBar > ect) {
+                Assert.assertEquals(ect(est, p, status, resp), ectBar);
+            }
+        }
+    }
+
+    /**
+     * Brute force earliest completion time of the tasks in theta, plus task <i>with</i>
+     */
+    private static int ect(int[] est, int[] p, int[] status, int with) {
+        int ect = Integer.MIN_VALUE;
+        for (int i = 0; i < est.length; i++) {
+            if (status[i] != 1 && i != with) continue;
+            int sum = 0;
+            for (int j = 0; j < est.length; j++) {
+                if ((status[j] == 1 || j == with) && est[j] >= est[i]) {
+                    sum += p[j];
+                }
+            }
+            ect = Math.max(ect, est[i] + sum);
+        }
+        return ect;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testEdgeFinding() throws ContradictionException {
+        // A and B fit in [0,11) only if C does not start before both, so C starts at 6 at the earliest
+        Model model = new Model();
+        Task a = model.taskVar(model.intVar("A", 0, 6), 4);
+        Task b = model.taskVar(model.intVar("B", 1, 7), 2);
+        Task c = model.taskVar(model.intVar("C", 0, 20), 5);
+        model.disjunctive(new Task[]{a, b, c}).post();
+        model.arithm(c.getStart(), "<=", 8).post();
+        model.getSolver().propagate();
+        Assert.assertEquals(c.getStart().getLB(), 6);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandomFixedDurations() {
+        for (long seed = 0; seed < 40; seed++) {
+            Assert.assertEquals(count(seed, true, false), count(seed, false, false), "seed " + seed);
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testRandomVariableDurations() {
+        for (long seed = 0; seed < 20; seed++) {
+            Assert.assertEquals(count(seed, true, true), count(seed, false, true), "seed " + seed);
+        }
+    }
+
+    /**
+     * Count all solutions of a random instance, with a disjunctive constraint or a cumulative constraint
+     */
+    private static long count(long seed, boolean disjunctive, boolean variable) {
+        Random rnd = new Random(seed);
+        int n = variable ? 3 + rnd.nextInt(2) : 3 + rnd.nextInt(3);
+        Model model = new Model();
+        Task[] tasks = new Task[n];
+        IntVar[] vars = new IntVar[variable ? 2 * n : n];
+        for (int i = 0; i < n; i++) {
+            int est = rnd.nextInt(6);
+            IntVar s = model.intVar("s" + i, est, est + 3 + rnd.nextInt(8));
+            if (variable) {
+                int dmin = rnd.nextInt(3);
+                IntVar d = model.intVar("d" + i, dmin, dmin + rnd.nextInt(3));
+                IntVar e = model.intVar("e" + i, 0, 30);
+                tasks[i] = new Task(s, d, e);
+                vars[n + i] = d;
+            } else {
+                tasks[i] = model.taskVar(s, 1 + rnd.nextInt(4));
+            }
+            vars[i] = s;
+        }
+        if (disjunctive) {
+            model.disjunctive(tasks).post();
+        } else {
+            IntVar[] heights = new IntVar[n];
+            Arrays.fill(heights, model.intVar(1));
+            model.cumulative(tasks, heights, model.intVar(1), false, Cumulative.Filter.TIME).post();
+        }
+        Solver solver = model.getSolver();
+        solver.setSearch(randomSearch(vars, seed), inputOrderLBSearch(model.retrieveIntVars(true)));
+        while (solver.solve()) ;
+        return solver.getSolutionCount();
+    }
+
+    @Test(groups = "10s", timeOut = 60000)
+    public void testFT06() {
+        int[][] machines = {
+                {2, 0, 1, 3, 5, 4},
+                {1, 2, 4, 5, 0, 3},
+                {2, 3, 5, 0, 1, 4},
+                {1, 0, 2, 3, 4, 5},
+                {2, 1, 4, 5, 0, 3},
+                {1, 3, 5, 0, 4, 2}
+        };
+        int[][] durations = {
+                {1, 3, 6, 7, 3, 6},
+                {8, 5, 10, 10, 10, 4},
+                {5, 4, 8, 9, 1, 7},
+                {5, 5, 5, 3, 8, 9},
+                {9, 3, 5, 4, 3, 1},
+                {3, 3, 9, 10, 4, 1}
+        };
+        Model model = new Model();
+        IntVar makespan = model.intVar("makespan", 0, 200);
+        Task[][] perMachine = new Task[6][6];
+        IntVar[] starts = new IntVar[36];
+        for (int j = 0; j < 6; j++) {
+            for (int o = 0; o < 6; o++) {
+                starts[j * 6 + o] = model.intVar("S_" + j + "_" + o, 0, 200);
+                perMachine[machines[j][o]][j] = model.taskVar(starts[j * 6 + o], durations[j][o]);
+                if (o > 0) {
+                    model.arithm(starts[j * 6 + o - 1], "-", starts[j * 6 + o], "<=", -durations[j][o - 1]).post();
+                }
+            }
+            model.arithm(starts[j * 6 + 5], "-", makespan, "<=", -durations[j][5]).post();
+        }
+        for (Task[] tasks : perMachine) {
+            model.disjunctive(tasks).post();
+        }
+        model.setObjective(Model.MINIMIZE, makespan);
+        Solver solver = model.getSolver();
+        solver.setSearch(inputOrderLBSearch(starts), inputOrderLBSearch(makespan));
+        while (solver.solve()) ;
+        Assert.assertEquals(solver.getBestSolutionValue().intValue(), 55);
+    }
+}
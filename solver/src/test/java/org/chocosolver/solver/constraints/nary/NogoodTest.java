@@ -14,7 +14,10 @@ import gnu.trove.list.array.TIntArrayList;
 import org.chocosolver.sat.MiniSat;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.ConstraintsName;
 import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.constraints.nary.nogood.PropNogoodTrie;
 import org.chocosolver.solver.constraints.nary.sat.PropSat;
 import org.chocosolver.solver.exception.ContradictionException;
 import org.chocosolver.solver.search.limits.BacktrackCounter;
@@ -148,5 +151,125 @@ public class NogoodTest {
         assertEquals(model.getSolver().getBackTrackCount(), 133);
     }
 
+    @Test(groups = "1s", timeOut = 60000)
+    public void test2Trie() {
+        final Model model = new Model();
+        IntVar[] vars = model.intVarArray("vars", 3, 0, 3, false);
+        model.getSolver().setNoGoodRecordingFromRestarts(true);
+        model.getSolver().setSearch(randomSearch(vars, 29091981L));
+        model.getSolver().setRestarts(new BacktrackCounter(model, 0), new MonotonicRestartStrategy(30), 1000);
+        model.getSolver().limitTime(2000);
+        while (model.getSolver().solve()) ;
+        assertEquals(model.getSolver().getSolutionCount(), 64);
+        // the trie only refutes a decision once the decisions above it hold
+        assertEquals(model.getSolver().getBackTrackCount(), 141);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void test5Trie() {
+        final Model model = new Model();
+        SetVar[] vars = model.setVarArray("vars", 3, new int[]{}, new int[]{1, 2});
+        model.getSolver().setNoGoodRecordingFromRestarts(true);
+        model.getSolver().setSearch(Search.setVarSearch(new Random<SetVar>(29091981L), new SetDomainMin(), true, vars));
+        model.getSolver().setRestarts(new BacktrackCounter(model, 0), new MonotonicRestartStrategy(30), 3);
+        while (model.getSolver().solve()) ;
+        assertEquals(model.getSolver().getSolutionCount(), 64);
+        assertEquals(model.getSolver().getBackTrackCount(), 148);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTrie1() {
+        Model model = new Model();
+        IntVar x = model.intVar("x", 0, 2, false);
+        IntVar y = model.intVar("y", 0, 2, false);
+        IntVar z = model.intVar("z", 0, 1, false);
+        PropNogoodTrie trie = model.getNogoodTrie();
+        int n = trie.extend(trie.root(), x, PropNogoodTrie.EQ, 0);
+        trie.forbid(n, y, PropNogoodTrie.EQ, 0);
+        n = trie.extend(trie.root(), x, PropNogoodTrie.EQ, 0);
+        trie.forbid(n, y, PropNogoodTrie.EQ, 1);
+        // x = 0 is shared
+        Assert.assertEquals(trie.getNbNodes(), 4);
+        Assert.assertEquals(trie.getNbNogoods(), 2);
+        // the path is already forbidden
+        n = trie.extend(trie.root(), x, PropNogoodTrie.EQ, 0);
+        Assert.assertEquals(trie.extend(n, y, PropNogoodTrie.EQ, 1), -1);
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 14);
+    }
 
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTrie2() {
+        for (int seed = 0; seed < 50; seed++) {
+            Model model = new Model();
+            IntVar[] xs = model.intVarArray("x", 4, 0, 2, false);
+            PropNogoodTrie trie = model.getNogoodTrie();
+            java.util.Random rnd = new java.util.Random(seed);
+            int[][][] nogoods = new int[5][][];
+            for (int i = 0; i < nogoods.length; i++) {
+                nogoods[i] = new int[1 + rnd.nextInt(3)][];
+                int n = trie.root();
+                for (int j = 0; j < nogoods[i].length; j++) {
+                    int[] d = {rnd.nextInt(xs.length), rnd.nextInt(4), rnd.nextInt(3)};
+                    nogoods[i][j] = d;
+                    if (j < nogoods[i].length - 1) {
+                        n = trie.extend(n, xs[d[0]], d[1], d[2]);
+                    } else {
+                        trie.forbid(n, xs[d[0]], d[1], d[2]);
+                    }
+                }
+            }
+            Assert.assertEquals(model.getSolver().findAllSolutions().size(), count(nogoods, new int[xs.length], 0), "seed " + seed);
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testTrie3() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 6, 0, 5, false);
+        PropNogoodTrie trie = new PropNogoodTrie(model, 16);
+        new Constraint(ConstraintsName.NOGOODCONSTRAINT, trie).post();
+        java.util.Random rnd = new java.util.Random(0);
+        for (int i = 0; i < 100; i++) {
+            int n = trie.root();
+            Assert.assertTrue(trie.getNbNodes() <= 16);
+            for (int j = 0; j < 5; j++) {
+                n = trie.extend(n, xs[j], PropNogoodTrie.EQ, rnd.nextInt(6));
+            }
+            trie.forbid(n, xs[5], PropNogoodTrie.EQ, rnd.nextInt(6));
+        }
+        // nogoods made of a single decision are kept
+        trie.forbid(trie.root(), xs[0], PropNogoodTrie.EQ, 0);
+        for (int i = 0; i < 10; i++) {
+            int n = trie.extend(trie.root(), xs[1], PropNogoodTrie.EQ, i % 6);
+            trie.forbid(n, xs[2], PropNogoodTrie.EQ, i % 6);
+        }
+        Assert.assertTrue(trie.getNbNodes() <= 16 + 2);
+        Solver solver = model.getSolver();
+        while (solver.solve()) {
+            Assert.assertNotEquals(xs[0].getValue(), 0);
+        }
+    }
+
+    private static int count(int[][][] nogoods, int[] tuple, int i) {
+        if (i == tuple.length) {
+            for (int[][] nogood : nogoods) {
+                boolean all = true;
+                for (int[] d : nogood) {
+                    int v = tuple[d[0]];
+                    all &= d[1] == PropNogoodTrie.EQ ? v == d[2] : d[1] == PropNogoodTrie.NEQ ? v != d[2]
+                            : d[1] == PropNogoodTrie.LE ? v <= d[2] : v >= d[2];
+                }
+                if (all) {
+                    return 0;
+                }
+            }
+            return 1;
+        }
+        int c = 0;
+        for (int v = 0; v < 3; v++) {
+            tuple[i] = v;
+            c += count(nogoods, tuple, i + 1);
+        }
+        return c;
+    }
 }
@@ -16,6 +16,7 @@ package org.chocosolver.solver.constraints.nary;
 
 import org.chocosolver.solver.*;
 import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.extension.SmartTuples;
 import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.constraints.extension.TuplesFactory;
 import org.chocosolver.solver.constraints.extension.nary.TuplesLargeTable;
@@ -27,13 +28,16 @@ import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.ESat;
 import org.chocosolver.util.objects.graphs.MultivaluedDecisionDiagram;
+import org.chocosolver.util.tools.ArrayUtils;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.function.IntPredicate;
 
 import static java.lang.System.out;
 import static org.chocosolver.solver.constraints.extension.TuplesFactory.generateTuples;
@@ -760,4 +764,160 @@ public class TableTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCTSharedSupports() {
+        long[] counts = new long[2];
+        for (int k = 0; k < 2; k++) {
+            Model model = new Model();
+            IntVar[] xs = model.intVarArray("x", 6, 0, 3);
+            IntVar[] ys = model.intVarArray("y", 3, 1, 3);
+            Tuples ts = TuplesFactory.allDifferent(xs[0], xs[1], xs[2]);
+            Tuples copy = new Tuples(ts.toMatrix(), true);
+            String algo = k == 0 ? "CT+" : "GAC3rm+";
+            model.table(new IntVar[]{xs[0], xs[1], xs[2]}, ts, algo).post();
+            model.table(new IntVar[]{xs[3], xs[4], xs[5]}, ts, algo).post();
+            model.table(new IntVar[]{xs[0], xs[2], xs[4]}, copy, algo).post();
+            model.table(ys, ts, algo).post();
+            if (k == 0) {
+                // same relation and same domains: one support structure, other domains: another one
+                Assert.assertEquals(((Map<?, ?>) model.getHook(Model.TABLE_SUPPORTS_HOOK_NAME)).size(), 2);
+            }
+            Solver solver = model.getSolver();
+            solver.setSearch(randomSearch(ArrayUtils.append(xs, ys), 0));
+            while (solver.solve()) ;
+            counts[k] = solver.getSolutionCount();
+        }
+        Assert.assertTrue(counts[0] > 0);
+        Assert.assertEquals(counts[0], counts[1]);
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testCTNegBinary() {
+        Model model = new Model();
+        IntVar x = model.intVar(0, 2);
+        IntVar y = model.intVar(0, 2);
+        Tuples tuples = new Tuples(false);
+        tuples.add(0, 0);
+        tuples.add(0, 0);
+        tuples.add(1, 5);
+        model.table(x, y, tuples, "CT+").post();
+        Assert.assertEquals(model.getSolver().findAllSolutions().size(), 8);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, expectedExceptions = SolverException.class)
+    public void testCTNegStar() {
+        Model model = new Model();
+        IntVar[] xs = model.intVarArray("x", 3, 0, 2);
+        Tuples tuples = new Tuples(false);
+        tuples.setUniversalValue(-1);
+        tuples.add(0, -1, 0);
+        model.table(xs, tuples, "CT+").post();
+    }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testCTNegRandom() {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 60; seed++) {
+            long[] counts = new long[4];
+            for (int k = 0; k < 2; k++) {
+                rnd.setSeed(seed);
+                Model model = new Model();
+                int n = 2 + rnd.nextInt(3);
+                IntVar[] xs = new IntVar[n];
+                for (int i = 0; i < n; i++) {
+                    int lb = -1 + rnd.nextInt(3);
+                    xs[i] = rnd.nextBoolean() ?
+                            model.intVar("x" + i, lb, lb + 1 + rnd.nextInt(4)) :
+                            model.intVar("x" + i, new int[]{lb, lb + 2, lb + 3});
+                }
+                Tuples tuples = new Tuples(false);
+                int nbt = rnd.nextInt(60);
+                for (int t = 0; t < nbt; t++) {
+                    int[] tuple = new int[n];
+                    for (int i = 0; i < n; i++) {
+                        tuple[i] = -1 + rnd.nextInt(7);
+                    }
+                    tuples.add(tuple);
+                }
+                model.table(xs, tuples, k == 0 ? "CT+" : "GAC3rm").post();
+                Solver solver = model.getSolver();
+                solver.setSearch(randomSearch(xs, seed));
+                while (solver.solve()) ;
+                counts[2 * k] = solver.getSolutionCount();
+                counts[2 * k + 1] = solver.getNodeCount();
+            }
+            assertEquals(counts[0], counts[2], "seed " + seed);
+            assertEquals(counts[1], counts[3], "seed " + seed);
+        }
+    }
+
+    private static IntPredicate randomEntry(Random rnd) {
+        int v = rnd.nextInt(5);
+        switch (rnd.nextInt(8)) {
+            case 0:
+                return SmartTuples.any();
+            case 1:
+                return SmartTuples.ne(v);
+            case 2:
+                return SmartTuples.lt(v);
+            case 3:
+                return SmartTuples.ge(v);
+            case 4:
+                return SmartTuples.range(v, v + rnd.nextInt(3));
+            case 5:
+                return SmartTuples.in(v, rnd.nextInt(5), 7);
+            default:
+                return SmartTuples.eq(v);
+        }
+    }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testCTSmartRandom() {
+        Random rnd = new Random();
+        for (int seed = 0; seed < 60; seed++) {
+            rnd.setSeed(seed);
+            int n = 2 + rnd.nextInt(3);
+            SmartTuples smart = new SmartTuples();
+            int nbt = 1 + rnd.nextInt(8);
+            for (int t = 0; t < nbt; t++) {
+                IntPredicate[] tuple = new IntPredicate[n];
+                for (int i = 0; i < n; i++) {
+                    tuple[i] = randomEntry(rnd);
+                }
+                smart.add(tuple);
+            }
+            long[] counts = new long[4];
+            for (int k = 0; k < 2; k++) {
+                Model model = new Model();
+                IntVar[] xs = model.intVarArray("x", n, 0, 4);
+                if (k == 0) {
+                    model.table(xs, smart).post();
+                } else {
+                    // the same relation, in extension
+                    Tuples tuples = generateTuples(values -> {
+                        for (int t = 0; t < smart.nbTuples(); t++) {
+                            IntPredicate[] tuple = smart.get(t);
+                            boolean valid = true;
+                            for (int i = 0; i < n && valid; i++) {
+                                valid = tuple[i].test(values[i]);
+                            }
+                            if (valid) {
+                                return true;
+                            }
+                        }
+                        return false;
+                    }, true, xs);
+                    model.table(xs, tuples, "CT+").post();
+                }
+                Solver solver = model.getSolver();
+                solver.setSearch(randomSearch(xs, seed));
+                while (solver.solve()) ;
+                counts[2 * k] = solver.getSolutionCount();
+                counts[2 * k + 1] = solver.getNodeCount();
+            }
+            assertEquals(counts[0], counts[2], "seed " + seed);
+            assertEquals(counts[1], counts[3], "seed " + seed);
+        }
+    }
+}
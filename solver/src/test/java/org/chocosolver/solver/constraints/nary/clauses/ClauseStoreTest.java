@@ -0,0 +1,142 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.constraints.nary.clauses;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.objects.setDataStructures.iterable.IntIterableRangeSet;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.chocosolver.solver.search.strategy.Search.inputOrderLBSearch;
+import static org.chocosolver.solver.search.strategy.Search.randomSearch;
+
+/**
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class ClauseStoreTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandomClauses() {
+        int n = 4, d = 5;
+        for (int seed = 0; seed < 50; seed++) {
+            Random rnd = new Random(seed);
+            Model model = new Model();
+            IntVar[] x = model.intVarArray("x", n, 0, d - 1, seed % 2 == 0);
+            int nbClauses = 3 + rnd.nextInt(8);
+            // literals of each clause, by variable, null if the variable does not appear
+            IntIterableRangeSet[][] sets = new IntIterableRangeSet[nbClauses][n];
+            for (int c = 0; c < nbClauses; c++) {
+                int k = 0;
+                for (int i = 0; i < n; i++) {
+                    if (rnd.nextBoolean()) {
+                        sets[c][i] = new IntIterableRangeSet();
+                        do {
+                            int l = rnd.nextInt(d);
+                            sets[c][i].addBetween(l, l + rnd.nextInt(2));
+                        } while (rnd.nextInt(3) == 0);
+                        k++;
+                    }
+                }
+                if (k < 2) {
+                    sets[c][0] = new IntIterableRangeSet(rnd.nextInt(d));
+                    sets[c][n - 1] = new IntIterableRangeSet(rnd.nextInt(d));
+                    k = 0;
+                    for (int i = 0; i < n; i++) {
+                        if (sets[c][i] != null) k++;
+                    }
+                }
+                IntVar[] vars = new IntVar[k];
+                IntIterableRangeSet[] ranges = new IntIterableRangeSet[k];
+                for (int i = 0, j = 0; i < n; i++) {
+                    if (sets[c][i] != null) {
+                        vars[j] = x[i];
+                        ranges[j++] = sets[c][i].duplicate();
+                    }
+                }
+                model.getClauseConstraint().addClause(vars, ranges);
+            }
+            model.getSolver().setSearch(randomSearch(x, seed));
+            int count = 0;
+            while (model.getSolver().solve()) {
+                count++;
+            }
+            Assert.assertEquals(count, countSolutions(sets, n, d), "seed " + seed);
+        }
+    }
+
+    private static int countSolutions(IntIterableRangeSet[][] sets, int n, int d) {
+        int count = 0;
+        int[] t = new int[n];
+        for (int e = 0; e < Math.pow(d, n); e++) {
+            for (int i = 0, r = e; i < n; i++, r /= d) {
+                t[i] = r % d;
+            }
+            boolean sat = true;
+            for (int c = 0; c < sets.length && sat; c++) {
+                sat = false;
+                for (int i = 0; i < n && !sat; i++) {
+                    sat = sets[c][i] != null && sets[c][i].contains(t[i]);
+                }
+            }
+            if (sat) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testReduction() {
+        // the reduction keeps the store smaller, without losing any solution
+        int[] reduced = queens(8, 20);
+        int[] unbounded = queens(8, 100_000);
+        Assert.assertEquals(reduced[0], 92);
+        Assert.assertEquals(unbounded[0], 92);
+        Assert.assertTrue(reduced[1] < unbounded[1]);
+    }
+
+    /**
+     * @return the number of solutions of the n-queens problem and the final number of learnt clauses
+     */
+    private static int[] queens(int n, int maxLearnts) {
+        Model model = new Model();
+        model.getSettings().setNbMaxLearntClauses(maxLearnts);
+        IntVar[] q = model.intVarArray("q", n, 1, n);
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int k = j - i;
+                model.arithm(q[i], "!=", q[j]).post();
+                model.arithm(q[i], "!=", q[j], "+", -k).post();
+                model.arithm(q[i], "!=", q[j], "+", k).post();
+            }
+        }
+        Solver solver = model.getSolver();
+        solver.setSearch(inputOrderLBSearch(q));
+        solver.setLearningSignedClauses();
+        int count = 0;
+        while (solver.solve()) {
+            count++;
+        }
+        return new int[]{count, model.getClauseConstraint().getClauseStore().getNbLearntClauses()};
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testQueensWithReduction() {
+        int[] expected = {1, 0, 0, 2, 10, 4, 40, 92};
+        for (int n = 1; n <= 8; n++) {
+            Assert.assertEquals(queens(n, 8)[0], expected[n - 1], "n = " + n);
+        }
+    }
+}
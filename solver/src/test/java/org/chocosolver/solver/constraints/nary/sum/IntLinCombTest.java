@@ -115,7 +115,8 @@ public class IntLinCombTest {
 
 
     protected Model sum(int[][] domains, int[] coeffs, int b, int op, boolean incr) {
-        Model model = new Model(Settings.init().setEnableIncrementalityOnBoolSum(i -> incr));
+        Model model = new Model(Settings.init().setEnableIncrementalityOnBoolSum(i -> incr)
+                .setEnableIncrementalityOnSum(i -> incr));
         IntVar[] bins = new IntVar[domains.length];
         for (int i = 0; i < domains.length; i++) {
             bins[i] = model.intVar("v_" + i, domains[i][0], domains[i][domains[i].length - 1], true);
@@ -136,7 +137,8 @@ public class IntLinCombTest {
     }
 
     protected Model intlincomb(int[][] domains, int[] coeffs, int b, int op, boolean incr) {
-        Model model = new Model(Settings.init().setEnableIncrementalityOnBoolSum(i -> incr));
+        Model model = new Model(Settings.init().setEnableIncrementalityOnBoolSum(i -> incr)
+                .setEnableIncrementalityOnSum(i -> incr));
         IntVar[] bins = new IntVar[domains.length];
         for (int i = 0; i < domains.length; i++) {
             bins[i] = model.intVar("v_" + i, domains[i][0], domains[i][domains[i].length - 1], true);
@@ -1073,4 +1075,41 @@ public class IntLinCombTest {
         model.getSolver().findAllSolutions();
         Assert.assertEquals(model.getSolver().getSolutionCount(), 772);
     }
+
+    @Test(groups = "10s", timeOut = 300000)
+    public void testIncrementalScalar() {
+        Random rand = new Random();
+        Operator[] ops = {Operator.EQ, Operator.NQ, Operator.LE, Operator.GE};
+        for (int seed = 0; seed < 200; seed++) {
+            long[] counts = new long[4];
+            for (int k = 0; k < 2; k++) {
+                boolean incr = k == 0;
+                rand.setSeed(seed);
+                Model model = new Model(Settings.init().setEnableIncrementalityOnSum(i -> incr));
+                int n = 12 + rand.nextInt(4);
+                IntVar[] xs = new IntVar[n];
+                int[] coeffs = new int[n];
+                for (int i = 0; i < n; i++) {
+                    int lb = -2 + rand.nextInt(3);
+                    xs[i] = model.intVar("x" + i, lb, lb + rand.nextInt(4), rand.nextBoolean());
+                    coeffs[i] = rand.nextBoolean() ? 1 - 2 * rand.nextInt(2) : -6 + rand.nextInt(13);
+                }
+                Operator op = ops[rand.nextInt(4)];
+                model.scalar(xs, coeffs, op.toString(), rand.nextInt(5)).post();
+                Solver solver = model.getSolver();
+                solver.setSearch(Search.randomSearch(xs, seed));
+                solver.limitSolution(2000);
+                while (solver.solve()) ;
+                if (incr) {
+                    counts[0] = solver.getSolutionCount();
+                    counts[1] = solver.getNodeCount();
+                } else {
+                    counts[2] = solver.getSolutionCount();
+                    counts[3] = solver.getNodeCount();
+                }
+            }
+            assertEquals(counts[0], counts[2], "seed " + seed);
+            assertEquals(counts[1], counts[3], "seed " + seed);
+        }
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.objective;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class ParetoFrontTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testOfferAndQuery() {
+        for (int k = 1; k <= 4; k++) {
+            Random rnd = new Random(k);
+            ParetoFront front = new ParetoFront(k);
+            List<int[]> expected = new ArrayList<>();
+            for (int it = 0; it < 2000; it++) {
+                int[] p = rnd.ints(k, 0, 30).toArray();
+                boolean accepted = expected.stream().noneMatch(q -> dominates(q, p));
+                Assert.assertEquals(front.offer(p, () -> null), accepted);
+                if (accepted) {
+                    expected.removeIf(q -> weaklyDominates(p, q));
+                    expected.add(p);
+                }
+                Assert.assertEquals(front.size(), expected.size());
+                int[] dp = rnd.ints(k, 0, 30).toArray();
+                int i = rnd.nextInt(k);
+                Assert.assertEquals(front.tightestPoint(dp, i), tightestPoint(expected, dp, i),
+                        "dp = " + Arrays.toString(dp) + ", i = " + i);
+            }
+        }
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testConcurrentOffers() throws Exception {
+        int k = 3;
+        ParetoFront front = new ParetoFront(k);
+        List<int[]> points = new ArrayList<>();
+        Random rnd = new Random(0);
+        for (int i = 0; i < 20_000; i++) {
+            points.add(rnd.ints(k, 0, 100).toArray());
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int from = t;
+            futures.add(pool.submit(() -> {
+                for (int i = from; i < points.size(); i += 4) {
+                    front.offer(points.get(i), () -> null);
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+        Assert.assertTrue(pool.awaitTermination(1, TimeUnit.SECONDS));
+        // the front is made of the non-dominated points, whatever the order of the offers
+        ParetoFront sequential = new ParetoFront(k);
+        for (int[] p : points) {
+            sequential.offer(p, () -> null);
+        }
+        Assert.assertEquals(front.size(), sequential.size());
+    }
+
+    private static boolean weaklyDominates(int[] a, int[] b) {
+        for (int j = 0; j < a.length; j++) {
+            if (a[j] < b[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean dominates(int[] a, int[] b) {
+        return weaklyDominates(a, b) && !Arrays.equals(a, b);
+    }
+
+    private static int tightestPoint(List<int[]> front, int[] dp, int i) {
+        int best = Integer.MIN_VALUE;
+        for (int[] p : front) {
+            if (dominates(p, dp)) {
+                boolean strict = false;
+                for (int j = 0; j < p.length; j++) {
+                    strict |= j != i && p[j] > dp[j];
+                }
+                best = Math.max(best, strict ? p[i] + 1 : p[i]);
+            }
+        }
+        return best;
+    }
+}
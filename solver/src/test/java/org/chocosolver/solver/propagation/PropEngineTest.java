@@ -10,6 +10,7 @@
 package org.chocosolver.solver.propagation;
 
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Settings;
 import org.chocosolver.solver.Solver;
 import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.constraints.Propagator;
@@ -21,12 +22,16 @@ import org.chocosolver.util.ProblemMaker;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintWriter;
+
 import static org.chocosolver.solver.constraints.PropagatorPriority.UNARY;
 import static org.chocosolver.solver.search.strategy.Search.minDomLBSearch;
 import static org.chocosolver.solver.search.strategy.Search.randomSearch;
 import static org.chocosolver.solver.variables.events.IEventType.ALL_EVENTS;
 import static org.chocosolver.solver.variables.events.IntEventType.VOID;
 import static org.chocosolver.util.ESat.TRUE;
+import static org.chocosolver.util.ProblemMaker.makeGolombRuler;
 import static org.chocosolver.util.ProblemMaker.makeNQueenWithBinaryConstraints;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
@@ -192,4 +197,78 @@ public class PropEngineTest {
         solver.getEngine().clear();
         solver.reset(); // error (null)
     }
+
+    private static void setAdaptive(Model model) {
+        model.getSettings().setAdaptivePropagationEngine(true);
+        model.getSolver().setEngine(new PropagationEngine(model));
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAdaptive1() {
+        Model model = makeNQueenWithBinaryConstraints(8);
+        setAdaptive(model);
+        Solver solver = model.getSolver();
+        Assert.assertTrue(solver.getEngine().isAdaptive());
+        assertEquals(solver.findAllSolutions().size(), 92);
+        long runs = 0;
+        for (Constraint c : model.getCstrs()) {
+            for (Propagator<?> p : c.getPropagators()) {
+                Assert.assertTrue(solver.getEngine().getNbPrunings(p) <= solver.getEngine().getNbRuns(p));
+                Assert.assertTrue(solver.getEngine().getCost(p) >= 0d);
+                runs += solver.getEngine().getNbRuns(p);
+            }
+        }
+        Assert.assertTrue(runs > 0);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAdaptive2() {
+        Model model = makeGolombRuler(8);
+        setAdaptive(model);
+        Solver solver = model.getSolver();
+        solver.setSearch(minDomLBSearch((IntVar[]) model.getHook("ticks")));
+        int best = -1;
+        while (solver.solve()) {
+            best = ((IntVar[]) model.getHook("ticks"))[7].getValue();
+        }
+        assertEquals(best, 34);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAdaptive3() {
+        Model model = makeNQueenWithBinaryConstraints(8);
+        setAdaptive(model);
+        Solver solver = model.getSolver();
+        IntVar[] qs = model.retrieveIntVars(true);
+        // dynamic additions and removals of propagators
+        model.pushScope();
+        model.arithm(qs[0], "=", 1).post();
+        assertEquals(solver.findAllSolutions().size(), 4);
+        model.popScope();
+        model.pushScope();
+        model.arithm(qs[0], "<", qs[7]).post();
+        assertEquals(solver.findAllSolutions().size(), 46);
+        model.popScope();
+        assertEquals(solver.findAllSolutions().size(), 92);
+    }
+
+    @Test(groups="1s", timeOut=60000)
+    public void testAdaptive4() {
+        Model model = new Model(Settings.init().setAdaptivePropagationEngine(true));
+        IntVar[] qs = model.intVarArray("Q", 6, 1, 6);
+        for (int i = 0; i < 5; i++) {
+            model.arithm(qs[i], "!=", qs[i + 1]).post();
+        }
+        model.allDifferent(qs).post();
+        Solver solver = model.getSolver();
+        PropagationProfiler profiler = solver.profilePropagation();
+        Assert.assertTrue(solver.getEngine().isAdaptive());
+        assertEquals(solver.findAllSolutions().size(), 720);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintWriter pw = new PrintWriter(baos);
+        profiler.writeTo(pw, true);
+        pw.flush();
+        Assert.assertTrue(baos.toString().contains("Adaptive scheduling"));
+        Assert.assertTrue(baos.toString().contains("Demotions"));
+    }
 }
@@ -10,6 +10,8 @@
 package org.chocosolver.solver.search;
 
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.ParallelPortfolio;
+import org.chocosolver.solver.exception.SolverException;
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.search.loop.monitors.IMonitorSolution;
 import org.chocosolver.solver.search.strategy.Search;
@@ -18,7 +20,11 @@ import org.chocosolver.util.tools.ArrayUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static java.lang.Integer.parseInt;
 import static java.lang.Math.max;
@@ -41,6 +47,65 @@ public class ParetoTest {
         Assert.assertTrue(bestProfit1 > 60);
     }
 
+    @Test(groups = "1s", timeOut = 60000)
+    public void testParallelPareto() {
+        Model seq = knapsack();
+        List<Solution> expected = seq.getSolver().findParetoFront(objectives(seq), Model.MAXIMIZE);
+        ParallelPortfolio portfolio = new ParallelPortfolio(false);
+        for (int i = 0; i < 3; i++) {
+            Model m = knapsack();
+            IntVar[] occ = Arrays.copyOf(m.retrieveIntVars(true), 4);
+            m.getSolver().setSearch(i == 0 ? Search.inputOrderLBSearch(occ) : Search.randomSearch(occ, i),
+                    Search.inputOrderLBSearch(objectives(m)));
+            portfolio.addModel(m);
+        }
+        List<Solution> front = portfolio.findParetoFront(ParetoTest::objectives, Model.MAXIMIZE);
+        Assert.assertEquals(expected.size(), 14);
+        Assert.assertEquals(points(front, portfolio.getModels()), points(expected, Collections.singletonList(seq)));
+    }
+
+    private static Model knapsack() {
+        int[] nbItems = {10, 5, 4, 3};
+        int[] weights = {2, 3, 5, 7};
+        int[] profits1 = {1, 5, 9, 14};
+        int[] profits2 = {6, 3, 5, 2};
+        Model m = new Model();
+        IntVar[] occurrences = new IntVar[nbItems.length];
+        for (int i = 0; i < nbItems.length; i++) {
+            occurrences[i] = m.intVar("occurrences_" + i, 0, nbItems[i], true);
+        }
+        IntVar totalWeight = m.intVar("totalWeight", 0, 30, true);
+        IntVar totalProfit1 = m.intVar("totalProfit_1", 0, 200, true);
+        IntVar totalProfit2 = m.intVar("totalProfit_2", 0, 200, true);
+        m.knapsack(occurrences, totalWeight, totalProfit1, weights, profits1).post();
+        m.knapsack(occurrences, totalWeight, totalProfit2, weights, profits2).post();
+        m.getSolver().setSearch(Search.inputOrderLBSearch(occurrences),
+                Search.inputOrderLBSearch(totalProfit1, totalProfit2));
+        return m;
+    }
+
+    private static IntVar[] objectives(Model m) {
+        IntVar[] vars = m.retrieveIntVars(true);
+        return new IntVar[]{vars[5], vars[6]};
+    }
+
+    private static Set<List<Integer>> points(List<Solution> front, List<Model> models) {
+        Set<List<Integer>> points = new HashSet<>();
+        for (Solution sol : front) {
+            // a solution only knows the variables of the model which found it
+            for (Model m : models) {
+                IntVar[] objs = objectives(m);
+                try {
+                    points.add(Arrays.asList(sol.getIntVal(objs[0]), sol.getIntVal(objs[1])));
+                    break;
+                } catch (SolverException ignored) {
+                }
+            }
+        }
+        Assert.assertEquals(points.size(), front.size());
+        return points;
+    }
+
     private void runKnapsackPareto(final int capacity, final String... items) {
         int[] nbItems = new int[items.length];
         int[] weights = new int[items.length];
@@ -0,0 +1,228 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.solver.search.strategy.selectors.variables;
+
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.loop.monitors.IMonitorDownBranch;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMin;
+import org.chocosolver.solver.search.strategy.strategy.AbstractStrategy;
+import org.chocosolver.solver.search.strategy.strategy.IntStrategy;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+import org.chocosolver.util.ProblemMaker;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * <br/>
+ *
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class IndexedVariableHeapTest {
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testSelection() throws ContradictionException {
+        Model model = new Model();
+        IntVar[] vars = new IntVar[]{
+                model.intVar("a", 0, 4),
+                model.intVar("b", 0, 2),
+                model.intVar("c", 0, 2),
+                model.intVar("d", 0, 6)
+        };
+        DomOverWDeg dwd = new DomOverWDeg(vars, 0, Integer.MAX_VALUE, true, false);
+        // among ties, the first one is selected
+        Assert.assertEquals(dwd.getVariable(vars), vars[1]);
+        model.getEnvironment().worldPush();
+        vars[1].instantiateTo(0, Cause.Null);
+        Assert.assertEquals(dwd.getVariable(vars), vars[2]);
+        model.getEnvironment().worldPush();
+        vars[3].updateUpperBound(1, Cause.Null);
+        Assert.assertEquals(dwd.getVariable(vars), vars[3]);
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(dwd.getVariable(vars), vars[2]);
+        model.getEnvironment().worldPop();
+        Assert.assertEquals(dwd.getVariable(vars), vars[1]);
+        vars[0].instantiateTo(0, Cause.Null);
+        vars[1].instantiateTo(0, Cause.Null);
+        vars[2].instantiateTo(0, Cause.Null);
+        vars[3].instantiateTo(0, Cause.Null);
+        Assert.assertNull(dwd.getVariable(vars));
+    }
+
+    @Test(groups = "1s", timeOut = 60000)
+    public void testRandomTies() {
+        Model model = new Model();
+        IntVar[] vars = model.intVarArray("x", 10, 0, 3);
+        DomOverWDeg dwd = new DomOverWDeg(vars, 0, Integer.MAX_VALUE, true, true);
+        boolean[] selected = new boolean[vars.length];
+        for (int i = 0; i < 200; i++) {
+            IntVar var = dwd.getVariable(vars);
+            for (int j = 0; j < vars.length; j++) {
+                selected[j] |= vars[j] == var;
+            }
+        }
+        for (int j = 0; j < vars.length; j++) {
+            Assert.assertTrue(selected[j]);
+        }
+    }
+
+    @DataProvider
+    public Object[][] heuristics() {
+        return new Object[][]{
+                {(Function<IntVar[], AbstractStrategy<IntVar>>) vs ->
+                        new IntStrategy(vs, new DomOverWDeg(vs, 0, Integer.MAX_VALUE, true, false), new IntDomainMin())},
+                {(Function<IntVar[], AbstractStrategy<IntVar>>) vs ->
+                        new IntStrategy(vs, new DomOverWDeg(vs, 0, Integer.MAX_VALUE, true, true), new IntDomainMin())},
+                {(Function<IntVar[], AbstractStrategy<IntVar>>) vs ->
+                        new IntStrategy(vs, new DomOverWDegRef(vs, 0, Integer.MAX_VALUE, true, true), new IntDomainMin())},
+                {(Function<IntVar[], AbstractStrategy<IntVar>>) vs ->
+                        new IntStrategy(vs, new ConflictHistorySearch(vs, 0, Integer.MAX_VALUE, true, false), new IntDomainMin())},
+                {(Function<IntVar[], AbstractStrategy<IntVar>>) vs ->
+                        new ActivityBased(vs[0].getModel(), vs, null, 0.999d, 0.2d, 8, 1, 0, true, true)},
+        };
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "heuristics")
+    public void testNQueens(Function<IntVar[], AbstractStrategy<IntVar>> heuristic) {
+        Model model = ProblemMaker.makeNQueenWithBinaryConstraints(8);
+        Solver solver = model.getSolver();
+        solver.setSearch(heuristic.apply((IntVar[]) model.getHook("vars")));
+        Assert.assertTrue(solver.solve());
+        Assert.assertEquals(solver.isSatisfied(), ESat.TRUE);
+    }
+
+    @DataProvider
+    public Object[][] selectors() {
+        return new Object[][]{
+                {(Function<IntVar[], AbstractCriterionBasedVariableSelector[]>) vs ->
+                        new AbstractCriterionBasedVariableSelector[]{
+                                new DomOverWDeg(vs, 0, Integer.MAX_VALUE, true, true),
+                                new DomOverWDeg(vs, 0, Integer.MAX_VALUE)}},
+                {(Function<IntVar[], AbstractCriterionBasedVariableSelector[]>) vs ->
+                        new AbstractCriterionBasedVariableSelector[]{
+                                new DomOverWDegRef(vs, 0, Integer.MAX_VALUE, true, true),
+                                new DomOverWDegRef(vs, 0, Integer.MAX_VALUE)}},
+                {(Function<IntVar[], AbstractCriterionBasedVariableSelector[]>) vs ->
+                        new AbstractCriterionBasedVariableSelector[]{
+                                new ConflictHistorySearch(vs, 0, Integer.MAX_VALUE, true, true),
+                                new ConflictHistorySearch(vs, 0, Integer.MAX_VALUE)}},
+        };
+    }
+
+    /**
+     * A seeded random model made of all-different constraints over triples of variables
+     */
+    private static Model makeRandomTriples() {
+        Model model = new Model();
+        IntVar[] x = model.intVarArray("x", 30, 0, 3);
+        Random rnd = new Random(0);
+        for (int k = 0; k < 40; k++) {
+            int i = rnd.nextInt(x.length);
+            int j = rnd.nextInt(x.length);
+            int l = rnd.nextInt(x.length);
+            if (i != j && j != l && i != l) {
+                model.allDifferent(x[i], x[j], x[l]).post();
+            }
+        }
+        model.addHook("vars", x);
+        return model;
+    }
+
+    /**
+     * At each decision, the variable selected from the heap has the best score
+     * wrt to a selector, plugged on the same search, that scans variables.
+     */
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "selectors")
+    public void testSameAsScan(Function<IntVar[], AbstractCriterionBasedVariableSelector[]> selectors) {
+        Model model = makeRandomTriples();
+        Solver solver = model.getSolver();
+        IntVar[] x = (IntVar[]) model.getHook("vars");
+        AbstractCriterionBasedVariableSelector[] sels = selectors.apply(x);
+        AbstractCriterionBasedVariableSelector heap = sels[0];
+        AbstractCriterionBasedVariableSelector scan = sels[1];
+        int[] decisions = {0};
+        VariableSelector<IntVar> checker = new VariableSelector<IntVar>() {
+            @Override
+            public IntVar getVariable(IntVar[] vars) {
+                IntVar var = heap.getVariable(vars);
+                if (var != null) {
+                    double best = Double.NEGATIVE_INFINITY;
+                    for (IntVar v : vars) {
+                        if (!v.isInstantiated()) {
+                            best = Math.max(best, scan.weight(v) / v.getDomainSize());
+                        }
+                    }
+                    Assert.assertEquals(scan.weight(var) / var.getDomainSize(), best, 0.);
+                    decisions[0]++;
+                }
+                return var;
+            }
+
+            @Override
+            public boolean init() {
+                return heap.init() && scan.init();
+            }
+        };
+        solver.setSearch(new IntStrategy(x, checker, new IntDomainMin()));
+        solver.setLubyRestart(50, new FailCounter(model, 1), 1000);
+        solver.limitFail(2000);
+        while (solver.solve()) ;
+        Assert.assertTrue(decisions[0] > 100);
+    }
+
+    /**
+     * Two searches, one storing variables in a heap and one scanning them, make the same decisions.
+     */
+    @Test(groups = "1s", timeOut = 60000)
+    public void testActivityBasedSameAsScan() {
+        List<List<String>> traces = new ArrayList<>();
+        for (boolean heap : new boolean[]{true, false}) {
+            Model model = makeRandomTriples();
+            Solver solver = model.getSolver();
+            IntVar[] x = (IntVar[]) model.getHook("vars");
+            solver.setSearch(new ActivityBased(model, x, null, 0.999d, 0.2d, 8, 1, 0, heap, true));
+            List<String> trace = new ArrayList<>();
+            solver.plugMonitor(new IMonitorDownBranch() {
+                @Override
+                public void beforeDownBranch(boolean left) {
+                    if (left) {
+                        trace.add(solver.getDecisionPath().getLastDecision().toString());
+                    }
+                }
+            });
+            solver.limitFail(2000);
+            while (solver.solve()) ;
+            traces.add(trace);
+        }
+        Assert.assertTrue(traces.get(0).size() > 100);
+        Assert.assertEquals(traces.get(0), traces.get(1));
+    }
+
+    @Test(groups = "10s", timeOut = 60000, dataProvider = "heuristics")
+    public void testGolomb(Function<IntVar[], AbstractStrategy<IntVar>> heuristic) {
+        Model model = ProblemMaker.makeGolombRuler(8);
+        Solver solver = model.getSolver();
+        solver.setSearch(heuristic.apply((IntVar[]) model.getHook("ticks")));
+        solver.setLubyRestart(100, new FailCounter(model, 1), 1000);
+        while (solver.solve()) ;
+        Assert.assertEquals(solver.getBestSolutionValue(), 34);
+    }
+}
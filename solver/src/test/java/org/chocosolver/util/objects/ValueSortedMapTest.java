@@ -0,0 +1,105 @@
+/*
+ * This file is part of choco-solver, http://choco-solver.org/
+ *
+ * Copyright (c) 2021, IMT Atlantique. All rights reserved.
+ *
+ * Licensed under the BSD 4-clause license.
+ *
+ * See LICENSE file in the project root for full license information.
+ */
+package org.chocosolver.util.objects;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.testng.Assert.*;
+
+/**
+ * @author Charles Prud'homme
+ * @since 16/10/2026
+ */
+public class ValueSortedMapTest {
+
+    @DataProvider
+    public Object[][] maps() {
+        return new Object[][]{
+                {new ValueSortedMap<Integer>()},
+                {new ValueSortedMap<Integer>(Integer::intValue)}
+        };
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "maps")
+    public void testNominal(ValueSortedMap<Integer> map) {
+        assertTrue(map.isEmpty());
+        map.put(3, 10);
+        map.put(1, 200);
+        map.put(2, 5);
+        assertEquals(map.getLastValue(), 200);
+        assertEquals(map.getLowerValue(200), 10);
+        assertEquals(map.getLowerValue(5), -1);
+        map.replace(1, 7);
+        assertEquals(map.getValue(1), 7);
+        assertEquals(map.getLastValue(), 10);
+        assertEquals(map.pollLastValue(), 10);
+        assertEquals(map.getValueOrDefault(3, -5), -5);
+        map.remove(2);
+        assertEquals(map.pollLastValue(), 7);
+        assertTrue(map.isEmpty());
+        map.put(4, 1000);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(map.getValueOrDefault(4, -1), -1);
+    }
+
+    @Test(groups = "1s", timeOut = 60000, dataProvider = "maps")
+    public void testRandom(ValueSortedMap<Integer> map) {
+        Random rnd = new Random(0);
+        // value -> key
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        int[] valueOf = new int[50];
+        Arrays.fill(valueOf, -1);
+        for (int i = 0; i < 10_000; i++) {
+            int k = rnd.nextInt(valueOf.length);
+            switch (rnd.nextInt(4)) {
+                case 0:
+                case 1:
+                    int v = rnd.nextInt(5000);
+                    if (expected.containsKey(v)) {
+                        break;
+                    }
+                    if (valueOf[k] != -1) {
+                        expected.remove(valueOf[k]);
+                    }
+                    expected.put(v, k);
+                    valueOf[k] = v;
+                    map.put(k, v);
+                    break;
+                case 2:
+                    if (valueOf[k] != -1) {
+                        expected.remove(valueOf[k]);
+                        valueOf[k] = -1;
+                    }
+                    map.remove(k);
+                    break;
+                case 3:
+                    if (!expected.isEmpty()) {
+                        int last = expected.lastKey();
+                        valueOf[expected.remove(last)] = -1;
+                        assertEquals(map.pollLastValue(), last);
+                    }
+                    break;
+            }
+            assertEquals(map.isEmpty(), expected.isEmpty());
+            assertEquals(map.getValue(k), valueOf[k]);
+            if (!expected.isEmpty()) {
+                assertEquals(map.getLastValue(), (int) expected.lastKey());
+                Integer lower = expected.lowerKey(expected.lastKey());
+                assertEquals(map.getLowerValue(expected.lastKey()), lower == null ? -1 : lower);
+            }
+        }
+    }
+}
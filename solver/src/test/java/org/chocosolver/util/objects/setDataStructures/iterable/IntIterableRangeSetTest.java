@@ -14,6 +14,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Random;
 
 /**
@@ -656,6 +657,25 @@ public class IntIterableRangeSetTest {
         }
     }
 
+    @Test(groups = "1s", timeOut = 60000)
+    public void testAddBetween() {
+        Random rnd = new Random();
+        for (int i = 0; i < 500; i++) {
+            rnd.setSeed(i);
+            IntIterableRangeSet set = new IntIterableRangeSet();
+            BitSet values = new BitSet();
+            for (int j = 0; j < 20; j++) {
+                int a = rnd.nextInt(100);
+                int b = a + rnd.nextInt(5);
+                values.set(a, b + 1);
+                set.addBetween(a, b);
+                Assert.assertEquals(set.size(), values.cardinality());
+                Assert.assertEquals(set.getNbRanges(), values.stream().filter(v -> v == 0 || !values.get(v - 1)).count());
+                Assert.assertEquals(set.toArray(), values.stream().toArray());
+            }
+        }
+    }
+
     public static IntIterableRangeSet union1(IntIterableRangeSet set1, IntIterableRangeSet set2) {
         IntIterableRangeSet t;
         if (set1.size() < set2.size()) {